@@ -0,0 +1,109 @@
+package com.example.benchmarks;
+
+import com.example.student.domain.entity.Student;
+import com.example.student.domain.event.ParentAddedEvent;
+import com.example.student.domain.event.StudentClassAssignedEvent;
+import com.example.student.domain.event.StudentCreatedEvent;
+import com.example.student.domain.event.StudentStatusChangedEvent;
+import com.example.student.domain.valueobject.ContactInfo;
+import com.example.student.domain.valueobject.ParentInfo;
+import com.example.student.infrastructure.messaging.StudentEventMessage;
+import com.example.student.infrastructure.persistence.entity.StudentPO;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 基准测试数据，使用固定随机种子，保证每次运行的输入一致
+ *
+ * @author liujiandong
+ */
+public final class BenchmarkData {
+    
+    private static final long SEED = 20240901L;
+    
+    private static final String[] STATUSES = {"ACTIVE", "INACTIVE", "GRADUATED", "WITHDRAWN", "TRANSFERRED"};
+    
+    private static final String[] SURNAMES = {"王", "李", "张", "刘", "陈", "杨", "赵", "黄", "周", "吴"};
+    
+    private static final String[] GIVEN_NAMES = {"伟", "芳", "娜", "敏", "静", "磊", "洋", "勇", "艳", "杰", "子涵", "雨桐"};
+    
+    private BenchmarkData() {
+    }
+    
+    /**
+     * 生成学生持久化对象，字段填充程度与线上数据相近
+     *
+     * @param count 数量
+     * @return 学生PO列表
+     */
+    public static List<StudentPO> studentPOs(int count) {
+        Random random = new Random(SEED);
+        LocalDateTime baseTime = LocalDateTime.of(2024, 9, 1, 8, 0);
+        List<StudentPO> students = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            long id = 100_000L + i;
+            StudentPO student = new StudentPO();
+            student.setId(id);
+            student.setStudentNo("S2024" + String.format("%06d", i));
+            student.setName(SURNAMES[random.nextInt(SURNAMES.length)] + GIVEN_NAMES[random.nextInt(GIVEN_NAMES.length)]);
+            student.setDateOfBirth(LocalDate.of(2008, 1, 1).plusDays(random.nextInt(3650)));
+            student.setGender(random.nextInt(2));
+            student.setClassId(1000L + random.nextInt(40));
+            student.setEmail("student" + id + "@example.com");
+            student.setPhone("138" + String.format("%08d", random.nextInt(100_000_000)));
+            student.setAddress("北京市海淀区学院路" + (1 + random.nextInt(200)) + "号");
+            student.setStatus(STATUSES[random.nextInt(STATUSES.length)]);
+            student.setEnrollmentDate(LocalDate.of(2018 + random.nextInt(7), 9, 1));
+            student.setCreateTime(baseTime.plusMinutes(i));
+            student.setUpdateTime(baseTime.plusMinutes(i).plusDays(random.nextInt(30)));
+            student.setDeleted(0);
+            students.add(student);
+        }
+        return students;
+    }
+    
+    /**
+     * 为学生添加两位家长，模拟详情查询返回的数据
+     *
+     * @param students 学生列表
+     */
+    public static void addParents(List<Student> students) {
+        for (Student student : students) {
+            String surname = student.getName().substring(0, 1);
+            student.getParents().add(new ParentInfo(surname + "建国", "父亲", "13900000001",
+                "father" + student.getId() + "@example.com", "工程师", "某科技有限公司", true));
+            student.getParents().add(new ParentInfo("林秀英", "母亲", "13900000002",
+                null, "教师", "某中学", false));
+        }
+    }
+    
+    /**
+     * 生成指定类型的学生事件消息，字段与线上事件一致
+     *
+     * @param eventType 事件类型
+     * @return 事件消息
+     */
+    public static StudentEventMessage studentEventMessage(String eventType) {
+        Student student = Student.create("2024010203", "欧阳明华", LocalDate.of(2008, 3, 14), 1,
+            new ContactInfo("ouyang.minghua@example.com", "13800138000", "北京市海淀区中关村大街27号"));
+        student.setId(1024L);
+        student.setClassId(301L);
+        switch (eventType) {
+            case "StudentCreatedEvent":
+                return StudentEventMessage.from(new StudentCreatedEvent(student));
+            case "StudentStatusChangedEvent":
+                return StudentEventMessage.from(new StudentStatusChangedEvent(student, "ACTIVE", "INACTIVE", "病假"));
+            case "StudentClassAssignedEvent":
+                return StudentEventMessage.from(new StudentClassAssignedEvent(student, 301L, 302L));
+            case "ParentAddedEvent":
+                return StudentEventMessage.from(new ParentAddedEvent(student,
+                    new ParentInfo("欧阳建国", "父亲", "13900139000", null, "工程师", "某研究所", true)));
+            default:
+                throw new IllegalArgumentException("未知的事件类型: " + eventType);
+        }
+    }
+}
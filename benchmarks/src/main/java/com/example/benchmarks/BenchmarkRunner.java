@@ -0,0 +1,41 @@
+package com.example.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * 基准测试入口
+ * <p>
+ * 默认运行全部基准并启用GC分析器，除ns/op外同时输出每次调用的分配字节数（gc.alloc.rate.norm，即B/op），
+ * 事件编码基准另外输出每条消息的字节数（bytesPerEvent），
+ * 结果以JSON写入jmh-result.json，便于与上一次结果比对。支持JMH的全部命令行参数，例如：
+ * <pre>
+ * java -jar benchmarks/target/benchmarks.jar StudentJson -p rows=20 -rff baseline.json
+ * </pre>
+ *
+ * @author liujiandong
+ */
+public class BenchmarkRunner {
+    
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        ChainedOptionsBuilder options = new OptionsBuilder()
+            .parent(commandLine)
+            .addProfiler(GCProfiler.class)
+            .addProfiler(EncodedSizeProfiler.class);
+        if (commandLine.getIncludes().isEmpty()) {
+            options.include(BenchmarkRunner.class.getPackage().getName() + ".*");
+        }
+        if (!commandLine.getResult().hasValue()) {
+            options.result("jmh-result.json");
+        }
+        if (!commandLine.getResultFormat().hasValue()) {
+            options.resultFormat(ResultFormatType.JSON);
+        }
+        new Runner(options.build()).run();
+    }
+}
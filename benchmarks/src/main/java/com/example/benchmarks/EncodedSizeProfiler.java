@@ -0,0 +1,51 @@
+package com.example.benchmarks;
+
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.profile.InternalProfiler;
+import org.openjdk.jmh.results.AggregationPolicy;
+import org.openjdk.jmh.results.IterationResult;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.ScalarResult;
+
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * 为{@link StudentEventCodecBenchmark}输出每条消息的编码字节数（bytesPerEvent），由{@link BenchmarkRunner}注册
+ * <p>
+ * JMH的{@code @AuxCounters}事件计数会在迭代、线程、fork之间累加，不适合输出固定的“每条消息”数值，
+ * 因此由内部分析器在每次迭代后给出按平均值汇总的辅助结果。
+ *
+ * @author liujiandong
+ */
+public class EncodedSizeProfiler implements InternalProfiler {
+    
+    /**
+     * 当前试验的消息字节数，由基准的setUp在同一JVM中写入
+     */
+    private static volatile int bytesPerEvent;
+    
+    static void record(int bytes) {
+        bytesPerEvent = bytes;
+    }
+    
+    @Override
+    public String getDescription() {
+        return "Encoded student event size in bytes";
+    }
+    
+    @Override
+    public void beforeIteration(BenchmarkParams benchmarkParams, IterationParams iterationParams) {
+    }
+    
+    @Override
+    public Collection<? extends Result> afterIteration(BenchmarkParams benchmarkParams,
+                                                       IterationParams iterationParams, IterationResult result) {
+        if (!benchmarkParams.getBenchmark().startsWith(StudentEventCodecBenchmark.class.getName())) {
+            return Collections.emptyList();
+        }
+        return Collections.singletonList(
+            new ScalarResult("bytesPerEvent", bytesPerEvent, "B/event", AggregationPolicy.AVG));
+    }
+}
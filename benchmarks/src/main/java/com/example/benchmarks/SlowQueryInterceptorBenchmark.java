@@ -0,0 +1,67 @@
+package com.example.benchmarks;
+
+import com.example.common.metrics.SlowQueryInterceptor;
+import com.example.common.metrics.SlowQueryLog;
+import org.apache.ibatis.plugin.Invocation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 慢查询拦截器在普通查询（未超过阈值、未被采样）上的额外开销，与直接执行同一反射调用对比
+ *
+ * @author liujiandong
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@Threads(4)
+@State(Scope.Benchmark)
+public class SlowQueryInterceptorBenchmark {
+    
+    private SlowQueryInterceptor interceptor;
+    
+    private Invocation invocation;
+    
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        interceptor = new SlowQueryInterceptor(new SlowQueryLog(200, 100, 0));
+        invocation = new Invocation(new FastStatement(), FastStatement.class.getMethod("query"), new Object[0]);
+    }
+    
+    @Benchmark
+    public Object baseline() throws Exception {
+        return invocation.proceed();
+    }
+    
+    @Benchmark
+    public Object intercepted() throws Throwable {
+        return interceptor.intercept(invocation);
+    }
+    
+    /**
+     * 立即返回的语句执行
+     */
+    public static class FastStatement {
+        
+        private final List<Object> rows = Collections.singletonList(1L);
+        
+        public List<Object> query() {
+            return rows;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.benchmarks;
+
+import com.example.student.application.dto.StudentDTO;
+import com.example.student.domain.entity.Student;
+import com.example.student.domain.valueobject.ContactInfo;
+import com.example.student.infrastructure.persistence.converter.StudentConverter;
+import com.example.student.infrastructure.persistence.entity.StudentPO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 列表查询的转换路径：PO -> 领域实体 -> DTO
+ * <p>
+ * 每次调用处理一页数据，结果为每页耗时；除以rows即为单行耗时。
+ *
+ * @author liujiandong
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class StudentConversionBenchmark {
+    
+    /**
+     * 每页行数：默认分页大小和导出批次大小
+     */
+    @Param({"20", "500"})
+    private int rows;
+    
+    private final StudentConverter converter = new StudentConverter();
+    
+    private List<StudentPO> studentPOs;
+    
+    private List<Student> students;
+    
+    @Setup
+    public void setUp() {
+        studentPOs = BenchmarkData.studentPOs(rows);
+        students = new ArrayList<>(rows);
+        for (StudentPO studentPO : studentPOs) {
+            students.add(converter.toDomain(studentPO));
+        }
+    }
+    
+    @Benchmark
+    public List<Student> toDomain() {
+        List<Student> result = new ArrayList<>(studentPOs.size());
+        for (StudentPO studentPO : studentPOs) {
+            result.add(converter.toDomain(studentPO));
+        }
+        return result;
+    }
+    
+    @Benchmark
+    public List<StudentDTO> fromEntity() {
+        List<StudentDTO> result = new ArrayList<>(students.size());
+        for (Student student : students) {
+            result.add(StudentDTO.fromEntity(student));
+        }
+        return result;
+    }
+    
+    @Benchmark
+    public List<StudentDTO> toDomainThenFromEntity() {
+        List<StudentDTO> result = new ArrayList<>(studentPOs.size());
+        for (StudentPO studentPO : studentPOs) {
+            result.add(StudentDTO.fromEntity(converter.toDomain(studentPO)));
+        }
+        return result;
+    }
+    
+    /**
+     * fromEntity中每行调用的年龄计算（LocalDate.now() + Period.between）
+     */
+    @Benchmark
+    public void age(Blackhole blackhole) {
+        for (Student student : students) {
+            blackhole.consume(student.getAge());
+        }
+    }
+    
+    @Benchmark
+    public void contactInfo(Blackhole blackhole) {
+        for (StudentPO studentPO : studentPOs) {
+            blackhole.consume(new ContactInfo(studentPO.getEmail(), studentPO.getPhone(), studentPO.getAddress()));
+        }
+    }
+}
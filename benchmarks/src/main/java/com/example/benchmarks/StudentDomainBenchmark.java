@@ -0,0 +1,71 @@
+package com.example.benchmarks;
+
+import com.example.student.domain.entity.Student;
+import com.example.student.domain.event.StudentStatusChangedEvent;
+import com.example.student.domain.valueobject.ContactInfo;
+import com.example.student.domain.valueobject.StudentStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 领域行为：状态变更和领域事件创建（UUID生成、LocalDateTime.now()、getSimpleName()）
+ *
+ * @author liujiandong
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Thread)
+public class StudentDomainBenchmark {
+    
+    private static final String ACTIVE = StudentStatus.ACTIVE.getValue();
+    
+    private static final String INACTIVE = StudentStatus.INACTIVE.getValue();
+    
+    private final ContactInfo contactInfo = new ContactInfo("student@example.com", "13800000000", "北京市海淀区学院路1号");
+    
+    private Student student;
+    
+    @Setup
+    public void setUp() {
+        student = Student.create("S2024000001", "王伟", LocalDate.of(2010, 3, 15), 1, contactInfo);
+        student.setId(1L);
+        student.clearDomainEvents();
+    }
+    
+    /**
+     * 在读与休学之间来回切换，每次调用产生一个状态变更事件；清空事件列表避免其无限增长
+     */
+    @Benchmark
+    public Student updateStatus() {
+        student.updateStatus(ACTIVE.equals(student.getStatus()) ? INACTIVE : ACTIVE, "基准测试");
+        student.clearDomainEvents();
+        return student;
+    }
+    
+    @Benchmark
+    public StudentStatusChangedEvent statusChangedEvent() {
+        return new StudentStatusChangedEvent(student, ACTIVE, INACTIVE, "基准测试");
+    }
+    
+    /**
+     * 工厂方法，包含学生创建事件
+     */
+    @Benchmark
+    public Student create() {
+        return Student.create("S2024000002", "李芳", LocalDate.of(2011, 6, 1), 0, contactInfo);
+    }
+}
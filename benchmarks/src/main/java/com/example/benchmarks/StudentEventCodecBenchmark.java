@@ -0,0 +1,78 @@
+package com.example.benchmarks;
+
+import com.example.student.infrastructure.messaging.StudentEventDeserializer;
+import com.example.student.infrastructure.messaging.StudentEventMessage;
+import com.example.student.infrastructure.messaging.StudentEventSerializer;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.common.serialization.Serializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 学生事件的Kafka消息编码：JSON（原发送路径）与紧凑二进制编码的序列化/反序列化耗时
+ * <p>
+ * 每条消息的字节数由{@link EncodedSizeProfiler}作为辅助结果 bytesPerEvent 输出，与耗时一起对比两种编码。
+ *
+ * @author liujiandong
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class StudentEventCodecBenchmark {
+    
+    private static final String TOPIC = "student-events";
+    
+    @Param({"json", "binary"})
+    private String codec;
+    
+    @Param({"StudentCreatedEvent", "StudentStatusChangedEvent", "StudentClassAssignedEvent", "ParentAddedEvent"})
+    private String eventType;
+    
+    private Serializer<Object> serializer;
+    
+    private Deserializer<StudentEventMessage> deserializer;
+    
+    private StudentEventMessage message;
+    
+    private byte[] encoded;
+    
+    @Setup
+    public void setUp() {
+        if ("json".equals(codec)) {
+            serializer = new JsonSerializer<>();
+            deserializer = new JsonDeserializer<>(StudentEventMessage.class, false);
+        } else {
+            serializer = new StudentEventSerializer();
+            deserializer = new StudentEventDeserializer();
+        }
+        message = BenchmarkData.studentEventMessage(eventType);
+        encoded = serializer.serialize(TOPIC, message);
+        EncodedSizeProfiler.record(encoded.length);
+    }
+    
+    @Benchmark
+    public byte[] serialize() {
+        return serializer.serialize(TOPIC, message);
+    }
+    
+    @Benchmark
+    public StudentEventMessage deserialize() {
+        return deserializer.deserialize(TOPIC, encoded);
+    }
+}
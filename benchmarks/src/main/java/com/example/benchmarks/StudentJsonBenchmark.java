@@ -0,0 +1,81 @@
+package com.example.benchmarks;
+
+import com.example.common.response.Result;
+import com.example.student.application.dto.StudentDTO;
+import com.example.student.domain.entity.Student;
+import com.example.student.infrastructure.persistence.converter.StudentConverter;
+import com.example.student.infrastructure.persistence.entity.StudentPO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 列表接口响应体 {@code Result<List<StudentDTO>>} 的JSON序列化
+ * <p>
+ * ObjectMapper由Jackson2ObjectMapperBuilder创建，与Spring MVC消息转换器使用的配置一致
+ * （注册JavaTimeModule，日期输出为ISO字符串）。
+ *
+ * @author liujiandong
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class StudentJsonBenchmark {
+    
+    @Param({"20", "500"})
+    private int rows;
+    
+    /**
+     * 是否包含家长信息（详情和按班级查询会返回家长）
+     */
+    @Param({"false", "true"})
+    private boolean withParents;
+    
+    private ObjectWriter writer;
+    
+    private Result<List<StudentDTO>> response;
+    
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        writer = objectMapper.writer();
+        
+        StudentConverter converter = new StudentConverter();
+        List<Student> students = new ArrayList<>(rows);
+        for (StudentPO studentPO : BenchmarkData.studentPOs(rows)) {
+            students.add(converter.toDomain(studentPO));
+        }
+        if (withParents) {
+            BenchmarkData.addParents(students);
+        }
+        List<StudentDTO> dtos = new ArrayList<>(rows);
+        for (Student student : students) {
+            dtos.add(StudentDTO.fromEntity(student));
+        }
+        response = Result.success(dtos);
+    }
+    
+    @Benchmark
+    public byte[] writeResult() throws JsonProcessingException {
+        return writer.writeValueAsBytes(response);
+    }
+}
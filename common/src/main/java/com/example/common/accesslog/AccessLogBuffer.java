@@ -0,0 +1,134 @@
+package com.example.common.accesslog;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 访问日志环形缓冲区
+ * <p>
+ * 多个请求线程写入、一个后台线程读出。槽位在创建时全部分配，写入只填充槽位字段，不分配对象；
+ * 缓冲区满时直接丢弃并计数，请求线程从不等待。
+ */
+public class AccessLogBuffer {
+
+    private final Slot[] slots;
+
+    private final int mask;
+
+    /**
+     * 已分配给写入方的序号
+     */
+    private final AtomicLong claimed = new AtomicLong();
+
+    /**
+     * 读出方下一个要读取的序号，只由后台线程修改
+     */
+    private final AtomicLong consumed = new AtomicLong();
+
+    private final LongAdder dropped = new LongAdder();
+
+    /**
+     * @param capacity 缓冲区容量，向上取整为2的幂
+     */
+    public AccessLogBuffer(int capacity) {
+        if (capacity <= 0 || capacity > (1 << 30)) {
+            throw new IllegalArgumentException("访问日志缓冲区容量必须在1到2^30之间");
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.slots = new Slot[size];
+        for (int i = 0; i < size; i++) {
+            slots[i] = new Slot();
+        }
+        this.mask = size - 1;
+    }
+
+    /**
+     * 写入一条访问记录
+     *
+     * @return 缓冲区已满、记录被丢弃时返回false
+     */
+    public boolean offer(String method, String route, int status, long latencyNanos, long timestampMillis) {
+        long sequence;
+        do {
+            sequence = claimed.get();
+            if (sequence - consumed.get() >= slots.length) {
+                dropped.increment();
+                return false;
+            }
+        } while (!claimed.compareAndSet(sequence, sequence + 1));
+
+        Slot slot = slots[(int) sequence & mask];
+        slot.method = method;
+        slot.route = route;
+        slot.status = status;
+        slot.latencyNanos = latencyNanos;
+        slot.timestampMillis = timestampMillis;
+        // 字段写入对读出方可见后再发布序号
+        slot.published.lazySet(sequence);
+        return true;
+    }
+
+    /**
+     * 按写入顺序读出已发布的记录，只能由单个线程调用
+     *
+     * @param handler 记录处理器
+     * @param limit 本次最多读出的条数
+     * @return 读出的条数
+     */
+    public int drain(Handler handler, int limit) {
+        long next = consumed.get();
+        int count = 0;
+        while (count < limit) {
+            Slot slot = slots[(int) next & mask];
+            if (slot.published.get() != next) {
+                // 尚未写入或写入方已分配序号但还未发布
+                break;
+            }
+            handler.handle(slot.method, slot.route, slot.status, slot.latencyNanos, slot.timestampMillis);
+            slot.method = null;
+            slot.route = null;
+            next++;
+            count++;
+            consumed.lazySet(next);
+        }
+        return count;
+    }
+
+    public int capacity() {
+        return slots.length;
+    }
+
+    /**
+     * 缓冲区满而丢弃的记录数
+     */
+    public long dropped() {
+        return dropped.sum();
+    }
+
+    /**
+     * 访问记录处理器
+     */
+    @FunctionalInterface
+    public interface Handler {
+
+        void handle(String method, String route, int status, long latencyNanos, long timestampMillis);
+    }
+
+    private static final class Slot {
+
+        private final AtomicLong published = new AtomicLong(-1);
+
+        private String method;
+
+        private String route;
+
+        private int status;
+
+        private long latencyNanos;
+
+        private long timestampMillis;
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.common.accesslog;
+
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * 访问日志拦截器
+ * <p>
+ * 记录请求方法、URI模板、响应状态和耗时，写入{@link AccessLogBuffer}后立即返回。
+ * 只记录URI模板，不记录路径参数、查询参数和请求体，避免手机号、住址等个人信息进入日志。
+ * 异步请求（如流式导出）在最后一次分派完成时记录，耗时从首次进入控制器算起。
+ */
+public class AccessLogInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String START_ATTRIBUTE = AccessLogInterceptor.class.getName() + ".start";
+
+    private final AccessLogBuffer buffer;
+
+    public AccessLogInterceptor(AccessLogBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod && request.getAttribute(START_ATTRIBUTE) == null) {
+            request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object start = request.getAttribute(START_ATTRIBUTE);
+        if (!(start instanceof Long) || request.isAsyncStarted()) {
+            return;
+        }
+        long latency = System.nanoTime() - (Long) start;
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        int status = response.getStatus();
+        if (ex != null && status < 400) {
+            // 未被异常处理器处理的异常，最终由容器返回500
+            status = 500;
+        }
+        buffer.offer(request.getMethod(), pattern == null ? "UNKNOWN" : pattern.toString(), status, latency,
+            System.currentTimeMillis());
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.common.accesslog;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 访问日志后台写入线程
+ * <p>
+ * 定期读出{@link AccessLogBuffer}中的记录，按路由采样后写入名为 access 的日志。
+ * 采样比例K表示每K次请求记录1次；服务端错误（5xx）和超过慢请求阈值的请求总是记录。
+ * 日志格式化全部在本线程完成，请求线程只写缓冲区。
+ */
+@Slf4j(topic = "access")
+public class AccessLogWriter implements AccessLogBuffer.Handler {
+
+    /**
+     * 单次读出的最大条数，避免积压时长时间不检查停止标志
+     */
+    private static final int DRAIN_BATCH = 1024;
+
+    private final AccessLogBuffer buffer;
+
+    private final int defaultSampleRate;
+
+    private final Map<String, Integer> routeSampleRates;
+
+    private final long slowNanos;
+
+    private final long flushIntervalNanos;
+
+    /**
+     * 各路由已读出的请求数，只在写入线程访问
+     */
+    private final Map<String, long[]> routeCounters = new HashMap<>();
+
+    private long reportedDropped;
+
+    private volatile boolean running;
+
+    private Thread thread;
+
+    /**
+     * @param buffer 访问日志缓冲区
+     * @param defaultSampleRate 未单独配置的路由的采样比例，0表示只记录错误和慢请求
+     * @param routeSampleRates 各路由的采样比例，键为URI模板，如 /api/students/{id}
+     * @param slowMillis 慢请求阈值（毫秒）
+     * @param flushIntervalMillis 缓冲区为空时的等待间隔（毫秒）
+     */
+    public AccessLogWriter(AccessLogBuffer buffer, int defaultSampleRate, Map<String, Integer> routeSampleRates,
+                           long slowMillis, long flushIntervalMillis) {
+        if (defaultSampleRate < 0) {
+            throw new IllegalArgumentException("访问日志采样比例不能为负数");
+        }
+        this.buffer = buffer;
+        this.defaultSampleRate = defaultSampleRate;
+        this.routeSampleRates = Collections.unmodifiableMap(new HashMap<>(routeSampleRates));
+        this.slowNanos = TimeUnit.MILLISECONDS.toNanos(slowMillis);
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+    }
+
+    /**
+     * 解析路由采样比例配置，格式为 路由=比例，多项以逗号分隔，如 /api/students/{id}=100,/api/students=10
+     */
+    public static Map<String, Integer> parseSampleRates(String spec) {
+        Map<String, Integer> rates = new HashMap<>();
+        if (spec == null || spec.trim().isEmpty()) {
+            return rates;
+        }
+        for (String item : spec.split(",")) {
+            int separator = item.lastIndexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("无效的访问日志采样配置: " + item.trim());
+            }
+            int rate;
+            try {
+                rate = Integer.parseInt(item.substring(separator + 1).trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("无效的访问日志采样比例: " + item.trim());
+            }
+            if (rate < 0) {
+                throw new IllegalArgumentException("访问日志采样比例不能为负数: " + item.trim());
+            }
+            rates.put(item.substring(0, separator).trim(), rate);
+        }
+        return rates;
+    }
+
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        thread = new Thread(this::run, "access-log-writer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * 停止写入线程，退出前写完缓冲区中剩余的记录
+     */
+    public synchronized void close() throws InterruptedException {
+        if (!running) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(thread);
+        thread.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    private void run() {
+        while (running) {
+            if (drainOnce() == 0) {
+                LockSupport.parkNanos(this, flushIntervalNanos);
+            }
+        }
+        while (drainOnce() > 0) {
+            // 写完剩余记录
+        }
+    }
+
+    /**
+     * 读出一批记录
+     *
+     * @return 读出的条数
+     */
+    int drainOnce() {
+        int drained = buffer.drain(this, DRAIN_BATCH);
+        long dropped = buffer.dropped();
+        if (dropped > reportedDropped) {
+            log.warn("访问日志缓冲区已满，丢弃{}条记录", dropped - reportedDropped);
+            reportedDropped = dropped;
+        }
+        return drained;
+    }
+
+    @Override
+    public void handle(String method, String route, int status, long latencyNanos, long timestampMillis) {
+        if (!sampled(route) && status < 500 && latencyNanos < slowNanos) {
+            return;
+        }
+        log.info("{} {} {} {} {}ms", Instant.ofEpochMilli(timestampMillis), method, route, status,
+            latencyNanos / 1000 / 1000.0);
+    }
+
+    private boolean sampled(String route) {
+        int rate = routeSampleRates.getOrDefault(route, defaultSampleRate);
+        if (rate == 0) {
+            return false;
+        }
+        long[] counter = routeCounters.computeIfAbsent(route, key -> new long[1]);
+        return counter[0]++ % rate == 0;
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.common.concurrent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 请求并发上限
+ * <p>
+ * 平台线程模式下并发请求数受Tomcat线程池限制；改用虚拟线程后不再有这一上限，
+ * 数据库变慢时大量请求会同时排队等待连接池，内存和排队时间都不受控。
+ * 本拦截器按连接池大小限制同时处理的请求数，在等待时间内拿不到许可的请求直接返回503，
+ * 由调用方重试，服务本身（包括健康检查）保持响应。
+ */
+public class ConcurrencyLimitInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String PERMIT_ATTRIBUTE = ConcurrencyLimitInterceptor.class.getName() + ".permit";
+
+    private static final String BUSY_BODY = "{\"code\":503,\"message\":\"服务繁忙，请稍后重试\",\"data\":null}";
+
+    private final Semaphore permits;
+
+    private final int maxConcurrent;
+
+    private final long acquireTimeoutMillis;
+
+    private final Counter rejected;
+
+    /**
+     * @param maxConcurrent 同时处理的请求数上限
+     * @param acquireTimeoutMillis 等待许可的最长时间（毫秒）
+     * @param registry 指标注册表
+     */
+    public ConcurrencyLimitInterceptor(int maxConcurrent, long acquireTimeoutMillis, MeterRegistry registry) {
+        if (maxConcurrent <= 0) {
+            throw new IllegalArgumentException("请求并发上限必须大于0");
+        }
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.maxConcurrent = maxConcurrent;
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+        this.rejected = Counter.builder("request.limit.rejected")
+            .description("超过并发上限被拒绝的请求数")
+            .register(registry);
+        Gauge.builder("request.limit.active", this, ConcurrencyLimitInterceptor::active)
+            .description("正在处理的受限请求数")
+            .register(registry);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+        throws IOException, InterruptedException {
+        if (request.getAttribute(PERMIT_ATTRIBUTE) != null) {
+            // 异步请求的再次分派，许可仍由首次分派持有
+            return true;
+        }
+        if (!permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS)) {
+            rejected.increment();
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            response.getWriter().write(BUSY_BODY);
+            return false;
+        }
+        request.setAttribute(PERMIT_ATTRIBUTE, Boolean.TRUE);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (!request.isAsyncStarted() && request.getAttribute(PERMIT_ATTRIBUTE) != null) {
+            request.removeAttribute(PERMIT_ATTRIBUTE);
+            permits.release();
+        }
+    }
+
+    public int active() {
+        return maxConcurrent - permits.availablePermits();
+    }
+}
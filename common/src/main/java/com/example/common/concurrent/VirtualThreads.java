@@ -0,0 +1,62 @@
+package com.example.common.concurrent;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * 虚拟线程工具
+ * <p>
+ * 项目仍以Java 8为编译目标，虚拟线程相关API通过反射调用，只有运行在Java 21及以上时可用。
+ */
+public final class VirtualThreads {
+
+    private VirtualThreads() {
+    }
+
+    /**
+     * 当前JVM是否支持虚拟线程
+     */
+    public static boolean isAvailable() {
+        try {
+            Thread.class.getMethod("ofVirtual");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 创建虚拟线程的线程工厂，线程名为 前缀+序号
+     *
+     * @param prefix 线程名前缀
+     * @return 线程工厂
+     */
+    public static ThreadFactory threadFactory(String prefix) {
+        try {
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, prefix, 0L);
+            return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("虚拟线程需要Java 21及以上版本，当前为" + System.getProperty("java.version"), e);
+        }
+    }
+
+    /**
+     * 每个任务一个虚拟线程的执行器
+     *
+     * @param prefix 线程名前缀
+     * @return 执行器
+     */
+    public static ExecutorService newThreadPerTaskExecutor(String prefix) {
+        ThreadFactory factory = threadFactory(prefix);
+        try {
+            Method method = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+            return (ExecutorService) method.invoke(null, factory);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("虚拟线程需要Java 21及以上版本，当前为" + System.getProperty("java.version"), e);
+        }
+    }
+}
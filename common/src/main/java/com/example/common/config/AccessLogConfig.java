@@ -0,0 +1,63 @@
+package com.example.common.config;
+
+import com.example.common.accesslog.AccessLogBuffer;
+import com.example.common.accesslog.AccessLogInterceptor;
+import com.example.common.accesslog.AccessLogWriter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * 访问日志通用配置
+ * <p>
+ * 请求线程只把方法、URI模板、状态和耗时写入预分配的环形缓冲区，由后台线程按路由采样后格式化输出，
+ * 日志名为 access。缓冲区满时丢弃记录，丢弃数见 access.log.dropped 指标。
+ */
+@Configuration
+@ConditionalOnProperty(name = "access-log.enabled", havingValue = "true", matchIfMissing = true)
+public class AccessLogConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${access-log.buffer-size:8192}")
+    private int bufferSize;
+
+    @Value("${access-log.sample-rate:1}")
+    private int sampleRate;
+
+    @Value("${access-log.route-sample-rates:}")
+    private String routeSampleRates;
+
+    @Value("${access-log.slow-ms:1000}")
+    private long slowMillis;
+
+    @Value("${access-log.flush-interval-ms:200}")
+    private long flushIntervalMillis;
+
+    @Bean
+    public AccessLogBuffer accessLogBuffer() {
+        AccessLogBuffer buffer = new AccessLogBuffer(bufferSize);
+        FunctionCounter.builder("access.log.dropped", buffer, AccessLogBuffer::dropped)
+            .description("访问日志缓冲区满而丢弃的记录数")
+            .register(meterRegistry);
+        return buffer;
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    public AccessLogWriter accessLogWriter(AccessLogBuffer accessLogBuffer) {
+        return new AccessLogWriter(accessLogBuffer, sampleRate, AccessLogWriter.parseSampleRates(routeSampleRates),
+            slowMillis, flushIntervalMillis);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new AccessLogInterceptor(accessLogBuffer()));
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.common.config;
+
+import com.example.common.metrics.DbCallMetricsInterceptor;
+import com.example.common.metrics.MyBatisMetricsInterceptor;
+import com.example.common.metrics.SlowQueryEndpoint;
+import com.example.common.metrics.SlowQueryLog;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * 监控指标通用配置
+ * <p>
+ * 1. 启用@Timed注解，用于服务层、仓储层的方法耗时
+ * 2. MyBatis语句耗时和请求级数据库调用次数
+ * 3. 慢查询内部端点 /actuator/slowqueries
+ * <p>
+ * 指标通过 /actuator/prometheus 以Prometheus格式暴露，直方图等分布配置见各服务的management.metrics配置。
+ */
+@Configuration
+public class MetricsConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+
+    @Bean
+    public MyBatisMetricsInterceptor myBatisMetricsInterceptor(MeterRegistry registry) {
+        return new MyBatisMetricsInterceptor(registry);
+    }
+
+    @Bean
+    public SlowQueryEndpoint slowQueryEndpoint(SlowQueryLog slowQueryLog) {
+        return new SlowQueryEndpoint(slowQueryLog);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new DbCallMetricsInterceptor(meterRegistry));
+    }
+}
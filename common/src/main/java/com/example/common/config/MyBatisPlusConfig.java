@@ -4,6 +4,10 @@ import com.baomidou.mybatisplus.annotation.DbType;
 import com.baomidou.mybatisplus.extension.plugins.MybatisPlusInterceptor;
 import com.baomidou.mybatisplus.extension.plugins.inner.BlockAttackInnerInterceptor;
 import com.baomidou.mybatisplus.extension.plugins.inner.PaginationInnerInterceptor;
+import com.example.common.metrics.SlowQueryInterceptor;
+import com.example.common.metrics.SlowQueryLog;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -30,4 +34,26 @@ public class MyBatisPlusConfig {
         
         return interceptor;
     }
+    
+    /**
+     * 慢查询记录：超过阈值的语句保留耗时最长的capacity条，其余按1/sample-rate采样统计耗时分布
+     */
+    @Bean
+    public SlowQueryLog slowQueryLog(@Value("${slow-query.threshold-ms:200}") long thresholdMillis,
+                                     @Value("${slow-query.capacity:100}") int capacity,
+                                     @Value("${slow-query.sample-rate:100}") int sampleRate) {
+        return new SlowQueryLog(thresholdMillis, capacity, sampleRate);
+    }
+    
+    /**
+     * 慢查询采样插件
+     * <p>
+     * MybatisPlusInterceptor的内部拦截器只有执行前的回调，无法计时，因此作为独立插件拦截StatementHandler，
+     * 与分页等内部拦截器在同一条插件链上生效。
+     */
+    @Bean
+    @ConditionalOnProperty(name = "slow-query.enabled", havingValue = "true", matchIfMissing = true)
+    public SlowQueryInterceptor slowQueryInterceptor(SlowQueryLog slowQueryLog) {
+        return new SlowQueryInterceptor(slowQueryLog);
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,94 @@
+package com.example.common.config;
+
+import com.example.common.concurrent.ConcurrencyLimitInterceptor;
+import com.example.common.concurrent.VirtualThreads;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * 虚拟线程模式配置，virtual-threads.enabled=true 时生效，需要运行在Java 21及以上
+ * <p>
+ * 1. Tomcat请求处理线程改为每个请求一个虚拟线程
+ * 2. applicationTaskExecutor（@Async和Spring MVC异步请求，如流式导出）改为每个任务一个虚拟线程
+ * 3. 定时任务（发件箱转发等）的调度线程改为虚拟线程
+ * 4. 按Druid连接池大小限制同时处理的/api请求数，避免数据库变慢时无限堆积请求
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "virtual-threads.enabled", havingValue = "true")
+public class VirtualThreadConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${spring.datasource.druid.max-active:20}")
+    private int maxActiveConnections;
+
+    @Value("${virtual-threads.requests-per-connection:4}")
+    private int requestsPerConnection;
+
+    @Value("${virtual-threads.max-concurrent-requests:0}")
+    private int maxConcurrentRequests;
+
+    @Value("${virtual-threads.acquire-timeout-ms:1000}")
+    private long acquireTimeoutMillis;
+
+    @Value("${spring.task.scheduling.pool.size:1}")
+    private int schedulingPoolSize;
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService tomcatVirtualThreadExecutor() {
+        if (!VirtualThreads.isAvailable()) {
+            throw new IllegalStateException("virtual-threads.enabled=true需要Java 21及以上版本，当前为"
+                + System.getProperty("java.version"));
+        }
+        log.info("请求处理使用虚拟线程，/api请求并发上限: {}", requestLimit());
+        return VirtualThreads.newThreadPerTaskExecutor("tomcat-vt-");
+    }
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer(
+        ExecutorService tomcatVirtualThreadExecutor) {
+        return protocolHandler -> protocolHandler.setExecutor(tomcatVirtualThreadExecutor);
+    }
+
+    @Bean(name = {"applicationTaskExecutor", "taskExecutor"})
+    public SimpleAsyncTaskExecutor applicationTaskExecutor() {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor();
+        executor.setThreadFactory(VirtualThreads.threadFactory("task-vt-"));
+        return executor;
+    }
+
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(schedulingPoolSize);
+        scheduler.setThreadFactory(VirtualThreads.threadFactory("scheduling-vt-"));
+        return scheduler;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ConcurrencyLimitInterceptor(requestLimit(), acquireTimeoutMillis, meterRegistry))
+            .addPathPatterns("/api/**");
+    }
+
+    /**
+     * 请求并发上限，未配置时为连接池最大连接数乘以每个连接对应的请求数（大部分读请求命中缓存，不占用连接）
+     */
+    private int requestLimit() {
+        return maxConcurrentRequests > 0 ? maxConcurrentRequests : maxActiveConnections * requestsPerConnection;
+    }
+}
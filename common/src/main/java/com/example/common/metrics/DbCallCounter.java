@@ -0,0 +1,43 @@
+package com.example.common.metrics;
+
+/**
+ * 当前线程内的数据库调用计数
+ * <p>
+ * 由{@link DbCallMetricsInterceptor}在请求开始时开启、结束时读取，
+ * {@link MyBatisMetricsInterceptor}每执行一条映射语句加一；未开启计数的线程（定时任务等）不计数。
+ */
+public final class DbCallCounter {
+
+    private static final ThreadLocal<int[]> COUNTER = new ThreadLocal<>();
+
+    private DbCallCounter() {
+    }
+
+    /**
+     * 开始计数，覆盖本线程之前未结束的计数
+     */
+    public static void begin() {
+        COUNTER.set(new int[1]);
+    }
+
+    /**
+     * 记录一次数据库调用
+     */
+    public static void increment() {
+        int[] counter = COUNTER.get();
+        if (counter != null) {
+            counter[0]++;
+        }
+    }
+
+    /**
+     * 结束计数
+     *
+     * @return 开始计数以来的调用次数，未开启计数时返回-1
+     */
+    public static int end() {
+        int[] counter = COUNTER.get();
+        COUNTER.remove();
+        return counter == null ? -1 : counter[0];
+    }
+}
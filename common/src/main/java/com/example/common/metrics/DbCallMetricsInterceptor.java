@@ -0,0 +1,63 @@
+package com.example.common.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * 统计每个HTTP请求执行的数据库调用次数
+ * <p>
+ * 指标名为 request.db.calls，以请求方法和URI模板作为标签，与http.server.requests的标签保持一致，
+ * 便于定位产生N+1查询的接口。异步请求只统计最后一次分派中的调用。
+ */
+public class DbCallMetricsInterceptor implements AsyncHandlerInterceptor {
+
+    static final String METRIC_NAME = "request.db.calls";
+
+    /**
+     * 直方图桶上限，单个请求超过该次数的调用都落在最后一个桶中
+     */
+    private static final double[] SLO_BUCKETS = {1, 2, 3, 5, 10, 20, 50, 100, 200, 500};
+
+    private final MeterRegistry meterRegistry;
+
+    public DbCallMetricsInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod) {
+            DbCallCounter.begin();
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // 处理转入异步线程，请求线程上的计数作废
+        DbCallCounter.end();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        int calls = DbCallCounter.end();
+        if (calls < 0) {
+            return;
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        DistributionSummary.builder(METRIC_NAME)
+            .description("单个HTTP请求的数据库调用次数")
+            .baseUnit("calls")
+            .tag("method", request.getMethod())
+            .tag("uri", pattern == null ? "UNKNOWN" : pattern.toString())
+            .serviceLevelObjectives(SLO_BUCKETS)
+            .register(meterRegistry)
+            .record(calls);
+    }
+}
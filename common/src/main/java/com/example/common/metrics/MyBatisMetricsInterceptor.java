@@ -0,0 +1,85 @@
+package com.example.common.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 统计每条MyBatis映射语句的执行耗时，并累加当前请求的数据库调用次数
+ * <p>
+ * 指标名为 mybatis.statement，以 Mapper简单类名.方法名 和语句类型作为标签，取值范围由Mapper定义决定。
+ * 批处理执行器下每条语句在加入批次时计一次。
+ */
+@Intercepts({
+    @Signature(type = Executor.class, method = "query",
+        args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+    @Signature(type = Executor.class, method = "query",
+        args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class, CacheKey.class, BoundSql.class}),
+    @Signature(type = Executor.class, method = "update", args = {MappedStatement.class, Object.class})
+})
+public class MyBatisMetricsInterceptor implements Interceptor {
+
+    static final String METRIC_NAME = "mybatis.statement";
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * 语句ID -> 执行成功的计时器，避免每次执行都构建标签
+     */
+    private final Map<String, Timer> successTimers = new ConcurrentHashMap<>();
+
+    public MyBatisMetricsInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        MappedStatement statement = (MappedStatement) invocation.getArgs()[0];
+        DbCallCounter.increment();
+        long start = System.nanoTime();
+        try {
+            Object result = invocation.proceed();
+            successTimers.computeIfAbsent(statement.getId(), id -> timer(statement, "none"))
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (Throwable e) {
+            timer(statement, e.getClass().getSimpleName())
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+
+    private Timer timer(MappedStatement statement, String exception) {
+        return Timer.builder(METRIC_NAME)
+            .description("MyBatis映射语句执行耗时")
+            .tag("statement", shortId(statement.getId()))
+            .tag("type", statement.getSqlCommandType().name().toLowerCase())
+            .tag("exception", exception)
+            .register(meterRegistry);
+    }
+
+    /**
+     * com.example.student.infrastructure.persistence.mapper.StudentMapper.selectById -> StudentMapper.selectById
+     */
+    static String shortId(String statementId) {
+        int method = statementId.lastIndexOf('.');
+        if (method < 0) {
+            return statementId;
+        }
+        int type = statementId.lastIndexOf('.', method - 1);
+        return statementId.substring(type + 1);
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.common.metrics;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+/**
+ * 慢查询内部端点：GET /actuator/slowqueries 查看，DELETE 清空
+ */
+@Endpoint(id = "slowqueries")
+public class SlowQueryEndpoint {
+
+    private final SlowQueryLog slowQueryLog;
+
+    public SlowQueryEndpoint(SlowQueryLog slowQueryLog) {
+        this.slowQueryLog = slowQueryLog;
+    }
+
+    @ReadOperation
+    public SlowQueryLog.Report slowQueries() {
+        return slowQueryLog.snapshot();
+    }
+
+    @DeleteOperation
+    public void reset() {
+        slowQueryLog.reset();
+    }
+}
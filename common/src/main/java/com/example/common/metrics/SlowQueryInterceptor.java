@@ -0,0 +1,180 @@
+package com.example.common.metrics;
+
+import com.baomidou.mybatisplus.core.toolkit.PluginUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.executor.BatchExecutorException;
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.reflection.ExceptionUtil;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.reflection.SystemMetaObject;
+import org.apache.ibatis.session.ResultHandler;
+
+import java.lang.reflect.Proxy;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * 慢查询采样拦截器，拦截JDBC语句的实际执行
+ * <p>
+ * 普通查询只做两次计时和一次比较（采样时再加一次随机数），不解析SQL、不分配对象；
+ * 超过阈值或被采样时才读取Mapper方法、SQL和参数个数，结果写入{@link SlowQueryLog}。
+ * 执行失败的语句同样计时记录（常见的是锁等待超时、查询超时），慢查询中附带异常类型。
+ * <p>
+ * JDBC批处理的{@code StatementHandler.batch}只是addBatch，真正的executeBatch发生在BATCH执行器刷新时，
+ * 因此批处理按{@link Executor#flushStatements()}计时，一次刷新记为一条，语句取第一个（失败时取失败的）批次。
+ */
+@Intercepts({
+    @Signature(type = StatementHandler.class, method = "query", args = {Statement.class, ResultHandler.class}),
+    @Signature(type = StatementHandler.class, method = "update", args = {Statement.class}),
+    @Signature(type = Executor.class, method = "flushStatements", args = {})
+})
+@Slf4j
+public class SlowQueryInterceptor implements Interceptor {
+
+    private final SlowQueryLog slowQueryLog;
+
+    public SlowQueryInterceptor(SlowQueryLog slowQueryLog) {
+        this.slowQueryLog = slowQueryLog;
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        long start = System.nanoTime();
+        Object result = null;
+        Throwable failure = null;
+        try {
+            result = invocation.proceed();
+            return result;
+        } catch (Throwable e) {
+            failure = ExceptionUtil.unwrapThrowable(e);
+            throw e;
+        } finally {
+            record(invocation, result, failure, System.nanoTime() - start);
+        }
+    }
+
+    private void record(Invocation invocation, Object result, Throwable failure, long elapsedNanos) {
+        try {
+            if (invocation.getTarget() instanceof Executor) {
+                recordFlush(result, failure, elapsedNanos);
+            } else if (slowQueryLog.count(elapsedNanos)) {
+                recordSlow(invocation, result, failure, elapsedNanos);
+            } else if (slowQueryLog.shouldSample()) {
+                slowQueryLog.addSample(statementOf(invocation), elapsedNanos);
+            }
+        } catch (RuntimeException e) {
+            // 记录失败不影响语句执行结果
+            log.debug("记录慢查询失败", e);
+        }
+    }
+
+    private void recordSlow(Invocation invocation, Object result, Throwable failure, long elapsedNanos) {
+        PluginUtils.MPStatementHandler handler = PluginUtils.mpStatementHandler(realHandler(invocation));
+        BoundSql boundSql = handler.boundSql();
+        slowQueryLog.addSlow(new SlowQueryLog.SlowQuery(
+            MyBatisMetricsInterceptor.shortId(handler.mappedStatement().getId()),
+            SqlShape.normalize(boundSql.getSql()),
+            boundSql.getParameterMappings().size(),
+            failure == null ? rows(invocation, result) : -1,
+            elapsedNanos / 1000,
+            Instant.now(),
+            Thread.currentThread().getName(),
+            failure == null ? null : failure.getClass().getSimpleName()));
+    }
+
+    /**
+     * 记录一次批处理刷新；没有待执行的批次时不计数
+     */
+    private void recordFlush(Object result, Throwable failure, long elapsedNanos) {
+        BatchResult batch = firstBatch(result, failure);
+        if (batch == null) {
+            return;
+        }
+        if (slowQueryLog.count(elapsedNanos)) {
+            slowQueryLog.addSlow(new SlowQueryLog.SlowQuery(
+                MyBatisMetricsInterceptor.shortId(batch.getMappedStatement().getId()),
+                SqlShape.normalize(batch.getSql()),
+                batch.getMappedStatement().getBoundSql(firstParameter(batch)).getParameterMappings().size(),
+                failure == null ? batchRows(result) : -1,
+                elapsedNanos / 1000,
+                Instant.now(),
+                Thread.currentThread().getName(),
+                failure == null ? null : failure.getClass().getSimpleName()));
+        } else if (slowQueryLog.shouldSample()) {
+            slowQueryLog.addSample(MyBatisMetricsInterceptor.shortId(batch.getMappedStatement().getId()), elapsedNanos);
+        }
+    }
+
+    private static BatchResult firstBatch(Object result, Throwable failure) {
+        if (failure instanceof BatchExecutorException) {
+            return ((BatchExecutorException) failure).getFailedBatchResult();
+        }
+        if (result instanceof List && !((List<?>) result).isEmpty()) {
+            return (BatchResult) ((List<?>) result).get(0);
+        }
+        return null;
+    }
+
+    private static Object firstParameter(BatchResult batch) {
+        List<Object> parameters = batch.getParameterObjects();
+        return parameters.isEmpty() ? null : parameters.get(0);
+    }
+
+    /**
+     * 一次刷新影响的总行数；驱动改写批处理后只返回SUCCESS_NO_INFO时无法得知，返回-1
+     */
+    private static int batchRows(Object result) {
+        int rows = 0;
+        for (Object item : (List<?>) result) {
+            for (int count : ((BatchResult) item).getUpdateCounts()) {
+                if (count < 0) {
+                    return -1;
+                }
+                rows += count;
+            }
+        }
+        return rows;
+    }
+
+    private static String statementOf(Invocation invocation) {
+        PluginUtils.MPStatementHandler handler = PluginUtils.mpStatementHandler(realHandler(invocation));
+        return MyBatisMetricsInterceptor.shortId(handler.mappedStatement().getId());
+    }
+
+    /**
+     * 去掉其他插件包装的代理
+     * <p>
+     * 不使用PluginUtils.realTarget，它通过反射读取Proxy.h，在JDK 9以上未开放java.lang.reflect时会失败。
+     */
+    private static StatementHandler realHandler(Invocation invocation) {
+        Object target = invocation.getTarget();
+        while (Proxy.isProxyClass(target.getClass())) {
+            target = SystemMetaObject.forObject(Proxy.getInvocationHandler(target)).getValue("target");
+        }
+        return (StatementHandler) target;
+    }
+
+    /**
+     * 查询返回的行数或更新影响的行数；由ResultHandler流式处理时无法得知，返回-1
+     */
+    private static int rows(Invocation invocation, Object result) {
+        Object[] args = invocation.getArgs();
+        if (args.length > 1 && args[1] != null) {
+            return -1;
+        }
+        if (result instanceof List) {
+            return ((List<?>) result).size();
+        }
+        if (result instanceof Integer) {
+            return (Integer) result;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,257 @@
+package com.example.common.metrics;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 慢查询记录
+ * <p>
+ * 超过阈值的语句保留耗时最长的N条，存放在按耗时排序的小顶堆中，满后只有比堆顶更慢的语句才替换堆顶，
+ * 突发的大量略超阈值的语句不会挤掉个别极慢的语句。堆满后的入选下限记录在volatile字段中，
+ * 不够慢的语句只读一次该字段即返回，不加锁；
+ * 未超过阈值的语句按1/K概率采样，按Mapper方法累计到以2的幂微秒分桶的直方图中。
+ */
+public class SlowQueryLog {
+
+    /**
+     * 直方图桶数，最后一个桶的下界约为2^38微秒
+     */
+    private static final int BUCKETS = 40;
+
+    private final long thresholdNanos;
+
+    private final int sampleRate;
+
+    private final int capacity;
+
+    /**
+     * 耗时最长的慢查询，堆顶为其中最快的一条，访问时锁定自身
+     */
+    private final PriorityQueue<SlowQuery> slowest;
+
+    /**
+     * 入选下限（微秒），堆满前为-1
+     */
+    private volatile long admissionMicros = -1;
+
+    private final LongAdder total = new LongAdder();
+
+    private final LongAdder slow = new LongAdder();
+
+    private final Map<String, StatementHistogram> sampled = new ConcurrentHashMap<>();
+
+    private volatile Instant since = Instant.now();
+
+    /**
+     * @param thresholdMillis 慢查询阈值（毫秒）
+     * @param capacity 保留的慢查询条数
+     * @param sampleRate 采样比例K，每K条非慢查询平均采样1条，0表示不采样
+     */
+    public SlowQueryLog(long thresholdMillis, int capacity, int sampleRate) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("慢查询缓冲区容量必须大于0");
+        }
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMillis);
+        this.sampleRate = sampleRate;
+        this.capacity = capacity;
+        this.slowest = new PriorityQueue<>(capacity, Comparator.comparingLong(SlowQuery::getDurationMicros));
+    }
+
+    /**
+     * 计入一次执行，返回是否超过慢查询阈值
+     */
+    public boolean count(long elapsedNanos) {
+        total.increment();
+        return elapsedNanos >= thresholdNanos;
+    }
+
+    /**
+     * 本次非慢查询是否被采样
+     */
+    public boolean shouldSample() {
+        return sampleRate > 0 && ThreadLocalRandom.current().nextInt(sampleRate) == 0;
+    }
+
+    /**
+     * 计入一条慢查询，只有堆未满或比已保留的最快一条更慢时才保留
+     */
+    public void addSlow(SlowQuery query) {
+        slow.increment();
+        if (query.getDurationMicros() <= admissionMicros) {
+            return;
+        }
+        synchronized (slowest) {
+            if (slowest.size() < capacity) {
+                slowest.add(query);
+            } else if (query.getDurationMicros() > slowest.peek().getDurationMicros()) {
+                slowest.poll();
+                slowest.add(query);
+            }
+            if (slowest.size() == capacity) {
+                admissionMicros = slowest.peek().getDurationMicros();
+            }
+        }
+    }
+
+    public void addSample(String statement, long elapsedNanos) {
+        sampled.computeIfAbsent(statement, key -> new StatementHistogram()).record(elapsedNanos);
+    }
+
+    /**
+     * 当前记录快照，慢查询按耗时从高到低排列
+     */
+    public Report snapshot() {
+        List<SlowQuery> queries;
+        synchronized (slowest) {
+            queries = new ArrayList<>(slowest);
+        }
+        queries.sort(Comparator.comparingLong(SlowQuery::getDurationMicros).reversed());
+
+        Map<String, StatementLatency> latencies = new TreeMap<>();
+        sampled.forEach((statement, histogram) -> latencies.put(statement, histogram.snapshot()));
+        return new Report(since, TimeUnit.NANOSECONDS.toMillis(thresholdNanos), sampleRate,
+            total.sum(), slow.sum(), queries, latencies);
+    }
+
+    /**
+     * 清空全部记录
+     */
+    public void reset() {
+        synchronized (slowest) {
+            slowest.clear();
+            admissionMicros = -1;
+        }
+        total.reset();
+        slow.reset();
+        sampled.clear();
+        since = Instant.now();
+    }
+
+    /**
+     * 一条慢查询
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class SlowQuery {
+
+        /**
+         * Mapper方法，如 StudentMapper.selectById
+         */
+        private final String statement;
+
+        /**
+         * 归一化后的SQL
+         */
+        private final String sql;
+
+        private final int parameterCount;
+
+        /**
+         * 查询返回的行数或更新影响的行数，批处理或执行失败时为-1
+         */
+        private final int rows;
+
+        private final long durationMicros;
+
+        private final Instant executedAt;
+
+        private final String thread;
+
+        /**
+         * 语句执行失败时的异常类型，成功时为null
+         */
+        private final String error;
+    }
+
+    /**
+     * 单个Mapper方法的采样耗时分布，分位数为所在桶的上界
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class StatementLatency {
+
+        private final long samples;
+
+        private final double p50Millis;
+
+        private final double p90Millis;
+
+        private final double p99Millis;
+
+        private final double maxMillis;
+    }
+
+    /**
+     * 慢查询报告
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Report {
+
+        private final Instant since;
+
+        private final long thresholdMillis;
+
+        private final int sampleRate;
+
+        private final long totalStatements;
+
+        private final long slowStatements;
+
+        private final List<SlowQuery> slowest;
+
+        private final Map<String, StatementLatency> sampledLatencies;
+    }
+
+    private static class StatementHistogram {
+
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+
+        private final LongAccumulator maxNanos = new LongAccumulator(Long::max, 0);
+
+        void record(long elapsedNanos) {
+            long micros = Math.max(elapsedNanos / 1000, 1);
+            int bucket = Math.min(63 - Long.numberOfLeadingZeros(micros), BUCKETS - 1);
+            buckets.incrementAndGet(bucket);
+            maxNanos.accumulate(elapsedNanos);
+        }
+
+        StatementLatency snapshot() {
+            long[] counts = new long[BUCKETS];
+            long samples = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                counts[i] = buckets.get(i);
+                samples += counts[i];
+            }
+            return new StatementLatency(samples, percentile(counts, samples, 0.5), percentile(counts, samples, 0.9),
+                percentile(counts, samples, 0.99), maxNanos.get() / 1_000_000.0);
+        }
+
+        private static double percentile(long[] counts, long samples, double quantile) {
+            long rank = (long) Math.ceil(samples * quantile);
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank && seen > 0) {
+                    // 桶i覆盖[2^i, 2^(i+1))微秒
+                    return (1L << (i + 1)) / 1000.0;
+                }
+            }
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.common.metrics;
+
+import java.util.regex.Pattern;
+
+/**
+ * SQL形态归一化：合并空白，字面量替换为?，IN列表和多行VALUES折叠，使同一语句不同参数个数的执行归为同一形态
+ * <p>
+ * 只在慢查询和采样路径上调用，不影响普通查询的开销。
+ */
+public final class SqlShape {
+
+    /**
+     * 归一化后SQL的最大长度
+     */
+    static final int MAX_LENGTH = 2000;
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^'\\\\]|\\\\.|'')*'");
+
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.`$])\\d+(?:\\.\\d+)?(?!\\w)");
+
+    private static final Pattern PLACEHOLDER_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+
+    private static final Pattern ROW_LIST = Pattern.compile("\\(\\?, \\.\\.\\.\\)(?:\\s*,\\s*\\(\\?, \\.\\.\\.\\))+");
+
+    private SqlShape() {
+    }
+
+    /**
+     * 归一化SQL
+     *
+     * @param sql 原始SQL
+     * @return SQL形态
+     */
+    public static String normalize(String sql) {
+        if (sql == null) {
+            return "";
+        }
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = WHITESPACE.matcher(shape).replaceAll(" ").trim();
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = PLACEHOLDER_LIST.matcher(shape).replaceAll("(?, ...)");
+        shape = ROW_LIST.matcher(shape).replaceAll("(?, ...), ...");
+        return shape.length() > MAX_LENGTH ? shape.substring(0, MAX_LENGTH) + "..." : shape;
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.common.search;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * 内存索引的全量重建流程
+ * <p>
+ * 全量加载期间增量维护仍在进行，加载读到的可能是旧数据：构建期间通过{@link #changed}记录发生变更的ID，
+ * 加载完成后按ID从数据源重新读取，存在的写回索引，不存在的从索引删除，最后标记为就绪。
+ *
+ * @param <T> 索引数据类型
+ * @author liujiandong
+ */
+public class IndexRebuilder<T> {
+
+    private final Function<List<Long>, ? extends Collection<T>> loader;
+
+    private final Function<T, Long> idOf;
+
+    private final Consumer<T> put;
+
+    private final Consumer<Long> remove;
+
+    /**
+     * 构建期间发生变更的ID，构建完成后需要从数据源重新校正
+     */
+    private final Set<Long> changedDuringBuild = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean building;
+
+    private volatile boolean ready;
+
+    /**
+     * @param loader 按ID从数据源读取最新数据，不存在的ID不返回
+     * @param idOf   取数据的ID
+     * @param put    写入索引
+     * @param remove 按ID从索引删除
+     */
+    public IndexRebuilder(Function<List<Long>, ? extends Collection<T>> loader, Function<T, Long> idOf,
+                          Consumer<T> put, Consumer<Long> remove) {
+        this.loader = loader;
+        this.idOf = idOf;
+        this.put = put;
+        this.remove = remove;
+    }
+
+    /**
+     * 全量重建索引，加载或校正失败时异常原样抛出，索引保持未就绪（或继续使用原索引）
+     *
+     * @param loadAll          全量加载数据到索引
+     * @param serveDuringBuild 为true时重建期间保持就绪（在新索引上加载后整体替换），否则重建期间查询降级
+     */
+    public synchronized void rebuild(Runnable loadAll, boolean serveDuringBuild) {
+        building = true;
+        if (!serveDuringBuild) {
+            ready = false;
+        }
+        changedDuringBuild.clear();
+        try {
+            loadAll.run();
+            reconcileChangedDuringBuild();
+            ready = true;
+        } finally {
+            building = false;
+        }
+    }
+
+    /**
+     * 增量维护索引前记录变更，构建期间的变更在加载完成后重新校正
+     *
+     * @param id 发生变更的ID
+     */
+    public void changed(Long id) {
+        if (building) {
+            changedDuringBuild.add(id);
+        }
+    }
+
+    /**
+     * 索引是否已就绪
+     *
+     * @return 是否就绪
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    private void reconcileChangedDuringBuild() {
+        if (changedDuringBuild.isEmpty()) {
+            return;
+        }
+        List<Long> ids = new ArrayList<>(changedDuringBuild);
+        Set<Long> existing = new HashSet<>();
+        for (T item : loader.apply(ids)) {
+            existing.add(idOf.apply(item));
+            put.accept(item);
+        }
+        ids.stream()
+            .filter(id -> !existing.contains(id))
+            .forEach(remove);
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.common.suggest;
+
+import net.sourceforge.pinyin4j.PinyinHelper;
+import net.sourceforge.pinyin4j.format.HanyuPinyinCaseType;
+import net.sourceforge.pinyin4j.format.HanyuPinyinOutputFormat;
+import net.sourceforge.pinyin4j.format.HanyuPinyinToneType;
+import net.sourceforge.pinyin4j.format.HanyuPinyinVCharType;
+import net.sourceforge.pinyin4j.format.exception.BadHanyuPinyinOutputFormatCombination;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 联想索引键生成工具：汉字原文、全拼、拼音首字母
+ * <p>
+ * 多音字（如“单”“曾”）会生成多种读音组合，组合数超过上限时截断。
+ *
+ * @author liujiandong
+ */
+public final class PinyinKeys {
+
+    /**
+     * 单个文本最多生成的读音组合数
+     */
+    private static final int MAX_VARIANTS = 8;
+
+    private static final HanyuPinyinOutputFormat FORMAT = new HanyuPinyinOutputFormat();
+
+    static {
+        FORMAT.setCaseType(HanyuPinyinCaseType.LOWERCASE);
+        FORMAT.setToneType(HanyuPinyinToneType.WITHOUT_TONE);
+        FORMAT.setVCharType(HanyuPinyinVCharType.WITH_V);
+    }
+
+    private PinyinKeys() {
+    }
+
+    /**
+     * 生成文本的全部联想键
+     *
+     * @param text 原文
+     * @return 去重后的联想键：原文、全拼组合、首字母组合
+     */
+    public static Set<String> keysOf(String text) {
+        Set<String> keys = new LinkedHashSet<>();
+        String normalized = normalize(text);
+        if (normalized.isEmpty()) {
+            return keys;
+        }
+        keys.add(normalized);
+
+        List<String> fullVariants = Collections.singletonList("");
+        List<String> initialVariants = Collections.singletonList("");
+        for (int i = 0; i < normalized.length(); i++) {
+            List<String> readings = readingsOf(normalized.charAt(i));
+            fullVariants = combine(fullVariants, readings, false);
+            initialVariants = combine(initialVariants, readings, true);
+        }
+        keys.addAll(fullVariants);
+        keys.addAll(initialVariants);
+        return keys;
+    }
+
+    /**
+     * 归一化：去除空白和姓名中的间隔号，转为小写
+     *
+     * @param text 原文
+     * @return 归一化后的文本
+     */
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (!Character.isWhitespace(c) && c != '·' && c != '•') {
+                sb.append(c);
+            }
+        }
+        return sb.toString().toLowerCase(Locale.ROOT);
+    }
+
+    private static List<String> readingsOf(char c) {
+        String[] pinyins = null;
+        if (Character.UnicodeScript.of(c) == Character.UnicodeScript.HAN) {
+            try {
+                pinyins = PinyinHelper.toHanyuPinyinStringArray(c, FORMAT);
+            } catch (BadHanyuPinyinOutputFormatCombination e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        if (pinyins == null || pinyins.length == 0) {
+            return Collections.singletonList(String.valueOf(c));
+        }
+        return new ArrayList<>(new LinkedHashSet<>(Arrays.asList(pinyins)));
+    }
+
+    private static List<String> combine(List<String> prefixes, List<String> readings, boolean initialsOnly) {
+        Set<String> result = new LinkedHashSet<>();
+        for (String prefix : prefixes) {
+            for (String reading : readings) {
+                result.add(prefix + (initialsOnly ? reading.substring(0, 1) : reading));
+                if (result.size() >= MAX_VARIANTS) {
+                    return new ArrayList<>(result);
+                }
+            }
+        }
+        return new ArrayList<>(result);
+    }
+}
@@ -0,0 +1,290 @@
+package com.example.common.suggest;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 前缀联想字典树，每条记录同时以汉字原文、全拼、拼音首字母作为键
+ * <p>
+ * 子节点用有序char数组+二分查找保存，节点上只保存以该节点结尾的记录ID。
+ * 查询时从前缀节点开始按层广度优先遍历，较短的键（更完整的匹配）优先返回，
+ * 收集到k条即停止，并设有节点访问上限保证最坏情况下的响应时间。
+ *
+ * @param <T> 联想结果类型
+ * @author liujiandong
+ */
+public class SuggestTrie<T> {
+
+    /**
+     * 单次查询最多访问的节点数
+     */
+    private static final int MAX_VISITED_NODES = 20000;
+
+    private final Node root = new Node();
+
+    /**
+     * 记录ID -> 联想结果及其全部键
+     */
+    private final Map<Long, Entry<T>> entries = new HashMap<>();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * 添加或更新记录
+     *
+     * @param id 记录ID
+     * @param text 用于生成联想键的文本（姓名）
+     * @param value 联想结果
+     */
+    public void put(long id, String text, T value) {
+        Set<String> keys = PinyinKeys.keysOf(text);
+        lock.writeLock().lock();
+        try {
+            Entry<T> old = entries.get(id);
+            if (old != null) {
+                for (String key : old.keys) {
+                    removeKey(key, id);
+                }
+            }
+            if (keys.isEmpty()) {
+                entries.remove(id);
+                return;
+            }
+            entries.put(id, new Entry<>(value, keys));
+            for (String key : keys) {
+                insertKey(key, id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 删除记录
+     *
+     * @param id 记录ID
+     */
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            Entry<T> old = entries.remove(id);
+            if (old != null) {
+                for (String key : old.keys) {
+                    removeKey(key, id);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 前缀联想
+     *
+     * @param prefix 输入前缀（汉字、全拼或首字母）
+     * @param k 返回条数
+     * @return 联想结果，较短的完整匹配排在前面
+     */
+    public List<T> suggest(String prefix, int k) {
+        String normalized = PinyinKeys.normalize(prefix);
+        if (normalized.isEmpty() || k <= 0) {
+            return Collections.emptyList();
+        }
+
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            for (int i = 0; i < normalized.length() && node != null; i++) {
+                node = node.child(normalized.charAt(i));
+            }
+            if (node == null) {
+                return Collections.emptyList();
+            }
+
+            Set<Long> ids = new LinkedHashSet<>();
+            Deque<Node> queue = new ArrayDeque<>();
+            queue.add(node);
+            int visited = 0;
+            while (!queue.isEmpty() && ids.size() < k && visited < MAX_VISITED_NODES) {
+                Node current = queue.poll();
+                visited++;
+                for (int i = 0; i < current.idCount && ids.size() < k; i++) {
+                    ids.add(current.ids[i]);
+                }
+                for (int i = 0; i < current.childCount; i++) {
+                    queue.add(current.children[i]);
+                }
+            }
+
+            List<T> result = new ArrayList<>(ids.size());
+            for (Long id : ids) {
+                result.add(entries.get(id).value);
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 清空
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            entries.clear();
+            root.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 记录数量
+     *
+     * @return 记录数量
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void insertKey(String key, long id) {
+        Node node = root;
+        for (int i = 0; i < key.length(); i++) {
+            node = node.childOrCreate(key.charAt(i));
+        }
+        node.addId(id);
+    }
+
+    private void removeKey(String key, long id) {
+        Node[] path = new Node[key.length() + 1];
+        path[0] = root;
+        for (int i = 0; i < key.length(); i++) {
+            path[i + 1] = path[i].child(key.charAt(i));
+            if (path[i + 1] == null) {
+                return;
+            }
+        }
+        path[key.length()].removeId(id);
+        // 自底向上清理空节点
+        for (int i = key.length(); i > 0 && path[i].isEmpty(); i--) {
+            path[i - 1].removeChild(key.charAt(i - 1));
+        }
+    }
+
+    private static final class Entry<T> {
+
+        private final T value;
+
+        private final Set<String> keys;
+
+        private Entry(T value, Set<String> keys) {
+            this.value = value;
+            this.keys = keys;
+        }
+    }
+
+    private static final class Node {
+
+        private static final char[] NO_LABELS = new char[0];
+
+        private static final Node[] NO_CHILDREN = new Node[0];
+
+        private static final long[] NO_IDS = new long[0];
+
+        private char[] labels = NO_LABELS;
+
+        private Node[] children = NO_CHILDREN;
+
+        private int childCount;
+
+        private long[] ids = NO_IDS;
+
+        private int idCount;
+
+        Node child(char c) {
+            int pos = Arrays.binarySearch(labels, 0, childCount, c);
+            return pos >= 0 ? children[pos] : null;
+        }
+
+        Node childOrCreate(char c) {
+            int pos = Arrays.binarySearch(labels, 0, childCount, c);
+            if (pos >= 0) {
+                return children[pos];
+            }
+            int insertAt = -pos - 1;
+            if (childCount == labels.length) {
+                int capacity = childCount == 0 ? 2 : childCount * 2;
+                labels = Arrays.copyOf(labels, capacity);
+                children = Arrays.copyOf(children, capacity);
+            }
+            System.arraycopy(labels, insertAt, labels, insertAt + 1, childCount - insertAt);
+            System.arraycopy(children, insertAt, children, insertAt + 1, childCount - insertAt);
+            Node node = new Node();
+            labels[insertAt] = c;
+            children[insertAt] = node;
+            childCount++;
+            return node;
+        }
+
+        void removeChild(char c) {
+            int pos = Arrays.binarySearch(labels, 0, childCount, c);
+            if (pos < 0) {
+                return;
+            }
+            System.arraycopy(labels, pos + 1, labels, pos, childCount - pos - 1);
+            System.arraycopy(children, pos + 1, children, pos, childCount - pos - 1);
+            childCount--;
+            children[childCount] = null;
+        }
+
+        void addId(long id) {
+            int pos = Arrays.binarySearch(ids, 0, idCount, id);
+            if (pos >= 0) {
+                return;
+            }
+            int insertAt = -pos - 1;
+            if (idCount == ids.length) {
+                ids = Arrays.copyOf(ids, idCount == 0 ? 1 : idCount * 2);
+            }
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, idCount - insertAt);
+            ids[insertAt] = id;
+            idCount++;
+        }
+
+        void removeId(long id) {
+            int pos = Arrays.binarySearch(ids, 0, idCount, id);
+            if (pos < 0) {
+                return;
+            }
+            System.arraycopy(ids, pos + 1, ids, pos, idCount - pos - 1);
+            idCount--;
+        }
+
+        boolean isEmpty() {
+            return childCount == 0 && idCount == 0;
+        }
+
+        void clear() {
+            labels = NO_LABELS;
+            children = NO_CHILDREN;
+            childCount = 0;
+            ids = NO_IDS;
+            idCount = 0;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.common.suggest;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * 输入联想结果
+ *
+ * @author liujiandong
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Suggestion implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 主键ID
+     */
+    private Long id;
+
+    /**
+     * 姓名
+     */
+    private String name;
+
+    /**
+     * 业务编号（学号、工号等）
+     */
+    private String code;
+}
@@ -0,0 +1,61 @@
+package com.example.common.web;
+
+import lombok.Data;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.WebRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+/**
+ * 资源版本指纹，由一次只读取元数据的探测查询得到，用于条件GET（If-None-Match / If-Modified-Since）
+ * <p>
+ * 单个资源：行数为1，校验和为“ID:版本号”。列表：校验和为各行“ID:版本号”的MD5前64位按位异或，
+ * 任一成员被修改、加入或移出时都会变化；不使用ID和、版本和，两者在成员同时变化时可能相互抵消。
+ * 探测应在加载实体之前执行，这样并发修改时返回的ETag只会比内容旧（下次请求多返回一次200），不会比内容新。
+ */
+@Data
+public class ResourceVersion {
+
+    /**
+     * 行数
+     */
+    private long count;
+
+    /**
+     * 校验和
+     */
+    private String checksum;
+
+    /**
+     * 表示中有按当前日期计算的字段（如年龄）时为数据库的当前日期，日期变化后ETag随之变化；否则为null
+     */
+    private LocalDate today;
+
+    /**
+     * 最后修改时间（毫秒），为-1时不参与If-Modified-Since判断，也不返回Last-Modified
+     */
+    private long lastModified = -1;
+
+    /**
+     * 计算强ETag
+     *
+     * @param scope 资源范围，包含路径参数和影响表示的请求参数（如是否包含家长信息）
+     * @return 带引号的ETag
+     */
+    public String toETag(String scope) {
+        String fingerprint = scope + '|' + count + '|' + checksum + (today == null ? "" : "|" + today);
+        return '"' + DigestUtils.md5DigestAsHex(fingerprint.getBytes(StandardCharsets.UTF_8)) + '"';
+    }
+
+    /**
+     * 校验条件请求并写入ETag、Last-Modified响应头
+     *
+     * @param request 当前请求
+     * @param scope 资源范围
+     * @return 资源未修改时返回true，此时响应状态已设为304，调用方应直接返回null
+     */
+    public boolean checkNotModified(WebRequest request, String scope) {
+        return request.checkNotModified(toETag(scope), lastModified);
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.common.accesslog;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AccessLogBufferTest {
+
+    @Test
+    void drainsInOrderAndDropsWhenFull() {
+        AccessLogBuffer buffer = new AccessLogBuffer(3);
+        assertThat(buffer.capacity()).isEqualTo(4);
+        for (int i = 0; i < 6; i++) {
+            buffer.offer("GET", "/api/students/{id}", 200 + i, i, i);
+        }
+        assertThat(buffer.dropped()).isEqualTo(2);
+
+        List<Integer> statuses = new ArrayList<>();
+        assertThat(buffer.drain((method, route, status, latency, timestamp) -> statuses.add(status), 3)).isEqualTo(3);
+        assertThat(buffer.offer("GET", "/api/students/{id}", 299, 0, 0)).isTrue();
+        buffer.drain((method, route, status, latency, timestamp) -> statuses.add(status), 10);
+
+        assertThat(statuses).containsExactly(200, 201, 202, 203, 299);
+    }
+
+    @Test
+    void concurrentProducersLoseNothingWhileConsumerKeepsUp() throws Exception {
+        AccessLogBuffer buffer = new AccessLogBuffer(64);
+        int producers = 4;
+        int perProducer = 20_000;
+        ExecutorService pool = Executors.newFixedThreadPool(producers);
+        CountDownLatch done = new CountDownLatch(producers);
+        for (int p = 0; p < producers; p++) {
+            int producer = p;
+            pool.execute(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    while (!buffer.offer("GET", "/p" + producer, 200, i, 0)) {
+                        Thread.yield();
+                    }
+                }
+                done.countDown();
+            });
+        }
+
+        Set<Long> seen = new HashSet<>();
+        long[] lastPerProducer = {-1, -1, -1, -1};
+        AccessLogBuffer.Handler handler = (method, route, status, latency, timestamp) -> {
+            int producer = route.charAt(2) - '0';
+            assertThat(latency).isGreaterThan(lastPerProducer[producer]);
+            lastPerProducer[producer] = latency;
+            seen.add(producer * 1_000_000L + latency);
+        };
+        while (done.getCount() > 0 || buffer.drain(handler, 1024) > 0) {
+            buffer.drain(handler, 1024);
+        }
+        pool.shutdown();
+        assertThat(pool.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(seen).hasSize(producers * perProducer);
+    }
+
+    @Test
+    void parsesRouteSampleRates() {
+        assertThat(AccessLogWriter.parseSampleRates(" /api/students/{id}=100, /api/students=10 "))
+            .containsEntry("/api/students/{id}", 100)
+            .containsEntry("/api/students", 10);
+        assertThat(AccessLogWriter.parseSampleRates("")).isEmpty();
+        assertThatThrownBy(() -> AccessLogWriter.parseSampleRates("/api/students"))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
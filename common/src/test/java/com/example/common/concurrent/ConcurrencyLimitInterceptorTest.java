@@ -0,0 +1,35 @@
+package com.example.common.concurrent;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConcurrencyLimitInterceptorTest {
+
+    @Test
+    void rejectsWith503WhenAllPermitsAreHeldAndReleasesOnCompletion() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ConcurrencyLimitInterceptor interceptor = new ConcurrencyLimitInterceptor(1, 10, registry);
+        MockHttpServletRequest first = new MockHttpServletRequest("GET", "/api/students/1");
+        MockHttpServletResponse firstResponse = new MockHttpServletResponse();
+
+        assertThat(interceptor.preHandle(first, firstResponse, null)).isTrue();
+        // 异步请求再次分派时不重复占用许可
+        assertThat(interceptor.preHandle(first, firstResponse, null)).isTrue();
+        assertThat(interceptor.active()).isEqualTo(1);
+
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        assertThat(interceptor.preHandle(new MockHttpServletRequest("GET", "/api/students/2"), rejected, null)).isFalse();
+        assertThat(rejected.getStatus()).isEqualTo(503);
+        assertThat(rejected.getHeader("Retry-After")).isEqualTo("1");
+        assertThat(registry.counter("request.limit.rejected").count()).isEqualTo(1);
+
+        interceptor.afterCompletion(first, firstResponse, null, null);
+        assertThat(interceptor.active()).isZero();
+        assertThat(interceptor.preHandle(new MockHttpServletRequest("GET", "/api/students/3"),
+            new MockHttpServletResponse(), null)).isTrue();
+    }
+}
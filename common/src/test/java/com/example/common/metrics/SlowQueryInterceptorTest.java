@@ -0,0 +1,99 @@
+package com.example.common.metrics;
+
+import org.apache.ibatis.builder.StaticSqlSource;
+import org.apache.ibatis.executor.BatchExecutorException;
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.session.Configuration;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.InvocationTargetException;
+import java.sql.BatchUpdateException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SlowQueryInterceptorTest {
+
+    private static final String INSERT_SQL = "INSERT INTO t_student (student_no, name) VALUES (?, ?)";
+
+    private final Configuration configuration = new Configuration();
+
+    @Test
+    void batchFlushIsTimedAsOneStatement() throws Throwable {
+        SlowQueryLog slowQueryLog = new SlowQueryLog(0, 10, 0);
+        Executor executor = mock(Executor.class);
+        BatchResult batch = batchResult(1, 1, 1);
+        when(executor.flushStatements()).thenReturn(Collections.singletonList(batch));
+
+        new SlowQueryInterceptor(slowQueryLog).intercept(flush(executor));
+
+        SlowQueryLog.Report report = slowQueryLog.snapshot();
+        assertThat(report.getTotalStatements()).isEqualTo(1);
+        assertThat(report.getSlowest()).hasSize(1);
+        SlowQueryLog.SlowQuery query = report.getSlowest().get(0);
+        assertThat(query.getStatement()).isEqualTo("StudentMapper.insert");
+        assertThat(query.getSql()).isEqualTo(SqlShape.normalize(INSERT_SQL));
+        assertThat(query.getParameterCount()).isEqualTo(2);
+        assertThat(query.getRows()).isEqualTo(3);
+        assertThat(query.getError()).isNull();
+    }
+
+    @Test
+    void emptyFlushIsNotCounted() throws Throwable {
+        SlowQueryLog slowQueryLog = new SlowQueryLog(0, 10, 0);
+        Executor executor = mock(Executor.class);
+        when(executor.flushStatements()).thenReturn(Collections.emptyList());
+
+        new SlowQueryInterceptor(slowQueryLog).intercept(flush(executor));
+
+        assertThat(slowQueryLog.snapshot().getTotalStatements()).isZero();
+    }
+
+    @Test
+    void failedFlushIsRecordedWithError() throws Throwable {
+        SlowQueryLog slowQueryLog = new SlowQueryLog(0, 10, 0);
+        Executor executor = mock(Executor.class);
+        BatchExecutorException failure = new BatchExecutorException("batch failed",
+            new BatchUpdateException(), Collections.emptyList(), batchResult());
+        when(executor.flushStatements()).thenThrow(failure);
+
+        // 反射调用的异常由MyBatis的Plugin代理解包，拦截器原样抛出
+        assertThatThrownBy(() -> new SlowQueryInterceptor(slowQueryLog).intercept(flush(executor)))
+            .isInstanceOf(InvocationTargetException.class)
+            .satisfies(e -> assertThat(e.getCause()).isSameAs(failure));
+
+        SlowQueryLog.SlowQuery query = slowQueryLog.snapshot().getSlowest().get(0);
+        assertThat(query.getStatement()).isEqualTo("StudentMapper.insert");
+        assertThat(query.getRows()).isEqualTo(-1);
+        assertThat(query.getError()).isEqualTo("BatchExecutorException");
+    }
+
+    private static Invocation flush(Executor executor) throws NoSuchMethodException {
+        return new Invocation(executor, Executor.class.getMethod("flushStatements"), new Object[0]);
+    }
+
+    private BatchResult batchResult(int... updateCounts) {
+        List<ParameterMapping> mappings = Arrays.asList(
+            new ParameterMapping.Builder(configuration, "studentNo", String.class).build(),
+            new ParameterMapping.Builder(configuration, "name", String.class).build());
+        MappedStatement statement = new MappedStatement.Builder(configuration,
+            "com.example.student.infrastructure.persistence.mapper.StudentMapper.insert",
+            new StaticSqlSource(configuration, INSERT_SQL, mappings), SqlCommandType.INSERT).build();
+        BatchResult batch = new BatchResult(statement, INSERT_SQL);
+        for (int i = 0; i < Math.max(updateCounts.length, 1); i++) {
+            batch.addParameterObject(new Object());
+        }
+        batch.setUpdateCounts(updateCounts);
+        return batch;
+    }
+}
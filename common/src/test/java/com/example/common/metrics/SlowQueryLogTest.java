@@ -0,0 +1,73 @@
+package com.example.common.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SlowQueryLogTest {
+
+    @Test
+    void normalizesLiteralsWhitespaceAndLists() {
+        assertThat(SqlShape.normalize("SELECT id,\n  name FROM t_student WHERE status = 'ACTIVE' AND class_id = 12"))
+            .isEqualTo("SELECT id, name FROM t_student WHERE status = ? AND class_id = ?");
+        assertThat(SqlShape.normalize("SELECT * FROM t_student WHERE id IN ( ? , ? , ? ) AND t2.col1 = ?"))
+            .isEqualTo(SqlShape.normalize("SELECT * FROM t_student WHERE id IN (?) AND t2.col1 = ?"))
+            .isEqualTo("SELECT * FROM t_student WHERE id IN (?, ...) AND t2.col1 = ?");
+        assertThat(SqlShape.normalize("INSERT INTO t_student (a, b) VALUES (?, ?), (?, ?), (?, ?)"))
+            .isEqualTo("INSERT INTO t_student (a, b) VALUES (?, ...), ...");
+        assertThat(SqlShape.normalize("SELECT 'it''s', x FROM t")).isEqualTo("SELECT ?, x FROM t");
+    }
+
+    @Test
+    void keepsSlowestQueriesSortedByDuration() {
+        SlowQueryLog log = new SlowQueryLog(100, 3, 0);
+        assertThat(log.count(TimeUnit.MILLISECONDS.toNanos(99))).isFalse();
+        assertThat(log.count(TimeUnit.MILLISECONDS.toNanos(100))).isTrue();
+        log.addSlow(slowQuery("StudentMapper.outlier", 30_000_000L));
+        for (int i = 1; i <= 5; i++) {
+            log.addSlow(slowQuery("StudentMapper.q" + i, i * 1000L));
+        }
+        // 后到的更快语句不会挤掉已保留的慢语句
+        for (int i = 0; i < 100; i++) {
+            log.addSlow(slowQuery("StudentMapper.burst", 1000L));
+        }
+
+        SlowQueryLog.Report report = log.snapshot();
+
+        assertThat(report.getTotalStatements()).isEqualTo(2);
+        assertThat(report.getSlowStatements()).isEqualTo(106);
+        assertThat(report.getSlowest().stream().map(SlowQueryLog.SlowQuery::getStatement).collect(Collectors.toList()))
+            .containsExactly("StudentMapper.outlier", "StudentMapper.q5", "StudentMapper.q4");
+        assertThat(log.shouldSample()).isFalse();
+
+        log.reset();
+        assertThat(log.snapshot().getSlowest()).isEmpty();
+        log.addSlow(slowQuery("StudentMapper.q1", 1000L));
+        assertThat(log.snapshot().getSlowest()).hasSize(1);
+    }
+
+    @Test
+    void sampledLatenciesReportBucketUpperBounds() {
+        SlowQueryLog log = new SlowQueryLog(100, 10, 1);
+        for (int i = 0; i < 99; i++) {
+            log.addSample("TeacherMapper.selectById", TimeUnit.MICROSECONDS.toNanos(300));
+        }
+        log.addSample("TeacherMapper.selectById", TimeUnit.MILLISECONDS.toNanos(5));
+
+        SlowQueryLog.StatementLatency latency = log.snapshot().getSampledLatencies().get("TeacherMapper.selectById");
+
+        assertThat(latency.getSamples()).isEqualTo(100);
+        // 300微秒落在[256, 512)桶
+        assertThat(latency.getP50Millis()).isEqualTo(0.512);
+        assertThat(latency.getP99Millis()).isEqualTo(0.512);
+        assertThat(latency.getMaxMillis()).isEqualTo(5.0);
+    }
+
+    private static SlowQueryLog.SlowQuery slowQuery(String statement, long micros) {
+        return new SlowQueryLog.SlowQuery(statement, "SELECT ?", 1, 1, micros, Instant.now(), "test", null);
+    }
+}
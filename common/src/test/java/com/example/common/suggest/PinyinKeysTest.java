@@ -0,0 +1,23 @@
+package com.example.common.suggest;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PinyinKeysTest {
+
+    @Test
+    void generatesTextFullPinyinAndInitials() {
+        assertThat(PinyinKeys.keysOf("张 三")).containsExactly("张三", "zhangsan", "zs");
+        assertThat(PinyinKeys.keysOf("阿卜杜·热合曼")).contains("阿卜杜热合曼");
+        // 非汉字按原字符保留，不生成首字母
+        assertThat(PinyinKeys.keysOf("Tom")).containsExactly("tom");
+        assertThat(PinyinKeys.keysOf("  ")).isEmpty();
+    }
+
+    @Test
+    void expandsPolyphonicCharacters() {
+        // “单”作姓氏读shan，也读dan
+        assertThat(PinyinKeys.keysOf("单明")).contains("danming", "shanming", "dm", "sm");
+    }
+}
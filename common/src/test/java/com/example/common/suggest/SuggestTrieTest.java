@@ -0,0 +1,47 @@
+package com.example.common.suggest;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SuggestTrieTest {
+
+    private SuggestTrie<String> trie;
+
+    @BeforeEach
+    void setUp() {
+        trie = new SuggestTrie<>();
+        trie.put(1L, "张三", "张三");
+        trie.put(2L, "张三丰", "张三丰");
+        trie.put(3L, "章子怡", "章子怡");
+        trie.put(4L, "李四", "李四");
+    }
+
+    @Test
+    void matchesTextPrefixWithShorterKeysFirst() {
+        assertThat(trie.suggest("张", 10)).containsExactly("张三", "张三丰");
+        assertThat(trie.suggest("张三", 1)).containsExactly("张三");
+        assertThat(trie.suggest("王", 10)).isEmpty();
+    }
+
+    @Test
+    void matchesFullPinyinAndInitialsPrefix() {
+        assertThat(trie.suggest("zhang", 10)).containsExactly("张三", "章子怡", "张三丰");
+        assertThat(trie.suggest("ZhangSanF", 10)).containsExactly("张三丰");
+        assertThat(trie.suggest("zs", 10)).containsExactly("张三", "张三丰");
+        assertThat(trie.suggest("zzy", 10)).containsExactly("章子怡");
+        assertThat(trie.suggest("ls", 10)).containsExactly("李四");
+    }
+
+    @Test
+    void updateAndRemoveReplaceOldKeys() {
+        trie.put(4L, "王五", "王五");
+        assertThat(trie.suggest("ls", 10)).isEmpty();
+        assertThat(trie.suggest("ww", 10)).containsExactly("王五");
+
+        trie.remove(1L);
+        assertThat(trie.suggest("zs", 10)).containsExactly("张三丰");
+        assertThat(trie.size()).isEqualTo(3);
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.common.web;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResourceVersionTest {
+
+    @Test
+    void answers304OnlyWhenTheETagStillMatches() {
+        ResourceVersion version = version(3, 7);
+        String etag = version.toETag("students:class=1");
+
+        assertThat(etag).isNotEqualTo(version.toETag("students:class=2"));
+        assertThat(version(3, 8).toETag("students:class=1")).isNotEqualTo(etag);
+        ResourceVersion tomorrow = version(3, 7);
+        tomorrow.setToday(LocalDate.of(2024, 1, 2));
+        ResourceVersion dated = version(3, 7);
+        dated.setToday(LocalDate.of(2024, 1, 1));
+        assertThat(dated.toETag("students:class=1")).isNotEqualTo(etag).isNotEqualTo(tomorrow.toETag("students:class=1"));
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertThat(version.checkNotModified(request("If-None-Match", etag, response), "students:class=1")).isTrue();
+        assertThat(response.getStatus()).isEqualTo(304);
+        assertThat(response.getHeader("ETag")).isEqualTo(etag);
+
+        MockHttpServletResponse changed = new MockHttpServletResponse();
+        assertThat(version(3, 8).checkNotModified(request("If-None-Match", etag, changed), "students:class=1")).isFalse();
+        assertThat(changed.getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void ignoresIfModifiedSinceWithoutLastModified() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/teachers/list");
+        request.addHeader("If-Modified-Since", System.currentTimeMillis());
+
+        assertThat(version(3, 7).checkNotModified(new ServletWebRequest(request, response), "teachers")).isFalse();
+        assertThat(response.getHeader("Last-Modified")).isNull();
+    }
+
+    private static ResourceVersion version(long count, long checksum) {
+        ResourceVersion version = new ResourceVersion();
+        version.setCount(count);
+        version.setChecksum(String.valueOf(checksum));
+        return version;
+    }
+
+    private static ServletWebRequest request(String header, String value, MockHttpServletResponse response) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/students/by-class/1");
+        request.addHeader(header, value);
+        return new ServletWebRequest(request, response);
+    }
+}
@@ -0,0 +1,169 @@
+package com.example.loadtest;
+
+import ch.vorburger.mariadb4j.DB;
+import ch.vorburger.mariadb4j.DBConfigurationBuilder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.support.EncodedResource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * 压测使用的内嵌基础设施：MariaDB、Redis和Kafka，全部运行在本机随机端口上，不依赖外部服务
+ * <p>
+ * 被测服务的建表脚本从其可执行jar中读取后在内嵌数据库中执行，
+ * 其中MySQL 8特有的排序规则替换为MariaDB支持的等价规则。
+ *
+ * @author liujiandong
+ */
+@Slf4j
+public class EmbeddedInfrastructure implements AutoCloseable {
+    
+    /**
+     * Spring Boot可执行jar中的建表脚本路径
+     */
+    private static final String INIT_SCRIPT = "BOOT-INF/classes/db/init.sql";
+    
+    private static final String STUDENT_TOPIC = "student-events";
+    
+    private DB database;
+    
+    private int databasePort;
+    
+    private RedisServer redisServer;
+    
+    private int redisPort;
+    
+    private EmbeddedKafkaBroker kafkaBroker;
+    
+    /**
+     * 启动全部内嵌服务并为学生、教师服务建库建表
+     *
+     * @param studentJar 学生服务可执行jar
+     * @param teacherJar 教师服务可执行jar
+     */
+    public void start(Path studentJar, Path teacherJar) throws Exception {
+        long start = System.currentTimeMillis();
+        
+        databasePort = freePort();
+        DBConfigurationBuilder dbConfig = DBConfigurationBuilder.newBuilder()
+            .setPort(databasePort)
+            .setDefaultCharacterSet("utf8mb4")
+            .addArg("--max-connections=500")
+            .addArg("--innodb-buffer-pool-size=512M")
+            .addArg("--innodb-flush-log-at-trx-commit=2");
+        if ("root".equals(System.getProperty("user.name"))) {
+            dbConfig.addArg("--user=root");
+        }
+        database = DB.newEmbeddedDB(dbConfig.build());
+        database.start();
+        createDatabase("student", studentJar);
+        createDatabase("teacher", teacherJar);
+        log.info("内嵌MariaDB已启动: port={}", databasePort);
+        
+        redisPort = freePort();
+        redisServer = RedisServer.newRedisServer()
+            .port(redisPort)
+            .bind("127.0.0.1")
+            .setting("save \"\"")
+            .setting("appendonly no")
+            .build();
+        redisServer.start();
+        log.info("内嵌Redis已启动: port={}", redisPort);
+        
+        kafkaBroker = new EmbeddedKafkaBroker(1, false, 3, STUDENT_TOPIC);
+        kafkaBroker.afterPropertiesSet();
+        log.info("内嵌Kafka已启动: bootstrap={}", getKafkaBootstrapServers());
+        
+        log.info("内嵌基础设施启动完成: cost={}ms", System.currentTimeMillis() - start);
+    }
+    
+    public String getJdbcUrl(String databaseName) {
+        return "jdbc:mysql://127.0.0.1:" + databasePort + "/" + databaseName
+            + "?useUnicode=true&characterEncoding=utf8&useSSL=false&serverTimezone=Asia/Shanghai"
+            + "&allowPublicKeyRetrieval=true&rewriteBatchedStatements=true";
+    }
+    
+    public int getRedisPort() {
+        return redisPort;
+    }
+    
+    public String getKafkaBootstrapServers() {
+        return kafkaBroker.getBrokersAsString();
+    }
+    
+    @Override
+    public void close() {
+        if (kafkaBroker != null) {
+            try {
+                kafkaBroker.destroy();
+            } catch (Exception e) {
+                log.warn("关闭内嵌Kafka失败", e);
+            }
+        }
+        if (redisServer != null) {
+            try {
+                redisServer.stop();
+            } catch (IOException e) {
+                log.warn("关闭内嵌Redis失败", e);
+            }
+        }
+        if (database != null) {
+            try {
+                database.stop();
+            } catch (Exception e) {
+                log.warn("关闭内嵌MariaDB失败", e);
+            }
+        }
+    }
+    
+    private void createDatabase(String name, Path appJar) throws Exception {
+        // 通过JDBC建库，不使用MariaDB4j自带的命令行客户端（依赖libncurses）
+        try (Connection connection = DriverManager.getConnection(getJdbcUrl(""), "root", "");
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE DATABASE IF NOT EXISTS `" + name + "` DEFAULT CHARACTER SET utf8mb4");
+        }
+        String script = toMariaDbDialect(readInitScript(appJar));
+        try (Connection connection = DriverManager.getConnection(getJdbcUrl(name), "root", "")) {
+            ScriptUtils.executeSqlScript(connection,
+                new EncodedResource(new ByteArrayResource(script.getBytes(StandardCharsets.UTF_8)), StandardCharsets.UTF_8));
+        }
+    }
+    
+    private static String readInitScript(Path appJar) throws IOException {
+        try (ZipFile jar = new ZipFile(appJar.toFile())) {
+            ZipEntry entry = jar.getEntry(INIT_SCRIPT);
+            if (entry == null) {
+                throw new IllegalStateException(appJar + " 中没有建表脚本 " + INIT_SCRIPT);
+            }
+            try (InputStream in = jar.getInputStream(entry)) {
+                return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            }
+        }
+    }
+    
+    /**
+     * MariaDB 10.11不支持MySQL 8的utf8mb4_0900_ai_ci排序规则
+     */
+    static String toMariaDbDialect(String script) {
+        return script.replace("utf8mb4_0900_ai_ci", "utf8mb4_general_ci");
+    }
+    
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
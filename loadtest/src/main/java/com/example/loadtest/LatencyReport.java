@@ -0,0 +1,212 @@
+package com.example.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 延迟统计与报告
+ * <p>
+ * 每类请求一个HdrHistogram Recorder，延迟以微秒记录。测量期间按固定间隔把区间直方图写入HdrHistogram日志，
+ * 结束时输出每类请求的完整分位数分布和汇总表。
+ *
+ * @author liujiandong
+ */
+@Slf4j
+public class LatencyReport implements AutoCloseable {
+    
+    /**
+     * 可记录的最大延迟：1小时
+     */
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.HOURS.toMicros(1);
+    
+    private static final int SIGNIFICANT_DIGITS = 3;
+    
+    private final Path outputDir;
+    
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+    
+    private final ScheduledExecutorService intervalExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "latency-report");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    private PrintStream logStream;
+    
+    private HistogramLogWriter logWriter;
+    
+    private long measureStartMillis;
+    
+    private long measureEndMillis;
+    
+    public LatencyReport(Path outputDir, List<String> operationNames) {
+        this.outputDir = outputDir;
+        for (String name : operationNames) {
+            endpoints.put(name, new Endpoint());
+        }
+    }
+    
+    /**
+     * 开始测量，之后每个间隔输出一次区间直方图
+     *
+     * @param intervalSeconds 区间长度（秒）
+     */
+    public synchronized void startMeasurement(int intervalSeconds) throws IOException {
+        measureStartMillis = System.currentTimeMillis();
+        endpoints.values().forEach(endpoint -> endpoint.recorder.reset());
+        logStream = new PrintStream(outputDir.resolve("latency.hlog").toFile(), StandardCharsets.UTF_8);
+        logWriter = new HistogramLogWriter(logStream);
+        logWriter.outputComment("student-management load test, latency in microseconds");
+        logWriter.outputLogFormatVersion();
+        logWriter.setBaseTime(measureStartMillis);
+        logWriter.outputBaseTime(measureStartMillis);
+        logWriter.outputStartTime(measureStartMillis);
+        logWriter.outputLegend();
+        intervalExecutor.scheduleAtFixedRate(this::flushInterval, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+    }
+    
+    /**
+     * 记录一次完成的请求
+     *
+     * @param operation 请求类型
+     * @param latencyNanos 从计划发送时间到收到响应的时间
+     * @param success 是否成功
+     */
+    public void record(String operation, long latencyNanos, boolean success) {
+        Endpoint endpoint = endpoints.get(operation);
+        endpoint.recorder.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), HIGHEST_TRACKABLE_MICROS));
+        if (!success) {
+            endpoint.errors.increment();
+        }
+    }
+    
+    /**
+     * 记录一次因在途请求数达到上限而未发送的请求
+     */
+    public void recordDropped(String operation) {
+        endpoints.get(operation).dropped.increment();
+    }
+    
+    /**
+     * 结束测量并写出报告
+     *
+     * @return 汇总表文本
+     */
+    public synchronized String finish() throws IOException {
+        measureEndMillis = System.currentTimeMillis();
+        intervalExecutor.shutdown();
+        try {
+            intervalExecutor.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flushInterval();
+        logStream.close();
+        
+        Map<String, Endpoint> sorted = new TreeMap<>(endpoints);
+        Histogram all = newHistogram();
+        for (Map.Entry<String, Endpoint> entry : sorted.entrySet()) {
+            Histogram histogram = entry.getValue().total;
+            all.add(histogram);
+            writePercentiles(entry.getKey(), histogram);
+        }
+        writePercentiles("all", all);
+        
+        String summary = summary(sorted, all);
+        Files.writeString(outputDir.resolve("summary.txt"), summary, StandardCharsets.UTF_8);
+        return summary;
+    }
+    
+    @Override
+    public void close() {
+        intervalExecutor.shutdownNow();
+        if (logStream != null) {
+            logStream.close();
+        }
+    }
+    
+    private synchronized void flushInterval() {
+        for (Map.Entry<String, Endpoint> entry : endpoints.entrySet()) {
+            Endpoint endpoint = entry.getValue();
+            Histogram interval = endpoint.recorder.getIntervalHistogram(endpoint.recycled);
+            endpoint.recycled = interval;
+            endpoint.total.add(interval);
+            if (interval.getTotalCount() > 0) {
+                interval.setTag(entry.getKey());
+                logWriter.outputIntervalHistogram(interval);
+            }
+        }
+        logStream.flush();
+    }
+    
+    private void writePercentiles(String name, Histogram histogram) throws IOException {
+        try (PrintStream out = new PrintStream(outputDir.resolve(name + ".hgrm").toFile(), StandardCharsets.UTF_8)) {
+            histogram.outputPercentileDistribution(out, 1000.0);
+        }
+    }
+    
+    private String summary(Map<String, Endpoint> sorted, Histogram all) {
+        double seconds = Math.max(measureEndMillis - measureStartMillis, 1) / 1000.0;
+        List<String> lines = new ArrayList<>();
+        lines.add(String.format("%-18s %10s %9s %8s %8s %10s %10s %10s %10s %10s",
+            "operation", "count", "req/s", "errors", "dropped", "p50(ms)", "p95(ms)", "p99(ms)", "p99.9(ms)", "max(ms)"));
+        long errors = 0;
+        long dropped = 0;
+        for (Map.Entry<String, Endpoint> entry : sorted.entrySet()) {
+            Endpoint endpoint = entry.getValue();
+            errors += endpoint.errors.sum();
+            dropped += endpoint.dropped.sum();
+            lines.add(line(entry.getKey(), endpoint.total, endpoint.errors.sum(), endpoint.dropped.sum(), seconds));
+        }
+        lines.add(line("all", all, errors, dropped, seconds));
+        return String.join(System.lineSeparator(), lines) + System.lineSeparator();
+    }
+    
+    private static String line(String name, Histogram histogram, long errors, long dropped, double seconds) {
+        return String.format("%-18s %10d %9.1f %8d %8d %10.2f %10.2f %10.2f %10.2f %10.2f",
+            name, histogram.getTotalCount(), histogram.getTotalCount() / seconds, errors, dropped,
+            millis(histogram, 50), millis(histogram, 95), millis(histogram, 99), millis(histogram, 99.9),
+            histogram.getTotalCount() == 0 ? 0 : histogram.getMaxValue() / 1000.0);
+    }
+    
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+    
+    private static Histogram newHistogram() {
+        return new Histogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+    }
+    
+    /**
+     * 单类请求的统计
+     */
+    private static class Endpoint {
+        
+        private final Recorder recorder = new Recorder(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+        
+        private final Histogram total = newHistogram();
+        
+        private final LongAdder errors = new LongAdder();
+        
+        private final LongAdder dropped = new LongAdder();
+        
+        private Histogram recycled;
+    }
+}
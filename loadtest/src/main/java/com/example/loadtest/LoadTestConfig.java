@@ -0,0 +1,204 @@
+package com.example.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * 压测配置
+ * <p>
+ * 依次加载classpath中的loadtest.properties默认值、--config指定的配置文件、以loadtest.开头的系统属性
+ * 和 --配置项=值 形式的命令行参数，后加载的覆盖先加载的。
+ *
+ * @author liujiandong
+ */
+public class LoadTestConfig {
+    
+    private static final String PREFIX = "loadtest.";
+    
+    private static final String MIX_PREFIX = PREFIX + "mix.";
+    
+    private static final String APP_PREFIX = PREFIX + "app.";
+    
+    private final Properties properties;
+    
+    private LoadTestConfig(Properties properties) {
+        this.properties = properties;
+    }
+    
+    /**
+     * 加载配置
+     *
+     * @param args 命令行参数
+     * @return 压测配置
+     */
+    public static LoadTestConfig load(String[] args) throws IOException {
+        Properties properties = new Properties();
+        try (InputStream defaults = LoadTestConfig.class.getResourceAsStream("/loadtest.properties")) {
+            if (defaults == null) {
+                throw new IllegalStateException("classpath中缺少loadtest.properties");
+            }
+            properties.load(new InputStreamReader(defaults, StandardCharsets.UTF_8));
+        }
+        
+        Map<String, String> arguments = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("无法识别的参数: " + arg + "，格式应为 --配置项=值");
+            }
+            int separator = arg.indexOf('=');
+            arguments.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        
+        String configFile = arguments.remove("config");
+        if (configFile != null) {
+            try (Reader reader = Files.newBufferedReader(Paths.get(configFile), StandardCharsets.UTF_8)) {
+                properties.load(reader);
+            }
+        }
+        for (String name : System.getProperties().stringPropertyNames()) {
+            if (name.startsWith(PREFIX)) {
+                properties.setProperty(name, System.getProperty(name));
+            }
+        }
+        for (Map.Entry<String, String> argument : arguments.entrySet()) {
+            String key = argument.getKey().startsWith(PREFIX) ? argument.getKey() : PREFIX + argument.getKey();
+            properties.setProperty(key, argument.getValue());
+        }
+        return new LoadTestConfig(properties);
+    }
+    
+    public Path getStudentJar() {
+        return Paths.get(get("student-jar"));
+    }
+    
+    public Path getTeacherJar() {
+        return Paths.get(get("teacher-jar"));
+    }
+    
+    public List<String> getAppJvmArgs() {
+        String value = get("app-jvm-args").trim();
+        return value.isEmpty() ? List.of() : Arrays.asList(value.split("\\s+"));
+    }
+    
+    /**
+     * 运行被测服务的JDK目录，未配置时与压测进程使用同一JDK
+     */
+    public Path getAppJavaHome() {
+        String value = properties.getProperty(PREFIX + "app-java-home", "").trim();
+        return Paths.get(value.isEmpty() ? System.getProperty("java.home") : value);
+    }
+    
+    /**
+     * 以loadtest.app.开头的配置项，去掉前缀后传给两个被测服务，如 loadtest.app.virtual-threads.enabled=true
+     */
+    public Map<String, String> getAppProperties() {
+        Map<String, String> appProperties = new LinkedHashMap<>();
+        properties.stringPropertyNames().stream()
+            .filter(name -> name.startsWith(APP_PREFIX))
+            .sorted()
+            .forEach(name -> appProperties.put(name.substring(APP_PREFIX.length()), properties.getProperty(name).trim()));
+        return appProperties;
+    }
+    
+    public int getStartupTimeoutSeconds() {
+        return getInt("startup-timeout-seconds");
+    }
+    
+    public Path getOutputDir() {
+        return Paths.get(get("output-dir"));
+    }
+    
+    public int getSeedStudents() {
+        return getInt("seed.students");
+    }
+    
+    public int getSeedTeachers() {
+        return getInt("seed.teachers");
+    }
+    
+    public int getSeedClasses() {
+        return getInt("seed.classes");
+    }
+    
+    public double getRate() {
+        return Double.parseDouble(get("rate"));
+    }
+    
+    public boolean isPoissonArrival() {
+        String arrival = get("arrival");
+        if (!"poisson".equalsIgnoreCase(arrival) && !"uniform".equalsIgnoreCase(arrival)) {
+            throw new IllegalArgumentException("loadtest.arrival只支持poisson或uniform: " + arrival);
+        }
+        return "poisson".equalsIgnoreCase(arrival);
+    }
+    
+    public int getWarmupSeconds() {
+        return getInt("warmup-seconds");
+    }
+    
+    public int getDurationSeconds() {
+        return getInt("duration-seconds");
+    }
+    
+    public int getReportIntervalSeconds() {
+        return getInt("report-interval-seconds");
+    }
+    
+    public int getMaxInFlight() {
+        return getInt("max-in-flight");
+    }
+    
+    public int getRequestTimeoutSeconds() {
+        return getInt("request-timeout-seconds");
+    }
+    
+    public long getSeed() {
+        return Long.parseLong(get("seed"));
+    }
+    
+    /**
+     * 请求混合比例
+     *
+     * @return 操作名到权重的映射，按配置文件中的顺序
+     */
+    public Map<String, Integer> getMix() {
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        properties.stringPropertyNames().stream()
+            .filter(name -> name.startsWith(MIX_PREFIX))
+            .sorted()
+            .forEach(name -> mix.put(name.substring(MIX_PREFIX.length()), Integer.parseInt(properties.getProperty(name).trim())));
+        return mix;
+    }
+    
+    /**
+     * 生效的全部配置，写入报告目录便于复现
+     */
+    public Properties getProperties() {
+        Properties copy = new Properties();
+        copy.putAll(properties);
+        return copy;
+    }
+    
+    private String get(String name) {
+        String value = properties.getProperty(PREFIX + name);
+        if (value == null) {
+            throw new IllegalArgumentException("缺少配置项: " + PREFIX + name);
+        }
+        return value.trim();
+    }
+    
+    private int getInt(String name) {
+        return Integer.parseInt(get(name));
+    }
+}
@@ -0,0 +1,225 @@
+package com.example.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.net.ServerSocket;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * 端到端压测入口
+ * <p>
+ * 启动内嵌MariaDB、Redis、Kafka，以独立进程启动学生和教师服务，预置数据后按配置的到达率和请求混合施压，
+ * 最终在报告目录中输出汇总表、各接口的延迟分位数分布、HdrHistogram区间日志和服务日志。
+ *
+ * @author liujiandong
+ */
+@Slf4j
+public class LoadTestRunner {
+    
+    private static final int SEED_BATCH_SIZE = 500;
+    
+    private static final int SEED_CONCURRENCY = 32;
+    
+    private final LoadTestConfig config;
+    
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    
+    private final HttpClient client;
+    
+    private final ExecutorService clientExecutor;
+    
+    public LoadTestRunner(LoadTestConfig config) {
+        this.config = config;
+        this.clientExecutor = Executors.newFixedThreadPool(Math.max(Runtime.getRuntime().availableProcessors(), 4));
+        this.client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .executor(clientExecutor)
+            .build();
+    }
+    
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.load(args);
+        Path reportDir = new LoadTestRunner(config).run();
+        log.info("压测完成，报告目录: {}", reportDir.toAbsolutePath());
+        System.exit(0);
+    }
+    
+    /**
+     * 执行一次完整的压测
+     *
+     * @return 报告目录
+     */
+    public Path run() throws Exception {
+        Path reportDir = config.getOutputDir().resolve(LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")));
+        Files.createDirectories(reportDir);
+        try (Writer writer = Files.newBufferedWriter(reportDir.resolve("loadtest.properties"), StandardCharsets.UTF_8)) {
+            config.getProperties().store(writer, "effective load test configuration");
+        }
+        
+        try (EmbeddedInfrastructure infrastructure = new EmbeddedInfrastructure()) {
+            infrastructure.start(config.getStudentJar(), config.getTeacherJar());
+            try (ServiceProcess student = startService("student", config.getStudentJar(), "/student", "student",
+                     infrastructure, reportDir);
+                 ServiceProcess teacher = startService("teacher", config.getTeacherJar(), "/teacher", "teacher",
+                     infrastructure, reportDir)) {
+                awaitReady(student, "/api/students?page=0&size=1", teacher, "/api/teachers/page?size=1");
+                
+                Workload workload = new Workload(objectMapper, student.getBaseUrl(), teacher.getBaseUrl(),
+                    Duration.ofSeconds(config.getRequestTimeoutSeconds()), config.getSeedClasses());
+                seed(workload);
+                
+                List<Workload.Operation> operations = workload.operations(config.getMix());
+                try (LatencyReport report = new LatencyReport(reportDir,
+                    operations.stream().map(Workload.Operation::getName).collect(Collectors.toList()))) {
+                    new OpenLoadGenerator(client, objectMapper, config).run(operations, report);
+                    log.info("压测结果:{}{}", System.lineSeparator(), report.finish());
+                }
+            }
+        } finally {
+            clientExecutor.shutdownNow();
+        }
+        return reportDir;
+    }
+    
+    private ServiceProcess startService(String name, Path jar, String contextPath, String databaseName,
+                                        EmbeddedInfrastructure infrastructure, Path logDir) throws IOException {
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("spring.datasource.url", infrastructure.getJdbcUrl(databaseName));
+        properties.put("spring.datasource.username", "root");
+        properties.put("spring.datasource.password", "");
+        properties.put("spring.sql.init.mode", "never");
+        properties.put("spring.redis.host", "127.0.0.1");
+        properties.put("spring.redis.port", String.valueOf(infrastructure.getRedisPort()));
+        properties.put("spring.data.redis.host", "127.0.0.1");
+        properties.put("spring.data.redis.port", String.valueOf(infrastructure.getRedisPort()));
+        properties.put("spring.kafka.bootstrap-servers", infrastructure.getKafkaBootstrapServers());
+        properties.put("spring.cloud.nacos.discovery.enabled", "false");
+        properties.put("spring.cloud.nacos.config.enabled", "false");
+        properties.put("spring.cloud.nacos.config.import-check.enabled", "false");
+        // 关闭逐条SQL输出和debug日志，避免日志I/O影响延迟
+        properties.put("mybatis-plus.configuration.log-impl", "org.apache.ibatis.logging.nologging.NoLoggingImpl");
+        properties.put("logging.level.root", "INFO");
+        properties.put("logging.level.com.example." + name, "INFO");
+        properties.putAll(config.getAppProperties());
+        return ServiceProcess.start(name, jar, config.getAppJavaHome(), config.getAppJvmArgs(), properties, freePort(),
+            contextPath, logDir);
+    }
+    
+    private void awaitReady(ServiceProcess student, String studentPath, ServiceProcess teacher, String teacherPath)
+        throws Exception {
+        int timeout = config.getStartupTimeoutSeconds();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> studentReady = executor.submit(() -> {
+                student.awaitReady(client, studentPath, timeout);
+                return null;
+            });
+            Future<?> teacherReady = executor.submit(() -> {
+                teacher.awaitReady(client, teacherPath, timeout);
+                return null;
+            });
+            studentReady.get();
+            teacherReady.get();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+    
+    /**
+     * 预置数据：批量创建学生并分配班级，逐个创建教师
+     */
+    private void seed(Workload workload) throws Exception {
+        long start = System.currentTimeMillis();
+        Random random = new Random(config.getSeed() ^ 0x5DEECE66DL);
+        
+        List<Long> studentIds = new ArrayList<>(config.getSeedStudents());
+        for (int created = 0; created < config.getSeedStudents(); created += SEED_BATCH_SIZE) {
+            int count = Math.min(SEED_BATCH_SIZE, config.getSeedStudents() - created);
+            JsonNode result = sendForData(workload.batchCreateStudents(random, count));
+            for (JsonNode item : result.path("items")) {
+                if (item.path("success").asBoolean()) {
+                    studentIds.add(item.path("id").asLong());
+                }
+            }
+        }
+        List<HttpRequest> assignments = new ArrayList<>(studentIds.size());
+        for (Long studentId : studentIds) {
+            assignments.add(workload.assignClass(studentId, random));
+        }
+        sendAll(assignments, data -> { });
+        studentIds.forEach(workload.getStudentIds()::add);
+        
+        List<HttpRequest> teachers = new ArrayList<>(config.getSeedTeachers());
+        for (int i = 0; i < config.getSeedTeachers(); i++) {
+            teachers.add(workload.createTeacher(random));
+        }
+        sendAll(teachers, data -> workload.getTeacherIds().add(data.path("id").asLong()));
+        
+        log.info("预置数据完成: students={}, teachers={}, classes={}, cost={}ms", workload.getStudentIds().size(),
+            workload.getTeacherIds().size(), config.getSeedClasses(), System.currentTimeMillis() - start);
+    }
+    
+    private JsonNode sendForData(HttpRequest request) throws IOException, InterruptedException {
+        return toData(request, client.send(request, HttpResponse.BodyHandlers.ofByteArray()));
+    }
+    
+    private JsonNode toData(HttpRequest request, HttpResponse<byte[]> response) {
+        JsonNode body;
+        try {
+            body = objectMapper.readTree(response.body());
+        } catch (IOException e) {
+            throw new IllegalStateException("预置数据失败: " + request.uri() + " -> " + response.statusCode(), e);
+        }
+        if (response.statusCode() != 200 || body.path("code").asInt() != 200) {
+            throw new IllegalStateException("预置数据失败: " + request.uri() + " -> " + response.statusCode() + " " + body);
+        }
+        return body.path("data");
+    }
+    
+    /**
+     * 以有限并发异步发送请求，任一请求失败时预置失败
+     */
+    private void sendAll(List<HttpRequest> requests, Consumer<JsonNode> onData) throws InterruptedException {
+        Semaphore permits = new Semaphore(SEED_CONCURRENCY);
+        List<CompletableFuture<Void>> futures = new ArrayList<>(requests.size());
+        for (HttpRequest request : requests) {
+            permits.acquire();
+            futures.add(client.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(response -> toData(request, response))
+                .thenAccept(onData)
+                .whenComplete((ignored, error) -> permits.release()));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+    }
+    
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 开环压测发生器
+ * <p>
+ * 请求按固定的到达率（均匀或泊松间隔）计划发送，不等待前一个请求返回；每个请求的延迟从其计划发送时间起算，
+ * 服务端变慢时排队等待的时间也计入延迟，避免闭环压测中的协调遗漏（coordinated omission）。
+ * 请求类型、请求参数和到达间隔均由同一个固定种子的随机数在单个调度线程中生成，同样的配置产生同样的请求序列。
+ *
+ * @author liujiandong
+ */
+@Slf4j
+public class OpenLoadGenerator {
+    
+    private final HttpClient client;
+    
+    private final ObjectMapper objectMapper;
+    
+    private final LoadTestConfig config;
+    
+    private final AtomicInteger inFlight = new AtomicInteger();
+    
+    public OpenLoadGenerator(HttpClient client, ObjectMapper objectMapper, LoadTestConfig config) {
+        this.client = client;
+        this.objectMapper = objectMapper;
+        this.config = config;
+    }
+    
+    /**
+     * 执行预热和测量，预热期间计划发送的请求不计入报告
+     *
+     * @param operations 请求混合
+     * @param report 延迟报告
+     */
+    public void run(List<Workload.Operation> operations, LatencyReport report) throws IOException, InterruptedException {
+        Random random = new Random(config.getSeed());
+        int totalWeight = operations.stream().mapToInt(Workload.Operation::getWeight).sum();
+        double meanIntervalNanos = TimeUnit.SECONDS.toNanos(1) / config.getRate();
+        boolean poisson = config.isPoissonArrival();
+        int maxInFlight = config.getMaxInFlight();
+        
+        long start = System.nanoTime();
+        long measureStart = start + TimeUnit.SECONDS.toNanos(config.getWarmupSeconds());
+        long end = measureStart + TimeUnit.SECONDS.toNanos(config.getDurationSeconds());
+        boolean measuring = false;
+        log.info("开始预热: rate={}/s, arrival={}, warmup={}s", config.getRate(), poisson ? "poisson" : "uniform",
+            config.getWarmupSeconds());
+        
+        double next = start;
+        while (next < end) {
+            long intendedStart = (long) next;
+            long delay = intendedStart - System.nanoTime();
+            if (delay > 0) {
+                LockSupport.parkNanos(delay);
+                continue;
+            }
+            if (!measuring && intendedStart >= measureStart) {
+                measuring = true;
+                report.startMeasurement(config.getReportIntervalSeconds());
+                log.info("预热结束，开始测量: duration={}s", config.getDurationSeconds());
+            }
+            
+            Workload.Operation operation = pick(operations, totalWeight, random);
+            if (inFlight.get() >= maxInFlight) {
+                if (measuring) {
+                    report.recordDropped(operation.getName());
+                }
+            } else {
+                send(operation, operation.newRequest(random), intendedStart, measuring, report);
+            }
+            next += poisson ? -Math.log(1 - random.nextDouble()) * meanIntervalNanos : meanIntervalNanos;
+        }
+        if (!measuring) {
+            report.startMeasurement(config.getReportIntervalSeconds());
+        }
+        awaitInFlight();
+    }
+    
+    private void send(Workload.Operation operation, HttpRequest request, long intendedStart,
+                      boolean measuring, LatencyReport report) {
+        inFlight.incrementAndGet();
+        client.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+            .whenComplete((response, error) -> {
+                long latency = System.nanoTime() - intendedStart;
+                inFlight.decrementAndGet();
+                JsonNode data = error == null ? successData(response) : null;
+                if (measuring) {
+                    report.record(operation.getName(), latency, data != null);
+                }
+                if (data != null) {
+                    operation.handleSuccess(data);
+                }
+            });
+    }
+    
+    /**
+     * HTTP状态码为2xx且响应体中的业务状态码为200时视为成功，没有业务状态码的响应只看HTTP状态码
+     *
+     * @return 响应中的data字段，失败时返回null
+     */
+    private JsonNode successData(HttpResponse<byte[]> response) {
+        if (response.statusCode() / 100 != 2) {
+            return null;
+        }
+        try {
+            JsonNode body = objectMapper.readTree(response.body());
+            if (!body.has("code")) {
+                // actuator端点（健康检查）没有业务状态码，以HTTP状态码为准
+                return body;
+            }
+            return body.path("code").asInt() == 200 ? body.path("data") : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+    
+    private void awaitInFlight() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(config.getRequestTimeoutSeconds());
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        if (inFlight.get() > 0) {
+            log.warn("测量结束时仍有{}个请求未完成", inFlight.get());
+        }
+    }
+    
+    private static Workload.Operation pick(List<Workload.Operation> operations, int totalWeight, Random random) {
+        int value = random.nextInt(totalWeight);
+        for (Workload.Operation operation : operations) {
+            value -= operation.getWeight();
+            if (value < 0) {
+                return operation;
+            }
+        }
+        throw new IllegalStateException("unreachable");
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 以子进程方式运行的被测服务
+ * <p>
+ * 每个服务使用独立的JVM，与压测端及其他服务互不共享classpath和堆，输出写入报告目录下的日志文件。
+ *
+ * @author liujiandong
+ */
+@Slf4j
+public class ServiceProcess implements AutoCloseable {
+    
+    private final String name;
+    
+    private final String baseUrl;
+    
+    private final Process process;
+    
+    private ServiceProcess(String name, String baseUrl, Process process) {
+        this.name = name;
+        this.baseUrl = baseUrl;
+        this.process = process;
+    }
+    
+    /**
+     * 启动服务
+     *
+     * @param name 服务名，用于日志文件名
+     * @param jar 可执行jar
+     * @param javaHome 运行服务的JDK目录
+     * @param jvmArgs JVM参数
+     * @param properties 以 --key=value 传给Spring Boot的配置
+     * @param port HTTP端口
+     * @param contextPath 上下文路径
+     * @param logDir 日志目录
+     * @return 服务进程
+     */
+    public static ServiceProcess start(String name, Path jar, Path javaHome, List<String> jvmArgs,
+                                       Map<String, String> properties, int port, String contextPath, Path logDir) throws IOException {
+        if (!Files.isRegularFile(jar)) {
+            throw new IllegalStateException("找不到" + name + "服务的可执行jar: " + jar.toAbsolutePath()
+                + "，请先执行 mvn package -DskipTests");
+        }
+        List<String> command = new ArrayList<>();
+        command.add(javaHome.resolve("bin").resolve("java").toString());
+        command.addAll(jvmArgs);
+        command.add("-jar");
+        command.add(jar.toAbsolutePath().toString());
+        command.add("--server.port=" + port);
+        properties.forEach((key, value) -> command.add("--" + key + "=" + value));
+        
+        Path logFile = logDir.resolve(name + ".log");
+        Process process = new ProcessBuilder(command)
+            .redirectErrorStream(true)
+            .redirectOutput(logFile.toFile())
+            .start();
+        // 压测进程被中断时一并结束被测服务
+        Runtime.getRuntime().addShutdownHook(new Thread(process::destroy));
+        log.info("{}服务已启动: pid={}, port={}, log={}", name, process.pid(), port, logFile);
+        return new ServiceProcess(name, "http://127.0.0.1:" + port + contextPath, process);
+    }
+    
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+    
+    /**
+     * 轮询健康检查路径直到返回200
+     *
+     * @param client HTTP客户端
+     * @param path 健康检查路径
+     * @param timeoutSeconds 超时时间（秒）
+     */
+    public void awaitReady(HttpClient client, String path, int timeoutSeconds) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(timeoutSeconds);
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+            .timeout(Duration.ofSeconds(5))
+            .GET()
+            .build();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException(name + "服务启动失败，退出码" + process.exitValue() + "，详见日志");
+            }
+            try {
+                if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    log.info("{}服务已就绪: {}", name, baseUrl);
+                    return;
+                }
+            } catch (IOException e) {
+                // 端口尚未监听，继续等待
+            }
+            Thread.sleep(1000);
+        }
+        throw new IllegalStateException(name + "服务在" + timeoutSeconds + "秒内未就绪");
+    }
+    
+    @Override
+    public void close() throws InterruptedException {
+        if (!process.isAlive()) {
+            return;
+        }
+        process.destroy();
+        if (!process.waitFor(30, TimeUnit.SECONDS)) {
+            process.destroyForcibly();
+        }
+    }
+}
@@ -0,0 +1,307 @@
+package com.example.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * 压测请求混合
+ * <p>
+ * 定义各类请求（学生和教师的读取、搜索、创建、状态变更、健康检查）以及请求参数的生成方式，
+ * 读取类请求从已创建的学生和教师中随机选取ID，创建成功后新ID加入候选集合。
+ *
+ * @author liujiandong
+ */
+public class Workload {
+    
+    private static final String[] SURNAMES = {"王", "李", "张", "刘", "陈", "杨", "赵", "黄", "周", "吴", "徐", "孙"};
+    
+    private static final String[] GIVEN_NAMES = {"伟", "芳", "娜", "敏", "静", "磊", "洋", "勇", "艳", "杰", "子涵", "雨桐", "浩然", "梓萱"};
+    
+    private static final String[] SURNAME_PINYIN = {"wang", "li", "zhang", "liu", "chen", "yang", "zhao", "huang", "zhou", "wu", "xu", "sun"};
+    
+    private static final String[] STATUSES = {"ACTIVE", "INACTIVE"};
+    
+    private static final String[] SPECIALIZATIONS = {"数学", "物理", "化学", "语文", "英语", "历史", "地理", "生物", "计算机", "音乐"};
+    
+    private final ObjectMapper objectMapper;
+    
+    private final String studentBaseUrl;
+    
+    private final String teacherBaseUrl;
+    
+    private final Duration requestTimeout;
+    
+    private final int classCount;
+    
+    /**
+     * 本次运行的编号前缀，保证多次运行时学号和工号不冲突
+     */
+    private final String runId = Long.toString(System.currentTimeMillis() % 1_000_000_000L, 36).toUpperCase();
+    
+    private final AtomicLong sequence = new AtomicLong();
+    
+    private final IdPool studentIds = new IdPool();
+    
+    private final IdPool teacherIds = new IdPool();
+    
+    public Workload(ObjectMapper objectMapper, String studentBaseUrl, String teacherBaseUrl, Duration requestTimeout,
+                    int classCount) {
+        this.objectMapper = objectMapper;
+        this.studentBaseUrl = studentBaseUrl;
+        this.teacherBaseUrl = teacherBaseUrl;
+        this.requestTimeout = requestTimeout;
+        this.classCount = classCount;
+    }
+    
+    public IdPool getStudentIds() {
+        return studentIds;
+    }
+    
+    public IdPool getTeacherIds() {
+        return teacherIds;
+    }
+    
+    /**
+     * 按配置的权重创建请求混合，权重为0的操作不参与
+     *
+     * @param weights 操作名到权重的映射
+     * @return 操作列表
+     */
+    public List<Operation> operations(Map<String, Integer> weights) {
+        Map<String, Operation> all = new LinkedHashMap<>();
+        all.put("student.get", new Operation("student.get", random ->
+            get(studentBaseUrl + "/api/students/" + studentIds.pick(random)), null));
+        all.put("student.page", new Operation("student.page", random ->
+            get(studentBaseUrl + "/api/students?page=" + random.nextInt(Math.max(studentIds.size() / 20, 1)) + "&size=20"), null));
+        all.put("student.search", new Operation("student.search", random ->
+            get(studentBaseUrl + "/api/students/search?size=20&name=" + encode(randomName(random))), null));
+        all.put("student.suggest", new Operation("student.suggest", random ->
+            get(studentBaseUrl + "/api/students/suggest?q=" + SURNAME_PINYIN[random.nextInt(SURNAME_PINYIN.length)]), null));
+        all.put("student.by-class", new Operation("student.by-class", random ->
+            get(studentBaseUrl + "/api/students/by-class/" + randomClassId(random)), null));
+        all.put("student.create", new Operation("student.create", random ->
+            post(studentBaseUrl + "/api/students", newStudent(random)),
+            data -> studentIds.add(data.path("id").asLong())));
+        all.put("student.status", new Operation("student.status", random ->
+            send("PATCH", studentBaseUrl + "/api/students/" + studentIds.pick(random) + "/status",
+                Map.of("newStatus", STATUSES[random.nextInt(STATUSES.length)], "reason", "压测")), null));
+        all.put("teacher.get", new Operation("teacher.get", random ->
+            get(teacherBaseUrl + "/api/teachers/" + teacherIds.pick(random)), null));
+        all.put("teacher.page", new Operation("teacher.page", random ->
+            get(teacherBaseUrl + "/api/teachers/page?size=20&page=" + (1 + random.nextInt(Math.max(teacherIds.size() / 20, 1)))), null));
+        all.put("teacher.suggest", new Operation("teacher.suggest", random ->
+            get(teacherBaseUrl + "/api/teachers/suggest?q=" + SURNAME_PINYIN[random.nextInt(SURNAME_PINYIN.length)]), null));
+        all.put("teacher.create", new Operation("teacher.create", random ->
+            post(teacherBaseUrl + "/api/teachers", newTeacher(random)),
+            data -> teacherIds.add(data.path("id").asLong())));
+        all.put("student.health", new Operation("student.health", random ->
+            get(studentBaseUrl + "/actuator/health"), null));
+        all.put("teacher.health", new Operation("teacher.health", random ->
+            get(teacherBaseUrl + "/actuator/health"), null));
+        
+        List<Operation> operations = new ArrayList<>();
+        for (Map.Entry<String, Integer> weight : weights.entrySet()) {
+            Operation operation = all.get(weight.getKey());
+            if (operation == null) {
+                throw new IllegalArgumentException("未知的请求类型: loadtest.mix." + weight.getKey() + "，可选: " + all.keySet());
+            }
+            if (weight.getValue() > 0) {
+                operations.add(operation.withWeight(weight.getValue()));
+            }
+        }
+        if (operations.isEmpty()) {
+            throw new IllegalArgumentException("请求混合中没有权重大于0的请求类型");
+        }
+        return operations;
+    }
+    
+    /**
+     * 批量创建学生的请求
+     *
+     * @param random 随机数
+     * @param count 学生数
+     */
+    public HttpRequest batchCreateStudents(Random random, int count) {
+        List<Map<String, Object>> students = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            students.add(newStudent(random));
+        }
+        return post(studentBaseUrl + "/api/students/batch", students);
+    }
+    
+    public HttpRequest assignClass(long studentId, Random random) {
+        return send("PUT", studentBaseUrl + "/api/students/" + studentId + "/class/" + randomClassId(random), null);
+    }
+    
+    public HttpRequest createTeacher(Random random) {
+        return post(teacherBaseUrl + "/api/teachers", newTeacher(random));
+    }
+    
+    private Map<String, Object> newStudent(Random random) {
+        long no = sequence.incrementAndGet();
+        Map<String, Object> student = new LinkedHashMap<>();
+        student.put("studentId", "LT" + runId + no);
+        student.put("name", randomName(random));
+        student.put("dateOfBirth", LocalDate.of(2008, 1, 1).plusDays(random.nextInt(3650)).toString());
+        student.put("gender", random.nextInt(2));
+        student.put("email", "lt" + runId.toLowerCase() + no + "@example.com");
+        student.put("phone", "138" + String.format("%08d", random.nextInt(100_000_000)));
+        student.put("address", "北京市海淀区学院路" + (1 + random.nextInt(200)) + "号");
+        return student;
+    }
+    
+    private Map<String, Object> newTeacher(Random random) {
+        long no = sequence.incrementAndGet();
+        Map<String, Object> teacher = new LinkedHashMap<>();
+        teacher.put("teacherNo", "T" + runId + no);
+        teacher.put("name", randomName(random));
+        teacher.put("gender", random.nextInt(2));
+        teacher.put("age", 25 + random.nextInt(35));
+        teacher.put("phone", "139" + String.format("%08d", random.nextInt(100_000_000)));
+        teacher.put("email", "t" + runId.toLowerCase() + no + "@example.com");
+        teacher.put("hireDate", LocalDate.of(2000, 9, 1).plusDays(random.nextInt(8000)).toString());
+        teacher.put("title", 1 + random.nextInt(3));
+        teacher.put("education", 1 + random.nextInt(3));
+        teacher.put("specialization", SPECIALIZATIONS[random.nextInt(SPECIALIZATIONS.length)]);
+        teacher.put("departmentId", 1L + random.nextInt(10));
+        return teacher;
+    }
+    
+    private long randomClassId(Random random) {
+        return 101L + random.nextInt(classCount);
+    }
+    
+    private static String randomName(Random random) {
+        return SURNAMES[random.nextInt(SURNAMES.length)] + GIVEN_NAMES[random.nextInt(GIVEN_NAMES.length)];
+    }
+    
+    private HttpRequest get(String url) {
+        return HttpRequest.newBuilder(URI.create(url)).timeout(requestTimeout).GET().build();
+    }
+    
+    private HttpRequest post(String url, Object body) {
+        return send("POST", url, body);
+    }
+    
+    private HttpRequest send(String method, String url, Object body) {
+        HttpRequest.BodyPublisher publisher = body == null
+            ? HttpRequest.BodyPublishers.noBody()
+            : HttpRequest.BodyPublishers.ofString(toJson(body), StandardCharsets.UTF_8);
+        return HttpRequest.newBuilder(URI.create(url))
+            .timeout(requestTimeout)
+            .header("Content-Type", "application/json")
+            .method(method, publisher)
+            .build();
+    }
+    
+    private String toJson(Object body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+    
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+    
+    /**
+     * 一类请求
+     */
+    public static class Operation {
+        
+        private final String name;
+        
+        private final int weight;
+        
+        private final Function<Random, HttpRequest> requestFactory;
+        
+        private final Consumer<JsonNode> onSuccess;
+        
+        private Operation(String name, Function<Random, HttpRequest> requestFactory, Consumer<JsonNode> onSuccess) {
+            this(name, 0, requestFactory, onSuccess);
+        }
+        
+        private Operation(String name, int weight, Function<Random, HttpRequest> requestFactory,
+                          Consumer<JsonNode> onSuccess) {
+            this.name = name;
+            this.weight = weight;
+            this.requestFactory = requestFactory;
+            this.onSuccess = onSuccess;
+        }
+        
+        private Operation withWeight(int weight) {
+            return new Operation(name, weight, requestFactory, onSuccess);
+        }
+        
+        public String getName() {
+            return name;
+        }
+        
+        public int getWeight() {
+            return weight;
+        }
+        
+        public HttpRequest newRequest(Random random) {
+            return requestFactory.apply(random);
+        }
+        
+        /**
+         * 请求成功后处理响应中的data字段，如记录新创建的ID
+         */
+        public void handleSuccess(JsonNode data) {
+            if (onSuccess != null) {
+                onSuccess.accept(data);
+            }
+        }
+    }
+    
+    /**
+     * 可并发追加、随机读取的ID集合
+     */
+    public static class IdPool {
+        
+        private long[] ids = new long[1024];
+        
+        private int size;
+        
+        public synchronized void add(long id) {
+            if (id <= 0) {
+                return;
+            }
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+        
+        public synchronized int size() {
+            return size;
+        }
+        
+        /**
+         * 随机选取一个ID，集合为空时返回一个不存在的ID
+         */
+        public synchronized long pick(Random random) {
+            return size == 0 ? Long.MAX_VALUE : ids[random.nextInt(size)];
+        }
+    }
+}
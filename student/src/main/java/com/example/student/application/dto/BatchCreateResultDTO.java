@@ -0,0 +1,75 @@
+package com.example.student.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 批量创建学生结果
+ * 
+ * @author liujiandong
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchCreateResultDTO {
+    
+    /**
+     * 提交的总行数
+     */
+    private int total;
+    
+    /**
+     * 创建成功的行数
+     */
+    private int succeeded;
+    
+    /**
+     * 创建失败的行数
+     */
+    private int failed;
+    
+    /**
+     * 逐行结果，顺序与请求一致
+     */
+    private List<Item> items;
+    
+    /**
+     * 单行结果
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+        
+        /**
+         * 在请求中的下标（从0开始）
+         */
+        private int index;
+        
+        /**
+         * 学号
+         */
+        private String studentId;
+        
+        /**
+         * 是否创建成功
+         */
+        private boolean success;
+        
+        /**
+         * 创建成功时的学生ID
+         */
+        private Long id;
+        
+        /**
+         * 创建失败时的原因
+         */
+        private String error;
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.student.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 批量变更学生状态结果
+ * 
+ * @author liujiandong
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkUpdateStatusResultDTO {
+    
+    /**
+     * 符合筛选条件的学生数
+     */
+    private long matched;
+    
+    /**
+     * 状态已变更的学生数
+     */
+    private long updated;
+    
+    /**
+     * 已处于目标状态、无需变更的学生数
+     */
+    private long unchanged;
+    
+    /**
+     * 不允许转换为目标状态的学生数
+     */
+    private long rejected;
+    
+    /**
+     * 部分不允许转换的学生，便于排查
+     */
+    private List<Rejection> rejections;
+    
+    /**
+     * 不允许转换的学生
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Rejection {
+        
+        /**
+         * 学生ID
+         */
+        private Long id;
+        
+        /**
+         * 学号
+         */
+        private String studentId;
+        
+        /**
+         * 当前状态
+         */
+        private String currentStatus;
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.student.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * 班级花名册统计
+ * 
+ * @author liujiandong
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClassRosterStatsDTO {
+    
+    /**
+     * 班级ID
+     */
+    private Long classId;
+    
+    /**
+     * 学生总数（不含已删除）
+     */
+    private long total;
+    
+    /**
+     * 按状态计数
+     */
+    private Map<String, Long> byStatus;
+    
+    /**
+     * 按性别计数（0-女，1-男，unknown-未填写）
+     */
+    private Map<String, Long> byGender;
+    
+    /**
+     * 按年龄段计数，按年龄段从小到大排列
+     */
+    private Map<String, Long> byAgeBucket;
+    
+    /**
+     * 最近一次与数据库校准的时间
+     */
+    private LocalDateTime reconciledAt;
+}
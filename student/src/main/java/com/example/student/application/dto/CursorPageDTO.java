@@ -0,0 +1,35 @@
+package com.example.student.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 游标分页结果
+ * 
+ * @author liujiandong
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageDTO<T> {
+    
+    /**
+     * 当前页数据
+     */
+    private List<T> items;
+    
+    /**
+     * 下一页游标，没有更多数据时为null
+     */
+    private String nextCursor;
+    
+    /**
+     * 是否还有更多数据
+     */
+    private boolean hasMore;
+}
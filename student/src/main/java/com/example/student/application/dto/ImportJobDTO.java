@@ -0,0 +1,81 @@
+package com.example.student.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 学生导入任务状态
+ * 
+ * @author liujiandong
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportJobDTO {
+    
+    /**
+     * 任务ID
+     */
+    private String jobId;
+    
+    /**
+     * 上传的文件名
+     */
+    private String fileName;
+    
+    /**
+     * 任务状态：PENDING、RUNNING、COMPLETED、FAILED
+     */
+    private String status;
+    
+    /**
+     * 已读取的数据行数
+     */
+    private long parsedRows;
+    
+    /**
+     * 已处理完成（成功或失败）的行数
+     */
+    private long processedRows;
+    
+    /**
+     * 导入成功的行数
+     */
+    private long succeededRows;
+    
+    /**
+     * 导入失败的行数
+     */
+    private long failedRows;
+    
+    /**
+     * 平均处理速度（行/秒）
+     */
+    private double rowsPerSecond;
+    
+    /**
+     * 开始时间
+     */
+    private LocalDateTime startTime;
+    
+    /**
+     * 结束时间
+     */
+    private LocalDateTime endTime;
+    
+    /**
+     * 任务失败原因
+     */
+    private String message;
+    
+    /**
+     * 最先出现的若干失败行，完整列表通过错误明细接口分页获取
+     */
+    private List<ImportRowErrorDTO> errors;
+}
@@ -0,0 +1,33 @@
+package com.example.student.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 导入失败行
+ * 
+ * @author liujiandong
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportRowErrorDTO {
+    
+    /**
+     * 文件中的行号（表头为第1行）
+     */
+    private int rowNumber;
+    
+    /**
+     * 学号
+     */
+    private String studentId;
+    
+    /**
+     * 失败原因
+     */
+    private String message;
+}
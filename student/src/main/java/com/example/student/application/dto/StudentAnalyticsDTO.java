@@ -0,0 +1,51 @@
+package com.example.student.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 全校学生统计结果
+ * 
+ * @author liujiandong
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentAnalyticsDTO {
+    
+    /**
+     * 分组维度
+     */
+    private List<String> groupBy;
+    
+    /**
+     * 各分组计数，按学生数从多到少排列
+     */
+    private List<StudentAnalyticsGroupDTO> groups;
+    
+    /**
+     * 满足条件的学生总数
+     */
+    private long total;
+    
+    /**
+     * 快照中的学生数（不含已删除）
+     */
+    private int snapshotRows;
+    
+    /**
+     * 快照已同步到的学生更新时间
+     */
+    private LocalDateTime snapshotWatermark;
+    
+    /**
+     * 扫描耗时（微秒）
+     */
+    private long scanMicros;
+}
@@ -0,0 +1,30 @@
+package com.example.student.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * 全校学生统计的一个分组
+ * 
+ * @author liujiandong
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentAnalyticsGroupDTO {
+    
+    /**
+     * 分组键，按查询的分组维度顺序排列；值为空表示该维度未填写
+     */
+    private Map<String, Object> key;
+    
+    /**
+     * 学生数
+     */
+    private long count;
+}
@@ -8,6 +8,7 @@ import lombok.NoArgsConstructor;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -138,4 +139,19 @@ public class StudentDTO {
             .updateTime(student.getUpdateTime())
             .build();
     }
+    
+    /**
+     * 解析include参数，支持逗号分隔的多个取值
+     * 
+     * @param include include参数
+     * @return 是否需要加载家长信息
+     */
+    public static boolean includesParents(String include) {
+        if (include == null || include.isBlank()) {
+            return false;
+        }
+        return Arrays.stream(include.split(","))
+            .map(String::trim)
+            .anyMatch("parents"::equalsIgnoreCase);
+    }
 } 
\ No newline at end of file
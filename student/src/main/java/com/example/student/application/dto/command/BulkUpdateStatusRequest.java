@@ -0,0 +1,47 @@
+package com.example.student.application.dto.command;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.NotBlank;
+import java.util.List;
+
+/**
+ * 按条件批量变更学生状态请求DTO，至少需要指定一个筛选条件
+ * 
+ * @author liujiandong
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkUpdateStatusRequest {
+    
+    /**
+     * 班级ID列表
+     */
+    private List<Long> classIds;
+    
+    /**
+     * 入学年份
+     */
+    private Integer enrollmentYear;
+    
+    /**
+     * 当前状态
+     */
+    private String currentStatus;
+    
+    /**
+     * 新状态
+     */
+    @NotBlank(message = "新状态不能为空")
+    private String newStatus;
+    
+    /**
+     * 状态变更原因
+     */
+    private String reason;
+}
@@ -0,0 +1,57 @@
+package com.example.student.application.dto.query;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 全校学生统计查询条件
+ * <p>
+ * 分组维度可选：status、gender、classId、enrollmentYear、age；不指定分组维度时只返回总数。
+ * 过滤条件均可为空，为空表示不过滤。
+ * 
+ * @author liujiandong
+ */
+@Data
+public class StudentAnalyticsQuery {
+    
+    /**
+     * 分组维度，按给定顺序组成分组键
+     */
+    private List<String> groupBy;
+    
+    /**
+     * 状态
+     */
+    private List<String> statuses;
+    
+    /**
+     * 班级ID
+     */
+    private List<Long> classIds;
+    
+    /**
+     * 性别（0-女，1-男）
+     */
+    private Integer gender;
+    
+    /**
+     * 入学年份下限（含）
+     */
+    private Integer enrollmentYearFrom;
+    
+    /**
+     * 入学年份上限（含）
+     */
+    private Integer enrollmentYearTo;
+    
+    /**
+     * 周岁下限（含），指定后排除未填写出生日期的学生
+     */
+    private Integer minAge;
+    
+    /**
+     * 周岁上限（含），指定后排除未填写出生日期的学生
+     */
+    private Integer maxAge;
+}
@@ -0,0 +1,94 @@
+package com.example.student.application.dto.query;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * 学生列表游标，记录上一页最后一条记录的排序键
+ * <p>
+ * 对外以Base64URL编码的不透明字符串传递，格式为 {@code v1|排序方式|班级ID|学生ID}。
+ * 
+ * @author liujiandong
+ */
+@Getter
+@AllArgsConstructor
+public class StudentCursor {
+    
+    /**
+     * 按ID排序
+     */
+    public static final String SORT_ID = "id";
+    
+    /**
+     * 按(班级ID, ID)排序
+     */
+    public static final String SORT_CLASS_ID = "classId";
+    
+    private static final String VERSION = "v1";
+    
+    private static final String SEPARATOR = "|";
+    
+    /**
+     * 排序方式
+     */
+    private final String sort;
+    
+    /**
+     * 上一页最后一条记录的班级ID
+     */
+    private final Long classId;
+    
+    /**
+     * 上一页最后一条记录的学生ID
+     */
+    private final Long id;
+    
+    /**
+     * 编码为不透明字符串
+     * 
+     * @return 游标字符串
+     */
+    public String encode() {
+        String raw = String.join(SEPARATOR, VERSION, sort,
+            classId == null ? "" : classId.toString(), id.toString());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    /**
+     * 解析游标字符串
+     * 
+     * @param cursor 游标字符串，为空时表示第一页
+     * @param sort 本次请求的排序方式
+     * @return 游标，第一页返回null
+     */
+    public static StudentCursor decode(String cursor, String sort) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        
+        String[] parts;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            parts = raw.split("\\|", -1);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("无效的游标: " + cursor);
+        }
+        
+        if (parts.length != 4 || !VERSION.equals(parts[0])) {
+            throw new IllegalArgumentException("无效的游标: " + cursor);
+        }
+        if (!parts[1].equals(sort)) {
+            throw new IllegalArgumentException("游标与排序方式不匹配: " + sort);
+        }
+        
+        try {
+            Long classId = parts[2].isEmpty() ? null : Long.valueOf(parts[2]);
+            return new StudentCursor(parts[1], classId, Long.valueOf(parts[3]));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("无效的游标: " + cursor);
+        }
+    }
+}
@@ -1,25 +1,45 @@
 package com.example.student.application.service;
 
+import com.example.common.suggest.Suggestion;
+import com.example.common.web.ResourceVersion;
+import com.example.student.application.dto.ClassRosterStatsDTO;
+import com.example.student.application.dto.CursorPageDTO;
 import com.example.student.application.dto.ParentDTO;
+import com.example.student.application.dto.StudentAnalyticsDTO;
 import com.example.student.application.dto.StudentDTO;
 import com.example.student.application.dto.command.AddParentRequest;
 import com.example.student.application.dto.command.CreateStudentRequest;
 import com.example.student.application.dto.command.UpdateStudentRequest;
 import com.example.student.application.dto.command.UpdateStudentStatusRequest;
+import com.example.student.application.dto.query.StudentAnalyticsQuery;
+import com.example.student.application.dto.query.StudentCursor;
 import com.example.student.domain.entity.ClassEnrollment;
 import com.example.student.domain.entity.Student;
 import com.example.student.domain.event.DomainEvent;
 import com.example.student.domain.repository.StudentRepository;
 import com.example.student.domain.valueobject.ContactInfo;
 import com.example.student.domain.valueobject.ParentInfo;
+import com.example.student.infrastructure.cache.StudentNoFilter;
 import com.example.student.infrastructure.messaging.DomainEventPublisher;
+import com.example.student.infrastructure.readmodel.StudentReadModel;
+import com.example.student.infrastructure.search.StudentNameIndex;
+import com.example.student.infrastructure.search.StudentSuggestIndex;
+import com.example.student.infrastructure.stats.ClassRosterStats;
+import com.example.student.infrastructure.stats.StudentAnalyticsEngine;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import javax.persistence.EntityNotFoundException;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 /**
  * 学生应用服务类，处理学生相关的业务逻辑
@@ -27,15 +47,49 @@ import java.util.List;
  * @author liujiandong
  */
 @Service
+@Timed("student.service")
 @Transactional
 public class StudentApplicationService {
     
+    /**
+     * 游标分页单页最大条数
+     */
+    private static final int MAX_CURSOR_PAGE_SIZE = 500;
+    
+    /**
+     * 姓名查询单页最大条数
+     */
+    private static final int MAX_SEARCH_PAGE_SIZE = 500;
+    
+    /**
+     * 输入联想最大返回条数
+     */
+    private static final int MAX_SUGGEST_LIMIT = 20;
+    
     @Autowired
     private StudentRepository studentRepository;
     
     @Autowired
     private DomainEventPublisher eventPublisher;
     
+    @Autowired
+    private StudentNameIndex studentNameIndex;
+    
+    @Autowired
+    private StudentSuggestIndex studentSuggestIndex;
+    
+    @Autowired
+    private StudentNoFilter studentNoFilter;
+    
+    @Autowired
+    private StudentReadModel studentReadModel;
+    
+    @Autowired
+    private ClassRosterStats classRosterStats;
+    
+    @Autowired
+    private StudentAnalyticsEngine studentAnalyticsEngine;
+    
     /**
      * 创建学生
      * 
@@ -43,8 +97,9 @@ public class StudentApplicationService {
      * @return 学生DTO
      */
     public StudentDTO createStudent(CreateStudentRequest request) {
-        // 检查学号是否已存在
-        if (studentRepository.existsByStudentId(request.getStudentId())) {
+        // 检查学号是否已存在：布隆过滤器判定一定不存在时跳过数据库查询，由唯一索引兜底
+        if (studentNoFilter.mightContain(request.getStudentId())
+                && studentRepository.existsByStudentId(request.getStudentId())) {
             throw new IllegalArgumentException("学号已存在: " + request.getStudentId());
         }
         
@@ -65,7 +120,12 @@ public class StudentApplicationService {
         );
         
         // 保存学生
-        Student savedStudent = studentRepository.save(student);
+        Student savedStudent;
+        try {
+            savedStudent = studentRepository.save(student);
+        } catch (DuplicateKeyException e) {
+            throw new IllegalArgumentException("学号已存在: " + request.getStudentId());
+        }
         
         // 发布领域事件
         publishEvents(student);
@@ -85,16 +145,13 @@ public class StudentApplicationService {
         // 获取学生
         Student student = findStudentById(id);
         
-        // 更新学生信息
-        student.setName(request.getName());
-        
-        // 更新联系信息
+        // 更新学生信息及联系信息
         ContactInfo contactInfo = new ContactInfo(
             request.getEmail(),
             request.getPhone(),
             request.getAddress()
         );
-        student.setContactInfo(contactInfo);
+        student.updateBasicInfo(request.getName(), contactInfo);
         
         // 保存学生
         Student savedStudent = studentRepository.save(student);
@@ -162,13 +219,18 @@ public class StudentApplicationService {
     }
     
     /**
-     * 根据ID获取学生
+     * 根据ID获取学生，读模型就绪时直接从读模型读取
      * 
      * @param id 学生ID
      * @return 学生DTO
      */
     @Transactional(readOnly = true)
     public StudentDTO getStudentById(Long id) {
+        if (studentReadModel.isAvailable()) {
+            return studentReadModel.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("学生不存在: " + id));
+        }
+        
         Student student = findStudentById(id);
         
         // 加载家长信息
@@ -186,6 +248,11 @@ public class StudentApplicationService {
      */
     @Transactional(readOnly = true)
     public StudentDTO getStudentByStudentId(String studentId) {
+        if (studentReadModel.isAvailable()) {
+            return studentReadModel.findByStudentNo(studentId)
+                .orElseThrow(() -> new EntityNotFoundException("学生不存在: " + studentId));
+        }
+        
         Student student = studentRepository.findByStudentId(studentId)
             .orElseThrow(() -> new EntityNotFoundException("学生不存在: " + studentId));
         
@@ -201,42 +268,214 @@ public class StudentApplicationService {
      * 
      * @param page 页码
      * @param size 每页大小
+     * @param includeParents 是否加载家长信息
      * @return 学生DTO列表
      */
     @Transactional(readOnly = true)
-    public List<StudentDTO> getAllStudents(int page, int size) {
+    public List<StudentDTO> getAllStudents(int page, int size, boolean includeParents) {
+        if (studentReadModel.isAvailable()) {
+            return studentReadModel.findPage(page, size, includeParents);
+        }
         List<Student> students = studentRepository.findAll(page, size);
-        return students.stream()
-            .map(StudentDTO::fromEntity)
-            .toList();
+        return toDTOs(students, includeParents);
+    }
+    
+    /**
+     * 游标（keyset）分页获取学生，不执行COUNT，翻页深度不影响查询耗时
+     * 
+     * @param cursor 上一页返回的游标，为空时获取第一页
+     * @param size 每页大小
+     * @param sort 排序方式（id 或 classId）
+     * @param classId 班级ID过滤条件，仅在按ID排序时生效
+     * @param includeParents 是否加载家长信息
+     * @return 游标分页结果
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<StudentDTO> scrollStudents(String cursor, int size, String sort,
+                                                    Long classId, boolean includeParents) {
+        if (!StudentCursor.SORT_ID.equals(sort) && !StudentCursor.SORT_CLASS_ID.equals(sort)) {
+            throw new IllegalArgumentException("不支持的排序方式: " + sort);
+        }
+        int limit = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+        StudentCursor after = StudentCursor.decode(cursor, sort);
+        Long afterId = after != null ? after.getId() : null;
+        Long afterClassId = after != null ? after.getClassId() : null;
+        
+        // 多取一条用于判断是否还有下一页
+        List<StudentDTO> items;
+        boolean hasMore;
+        if (studentReadModel.isAvailable()) {
+            items = StudentCursor.SORT_ID.equals(sort)
+                ? studentReadModel.findPageAfterId(classId, afterId, limit + 1, includeParents)
+                : studentReadModel.findPageAfterClassIdAndId(afterClassId, afterId, limit + 1, includeParents);
+            hasMore = items.size() > limit;
+            if (hasMore) {
+                items = items.subList(0, limit);
+            }
+        } else {
+            List<Student> students = StudentCursor.SORT_ID.equals(sort)
+                ? studentRepository.findPageAfterId(classId, afterId, limit + 1)
+                : studentRepository.findPageAfterClassIdAndId(afterClassId, afterId, limit + 1);
+            hasMore = students.size() > limit;
+            if (hasMore) {
+                students = students.subList(0, limit);
+            }
+            items = toDTOs(students, includeParents);
+        }
+        
+        String nextCursor = null;
+        if (hasMore) {
+            StudentDTO last = items.get(items.size() - 1);
+            nextCursor = new StudentCursor(sort, last.getClassId(), last.getId()).encode();
+        }
+        
+        return CursorPageDTO.<StudentDTO>builder()
+            .items(items)
+            .nextCursor(nextCursor)
+            .hasMore(hasMore)
+            .build();
     }
     
     /**
      * 根据班级ID获取学生
      * 
      * @param classId 班级ID
+     * @param includeParents 是否加载家长信息
      * @return 学生DTO列表
      */
     @Transactional(readOnly = true)
-    public List<StudentDTO> getStudentsByClassId(Long classId) {
+    public List<StudentDTO> getStudentsByClassId(Long classId, boolean includeParents) {
+        if (studentReadModel.isAvailable()) {
+            return studentReadModel.findByClassId(classId, includeParents);
+        }
         List<Student> students = studentRepository.findByClassId(classId);
-        return students.stream()
-            .map(StudentDTO::fromEntity)
-            .toList();
+        return toDTOs(students, includeParents);
+    }
+    
+    /**
+     * 获取学生的版本指纹，条件GET在加载学生之前据此判断是否未修改
+     * 
+     * @param id 学生ID
+     * @return 版本指纹，读模型未就绪或学生不存在时为空
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Optional<ResourceVersion> getStudentVersion(Long id) {
+        return studentReadModel.isAvailable() ? studentReadModel.findVersionById(id) : Optional.empty();
+    }
+    
+    /**
+     * 按学号获取学生的版本指纹
+     * 
+     * @param studentId 学号
+     * @return 版本指纹，读模型未就绪或学生不存在时为空
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Optional<ResourceVersion> getStudentVersionByStudentId(String studentId) {
+        return studentReadModel.isAvailable() ? studentReadModel.findVersionByStudentNo(studentId) : Optional.empty();
+    }
+    
+    /**
+     * 获取分页结果的版本指纹，分页口径与{@link #getAllStudents}一致
+     * 
+     * @param page 页码
+     * @param size 每页大小
+     * @return 版本指纹，读模型未就绪时为空
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Optional<ResourceVersion> getAllStudentsVersion(int page, int size) {
+        return studentReadModel.isAvailable() ? Optional.of(studentReadModel.findPageVersion(page, size)) : Optional.empty();
+    }
+    
+    /**
+     * 获取班级学生列表的版本指纹
+     * 
+     * @param classId 班级ID
+     * @return 版本指纹，读模型未就绪时为空
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Optional<ResourceVersion> getStudentsByClassIdVersion(Long classId) {
+        return studentReadModel.isAvailable() ? Optional.of(studentReadModel.findVersionByClassId(classId)) : Optional.empty();
     }
     
     /**
      * 根据姓名模糊查询学生
+     * <p>
+     * 优先使用内存N-gram索引定位学生ID，再按主键从读模型批量加载；索引预热完成前降级为分页的SQL LIKE查询。
+     * 每页大小限制在1到{@value #MAX_SEARCH_PAGE_SIZE}之间，两种方式可翻页的结果总数都不超过索引的maxResults。
      * 
      * @param name 姓名
+     * @param page 页码（从0开始）
+     * @param size 每页大小
+     * @param includeParents 是否加载家长信息
      * @return 学生DTO列表
      */
     @Transactional(readOnly = true)
-    public List<StudentDTO> getStudentsByName(String name) {
-        List<Student> students = studentRepository.findByNameLike("%" + name + "%");
-        return students.stream()
-            .map(StudentDTO::fromEntity)
-            .toList();
+    public List<StudentDTO> getStudentsByName(String name, int page, int size, boolean includeParents) {
+        int limit = Math.max(1, Math.min(size, MAX_SEARCH_PAGE_SIZE));
+        long offset = (long) Math.max(page, 0) * limit;
+        int maxResults = studentNameIndex.getMaxResults();
+        if (offset >= maxResults) {
+            return Collections.emptyList();
+        }
+        List<Long> ids = studentNameIndex.search(name, (int) offset, limit);
+        
+        List<Student> students;
+        if (ids != null) {
+            if (studentReadModel.isAvailable()) {
+                return studentReadModel.findByIds(ids, includeParents);
+            }
+            students = studentRepository.findByIds(ids);
+        } else {
+            // 与索引一致：结果按ID升序，可翻页的总数不超过maxResults
+            students = studentRepository.findByNameLike(name, (int) offset,
+                (int) Math.min(limit, maxResults - offset));
+        }
+        return toDTOs(students, includeParents);
+    }
+    
+    /**
+     * 姓名输入联想，支持汉字、全拼、拼音首字母前缀
+     * 
+     * @param prefix 输入前缀
+     * @param limit 返回条数
+     * @return 联想结果
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<Suggestion> suggest(String prefix, int limit) {
+        return studentSuggestIndex.suggest(prefix, Math.max(1, Math.min(limit, MAX_SUGGEST_LIMIT)));
+    }
+    
+    /**
+     * 获取班级花名册统计（按状态、性别、年龄段计数）
+     * 
+     * @param classId 班级ID
+     * @return 班级统计
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ClassRosterStatsDTO getClassRosterStats(Long classId) {
+        return classRosterStats.get(classId);
+    }
+    
+    /**
+     * 批量获取班级花名册统计
+     * 
+     * @param classIds 班级ID，为空时返回全部有学生的班级
+     * @return 按班级ID排列的统计
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<ClassRosterStatsDTO> listClassRosterStats(List<Long> classIds) {
+        return classRosterStats.list(classIds);
+    }
+    
+    /**
+     * 全校学生多维分组统计，基于内存列式快照，不查询t_student
+     * 
+     * @param query 分组维度和过滤条件
+     * @return 统计结果
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public StudentAnalyticsDTO analyzeStudents(StudentAnalyticsQuery query) {
+        return studentAnalyticsEngine.aggregate(query);
     }
     
     /**
@@ -250,7 +489,7 @@ public class StudentApplicationService {
         Student student = findStudentById(studentId);
         
         // 设置班级ID
-        student.setClassId(classId);
+        student.assignClass(classId);
         
         // 创建班级选择
         ClassEnrollment enrollment = new ClassEnrollment(
@@ -275,12 +514,14 @@ public class StudentApplicationService {
      */
     public void deleteStudent(Long id) {
         // 检查学生是否存在
-        if (!studentRepository.findById(id).isPresent()) {
-            throw new EntityNotFoundException("学生不存在: " + id);
-        }
+        Student student = findStudentById(id);
         
         // 逻辑删除学生
+        student.markDeleted();
         studentRepository.deleteById(id);
+        
+        // 发布领域事件
+        publishEvents(student);
     }
     
     /**
@@ -294,6 +535,26 @@ public class StudentApplicationService {
             .orElseThrow(() -> new EntityNotFoundException("学生不存在: " + id));
     }
     
+    /**
+     * 将学生列表转换为DTO列表，需要时一次性批量加载整页学生的家长信息
+     * 
+     * @param students 学生列表
+     * @param includeParents 是否加载家长信息
+     * @return 学生DTO列表
+     */
+    private List<StudentDTO> toDTOs(List<Student> students, boolean includeParents) {
+        if (includeParents && !students.isEmpty()) {
+            Map<Long, List<ParentInfo>> parentsByStudentId = studentRepository.findParentsByStudentIds(
+                students.stream().map(Student::getId).toList());
+            students.forEach(student -> student.setParents(
+                new ArrayList<>(parentsByStudentId.getOrDefault(student.getId(), Collections.emptyList()))));
+        }
+        
+        return students.stream()
+            .map(StudentDTO::fromEntity)
+            .toList();
+    }
+    
     /**
      * 发布领域事件
      * 
@@ -0,0 +1,332 @@
+package com.example.student.application.service;
+
+import com.example.student.application.dto.BatchCreateResultDTO;
+import com.example.student.application.dto.BulkUpdateStatusResultDTO;
+import com.example.student.application.dto.command.BulkUpdateStatusRequest;
+import com.example.student.application.dto.command.CreateStudentRequest;
+import com.example.student.domain.entity.Student;
+import com.example.student.domain.event.DomainEvent;
+import com.example.student.domain.repository.StudentRepository;
+import com.example.student.domain.valueobject.ContactInfo;
+import com.example.student.domain.valueobject.StudentStatus;
+import com.example.student.infrastructure.messaging.DomainEventPublisher;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 学生批量操作服务
+ * <p>
+ * 批量创建时：逐行校验参数，一次IN查询完成学号唯一性校验，JDBC批处理插入，最后批量发布领域事件。
+ * 校验失败的行单独返回原因，不影响其他行入库；插入时撞上并发写入的学号，回滚到保存点后剔除冲突行重试。
+ * 批量变更状态时：按ID分块加锁读取，在内存中校验状态转换，每块一条UPDATE语句写入并批量发布领域事件。
+ * 
+ * @author liujiandong
+ */
+@Service
+@Timed("student.service")
+@Slf4j
+public class StudentBatchService {
+    
+    /**
+     * 批量变更状态结果中最多列出的不允许转换的学生数
+     */
+    private static final int MAX_REPORTED_REJECTIONS = 100;
+    
+    @Value("${student.batch.max-size:5000}")
+    private int maxBatchSize;
+    
+    @Value("${student.batch.status-chunk-size:500}")
+    private int statusChunkSize;
+    
+    @Autowired
+    private StudentRepository studentRepository;
+    
+    @Autowired
+    private DomainEventPublisher eventPublisher;
+    
+    @Autowired
+    private Validator validator;
+    
+    private TransactionTemplate transactionTemplate;
+    
+    /**
+     * 在外层事务中建立保存点，插入失败时只回滚本次插入
+     */
+    private TransactionTemplate savepointTemplate;
+    
+    @Autowired
+    public void setTransactionManager(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.savepointTemplate = new TransactionTemplate(transactionManager);
+        this.savepointTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_NESTED);
+    }
+    
+    /**
+     * 批量创建学生
+     * 
+     * @param requests 创建学生请求列表
+     * @return 逐行创建结果
+     */
+    @Transactional
+    public BatchCreateResultDTO createStudents(List<CreateStudentRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new IllegalArgumentException("批量创建的学生列表不能为空");
+        }
+        if (requests.size() > maxBatchSize) {
+            throw new IllegalArgumentException("单次最多批量创建" + maxBatchSize + "名学生");
+        }
+        
+        long start = System.currentTimeMillis();
+        List<BatchCreateResultDTO.Item> items = new ArrayList<>(requests.size());
+        
+        // 1. 逐行校验参数，并识别批次内重复的学号
+        Set<String> seenInBatch = new HashSet<>();
+        List<Integer> candidates = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            CreateStudentRequest request = requests.get(i);
+            String error = validate(request);
+            if (error == null && !seenInBatch.add(request.getStudentId())) {
+                error = "学号在本批次中重复: " + request.getStudentId();
+            }
+            items.add(BatchCreateResultDTO.Item.builder()
+                .index(i)
+                .studentId(request == null ? null : request.getStudentId())
+                .success(error == null)
+                .error(error)
+                .build());
+            if (error == null) {
+                candidates.add(i);
+            }
+        }
+        
+        // 2. 一次IN查询校验学号唯一性（布隆过滤器只反映本实例见过的学号，不能用于剔除）
+        Set<String> existing = studentRepository.findExistingStudentIds(candidates.stream()
+            .map(i -> requests.get(i).getStudentId())
+            .collect(Collectors.toList()));
+        
+        // 3. 构建领域实体并批量插入
+        List<Student> students = new ArrayList<>(candidates.size());
+        List<BatchCreateResultDTO.Item> insertedItems = new ArrayList<>(candidates.size());
+        for (Integer i : candidates) {
+            CreateStudentRequest request = requests.get(i);
+            BatchCreateResultDTO.Item item = items.get(i);
+            if (existing.contains(request.getStudentId())) {
+                item.setSuccess(false);
+                item.setError("学号已存在: " + request.getStudentId());
+                continue;
+            }
+            students.add(Student.create(
+                request.getStudentId(),
+                request.getName(),
+                request.getDateOfBirth(),
+                request.getGender(),
+                new ContactInfo(request.getEmail(), request.getPhone(), request.getAddress())
+            ));
+            insertedItems.add(item);
+        }
+        insertSkippingDuplicates(students, insertedItems);
+        for (int i = 0; i < students.size(); i++) {
+            insertedItems.get(i).setId(students.get(i).getId());
+        }
+        
+        // 4. 批量发布领域事件
+        List<DomainEvent> events = new ArrayList<>();
+        for (Student student : students) {
+            events.addAll(student.getUncommittedEvents());
+            student.clearDomainEvents();
+        }
+        eventPublisher.publishAll(events);
+        
+        int succeeded = students.size();
+        log.info("批量创建学生完成: total={}, succeeded={}, failed={}, cost={}ms",
+            requests.size(), succeeded, requests.size() - succeeded, System.currentTimeMillis() - start);
+        return BatchCreateResultDTO.builder()
+            .total(requests.size())
+            .succeeded(succeeded)
+            .failed(requests.size() - succeeded)
+            .items(items)
+            .build();
+    }
+    
+    /**
+     * 在保存点内批量插入，学号与其他实例或并发批次冲突时剔除冲突行后重试
+     * <p>
+     * 冲突后先重新查询学号，剔除已存在的行再整批重试；查不到冲突行时（外层事务的一致性读看不到
+     * 之后提交的数据）退化为逐行插入，每行一个保存点。返回时两个列表只保留插入成功的行。
+     * 
+     * @param students 待插入的学生
+     * @param items 与学生一一对应的结果行
+     */
+    private void insertSkippingDuplicates(List<Student> students, List<BatchCreateResultDTO.Item> items) {
+        while (!students.isEmpty()) {
+            try {
+                savepointTemplate.executeWithoutResult(status -> studentRepository.insertAll(students));
+                return;
+            } catch (DuplicateKeyException e) {
+                Set<String> clashing = studentRepository.findExistingStudentIds(students.stream()
+                    .map(Student::getStudentId)
+                    .collect(Collectors.toList()));
+                log.warn("批量创建学生时学号冲突，剔除后重试: rows={}, clashing={}", students.size(), clashing.size());
+                if (clashing.isEmpty()) {
+                    insertOneByOne(students, items);
+                    return;
+                }
+                for (int i = students.size() - 1; i >= 0; i--) {
+                    if (clashing.contains(students.get(i).getStudentId())) {
+                        markDuplicate(items.get(i));
+                        students.remove(i);
+                        items.remove(i);
+                    }
+                }
+            }
+        }
+    }
+    
+    /**
+     * 逐行插入，每行一个保存点，学号冲突的行标记失败并移出列表
+     */
+    private void insertOneByOne(List<Student> students, List<BatchCreateResultDTO.Item> items) {
+        int i = 0;
+        while (i < students.size()) {
+            List<Student> single = Collections.singletonList(students.get(i));
+            try {
+                savepointTemplate.executeWithoutResult(status -> studentRepository.insertAll(single));
+                i++;
+            } catch (DuplicateKeyException e) {
+                markDuplicate(items.get(i));
+                students.remove(i);
+                items.remove(i);
+            }
+        }
+    }
+    
+    private static void markDuplicate(BatchCreateResultDTO.Item item) {
+        item.setSuccess(false);
+        item.setError("学号已存在: " + item.getStudentId());
+    }
+    
+    /**
+     * 按条件批量变更学生状态
+     * <p>
+     * 按ID分块处理，每块一个事务：加锁读取一块学生，在内存中逐个校验状态转换并生成领域事件，
+     * 再用一条UPDATE ... WHERE id IN语句写入新状态（毕业时同时写入毕业日期），最后批量发布本块事件。
+     * 已提交的块不会因后续块失败而回滚。
+     * 
+     * @param request 批量变更状态请求
+     * @return 变更结果
+     */
+    public BulkUpdateStatusResultDTO updateStatus(BulkUpdateStatusRequest request) {
+        boolean hasClassIds = request.getClassIds() != null && !request.getClassIds().isEmpty();
+        boolean hasCurrentStatus = request.getCurrentStatus() != null && !request.getCurrentStatus().isEmpty();
+        if (!hasClassIds && request.getEnrollmentYear() == null && !hasCurrentStatus) {
+            throw new IllegalArgumentException("至少需要指定班级、入学年份、当前状态中的一个筛选条件");
+        }
+        if (hasCurrentStatus) {
+            StudentStatus.fromValue(request.getCurrentStatus());
+        }
+        String newStatus = StudentStatus.fromValue(request.getNewStatus()).getValue();
+        
+        long start = System.currentTimeMillis();
+        BulkUpdateStatusResultDTO result = BulkUpdateStatusResultDTO.builder()
+            .rejections(new ArrayList<>())
+            .build();
+        Long afterId = null;
+        while (true) {
+            Long cursor = afterId;
+            Long lastId = transactionTemplate.execute(status -> updateStatusChunk(request, newStatus, cursor, result));
+            if (lastId == null) {
+                break;
+            }
+            afterId = lastId;
+        }
+        
+        log.info("批量变更学生状态完成: newStatus={}, matched={}, updated={}, unchanged={}, rejected={}, cost={}ms",
+            newStatus, result.getMatched(), result.getUpdated(), result.getUnchanged(), result.getRejected(),
+            System.currentTimeMillis() - start);
+        return result;
+    }
+    
+    /**
+     * 处理一块学生
+     * 
+     * @return 本块最后一个学生的ID，没有更多学生时返回null
+     */
+    private Long updateStatusChunk(BulkUpdateStatusRequest request, String newStatus, Long afterId,
+                                   BulkUpdateStatusResultDTO result) {
+        List<Student> students = studentRepository.lockPageByFilterAfterId(request.getClassIds(),
+            request.getEnrollmentYear(), request.getCurrentStatus(), afterId, statusChunkSize);
+        if (students.isEmpty()) {
+            return null;
+        }
+        
+        List<Student> changed = new ArrayList<>(students.size());
+        for (Student student : students) {
+            if (newStatus.equals(student.getStatus())) {
+                result.setUnchanged(result.getUnchanged() + 1);
+            } else if (!student.canTransitionTo(newStatus)) {
+                result.setRejected(result.getRejected() + 1);
+                if (result.getRejections().size() < MAX_REPORTED_REJECTIONS) {
+                    result.getRejections().add(new BulkUpdateStatusResultDTO.Rejection(
+                        student.getId(), student.getStudentId(), student.getStatus()));
+                }
+            } else {
+                student.updateStatus(newStatus, request.getReason());
+                changed.add(student);
+            }
+        }
+        result.setMatched(result.getMatched() + students.size());
+        
+        if (!changed.isEmpty()) {
+            // 同一块内的学生在同一天变更，毕业日期一致
+            LocalDate graduationDate = StudentStatus.GRADUATED.getValue().equals(newStatus)
+                ? changed.get(0).getGraduationDate() : null;
+            List<Long> ids = changed.stream().map(Student::getId).collect(Collectors.toList());
+            result.setUpdated(result.getUpdated() + studentRepository.updateStatusByIds(ids, newStatus, graduationDate));
+            
+            List<DomainEvent> events = new ArrayList<>(changed.size());
+            for (Student student : changed) {
+                events.addAll(student.getUncommittedEvents());
+                student.clearDomainEvents();
+            }
+            eventPublisher.publishAll(events);
+        }
+        return students.get(students.size() - 1).getId();
+    }
+    
+    /**
+     * 按CreateStudentRequest上的约束注解校验单行
+     * 
+     * @return 校验失败原因，通过时返回null
+     */
+    private String validate(CreateStudentRequest request) {
+        if (request == null) {
+            return "请求行不能为空";
+        }
+        Set<ConstraintViolation<CreateStudentRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+            .map(ConstraintViolation::getMessage)
+            .sorted()
+            .collect(Collectors.joining("; "));
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.student.application.service;
+
+import com.example.student.application.dto.StudentDTO;
+import com.example.student.domain.repository.StudentRepository;
+import com.example.student.domain.valueobject.StudentStatus;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 学生数据导出服务，逐行读取数据库并直接写入输出流，内存占用与数据量无关
+ * 
+ * @author liujiandong
+ */
+@Service
+@Slf4j
+public class StudentExportService {
+    
+    /**
+     * 每写入多少行刷新一次输出流
+     */
+    private static final int FLUSH_INTERVAL = 500;
+    
+    /**
+     * 输出缓冲区大小
+     */
+    private static final int BUFFER_SIZE = 16 * 1024;
+    
+    /**
+     * CSV表头
+     */
+    private static final String CSV_HEADER = "id,studentId,name,gender,dateOfBirth,age,classId,email,phone,address,"
+        + "status,enrollmentDate,graduationDate";
+    
+    @Autowired
+    private StudentRepository studentRepository;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    /**
+     * 校验导出过滤条件，需在开始写出响应之前调用
+     * 
+     * @param status 状态
+     */
+    public void validateFilter(String status) {
+        if (status != null && !status.isEmpty()) {
+            StudentStatus.fromValue(status);
+        }
+    }
+    
+    /**
+     * 以NDJSON格式导出学生，每行一个JSON对象
+     * 
+     * @param out 输出流
+     * @param classId 班级ID过滤条件
+     * @param status 状态过滤条件
+     * @return 导出行数
+     */
+    public long exportNdjson(OutputStream out, Long classId, String status) throws IOException {
+        // 关闭逐条flush，由缓冲区和FLUSH_INTERVAL控制刷新频率
+        ObjectWriter writer = objectMapper.writerFor(StudentDTO.class)
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        AtomicLong rows = new AtomicLong();
+        
+        try (Writer bufferedWriter = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(bufferedWriter)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            studentRepository.forEachStudent(classId, status, student -> {
+                try {
+                    writer.writeValue(generator, StudentDTO.fromEntity(student));
+                    generator.writeRaw('\n');
+                    flushPeriodically(generator, rows.incrementAndGet());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            generator.flush();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        
+        log.info("NDJSON导出完成: classId={}, status={}, rows={}", classId, status, rows.get());
+        return rows.get();
+    }
+    
+    /**
+     * 以CSV格式导出学生（UTF-8带BOM，便于Excel直接打开）
+     * 
+     * @param out 输出流
+     * @param classId 班级ID过滤条件
+     * @param status 状态过滤条件
+     * @return 导出行数
+     */
+    public long exportCsv(OutputStream out, Long classId, String status) throws IOException {
+        AtomicLong rows = new AtomicLong();
+        
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE)) {
+            writer.write('\uFEFF');
+            writer.write(CSV_HEADER);
+            writer.write("\r\n");
+            studentRepository.forEachStudent(classId, status, student -> {
+                try {
+                    StudentDTO dto = StudentDTO.fromEntity(student);
+                    writeCsvRow(writer, dto);
+                    flushPeriodically(writer, rows.incrementAndGet());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writer.flush();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        
+        log.info("CSV导出完成: classId={}, status={}, rows={}", classId, status, rows.get());
+        return rows.get();
+    }
+    
+    private void writeCsvRow(Writer writer, StudentDTO dto) throws IOException {
+        Object[] values = {
+            dto.getId(), dto.getStudentId(), dto.getName(), dto.getGender(), dto.getDateOfBirth(), dto.getAge(),
+            dto.getClassId(), dto.getEmail(), dto.getPhone(), dto.getAddress(), dto.getStatus(),
+            dto.getEnrollmentDate(), dto.getGraduationDate()
+        };
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writeCsvValue(writer, values[i]);
+        }
+        writer.write("\r\n");
+    }
+    
+    /**
+     * 按RFC 4180转义CSV字段
+     */
+    private void writeCsvValue(Writer writer, Object value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        String text = value.toString();
+        boolean needsQuote = text.indexOf(',') >= 0 || text.indexOf('"') >= 0
+            || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0;
+        if (!needsQuote) {
+            writer.write(text);
+            return;
+        }
+        writer.write('"');
+        writer.write(text.replace("\"", "\"\""));
+        writer.write('"');
+    }
+    
+    private void flushPeriodically(Flushable flushable, long rows) throws IOException {
+        if (rows % FLUSH_INTERVAL == 0) {
+            flushable.flush();
+        }
+    }
+}
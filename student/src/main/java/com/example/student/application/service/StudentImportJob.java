@@ -0,0 +1,145 @@
+package com.example.student.application.service;
+
+import com.example.student.application.dto.ImportJobDTO;
+import com.example.student.application.dto.ImportRowErrorDTO;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 学生导入任务的运行状态，由导入流水线的各阶段并发更新
+ * 
+ * @author liujiandong
+ */
+class StudentImportJob {
+    
+    enum Status {
+        PENDING, RUNNING, COMPLETED, FAILED
+    }
+    
+    private final String jobId;
+    
+    private final String fileName;
+    
+    private final Path file;
+    
+    /**
+     * 保留的失败行明细上限，超出后只计数，保证内存占用有界
+     */
+    private final int maxRetainedErrors;
+    
+    private final AtomicLong parsedRows = new AtomicLong();
+    
+    private final AtomicLong succeededRows = new AtomicLong();
+    
+    private final AtomicLong failedRows = new AtomicLong();
+    
+    private final List<ImportRowErrorDTO> errors = new ArrayList<>();
+    
+    private volatile Status status = Status.PENDING;
+    
+    private volatile long startNanos;
+    
+    private volatile long endNanos;
+    
+    private volatile LocalDateTime startTime;
+    
+    private volatile LocalDateTime endTime;
+    
+    private volatile String message;
+    
+    StudentImportJob(String jobId, String fileName, Path file, int maxRetainedErrors) {
+        this.jobId = jobId;
+        this.fileName = fileName;
+        this.file = file;
+        this.maxRetainedErrors = maxRetainedErrors;
+    }
+    
+    String getJobId() {
+        return jobId;
+    }
+    
+    Path getFile() {
+        return file;
+    }
+    
+    boolean isFinished() {
+        return status == Status.COMPLETED || status == Status.FAILED;
+    }
+    
+    void start() {
+        startNanos = System.nanoTime();
+        startTime = LocalDateTime.now();
+        status = Status.RUNNING;
+    }
+    
+    void complete() {
+        finish(Status.COMPLETED, null);
+    }
+    
+    void fail(String reason) {
+        finish(Status.FAILED, reason);
+    }
+    
+    void rowParsed() {
+        parsedRows.incrementAndGet();
+    }
+    
+    void rowsSucceeded(int count) {
+        succeededRows.addAndGet(count);
+    }
+    
+    void rowFailed(int rowNumber, String studentId, String reason) {
+        failedRows.incrementAndGet();
+        synchronized (errors) {
+            if (errors.size() < maxRetainedErrors) {
+                errors.add(new ImportRowErrorDTO(rowNumber, studentId, reason));
+            }
+        }
+    }
+    
+    /**
+     * 分页获取失败行明细（按记录顺序，非严格按行号排序）
+     */
+    List<ImportRowErrorDTO> getErrors(int offset, int limit) {
+        synchronized (errors) {
+            if (offset >= errors.size()) {
+                return Collections.emptyList();
+            }
+            return new ArrayList<>(errors.subList(offset, Math.min(offset + limit, errors.size())));
+        }
+    }
+    
+    ImportJobDTO toDTO(int errorPreview) {
+        long succeeded = succeededRows.get();
+        long failed = failedRows.get();
+        long processed = succeeded + failed;
+        long elapsedNanos = startNanos == 0 ? 0 : (endNanos == 0 ? System.nanoTime() : endNanos) - startNanos;
+        double rowsPerSecond = elapsedNanos <= 0 ? 0 : processed * 1_000_000_000.0 / elapsedNanos;
+        return ImportJobDTO.builder()
+            .jobId(jobId)
+            .fileName(fileName)
+            .status(status.name())
+            .parsedRows(parsedRows.get())
+            .processedRows(processed)
+            .succeededRows(succeeded)
+            .failedRows(failed)
+            .rowsPerSecond(Math.round(rowsPerSecond * 10) / 10.0)
+            .startTime(startTime)
+            .endTime(endTime)
+            .message(message)
+            .errors(getErrors(0, errorPreview))
+            .build();
+    }
+    
+    private void finish(Status finalStatus, String reason) {
+        endNanos = System.nanoTime();
+        endTime = LocalDateTime.now();
+        message = reason;
+        status = finalStatus;
+    }
+}
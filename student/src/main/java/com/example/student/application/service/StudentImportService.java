@@ -0,0 +1,720 @@
+package com.example.student.application.service;
+
+import com.example.student.application.dto.ImportJobDTO;
+import com.example.student.application.dto.ImportRowErrorDTO;
+import com.example.student.application.dto.command.AddParentRequest;
+import com.example.student.application.dto.command.CreateStudentRequest;
+import com.example.student.domain.entity.Student;
+import com.example.student.domain.event.DomainEvent;
+import com.example.student.domain.repository.StudentRepository;
+import com.example.student.domain.valueobject.ContactInfo;
+import com.example.student.domain.valueobject.ParentInfo;
+import com.example.student.infrastructure.importer.SpreadsheetRowReader;
+import com.example.student.infrastructure.messaging.DomainEventPublisher;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 学生名单导入服务
+ * <p>
+ * 上传的文件先落盘，再由后台任务以流水线方式处理：
+ * 解析（单线程流式读取）→ 校验（多线程，规则与{@link CreateStudentRequest}、{@link AddParentRequest}一致）
+ * → 去重与写入（单线程，按块查重后JDBC批量插入学生和家长，每块一个事务；
+ * 学号与并发写入冲突时重新查重，剔除冲突行后重试本块）。
+ * 阶段之间通过有界队列衔接，下游处理不过来时上游阻塞，内存占用与文件行数无关
+ * （仅文件内学号去重表随行数线性增长）。
+ * 
+ * @author liujiandong
+ */
+@Service
+@Slf4j
+public class StudentImportService {
+    
+    /**
+     * 失败行明细单次查询最大条数
+     */
+    private static final int MAX_ERROR_PAGE_SIZE = 500;
+    
+    /**
+     * 阶段间队列的轮询间隔，用于及时感知其他阶段的失败
+     */
+    private static final long POLL_INTERVAL_MILLIS = 100;
+    
+    /**
+     * 单块因学号冲突重试的最大次数
+     */
+    private static final int MAX_DUPLICATE_RETRIES = 3;
+    
+    private static final String FIELD_STUDENT_ID = "studentId";
+    private static final String FIELD_NAME = "name";
+    private static final String FIELD_DATE_OF_BIRTH = "dateOfBirth";
+    private static final String FIELD_GENDER = "gender";
+    private static final String FIELD_EMAIL = "email";
+    private static final String FIELD_PHONE = "phone";
+    private static final String FIELD_ADDRESS = "address";
+    private static final String FIELD_PARENT_NAME = "parentName";
+    private static final String FIELD_PARENT_RELATIONSHIP = "parentRelationship";
+    private static final String FIELD_PARENT_PHONE = "parentPhone";
+    private static final String FIELD_PARENT_EMAIL = "parentEmail";
+    private static final String FIELD_PARENT_OCCUPATION = "parentOccupation";
+    private static final String FIELD_PARENT_WORK_PLACE = "parentWorkPlace";
+    
+    /**
+     * 表头别名（小写）到字段名的映射，支持中文表头和字段名表头
+     */
+    private static final Map<String, String> HEADER_ALIASES = new HashMap<>();
+    
+    static {
+        alias(FIELD_STUDENT_ID, "学号", "student_no", "studentNo");
+        alias(FIELD_NAME, "姓名");
+        alias(FIELD_DATE_OF_BIRTH, "出生日期", "date_of_birth");
+        alias(FIELD_GENDER, "性别");
+        alias(FIELD_EMAIL, "邮箱", "电子邮箱");
+        alias(FIELD_PHONE, "电话", "联系电话");
+        alias(FIELD_ADDRESS, "地址", "家庭住址");
+        alias(FIELD_PARENT_NAME, "家长姓名");
+        alias(FIELD_PARENT_RELATIONSHIP, "家长关系", "与学生关系");
+        alias(FIELD_PARENT_PHONE, "家长电话");
+        alias(FIELD_PARENT_EMAIL, "家长邮箱");
+        alias(FIELD_PARENT_OCCUPATION, "家长职业");
+        alias(FIELD_PARENT_WORK_PLACE, "家长工作单位");
+    }
+    
+    private static final List<String> PARENT_FIELDS = Arrays.asList(FIELD_PARENT_NAME, FIELD_PARENT_RELATIONSHIP,
+        FIELD_PARENT_PHONE, FIELD_PARENT_EMAIL, FIELD_PARENT_OCCUPATION, FIELD_PARENT_WORK_PLACE);
+    
+    private static final List<DateTimeFormatter> DATE_FORMATS = Arrays.asList(
+        DateTimeFormatter.ofPattern("yyyy-M-d"),
+        DateTimeFormatter.ofPattern("yyyy/M/d"),
+        DateTimeFormatter.ofPattern("yyyy.M.d"),
+        DateTimeFormatter.ofPattern("yyyyMMdd")
+    );
+    
+    @Value("${student.import.max-concurrent-jobs:2}")
+    private int maxConcurrentJobs;
+    
+    @Value("${student.import.max-queued-jobs:10}")
+    private int maxQueuedJobs;
+    
+    @Value("${student.import.validator-threads:2}")
+    private int validatorThreads;
+    
+    @Value("${student.import.queue-capacity:1000}")
+    private int queueCapacity;
+    
+    @Value("${student.import.chunk-size:500}")
+    private int chunkSize;
+    
+    @Value("${student.import.max-retained-jobs:100}")
+    private int maxRetainedJobs;
+    
+    @Value("${student.import.max-retained-errors:10000}")
+    private int maxRetainedErrors;
+    
+    @Value("${student.import.error-preview:20}")
+    private int errorPreview;
+    
+    @Autowired
+    private StudentRepository studentRepository;
+    
+    @Autowired
+    private DomainEventPublisher eventPublisher;
+    
+    @Autowired
+    private Validator validator;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    private final Map<String, StudentImportJob> jobs = new ConcurrentHashMap<>();
+    
+    /**
+     * 任务ID的提交顺序，用于淘汰最早完成的任务
+     */
+    private final ConcurrentLinkedQueue<String> jobOrder = new ConcurrentLinkedQueue<>();
+    
+    private ThreadPoolExecutor jobExecutor;
+    
+    private TransactionTemplate transactionTemplate;
+    
+    @PostConstruct
+    public void init() {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("student-import-job-");
+        threadFactory.setDaemon(true);
+        jobExecutor = new ThreadPoolExecutor(maxConcurrentJobs, maxConcurrentJobs, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(maxQueuedJobs), threadFactory);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        jobExecutor.shutdownNow();
+    }
+    
+    /**
+     * 提交导入任务
+     * 
+     * @param file 上传的xlsx、xls或csv文件，第一行为表头
+     * @return 任务状态
+     */
+    public ImportJobDTO submit(MultipartFile file) {
+        if (file == null || file.isEmpty()) {
+            throw new IllegalArgumentException("导入文件不能为空");
+        }
+        SpreadsheetRowReader.Format format = SpreadsheetRowReader.Format.fromFileName(file.getOriginalFilename());
+        
+        Path temp;
+        try {
+            temp = Files.createTempFile("student-import-", "." + format.name().toLowerCase(Locale.ROOT));
+            file.transferTo(temp);
+        } catch (IOException e) {
+            throw new UncheckedIOException("保存导入文件失败", e);
+        }
+        
+        evictFinishedJobs();
+        StudentImportJob job = new StudentImportJob(UUID.randomUUID().toString(), file.getOriginalFilename(),
+            temp, maxRetainedErrors);
+        jobs.put(job.getJobId(), job);
+        jobOrder.add(job.getJobId());
+        try {
+            jobExecutor.execute(() -> runJob(job, format));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getJobId());
+            jobOrder.remove(job.getJobId());
+            deleteQuietly(temp);
+            throw new IllegalArgumentException("导入任务过多，请稍后重试");
+        }
+        log.info("提交学生导入任务: jobId={}, fileName={}, size={}", job.getJobId(),
+            file.getOriginalFilename(), file.getSize());
+        return job.toDTO(errorPreview);
+    }
+    
+    /**
+     * 查询导入任务状态
+     * 
+     * @param jobId 任务ID
+     * @return 任务状态
+     */
+    public ImportJobDTO getJob(String jobId) {
+        return findJob(jobId).toDTO(errorPreview);
+    }
+    
+    /**
+     * 分页查询导入失败行明细
+     * 
+     * @param jobId 任务ID
+     * @param offset 起始位置
+     * @param limit 条数
+     * @return 失败行明细
+     */
+    public List<ImportRowErrorDTO> getErrors(String jobId, int offset, int limit) {
+        if (offset < 0 || limit <= 0) {
+            throw new IllegalArgumentException("分页参数不正确");
+        }
+        return findJob(jobId).getErrors(offset, Math.min(limit, MAX_ERROR_PAGE_SIZE));
+    }
+    
+    private StudentImportJob findJob(String jobId) {
+        StudentImportJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new IllegalArgumentException("导入任务不存在: " + jobId);
+        }
+        return job;
+    }
+    
+    private void runJob(StudentImportJob job, SpreadsheetRowReader.Format format) {
+        job.start();
+        try {
+            new ImportPipeline(job, format).run();
+            job.complete();
+            log.info("学生导入任务完成: {}", job.toDTO(0));
+        } catch (Exception e) {
+            log.error("学生导入任务失败: jobId={}", job.getJobId(), e);
+            job.fail(NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+        } finally {
+            deleteQuietly(job.getFile());
+        }
+    }
+    
+    /**
+     * 任务数达到上限时，按提交顺序淘汰已结束的任务
+     */
+    private void evictFinishedJobs() {
+        Iterator<String> iterator = jobOrder.iterator();
+        while (jobs.size() >= maxRetainedJobs && iterator.hasNext()) {
+            String jobId = iterator.next();
+            StudentImportJob job = jobs.get(jobId);
+            if (job == null || job.isFinished()) {
+                iterator.remove();
+                jobs.remove(jobId);
+            }
+        }
+    }
+    
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("删除导入临时文件失败: {}", file, e);
+        }
+    }
+    
+    private static void alias(String field, String... aliases) {
+        HEADER_ALIASES.put(field.toLowerCase(Locale.ROOT), field);
+        for (String alias : aliases) {
+            HEADER_ALIASES.put(alias.toLowerCase(Locale.ROOT), field);
+        }
+    }
+    
+    /**
+     * 在流水线中流转的一行数据
+     */
+    private static final class ImportRow {
+        
+        private final int rowNumber;
+        
+        private final Map<String, String> values;
+        
+        private CreateStudentRequest student;
+        
+        private AddParentRequest parent;
+        
+        private ImportRow(int rowNumber, Map<String, String> values) {
+            this.rowNumber = rowNumber;
+            this.values = values;
+        }
+        
+        private String studentId() {
+            return values == null ? null : values.get(FIELD_STUDENT_ID);
+        }
+    }
+    
+    /**
+     * 单个导入任务的流水线
+     */
+    private final class ImportPipeline {
+        
+        /**
+         * 队列结束标记，每个校验线程各收到一个
+         */
+        private final ImportRow end = new ImportRow(-1, null);
+        
+        private final StudentImportJob job;
+        
+        private final SpreadsheetRowReader.Format format;
+        
+        private final BlockingQueue<ImportRow> parsedQueue = new ArrayBlockingQueue<>(queueCapacity);
+        
+        private final BlockingQueue<ImportRow> validQueue = new ArrayBlockingQueue<>(queueCapacity);
+        
+        /**
+         * 文件内已出现的学号及其首次出现的行号，仅由写入线程访问
+         */
+        private final Map<String, Integer> firstRowByStudentId = new HashMap<>();
+        
+        private volatile Throwable failure;
+        
+        private ImportPipeline(StudentImportJob job, SpreadsheetRowReader.Format format) {
+            this.job = job;
+            this.format = format;
+        }
+        
+        private void run() throws Exception {
+            CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(
+                "student-import-" + job.getJobId().substring(0, 8) + "-");
+            threadFactory.setDaemon(true);
+            ExecutorService stages = Executors.newFixedThreadPool(validatorThreads + 1, threadFactory);
+            try {
+                stages.execute(this::parse);
+                for (int i = 0; i < validatorThreads; i++) {
+                    stages.execute(this::validate);
+                }
+                write();
+            } catch (Throwable e) {
+                fail(e);
+            } finally {
+                stages.shutdownNow();
+            }
+            
+            if (failure instanceof Exception) {
+                throw (Exception) failure;
+            } else if (failure != null) {
+                throw new IllegalStateException(failure);
+            }
+        }
+        
+        /**
+         * 解析阶段：流式读取文件，将表头映射为字段名后送入校验队列
+         */
+        private void parse() {
+            Map<String, String> fieldByHeader = new HashMap<>();
+            try {
+                SpreadsheetRowReader.read(job.getFile(), format, new SpreadsheetRowReader.RowHandler() {
+                    @Override
+                    public void onHeader(Iterable<String> headers) {
+                        for (String header : headers) {
+                            String field = HEADER_ALIASES.get(header.toLowerCase(Locale.ROOT));
+                            if (field != null) {
+                                fieldByHeader.put(header, field);
+                            }
+                        }
+                        if (!fieldByHeader.containsValue(FIELD_STUDENT_ID) || !fieldByHeader.containsValue(FIELD_NAME)) {
+                            throw new IllegalArgumentException("导入文件缺少必需的列：学号、姓名");
+                        }
+                    }
+                    
+                    @Override
+                    public boolean onRow(int rowNumber, Map<String, String> row) {
+                        Map<String, String> values = new HashMap<>(row.size() * 2);
+                        row.forEach((header, value) -> {
+                            String field = fieldByHeader.get(header);
+                            if (field != null) {
+                                values.put(field, value);
+                            }
+                        });
+                        job.rowParsed();
+                        return put(parsedQueue, new ImportRow(rowNumber, values));
+                    }
+                });
+            } catch (Throwable e) {
+                fail(e);
+            } finally {
+                for (int i = 0; i < validatorThreads; i++) {
+                    put(parsedQueue, end);
+                }
+            }
+        }
+        
+        /**
+         * 校验阶段：转换字段类型并按请求DTO上的约束注解校验，失败行直接记录错误
+         */
+        private void validate() {
+            try {
+                while (true) {
+                    ImportRow row = take(parsedQueue);
+                    if (row == null) {
+                        return;
+                    }
+                    if (row == end) {
+                        put(validQueue, end);
+                        return;
+                    }
+                    String error = bind(row);
+                    if (error != null) {
+                        job.rowFailed(row.rowNumber, row.studentId(), error);
+                    } else if (!put(validQueue, row)) {
+                        return;
+                    }
+                }
+            } catch (Throwable e) {
+                fail(e);
+            }
+        }
+        
+        /**
+         * 写入阶段：按块去重并批量写入
+         */
+        private void write() {
+            List<ImportRow> chunk = new ArrayList<>(chunkSize);
+            int ended = 0;
+            while (ended < validatorThreads) {
+                ImportRow row = take(validQueue);
+                if (row == null) {
+                    return;
+                }
+                if (row == end) {
+                    ended++;
+                    continue;
+                }
+                chunk.add(row);
+                if (chunk.size() >= chunkSize) {
+                    flush(chunk);
+                    chunk.clear();
+                }
+            }
+            flush(chunk);
+        }
+        
+        private void flush(List<ImportRow> chunk) {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            
+            // 文件内去重：以先到达写入阶段的行为准
+            List<ImportRow> unique = new ArrayList<>(chunk.size());
+            for (ImportRow row : chunk) {
+                Integer firstRow = firstRowByStudentId.putIfAbsent(row.student.getStudentId(), row.rowNumber);
+                if (firstRow != null) {
+                    job.rowFailed(row.rowNumber, row.studentId(), "学号在文件中重复，已在第" + firstRow + "行出现");
+                } else {
+                    unique.add(row);
+                }
+            }
+            
+            // 数据库去重：一次IN查询（布隆过滤器只反映本实例见过的学号，不能用于剔除）
+            Set<String> existing = findExisting(unique);
+            
+            List<Student> students = new ArrayList<>(unique.size());
+            List<ImportRow> insertedRows = new ArrayList<>(unique.size());
+            for (ImportRow row : unique) {
+                CreateStudentRequest request = row.student;
+                if (existing.contains(request.getStudentId())) {
+                    job.rowFailed(row.rowNumber, row.studentId(), "学号已存在: " + request.getStudentId());
+                    continue;
+                }
+                Student student = Student.create(
+                    request.getStudentId(),
+                    request.getName(),
+                    request.getDateOfBirth(),
+                    request.getGender(),
+                    new ContactInfo(request.getEmail(), request.getPhone(), request.getAddress())
+                );
+                if (row.parent != null) {
+                    AddParentRequest parent = row.parent;
+                    student.addParent(new ParentInfo(parent.getName(), parent.getRelationship(), parent.getPhone(),
+                        parent.getEmail(), parent.getOccupation(), parent.getWorkPlace(), parent.isPrimary()));
+                }
+                students.add(student);
+                insertedRows.add(row);
+            }
+            
+            for (int attempt = 0; !students.isEmpty(); attempt++) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> insert(students));
+                    job.rowsSucceeded(students.size());
+                    return;
+                } catch (DuplicateKeyException e) {
+                    // 其他实例或并发任务写入了相同学号：事务已回滚，重新查重后剔除冲突行重试本块
+                    Set<String> clashing = attempt < MAX_DUPLICATE_RETRIES
+                        ? findExisting(insertedRows) : Collections.emptySet();
+                    if (clashing.isEmpty()) {
+                        failAll(insertedRows, e);
+                        return;
+                    }
+                    log.info("学生导入学号冲突，剔除后重试: jobId={}, rows={}, clashing={}", job.getJobId(),
+                        students.size(), clashing.size());
+                    for (int i = students.size() - 1; i >= 0; i--) {
+                        ImportRow row = insertedRows.get(i);
+                        if (clashing.contains(row.student.getStudentId())) {
+                            job.rowFailed(row.rowNumber, row.studentId(), "学号已存在: " + row.student.getStudentId());
+                            students.remove(i);
+                            insertedRows.remove(i);
+                        }
+                    }
+                } catch (DataAccessException e) {
+                    failAll(insertedRows, e);
+                    return;
+                }
+            }
+        }
+        
+        private Set<String> findExisting(List<ImportRow> rows) {
+            return studentRepository.findExistingStudentIds(rows.stream()
+                .map(row -> row.student.getStudentId())
+                .collect(Collectors.toList()));
+        }
+        
+        /**
+         * 整块写入失败时，记录到块内每一行，继续处理后续数据
+         */
+        private void failAll(List<ImportRow> rows, DataAccessException e) {
+            String reason = "写入数据库失败: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            log.warn("学生导入写入失败: jobId={}, rows={}", job.getJobId(), rows.size(), e);
+            rows.forEach(row -> job.rowFailed(row.rowNumber, row.studentId(), reason));
+        }
+        
+        private void insert(List<Student> students) {
+            studentRepository.insertAll(students);
+            
+            Map<Long, List<ParentInfo>> parentsByStudentId = new HashMap<>();
+            List<DomainEvent> events = new ArrayList<>();
+            for (Student student : students) {
+                if (!student.getParents().isEmpty()) {
+                    parentsByStudentId.put(student.getId(), student.getParents());
+                }
+                events.addAll(student.getUncommittedEvents());
+                student.clearDomainEvents();
+            }
+            studentRepository.insertParents(parentsByStudentId);
+            eventPublisher.publishAll(events);
+        }
+        
+        /**
+         * 将一行文本转换为请求DTO并校验
+         * 
+         * @return 失败原因，通过时返回null
+         */
+        private String bind(ImportRow row) {
+            Map<String, String> values = row.values;
+            List<String> errors = new ArrayList<>();
+            
+            CreateStudentRequest student = CreateStudentRequest.builder()
+                .studentId(values.get(FIELD_STUDENT_ID))
+                .name(values.get(FIELD_NAME))
+                .email(values.get(FIELD_EMAIL))
+                .phone(values.get(FIELD_PHONE))
+                .address(values.get(FIELD_ADDRESS))
+                .build();
+            String dateOfBirth = values.get(FIELD_DATE_OF_BIRTH);
+            if (dateOfBirth != null) {
+                student.setDateOfBirth(parseDate(dateOfBirth));
+                if (student.getDateOfBirth() == null) {
+                    errors.add("出生日期格式不正确: " + dateOfBirth);
+                }
+            }
+            String gender = values.get(FIELD_GENDER);
+            if (gender != null) {
+                student.setGender(parseGender(gender));
+                if (student.getGender() == null) {
+                    errors.add("性别格式不正确: " + gender);
+                }
+            }
+            errors.addAll(violations(student));
+            
+            AddParentRequest parent = null;
+            if (PARENT_FIELDS.stream().anyMatch(values::containsKey)) {
+                parent = AddParentRequest.builder()
+                    .name(values.get(FIELD_PARENT_NAME))
+                    .relationship(values.get(FIELD_PARENT_RELATIONSHIP))
+                    .phone(values.get(FIELD_PARENT_PHONE))
+                    .email(values.get(FIELD_PARENT_EMAIL))
+                    .occupation(values.get(FIELD_PARENT_OCCUPATION))
+                    .workPlace(values.get(FIELD_PARENT_WORK_PLACE))
+                    .isPrimary(true)
+                    .build();
+                errors.addAll(violations(parent));
+            }
+            
+            if (!errors.isEmpty()) {
+                return String.join("; ", errors);
+            }
+            row.student = student;
+            row.parent = parent;
+            return null;
+        }
+        
+        private <T> List<String> violations(T request) {
+            Set<ConstraintViolation<T>> violations = validator.validate(request);
+            return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.toList());
+        }
+        
+        private LocalDate parseDate(String text) {
+            // Excel日期单元格可能带有时间部分
+            String date = text.split(" ")[0];
+            for (DateTimeFormatter formatter : DATE_FORMATS) {
+                try {
+                    return LocalDate.parse(date, formatter);
+                } catch (DateTimeParseException e) {
+                    // 尝试下一种格式
+                }
+            }
+            return null;
+        }
+        
+        private Integer parseGender(String text) {
+            switch (text.toLowerCase(Locale.ROOT)) {
+                case "1":
+                case "男":
+                case "m":
+                case "male":
+                    return 1;
+                case "0":
+                case "女":
+                case "f":
+                case "female":
+                    return 0;
+                default:
+                    return null;
+            }
+        }
+        
+        /**
+         * 放入下游队列，队列已满时阻塞，直到有空位或流水线已失败
+         * 
+         * @return 是否放入成功
+         */
+        private boolean put(BlockingQueue<ImportRow> queue, ImportRow row) {
+            try {
+                while (failure == null) {
+                    if (queue.offer(row, POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS)) {
+                        return true;
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail(e);
+            }
+            return false;
+        }
+        
+        /**
+         * 从上游队列取出一行，队列为空时阻塞，直到有数据或流水线已失败
+         * 
+         * @return 取出的行，流水线已失败时返回null
+         */
+        private ImportRow take(BlockingQueue<ImportRow> queue) {
+            try {
+                while (failure == null) {
+                    ImportRow row = queue.poll(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+                    if (row != null) {
+                        return row;
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail(e);
+            }
+            return null;
+        }
+        
+        private void fail(Throwable e) {
+            if (failure == null) {
+                failure = e;
+            }
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.student.application.service;
+
+import com.example.student.application.dto.StudentDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.concurrent.Callable;
+
+/**
+ * 学生非阻塞查询服务
+ * <p>
+ * 查询仍走读模型、缓存和JDBC，但在独立的有界调度器上执行，调用方（Tomcat请求线程）订阅后立即返回。
+ * 调度器线程数与连接池大小一致，排队的查询只占用队列中的一个任务，不占用请求线程或数据库连接；
+ * 队列满时查询以RejectedExecutionException失败（接口返回503），而不是无限堆积。
+ * 列表查询仍一次性加载整页结果，加载完成后才逐条发出，内存占用与MVC接口相同，并非从数据库流式读取。
+ *
+ * @author liujiandong
+ */
+@Service
+@Slf4j
+public class StudentReactiveQueryService {
+    
+    @Autowired
+    private StudentApplicationService studentService;
+    
+    /**
+     * 查询线程数，0表示与连接池最大连接数一致
+     */
+    @Value("${student.reactive-query.threads:0}")
+    private int threads;
+    
+    @Value("${spring.datasource.druid.max-active:20}")
+    private int maxActiveConnections;
+    
+    /**
+     * 等待执行的查询数上限
+     */
+    @Value("${student.reactive-query.queue-capacity:10000}")
+    private int queueCapacity;
+    
+    private Scheduler scheduler;
+    
+    @PostConstruct
+    public void init() {
+        int threadCap = threads > 0 ? threads : maxActiveConnections;
+        scheduler = Schedulers.newBoundedElastic(threadCap, queueCapacity, "student-query", 60, true);
+        log.info("学生非阻塞查询调度器: threads={}, queueCapacity={}", threadCap, queueCapacity);
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        scheduler.dispose();
+    }
+    
+    /**
+     * 根据ID获取学生
+     *
+     * @param id 学生ID
+     * @return 学生DTO
+     */
+    public Mono<StudentDTO> getStudentById(Long id) {
+        return query(() -> studentService.getStudentById(id));
+    }
+    
+    /**
+     * 根据班级ID获取学生，整个班级加载完成后逐条发出
+     *
+     * @param classId 班级ID
+     * @param includeParents 是否加载家长信息
+     * @return 学生DTO流
+     */
+    public Flux<StudentDTO> getStudentsByClassId(Long classId, boolean includeParents) {
+        return query(() -> studentService.getStudentsByClassId(classId, includeParents))
+            .flatMapIterable(students -> students);
+    }
+    
+    /**
+     * 根据姓名模糊查询学生，整页加载完成后逐条发出
+     *
+     * @param name 姓名
+     * @param page 页码（从0开始）
+     * @param size 每页大小
+     * @param includeParents 是否加载家长信息
+     * @return 学生DTO流
+     */
+    public Flux<StudentDTO> getStudentsByName(String name, int page, int size, boolean includeParents) {
+        return query(() -> studentService.getStudentsByName(name, page, size, includeParents))
+            .flatMapIterable(students -> students);
+    }
+    
+    private <T> Mono<T> query(Callable<T> query) {
+        return Mono.fromCallable(query).subscribeOn(scheduler);
+    }
+}
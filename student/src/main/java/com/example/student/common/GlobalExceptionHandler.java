@@ -3,9 +3,14 @@ package com.example.student.common;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import java.util.concurrent.RejectedExecutionException;
+
 /**
  * 全局异常处理器
  */
@@ -40,6 +45,17 @@ public class GlobalExceptionHandler {
         return Result.error(400, "数据异常，请检查输入");
     }
 
+    /**
+     * 处理查询调度器队列已满，与并发限流一致返回503
+     */
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<Result<Void>> handleRejectedExecutionException(RejectedExecutionException e) {
+        log.warn("查询队列已满，拒绝请求: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, "1")
+            .body(Result.error(503, "服务繁忙，请稍后重试"));
+    }
+
     /**
      * 处理其他未知异常
      */
@@ -0,0 +1,12 @@
+package com.example.student.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+/**
+ * 导入通用访问日志配置
+ */
+@Configuration
+@Import(com.example.common.config.AccessLogConfig.class)
+public class AccessLogConfig {
+}
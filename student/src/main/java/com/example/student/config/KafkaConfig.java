@@ -0,0 +1,72 @@
+package com.example.student.config;
+
+import com.example.student.infrastructure.messaging.StudentEventSerializer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 学生服务Kafka配置
+ * <p>
+ * 通用配置中的KafkaTemplate使用JSON序列化，每条消息都带有字段名和类型信息；
+ * 学生领域事件使用单独的生产者，默认采用紧凑二进制编码，并开启批量发送和压缩。
+ */
+@Configuration
+@Import(com.example.common.config.KafkaConfig.class)
+public class KafkaConfig {
+    
+    @Value("${spring.kafka.bootstrap-servers:localhost:9092}")
+    private String bootstrapServers;
+    
+    /**
+     * 事件编码：binary或json
+     */
+    @Value("${student.kafka.event-codec:binary}")
+    private String eventCodec;
+    
+    @Value("${student.kafka.producer.compression-type:lz4}")
+    private String compressionType;
+    
+    @Value("${student.kafka.producer.linger-ms:20}")
+    private int lingerMs;
+    
+    @Value("${student.kafka.producer.batch-size:65536}")
+    private int batchSize;
+    
+    /**
+     * 学生事件生产者工厂
+     */
+    @Bean
+    public ProducerFactory<String, Object> studentEventProducerFactory() {
+        Map<String, Object> config = new HashMap<>();
+        config.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        config.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        config.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG,
+            "json".equalsIgnoreCase(eventCodec) ? JsonSerializer.class : StudentEventSerializer.class);
+        config.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, compressionType);
+        config.put(ProducerConfig.LINGER_MS_CONFIG, lingerMs);
+        config.put(ProducerConfig.BATCH_SIZE_CONFIG, batchSize);
+        // 幂等生产者：重试不会产生重复或乱序，配合按学号分区保证同一学生的事件顺序
+        config.put(ProducerConfig.ACKS_CONFIG, "all");
+        config.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        return new DefaultKafkaProducerFactory<>(config);
+    }
+    
+    /**
+     * 学生事件Kafka模板，供发件箱转发使用
+     */
+    @Bean
+    public KafkaTemplate<String, Object> studentEventKafkaTemplate() {
+        return new KafkaTemplate<>(studentEventProducerFactory());
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.student.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+/**
+ * 导入通用监控指标配置
+ */
+@Configuration
+@Import(com.example.common.config.MetricsConfig.class)
+public class MetricsConfig {
+    // 服务层、仓储层通过@Timed注解计时，领域事件计数见DomainEventPublisher和OutboxRelay
+}
@@ -0,0 +1,30 @@
+package com.example.student.config;
+
+import com.example.student.infrastructure.cache.StudentCache;
+import com.example.student.infrastructure.cache.StudentCacheInvalidationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * 导入通用Redis配置，并注册学生缓存失效广播的订阅容器
+ */
+@Configuration
+@Import(com.example.common.config.RedisConfig.class)
+public class RedisConfig {
+
+    /**
+     * 订阅学生缓存失效频道
+     */
+    @Bean
+    public RedisMessageListenerContainer studentCacheListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                       StudentCacheInvalidationListener listener) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(listener, new ChannelTopic(StudentCache.INVALIDATION_CHANNEL));
+        return container;
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.student.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * 启用定时任务（发件箱转发等）
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
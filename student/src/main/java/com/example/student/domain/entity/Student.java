@@ -1,6 +1,11 @@
 package com.example.student.domain.entity;
 
+import com.example.student.domain.event.ParentAddedEvent;
+import com.example.student.domain.event.StudentClassAssignedEvent;
 import com.example.student.domain.event.StudentCreatedEvent;
+import com.example.student.domain.event.StudentDeletedEvent;
+import com.example.student.domain.event.StudentStatusChangedEvent;
+import com.example.student.domain.event.StudentUpdatedEvent;
 import com.example.student.domain.model.AggregateRoot;
 import com.example.student.domain.valueobject.ContactInfo;
 import com.example.student.domain.valueobject.ParentInfo;
@@ -142,8 +147,55 @@ public class Student extends AggregateRoot {
             this.graduationDate = LocalDate.now();
         }
         
-        // TODO: 添加状态变更事件
-        // this.addDomainEvent(new StudentStatusChangedEvent(this, oldStatus, newStatus, reason));
+        // 添加状态变更事件
+        this.addDomainEvent(new StudentStatusChangedEvent(this, oldStatus, newStatus, reason));
+    }
+    
+    /**
+     * 判断当前状态能否转换为目标状态
+     *
+     * @param newStatus 目标状态
+     * @return 是否允许转换
+     */
+    public boolean canTransitionTo(String newStatus) {
+        return isValidStatusTransition(this.status, newStatus);
+    }
+    
+    /**
+     * 更新学生基本信息
+     *
+     * @param name 姓名
+     * @param contactInfo 联系信息
+     */
+    public void updateBasicInfo(String name, ContactInfo contactInfo) {
+        this.name = name;
+        this.contactInfo = contactInfo;
+        
+        // 添加信息更新事件
+        this.addDomainEvent(new StudentUpdatedEvent(this));
+    }
+    
+    /**
+     * 分配班级
+     *
+     * @param classId 班级ID
+     */
+    public void assignClass(Long classId) {
+        Long oldClassId = this.classId;
+        this.classId = classId;
+        
+        // 添加分班事件
+        this.addDomainEvent(new StudentClassAssignedEvent(this, oldClassId, classId));
+    }
+    
+    /**
+     * 标记删除（逻辑删除）
+     */
+    public void markDeleted() {
+        this.deleted = 1;
+        
+        // 添加删除事件
+        this.addDomainEvent(new StudentDeletedEvent(this));
     }
     
     /**
@@ -163,8 +215,8 @@ public class Student extends AggregateRoot {
         
         this.parents.add(parentInfo);
         
-        // TODO: 添加家长信息变更事件
-        // this.addDomainEvent(new ParentAddedEvent(this, parentInfo));
+        // 添加家长信息变更事件
+        this.addDomainEvent(new ParentAddedEvent(this, parentInfo));
     }
     
     /**
@@ -0,0 +1,30 @@
+package com.example.student.domain.event;
+
+import com.example.student.domain.entity.Student;
+import com.example.student.domain.valueobject.ParentInfo;
+import lombok.Getter;
+
+/**
+ * 家长信息添加事件
+ * 
+ * @author liujiandong
+ */
+@Getter
+public class ParentAddedEvent extends StudentDomainEvent {
+    
+    /**
+     * 新增的家长信息
+     */
+    private final ParentInfo parentInfo;
+    
+    /**
+     * 构造函数
+     * 
+     * @param student 学生实体
+     * @param parentInfo 家长信息
+     */
+    public ParentAddedEvent(Student student, ParentInfo parentInfo) {
+        super(student);
+        this.parentInfo = parentInfo;
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.student.domain.event;
+
+import com.example.student.domain.entity.Student;
+import lombok.Getter;
+
+/**
+ * 学生分班事件
+ * 
+ * @author liujiandong
+ */
+@Getter
+public class StudentClassAssignedEvent extends StudentDomainEvent {
+    
+    /**
+     * 原班级ID
+     */
+    private final Long oldClassId;
+    
+    /**
+     * 新班级ID
+     */
+    private final Long newClassId;
+    
+    /**
+     * 构造函数
+     * 
+     * @param student 学生实体
+     * @param oldClassId 原班级ID
+     * @param newClassId 新班级ID
+     */
+    public StudentClassAssignedEvent(Student student, Long oldClassId, Long newClassId) {
+        super(student);
+        this.oldClassId = oldClassId;
+        this.newClassId = newClassId;
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.student.domain.event;
+
+import com.example.student.domain.entity.Student;
+
+/**
+ * 学生删除事件
+ * 
+ * @author liujiandong
+ */
+public class StudentDeletedEvent extends StudentDomainEvent {
+    
+    /**
+     * 构造函数
+     * 
+     * @param student 学生实体
+     */
+    public StudentDeletedEvent(Student student) {
+        super(student);
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.student.domain.event;
+
+import com.example.student.domain.entity.Student;
+import lombok.Getter;
+
+/**
+ * 学生聚合领域事件基类，统一携带发生变更的学生实体
+ * 
+ * @author liujiandong
+ */
+@Getter
+public abstract class StudentDomainEvent extends DomainEvent {
+    
+    /**
+     * 学生实体
+     */
+    private final Student student;
+    
+    /**
+     * 构造函数
+     * 
+     * @param student 学生实体
+     */
+    protected StudentDomainEvent(Student student) {
+        super(student.getStudentId());
+        this.student = student;
+    }
+}
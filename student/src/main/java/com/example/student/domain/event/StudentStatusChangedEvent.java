@@ -9,12 +9,7 @@ import lombok.Getter;
  * @author liujiandong
  */
 @Getter
-public class StudentStatusChangedEvent extends DomainEvent {
-    
-    /**
-     * 学生实体
-     */
-    private final Student student;
+public class StudentStatusChangedEvent extends StudentDomainEvent {
     
     /**
      * 旧状态
@@ -40,10 +35,9 @@ public class StudentStatusChangedEvent extends DomainEvent {
      * @param reason 变更原因
      */
     public StudentStatusChangedEvent(Student student, String oldStatus, String newStatus, String reason) {
-        super(student.getStudentId());
-        this.student = student;
+        super(student);
         this.oldStatus = oldStatus;
         this.newStatus = newStatus;
         this.reason = reason;
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,20 @@
+package com.example.student.domain.event;
+
+import com.example.student.domain.entity.Student;
+
+/**
+ * 学生基本信息更新事件
+ * 
+ * @author liujiandong
+ */
+public class StudentUpdatedEvent extends StudentDomainEvent {
+    
+    /**
+     * 构造函数
+     * 
+     * @param student 学生实体
+     */
+    public StudentUpdatedEvent(Student student) {
+        super(student);
+    }
+}
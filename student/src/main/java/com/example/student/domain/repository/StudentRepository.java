@@ -3,8 +3,13 @@ package com.example.student.domain.repository;
 import com.example.student.domain.entity.Student;
 import com.example.student.domain.valueobject.ParentInfo;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * 学生仓储接口
@@ -29,6 +34,14 @@ public interface StudentRepository {
      */
     Optional<Student> findById(Long id);
     
+    /**
+     * 根据ID批量查询学生
+     * 
+     * @param ids 学生ID集合
+     * @return 按ID升序排列的学生列表
+     */
+    List<Student> findByIds(Collection<Long> ids);
+    
     /**
      * 根据学号查询学生
      * 
@@ -53,6 +66,67 @@ public interface StudentRepository {
      */
     List<Student> findAll(int page, int size);
     
+    /**
+     * 按ID游标（keyset）分页查询学生，不执行COUNT
+     * 
+     * @param classId 班级ID过滤条件，为null时不过滤
+     * @param afterId 上一页最后一条记录的ID，为null时从第一条开始
+     * @param limit 最多返回条数
+     * @return 按ID升序排列的学生列表
+     */
+    List<Student> findPageAfterId(Long classId, Long afterId, int limit);
+    
+    /**
+     * 按(班级ID, ID)游标（keyset）分页查询学生，不执行COUNT
+     * <p>
+     * 排序与MySQL一致：班级ID为空的学生排在最前面。
+     * 
+     * @param afterClassId 上一页最后一条记录的班级ID
+     * @param afterId 上一页最后一条记录的ID，为null时从第一条开始
+     * @param limit 最多返回条数
+     * @return 按(班级ID, ID)升序排列的学生列表
+     */
+    List<Student> findPageAfterClassIdAndId(Long afterClassId, Long afterId, int limit);
+    
+    /**
+     * 按条件查询ID大于afterId的一页学生，并对这些行加排他锁（须在事务中调用）
+     * 
+     * @param classIds 班级ID集合，为空时不过滤
+     * @param enrollmentYear 入学年份，为null时不过滤
+     * @param status 当前状态，为空时不过滤
+     * @param afterId 上一页最后一条的ID，为null时从头开始
+     * @param limit 最多返回条数
+     * @return 按ID升序排列的学生列表
+     */
+    List<Student> lockPageByFilterAfterId(Collection<Long> classIds, Integer enrollmentYear, String status,
+                                          Long afterId, int limit);
+    
+    /**
+     * 批量更新学生状态，一条UPDATE语句完成
+     * 
+     * @param ids 学生ID集合
+     * @param status 新状态
+     * @param graduationDate 毕业日期，为null时不修改
+     * @return 更新的行数
+     */
+    int updateStatusByIds(Collection<Long> ids, String status, LocalDate graduationDate);
+    
+    /**
+     * 按条件逐条遍历学生，内存占用与数据量无关
+     * 
+     * @param classId 班级ID，为null时不过滤
+     * @param status 状态，为空时不过滤
+     * @param consumer 逐条处理函数
+     */
+    void forEachStudent(Long classId, String status, Consumer<Student> consumer);
+    
+    /**
+     * 逐条遍历所有学号（包含已逻辑删除的记录，与唯一索引的范围一致）
+     * 
+     * @param consumer 逐条处理函数
+     */
+    void forEachStudentId(Consumer<String> consumer);
+    
     /**
      * 根据班级ID查询学生
      * 
@@ -62,12 +136,14 @@ public interface StudentRepository {
     List<Student> findByClassId(Long classId);
     
     /**
-     * 根据姓名模糊查询学生
+     * 根据姓名模糊查询学生，按ID升序分页
      * 
-     * @param name 姓名
+     * @param name 姓名片段
+     * @param offset 跳过的结果数
+     * @param limit 返回的最大结果数
      * @return 学生列表
      */
-    List<Student> findByNameLike(String name);
+    List<Student> findByNameLike(String name, int offset, int limit);
     
     /**
      * 查询学生数量
@@ -84,6 +160,22 @@ public interface StudentRepository {
      */
     boolean existsByStudentId(String studentId);
     
+    /**
+     * 批量查询已存在的学号（包含已逻辑删除的记录，与唯一索引的范围一致）
+     * 
+     * @param studentIds 学号集合
+     * @return 其中已存在的学号
+     */
+    Set<String> findExistingStudentIds(Collection<String> studentIds);
+    
+    /**
+     * 批量新增学生，使用JDBC批处理执行插入，并回填各学生的ID
+     * 
+     * @param students 待新增的学生（ID均为空）
+     * @return 新增后的学生列表
+     */
+    List<Student> insertAll(List<Student> students);
+    
     /**
      * 删除学生
      * 
@@ -99,6 +191,13 @@ public interface StudentRepository {
      */
     void saveParent(Long studentId, ParentInfo parentInfo);
     
+    /**
+     * 批量新增家长信息（用于新建学生的家长，不处理已有家长的主要监护人标记），使用JDBC批处理执行插入
+     * 
+     * @param parentsByStudentId 学生ID到家长列表的映射
+     */
+    void insertParents(Map<Long, List<ParentInfo>> parentsByStudentId);
+    
     /**
      * 获取学生的家长信息列表
      * 
@@ -106,4 +205,12 @@ public interface StudentRepository {
      * @return 家长信息列表
      */
     List<ParentInfo> findParentsByStudentId(Long studentId);
+    
+    /**
+     * 批量获取多个学生的家长信息列表
+     * 
+     * @param studentIds 学生ID集合
+     * @return 按学生ID分组的家长信息列表，没有家长的学生不包含在结果中
+     */
+    Map<Long, List<ParentInfo>> findParentsByStudentIds(Collection<Long> studentIds);
 } 
\ No newline at end of file
@@ -0,0 +1,157 @@
+package com.example.student.infrastructure.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 线程安全的字符串布隆过滤器
+ * <p>
+ * 位数组基于{@link AtomicLongArray}，写入无需加锁；哈希采用64位MurmurHash3混合后的双重哈希
+ * （Kirsch-Mitzenmacher），以两个基础哈希值模拟k个独立哈希函数。
+ * 判定为不存在时一定不存在，判定为存在时可能误判。
+ * 
+ * @author liujiandong
+ */
+public class BloomFilter {
+    
+    private final AtomicLongArray bits;
+    
+    private final long bitSize;
+    
+    private final int hashFunctions;
+    
+    private final long expectedInsertions;
+    
+    private final double falsePositiveProbability;
+    
+    private final LongAdder insertions = new LongAdder();
+    
+    /**
+     * @param expectedInsertions 预期元素数量
+     * @param falsePositiveProbability 目标误判率
+     */
+    public BloomFilter(long expectedInsertions, double falsePositiveProbability) {
+        if (expectedInsertions <= 0) {
+            throw new IllegalArgumentException("预期元素数量必须大于0");
+        }
+        if (falsePositiveProbability <= 0 || falsePositiveProbability >= 1) {
+            throw new IllegalArgumentException("误判率必须在(0, 1)之间");
+        }
+        long optimalBits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveProbability)
+            / (Math.log(2) * Math.log(2)));
+        int words = (int) Math.min(Integer.MAX_VALUE - 8, (optimalBits + 63) >>> 6);
+        this.bits = new AtomicLongArray(words);
+        this.bitSize = (long) words << 6;
+        this.hashFunctions = Math.max(1, (int) Math.round((double) bitSize / expectedInsertions * Math.log(2)));
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveProbability = falsePositiveProbability;
+    }
+    
+    /**
+     * 添加元素
+     * 
+     * @param value 元素
+     */
+    public void put(String value) {
+        long hash = hash64(value);
+        long h1 = (int) hash;
+        long h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashFunctions; i++) {
+            setBit(index(h1 + i * h2));
+        }
+        insertions.increment();
+    }
+    
+    /**
+     * 判断元素是否可能存在
+     * 
+     * @param value 元素
+     * @return false表示一定不存在；true表示可能存在
+     */
+    public boolean mightContain(String value) {
+        long hash = hash64(value);
+        long h1 = (int) hash;
+        long h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashFunctions; i++) {
+            if (!getBit(index(h1 + i * h2))) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * @return 已添加的元素次数（重复添加会重复计数）
+     */
+    public long getInsertions() {
+        return insertions.sum();
+    }
+    
+    public long getExpectedInsertions() {
+        return expectedInsertions;
+    }
+    
+    public double getFalsePositiveProbability() {
+        return falsePositiveProbability;
+    }
+    
+    public long getBitSize() {
+        return bitSize;
+    }
+    
+    public int getHashFunctions() {
+        return hashFunctions;
+    }
+    
+    private long index(long combinedHash) {
+        // 取非负值后映射到位数组
+        return (combinedHash & Long.MAX_VALUE) % bitSize;
+    }
+    
+    private void setBit(long index) {
+        int word = (int) (index >>> 6);
+        long mask = 1L << index;
+        long current;
+        do {
+            current = bits.get(word);
+            if ((current & mask) != 0) {
+                return;
+            }
+        } while (!bits.compareAndSet(word, current, current | mask));
+    }
+    
+    private boolean getBit(long index) {
+        return (bits.get((int) (index >>> 6)) & (1L << index)) != 0;
+    }
+    
+    /**
+     * 对UTF-8字节做64位哈希（按8字节分组混合，末尾使用MurmurHash3的fmix64）
+     */
+    private static long hash64(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        long h = 0x9E3779B97F4A7C15L ^ bytes.length;
+        int i = 0;
+        for (; i + 8 <= bytes.length; i += 8) {
+            long k = 0;
+            for (int j = 7; j >= 0; j--) {
+                k = (k << 8) | (bytes[i + j] & 0xFFL);
+            }
+            h = Long.rotateLeft(h ^ fmix64(k), 27) * 5 + 0x52DCE729;
+        }
+        long tail = 0;
+        for (int j = bytes.length - 1; j >= i; j--) {
+            tail = (tail << 8) | (bytes[j] & 0xFFL);
+        }
+        return fmix64(h ^ fmix64(tail));
+    }
+    
+    private static long fmix64(long k) {
+        k ^= k >>> 33;
+        k *= 0xFF51AFD7ED558CCDL;
+        k ^= k >>> 33;
+        k *= 0xC4CEB93FE1A85B53L;
+        k ^= k >>> 33;
+        return k;
+    }
+}
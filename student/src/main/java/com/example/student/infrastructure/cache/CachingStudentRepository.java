@@ -0,0 +1,190 @@
+package com.example.student.infrastructure.cache;
+
+import com.example.student.domain.entity.Student;
+import com.example.student.domain.repository.StudentRepository;
+import com.example.student.domain.valueobject.ParentInfo;
+import com.example.student.infrastructure.persistence.converter.StudentConverter;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * 带缓存的学生仓储装饰器
+ * <p>
+ * 按ID读取学生和家长信息时走两级缓存；写操作先委托给数据库仓储，再立即失效对应缓存，
+ * 事务提交后由{@link StudentCacheInvalidationListener}根据领域事件再次失效并广播到其他节点。
+ * 缓存中只保存持久化快照，每次读取都重新构建聚合，调用方修改返回对象不会污染缓存。
+ * 
+ * @author liujiandong
+ */
+@Primary
+@Repository
+@Timed("student.repository")
+public class CachingStudentRepository implements StudentRepository {
+    
+    @Autowired
+    @Qualifier("studentRepositoryImpl")
+    private StudentRepository delegate;
+    
+    @Autowired
+    private StudentCache studentCache;
+    
+    @Autowired
+    private StudentConverter studentConverter;
+    
+    @Override
+    public Student save(Student student) {
+        Student saved = delegate.save(student);
+        studentCache.evict(saved.getId());
+        return saved;
+    }
+    
+    @Override
+    public Optional<Student> findById(Long id) {
+        return Optional.ofNullable(studentCache.getStudent(id, key -> delegate.findById(key)
+                .map(studentConverter::toDataObject)
+                .orElse(null)))
+            .map(studentConverter::toDomain);
+    }
+    
+    @Override
+    public List<Student> findByIds(Collection<Long> ids) {
+        return delegate.findByIds(ids);
+    }
+    
+    @Override
+    public Optional<Student> findByStudentId(String studentId) {
+        return delegate.findByStudentId(studentId);
+    }
+    
+    @Override
+    public List<Student> findAll() {
+        return delegate.findAll();
+    }
+    
+    @Override
+    public List<Student> findAll(int page, int size) {
+        return delegate.findAll(page, size);
+    }
+    
+    @Override
+    public List<Student> findPageAfterId(Long classId, Long afterId, int limit) {
+        return delegate.findPageAfterId(classId, afterId, limit);
+    }
+    
+    @Override
+    public List<Student> findPageAfterClassIdAndId(Long afterClassId, Long afterId, int limit) {
+        return delegate.findPageAfterClassIdAndId(afterClassId, afterId, limit);
+    }
+    
+    @Override
+    public List<Student> lockPageByFilterAfterId(Collection<Long> classIds, Integer enrollmentYear, String status,
+                                                 Long afterId, int limit) {
+        return delegate.lockPageByFilterAfterId(classIds, enrollmentYear, status, afterId, limit);
+    }
+    
+    @Override
+    public int updateStatusByIds(Collection<Long> ids, String status, LocalDate graduationDate) {
+        int updated = delegate.updateStatusByIds(ids, status, graduationDate);
+        ids.forEach(studentCache::evict);
+        return updated;
+    }
+    
+    @Override
+    public void forEachStudent(Long classId, String status, Consumer<Student> consumer) {
+        delegate.forEachStudent(classId, status, consumer);
+    }
+    
+    @Override
+    public void forEachStudentId(Consumer<String> consumer) {
+        delegate.forEachStudentId(consumer);
+    }
+    
+    @Override
+    public List<Student> findByClassId(Long classId) {
+        return delegate.findByClassId(classId);
+    }
+    
+    @Override
+    public List<Student> findByNameLike(String name, int offset, int limit) {
+        return delegate.findByNameLike(name, offset, limit);
+    }
+    
+    @Override
+    public long count() {
+        return delegate.count();
+    }
+    
+    @Override
+    public boolean existsByStudentId(String studentId) {
+        return delegate.existsByStudentId(studentId);
+    }
+    
+    @Override
+    public Set<String> findExistingStudentIds(Collection<String> studentIds) {
+        return delegate.findExistingStudentIds(studentIds);
+    }
+    
+    @Override
+    public List<Student> insertAll(List<Student> students) {
+        // 新增的学生不可能已在缓存中，无需失效
+        return delegate.insertAll(students);
+    }
+    
+    @Override
+    public void deleteById(Long id) {
+        delegate.deleteById(id);
+        studentCache.evict(id);
+    }
+    
+    @Override
+    public void saveParent(Long studentId, ParentInfo parentInfo) {
+        delegate.saveParent(studentId, parentInfo);
+        studentCache.evict(studentId);
+    }
+    
+    @Override
+    public void insertParents(Map<Long, List<ParentInfo>> parentsByStudentId) {
+        delegate.insertParents(parentsByStudentId);
+        parentsByStudentId.keySet().forEach(studentCache::evict);
+    }
+    
+    @Override
+    public List<ParentInfo> findParentsByStudentId(Long studentId) {
+        List<ParentInfo> parents = studentCache.getParents(studentId, delegate::findParentsByStudentId);
+        return copyOf(parents);
+    }
+    
+    @Override
+    public Map<Long, List<ParentInfo>> findParentsByStudentIds(Collection<Long> studentIds) {
+        return delegate.findParentsByStudentIds(studentIds);
+    }
+    
+    /**
+     * 复制家长列表，避免聚合修改（如切换主要监护人）影响缓存中的对象
+     */
+    private List<ParentInfo> copyOf(List<ParentInfo> parents) {
+        return parents.stream()
+            .map(p -> new ParentInfo(
+                p.getName(),
+                p.getRelationship(),
+                p.getPhone(),
+                p.getEmail(),
+                p.getOccupation(),
+                p.getWorkPlace(),
+                p.isPrimary()
+            ))
+            .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.student.infrastructure.cache;
+
+import com.example.student.domain.valueobject.ParentInfo;
+import com.example.student.infrastructure.persistence.entity.StudentPO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * 学生缓存，分别缓存学生基本信息与家长信息
+ * 
+ * @author liujiandong
+ */
+@Component
+@Slf4j
+public class StudentCache {
+    
+    /**
+     * 跨节点失效广播频道
+     */
+    public static final String INVALIDATION_CHANNEL = "student:cache:invalidate";
+    
+    @Value("${student.cache.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${student.cache.l1.maximum-size:10000}")
+    private long l1MaximumSize;
+    
+    @Value("${student.cache.l1.expire-after-write-seconds:300}")
+    private long l1ExpireAfterWriteSeconds;
+    
+    @Value("${student.cache.l2.enabled:true}")
+    private boolean l2Enabled;
+    
+    @Value("${student.cache.l2.ttl-seconds:1800}")
+    private long l2TtlSeconds;
+    
+    @Autowired
+    private RedisTemplate<String, Object> redisTemplate;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    private TwoLevelCache<StudentPO> students;
+    
+    private TwoLevelCache<List<ParentInfo>> parents;
+    
+    private final LongAdder invalidations = new LongAdder();
+    
+    @PostConstruct
+    public void init() {
+        RedisTemplate<String, Object> remote = l2Enabled ? redisTemplate : null;
+        Duration localTtl = Duration.ofSeconds(l1ExpireAfterWriteSeconds);
+        Duration remoteTtl = Duration.ofSeconds(l2TtlSeconds);
+        
+        this.students = new TwoLevelCache<>("student", l1MaximumSize, localTtl, remote, remoteTtl,
+            objectMapper, objectMapper.constructType(StudentPO.class));
+        this.parents = new TwoLevelCache<>("parents", l1MaximumSize, localTtl, remote, remoteTtl,
+            objectMapper, objectMapper.getTypeFactory().constructCollectionType(List.class, ParentInfo.class));
+        
+        log.info("学生缓存初始化: enabled={}, l1MaximumSize={}, l1Ttl={}s, l2Enabled={}, l2Ttl={}s",
+            enabled, l1MaximumSize, l1ExpireAfterWriteSeconds, l2Enabled, l2TtlSeconds);
+    }
+    
+    /**
+     * 获取学生持久化快照
+     * 
+     * @param id 学生ID
+     * @param loader 缓存未命中时的加载函数
+     * @return 学生持久化对象，不存在时返回null
+     */
+    public StudentPO getStudent(Long id, Function<Long, StudentPO> loader) {
+        return enabled ? students.get(id, loader) : loader.apply(id);
+    }
+    
+    /**
+     * 获取学生家长列表
+     * 
+     * @param id 学生ID
+     * @param loader 缓存未命中时的加载函数
+     * @return 家长信息列表
+     */
+    public List<ParentInfo> getParents(Long id, Function<Long, List<ParentInfo>> loader) {
+        return enabled ? parents.get(id, loader) : loader.apply(id);
+    }
+    
+    /**
+     * 失效指定学生的两级缓存
+     * 
+     * @param id 学生ID
+     */
+    public void evict(Long id) {
+        if (id == null) {
+            return;
+        }
+        invalidations.increment();
+        students.evict(id);
+        parents.evict(id);
+    }
+    
+    /**
+     * 仅失效指定学生的本地缓存
+     * 
+     * @param id 学生ID
+     */
+    public void evictLocal(Long id) {
+        students.evictLocal(id);
+        parents.evictLocal(id);
+    }
+    
+    /**
+     * 向其他节点广播失效消息
+     * 
+     * @param id 学生ID
+     */
+    public void broadcastEviction(Long id) {
+        if (!l2Enabled || id == null) {
+            return;
+        }
+        try {
+            redisTemplate.convertAndSend(INVALIDATION_CHANNEL, id);
+        } catch (Exception e) {
+            log.warn("广播缓存失效消息失败: id={}", id, e);
+        }
+    }
+    
+    /**
+     * 清空本地缓存
+     */
+    public void clearLocal() {
+        students.clearLocal();
+        parents.clearLocal();
+    }
+    
+    /**
+     * 获取缓存统计信息
+     * 
+     * @return 各缓存区域的统计信息
+     */
+    public List<TwoLevelCacheStats> stats() {
+        return Arrays.asList(students.stats(), parents.stats());
+    }
+    
+    /**
+     * 获取累计失效次数
+     * 
+     * @return 失效次数
+     */
+    public long getInvalidationCount() {
+        return invalidations.sum();
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.student.infrastructure.cache;
+
+import com.example.student.domain.event.StudentCreatedEvent;
+import com.example.student.domain.event.StudentDomainEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * 学生缓存失效监听器
+ * <p>
+ * 1. 事务提交后根据学生领域事件失效两级缓存，并广播到其他节点；
+ * 2. 接收其他节点的广播，失效本节点的L1缓存。
+ * 
+ * @author liujiandong
+ */
+@Component
+@Slf4j
+public class StudentCacheInvalidationListener implements MessageListener {
+    
+    @Autowired
+    private StudentCache studentCache;
+    
+    @Autowired
+    private RedisTemplate<String, Object> redisTemplate;
+    
+    /**
+     * 处理学生领域事件
+     * 
+     * @param event 学生领域事件
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStudentEvent(StudentDomainEvent event) {
+        // 新建学生不会存在旧缓存
+        if (event instanceof StudentCreatedEvent) {
+            return;
+        }
+        
+        Long id = event.getStudent().getId();
+        log.debug("领域事件触发缓存失效: {} id={}", event.getEventType(), id);
+        studentCache.evict(id);
+        studentCache.broadcastEviction(id);
+    }
+    
+    /**
+     * 处理其他节点的失效广播
+     * 
+     * @param message Redis消息
+     * @param pattern 订阅模式
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            Object value = redisTemplate.getValueSerializer().deserialize(message.getBody());
+            if (value instanceof Number) {
+                studentCache.evictLocal(((Number) value).longValue());
+            }
+        } catch (Exception e) {
+            log.warn("处理缓存失效广播失败，清空本地缓存", e);
+            studentCache.clearLocal();
+        }
+    }
+}
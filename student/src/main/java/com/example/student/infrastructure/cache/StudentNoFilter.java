@@ -0,0 +1,223 @@
+package com.example.student.infrastructure.cache;
+
+import com.example.student.domain.event.StudentCreatedEvent;
+import com.example.student.domain.repository.StudentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RBloomFilter;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 学号布隆过滤器，用于创建学生时跳过确定不存在的学号的唯一性查询
+ * <p>
+ * 本地过滤器在启动后于后台线程从数据库流式构建，构建完成前一律判定为"可能存在"，
+ * 即回退到数据库查询；之后根据{@link StudentCreatedEvent}增量添加。
+ * 重建时先构建新过滤器再整体替换，构建期间新增的学号在替换后补录。
+ * <p>
+ * 开启Redis镜像后，本地未命中时再查询Redisson布隆过滤器，使其他实例新建的学号也能被识别；
+ * Redis不可用时按"可能存在"处理。无论哪种情况，数据库唯一索引uk_student_no都是最终保障。
+ * 
+ * @author liujiandong
+ */
+@Component
+@Slf4j
+public class StudentNoFilter {
+    
+    private static final String REDIS_KEY = "student:bloom:student-no";
+    
+    /**
+     * 初始化Redis镜像时每批写入的学号数
+     */
+    private static final int REDIS_BATCH_SIZE = 1000;
+    
+    @Value("${student.student-no-filter.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${student.student-no-filter.expected-insertions:1000000}")
+    private long expectedInsertions;
+    
+    @Value("${student.student-no-filter.false-positive-probability:0.01}")
+    private double falsePositiveProbability;
+    
+    @Value("${student.student-no-filter.redis-mirror:false}")
+    private boolean redisMirror;
+    
+    @Autowired
+    private StudentRepository studentRepository;
+    
+    @Autowired
+    private ObjectProvider<RedissonClient> redissonClientProvider;
+    
+    private volatile BloomFilter filter;
+    
+    private volatile boolean building;
+    
+    /**
+     * 构建期间新增的学号，替换过滤器后补录
+     */
+    private final Set<String> addedDuringBuild = ConcurrentHashMap.newKeySet();
+    
+    private final LongAdder definiteMisses = new LongAdder();
+    
+    private final LongAdder possibleHits = new LongAdder();
+    
+    /**
+     * 应用启动完成后异步构建过滤器，不阻塞启动
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!enabled) {
+            log.info("学号布隆过滤器未启用");
+            return;
+        }
+        Thread builder = new Thread(this::rebuild, "student-no-filter-builder");
+        builder.setDaemon(true);
+        builder.start();
+    }
+    
+    /**
+     * 从数据库全量重建过滤器
+     */
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+        building = true;
+        addedDuringBuild.clear();
+        try {
+            BloomFilter rebuilt = new BloomFilter(expectedInsertions, falsePositiveProbability);
+            RBloomFilter<String> remote = initRemoteIfAbsent();
+            List<String> remoteBatch = new ArrayList<>(REDIS_BATCH_SIZE);
+            studentRepository.forEachStudentId(studentNo -> {
+                rebuilt.put(studentNo);
+                if (remote != null) {
+                    remoteBatch.add(studentNo);
+                    if (remoteBatch.size() >= REDIS_BATCH_SIZE) {
+                        remote.add(remoteBatch);
+                        remoteBatch.clear();
+                    }
+                }
+            });
+            if (remote != null && !remoteBatch.isEmpty()) {
+                remote.add(remoteBatch);
+            }
+            
+            filter = rebuilt;
+            building = false;
+            addedDuringBuild.forEach(rebuilt::put);
+            addedDuringBuild.clear();
+            
+            if (rebuilt.getInsertions() > expectedInsertions) {
+                log.warn("学号数量{}已超过布隆过滤器预期容量{}，误判率将上升，请调大student.student-no-filter.expected-insertions",
+                    rebuilt.getInsertions(), expectedInsertions);
+            }
+            log.info("学号布隆过滤器构建完成: studentNos={}, bits={}, hashFunctions={}, cost={}ms",
+                rebuilt.getInsertions(), rebuilt.getBitSize(), rebuilt.getHashFunctions(),
+                System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.error("学号布隆过滤器构建失败，将继续使用数据库校验学号", e);
+        } finally {
+            building = false;
+        }
+    }
+    
+    /**
+     * 判断学号是否可能已存在
+     * 
+     * @param studentNo 学号
+     * @return false表示一定不存在，可以跳过数据库查询；true表示需要查询数据库确认
+     */
+    public boolean mightContain(String studentNo) {
+        BloomFilter current = filter;
+        if (!enabled || current == null || current.mightContain(studentNo) || mightContainRemote(studentNo)) {
+            possibleHits.increment();
+            return true;
+        }
+        definiteMisses.increment();
+        return false;
+    }
+    
+    /**
+     * 事务提交后将新建学生的学号加入过滤器
+     * 
+     * @param event 学生创建事件
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStudentCreated(StudentCreatedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        String studentNo = event.getStudent().getStudentId();
+        put(studentNo);
+        if (redisMirror) {
+            try {
+                redissonClientProvider.getObject().<String>getBloomFilter(REDIS_KEY).add(studentNo);
+            } catch (Exception e) {
+                log.warn("学号写入Redis布隆过滤器失败: studentNo={}", studentNo, e);
+            }
+        }
+    }
+    
+    /**
+     * @return 判定为一定不存在（跳过数据库查询）的次数
+     */
+    public long getDefiniteMisses() {
+        return definiteMisses.sum();
+    }
+    
+    /**
+     * @return 判定为可能存在（需要查询数据库）的次数
+     */
+    public long getPossibleHits() {
+        return possibleHits.sum();
+    }
+    
+    private void put(String studentNo) {
+        if (building) {
+            addedDuringBuild.add(studentNo);
+        }
+        BloomFilter current = filter;
+        if (current != null) {
+            current.put(studentNo);
+        }
+    }
+    
+    private boolean mightContainRemote(String studentNo) {
+        if (!redisMirror) {
+            return false;
+        }
+        try {
+            return redissonClientProvider.getObject().<String>getBloomFilter(REDIS_KEY).contains(studentNo);
+        } catch (Exception e) {
+            log.warn("查询Redis布隆过滤器失败，按可能存在处理: studentNo={}", studentNo, e);
+            return true;
+        }
+    }
+    
+    /**
+     * Redis中尚无过滤器时初始化并返回，需要由本次重建填充；已存在时由各实例增量维护，返回null
+     */
+    private RBloomFilter<String> initRemoteIfAbsent() {
+        if (!redisMirror) {
+            return null;
+        }
+        try {
+            RBloomFilter<String> remote = redissonClientProvider.getObject().getBloomFilter(REDIS_KEY);
+            return remote.tryInit(expectedInsertions, falsePositiveProbability) ? remote : null;
+        } catch (Exception e) {
+            log.warn("初始化Redis布隆过滤器失败，仅使用本地过滤器", e);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.example.student.infrastructure.cache;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * 两级缓存：本地Caffeine（L1）+ Redis（L2）
+ * <p>
+ * L2中的值以JSON字符串形式保存：通用RedisTemplate的序列化器未注册JavaTimeModule，
+ * 无法直接处理LocalDate等字段，因此由注入的ObjectMapper先行序列化。
+ * Redis不可用时自动降级为仅使用L1，不影响读请求。
+ * 
+ * @author liujiandong
+ */
+@Slf4j
+public class TwoLevelCache<V> {
+    
+    private final String name;
+    
+    private final String keyPrefix;
+    
+    private final Cache<Long, V> local;
+    
+    private final RedisTemplate<String, Object> redisTemplate;
+    
+    private final ObjectMapper objectMapper;
+    
+    private final JavaType valueType;
+    
+    private final Duration remoteTtl;
+    
+    private final LongAdder remoteHits = new LongAdder();
+    
+    private final LongAdder remoteMisses = new LongAdder();
+    
+    private final LongAdder remoteErrors = new LongAdder();
+    
+    /**
+     * 构造函数
+     * 
+     * @param name 缓存名称
+     * @param maximumSize L1最大条目数
+     * @param localTtl L1写入后过期时间
+     * @param redisTemplate Redis模板，为null时不启用L2
+     * @param remoteTtl L2过期时间
+     * @param objectMapper JSON序列化器
+     * @param valueType 缓存值类型
+     */
+    public TwoLevelCache(String name, long maximumSize, Duration localTtl,
+                         RedisTemplate<String, Object> redisTemplate, Duration remoteTtl,
+                         ObjectMapper objectMapper, JavaType valueType) {
+        this.name = name;
+        this.keyPrefix = "student:cache:" + name + ":";
+        this.local = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(localTtl.toMillis(), TimeUnit.MILLISECONDS)
+            .recordStats()
+            .build();
+        this.redisTemplate = redisTemplate;
+        this.remoteTtl = remoteTtl;
+        this.objectMapper = objectMapper;
+        this.valueType = valueType;
+    }
+    
+    /**
+     * 依次查询L1、L2，均未命中时调用加载函数并回填两级缓存
+     * 
+     * @param key 缓存键
+     * @param loader 加载函数，返回null表示数据不存在（不缓存）
+     * @return 缓存值
+     */
+    public V get(Long key, Function<Long, V> loader) {
+        return local.get(key, k -> {
+            V remote = getRemote(k);
+            if (remote != null) {
+                return remote;
+            }
+            V loaded = loader.apply(k);
+            if (loaded != null) {
+                putRemote(k, loaded);
+            }
+            return loaded;
+        });
+    }
+    
+    /**
+     * 同时失效L1和L2
+     * 
+     * @param key 缓存键
+     */
+    public void evict(Long key) {
+        local.invalidate(key);
+        deleteRemote(key);
+    }
+    
+    /**
+     * 仅失效本地L1（用于响应其他节点的失效广播）
+     * 
+     * @param key 缓存键
+     */
+    public void evictLocal(Long key) {
+        local.invalidate(key);
+    }
+    
+    /**
+     * 清空本地L1
+     */
+    public void clearLocal() {
+        local.invalidateAll();
+    }
+    
+    /**
+     * 获取缓存统计信息
+     * 
+     * @return 缓存统计
+     */
+    public TwoLevelCacheStats stats() {
+        CacheStats localStats = local.stats();
+        return TwoLevelCacheStats.builder()
+            .name(name)
+            .l1Size(local.estimatedSize())
+            .l1Hits(localStats.hitCount())
+            .l1Misses(localStats.missCount())
+            .l1Evictions(localStats.evictionCount())
+            .l1HitRate(localStats.hitRate())
+            .l2Hits(remoteHits.sum())
+            .l2Misses(remoteMisses.sum())
+            .l2Errors(remoteErrors.sum())
+            .build();
+    }
+    
+    private V getRemote(Long key) {
+        if (redisTemplate == null) {
+            return null;
+        }
+        try {
+            Object json = redisTemplate.opsForValue().get(keyPrefix + key);
+            if (json == null) {
+                remoteMisses.increment();
+                return null;
+            }
+            remoteHits.increment();
+            return objectMapper.readValue((String) json, valueType);
+        } catch (Exception e) {
+            remoteErrors.increment();
+            log.warn("读取二级缓存失败: cache={}, key={}", name, key, e);
+            return null;
+        }
+    }
+    
+    private void putRemote(Long key, V value) {
+        if (redisTemplate == null) {
+            return;
+        }
+        try {
+            String json = objectMapper.writeValueAsString(value);
+            redisTemplate.opsForValue().set(keyPrefix + key, json, remoteTtl);
+        } catch (Exception e) {
+            remoteErrors.increment();
+            log.warn("写入二级缓存失败: cache={}, key={}", name, key, e);
+        }
+    }
+    
+    private void deleteRemote(Long key) {
+        if (redisTemplate == null) {
+            return;
+        }
+        try {
+            redisTemplate.delete(keyPrefix + key);
+        } catch (Exception e) {
+            remoteErrors.increment();
+            log.warn("删除二级缓存失败: cache={}, key={}", name, key, e);
+        }
+    }
+}
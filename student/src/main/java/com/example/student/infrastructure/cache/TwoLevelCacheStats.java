@@ -0,0 +1,63 @@
+package com.example.student.infrastructure.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 两级缓存统计信息
+ * 
+ * @author liujiandong
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TwoLevelCacheStats {
+    
+    /**
+     * 缓存名称
+     */
+    private String name;
+    
+    /**
+     * L1当前条目数（估算值）
+     */
+    private long l1Size;
+    
+    /**
+     * L1命中次数
+     */
+    private long l1Hits;
+    
+    /**
+     * L1未命中次数
+     */
+    private long l1Misses;
+    
+    /**
+     * L1因容量或过期被淘汰的次数
+     */
+    private long l1Evictions;
+    
+    /**
+     * L1命中率
+     */
+    private double l1HitRate;
+    
+    /**
+     * L2命中次数
+     */
+    private long l2Hits;
+    
+    /**
+     * L2未命中次数
+     */
+    private long l2Misses;
+    
+    /**
+     * L2访问异常次数
+     */
+    private long l2Errors;
+}
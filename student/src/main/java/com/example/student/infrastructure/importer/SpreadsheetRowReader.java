@@ -0,0 +1,151 @@
+package com.example.student.infrastructure.importer;
+
+import com.alibaba.excel.EasyExcel;
+import com.alibaba.excel.context.AnalysisContext;
+import com.alibaba.excel.event.AnalysisEventListener;
+import com.alibaba.excel.exception.ExcelAnalysisStopException;
+import com.alibaba.excel.support.ExcelTypeEnum;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 表格文件流式读取器，支持xlsx、xls和csv
+ * <p>
+ * 基于EasyExcel的事件模式逐行回调，xlsx的共享字符串表较大时由EasyExcel落盘缓存，
+ * 内存占用与文件行数无关。第一行视为表头，之后每行以"表头 -> 单元格文本"的形式交给调用方。
+ * 
+ * @author liujiandong
+ */
+public final class SpreadsheetRowReader {
+    
+    private SpreadsheetRowReader() {
+    }
+    
+    /**
+     * 表格文件格式
+     */
+    public enum Format {
+        XLSX(ExcelTypeEnum.XLSX),
+        XLS(ExcelTypeEnum.XLS),
+        CSV(ExcelTypeEnum.CSV);
+        
+        private final ExcelTypeEnum excelType;
+        
+        Format(ExcelTypeEnum excelType) {
+            this.excelType = excelType;
+        }
+        
+        /**
+         * 根据文件扩展名识别格式
+         * 
+         * @param fileName 文件名
+         * @return 文件格式
+         */
+        public static Format fromFileName(String fileName) {
+            if (fileName != null) {
+                String lower = fileName.toLowerCase(Locale.ROOT);
+                for (Format format : values()) {
+                    if (lower.endsWith("." + format.name().toLowerCase(Locale.ROOT))) {
+                        return format;
+                    }
+                }
+            }
+            throw new IllegalArgumentException("不支持的文件格式，仅支持xlsx、xls、csv: " + fileName);
+        }
+    }
+    
+    /**
+     * 逐行处理函数
+     */
+    @FunctionalInterface
+    public interface RowHandler {
+        
+        /**
+         * 处理表头
+         * 
+         * @param headers 表头（已去除首尾空白和UTF-8 BOM），按列顺序
+         */
+        default void onHeader(Iterable<String> headers) {
+        }
+        
+        /**
+         * 处理一行数据
+         * 
+         * @param rowNumber 行号（从1开始，表头为第1行）
+         * @param row 表头到单元格文本的映射，空单元格不出现在映射中
+         * @return 是否继续读取
+         */
+        boolean onRow(int rowNumber, Map<String, String> row);
+    }
+    
+    /**
+     * 读取第一个工作表（csv为整个文件）
+     * 
+     * @param file 文件路径
+     * @param format 文件格式
+     * @param handler 逐行处理函数，抛出的异常会中止读取
+     */
+    public static void read(Path file, Format format, RowHandler handler) {
+        try {
+            EasyExcel.read(file.toFile(), new Listener(handler))
+                .excelType(format.excelType)
+                .charset(StandardCharsets.UTF_8)
+                .headRowNumber(1)
+                .autoTrim(true)
+                .sheet(0)
+                .doRead();
+        } catch (ExcelAnalysisStopException e) {
+            // 调用方主动停止读取
+        }
+    }
+    
+    private static final class Listener extends AnalysisEventListener<Map<Integer, String>> {
+        
+        private final RowHandler handler;
+        
+        private final Map<Integer, String> headers = new HashMap<>();
+        
+        private Listener(RowHandler handler) {
+            this.handler = handler;
+        }
+        
+        @Override
+        public void invokeHeadMap(Map<Integer, String> headMap, AnalysisContext context) {
+            headMap.forEach((column, header) -> {
+                if (header != null) {
+                    String normalized = header.replace("\uFEFF", "").trim();
+                    if (!normalized.isEmpty()) {
+                        headers.put(column, normalized);
+                    }
+                }
+            });
+            handler.onHeader(headers.values());
+        }
+        
+        @Override
+        public void invoke(Map<Integer, String> data, AnalysisContext context) {
+            Map<String, String> row = new HashMap<>(headers.size() * 2);
+            data.forEach((column, value) -> {
+                String header = headers.get(column);
+                if (header != null && value != null && !value.isBlank()) {
+                    row.put(header, value.trim());
+                }
+            });
+            if (row.isEmpty()) {
+                return;
+            }
+            int rowNumber = context.readRowHolder().getRowIndex() + 1;
+            if (!handler.onRow(rowNumber, row)) {
+                throw new ExcelAnalysisStopException();
+            }
+        }
+        
+        @Override
+        public void doAfterAllAnalysed(AnalysisContext context) {
+        }
+    }
+}
@@ -1,13 +1,23 @@
 package com.example.student.infrastructure.messaging;
 
 import com.example.student.domain.event.DomainEvent;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.stream.Collectors;
+
 /**
- * 领域事件发布服务，将领域事件发布到Spring事件总线
+ * 领域事件发布服务
+ * <p>
+ * 事件先写入发件箱（与业务数据同一事务，由{@link OutboxRelay}异步转发到Kafka），
+ * 再发布到Spring事件总线供本地监听器（缓存、索引等，均在事务提交后执行）使用。
+ * 按事件类型计数到 student.events.published 指标。
  * 
  * @author liujiandong
  */
@@ -15,9 +25,17 @@ import org.springframework.stereotype.Component;
 @Slf4j
 public class DomainEventPublisher {
     
+    static final String PUBLISHED_METRIC = "student.events.published";
+    
     @Autowired
     private ApplicationEventPublisher applicationEventPublisher;
     
+    @Autowired
+    private OutboxEventStore outboxEventStore;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
     /**
      * 发布领域事件
      * 
@@ -25,6 +43,25 @@ public class DomainEventPublisher {
      */
     public void publish(DomainEvent event) {
         log.info("发布领域事件: {} [{}]", event.getEventType(), event.getEventId());
+        outboxEventStore.append(Collections.singletonList(event));
         applicationEventPublisher.publishEvent(event);
+        meterRegistry.counter(PUBLISHED_METRIC, "type", event.getEventType()).increment();
+    }
+    
+    /**
+     * 批量发布领域事件，只记录一条汇总日志
+     * 
+     * @param events 领域事件
+     */
+    public void publishAll(Collection<? extends DomainEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        log.info("批量发布领域事件: count={}", events.size());
+        outboxEventStore.append(events);
+        events.forEach(applicationEventPublisher::publishEvent);
+        Map<String, Long> countByType = events.stream()
+            .collect(Collectors.groupingBy(DomainEvent::getEventType, Collectors.counting()));
+        countByType.forEach((type, count) -> meterRegistry.counter(PUBLISHED_METRIC, "type", type).increment(count));
     }
 } 
\ No newline at end of file
@@ -0,0 +1,155 @@
+package com.example.student.infrastructure.messaging;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.enums.SqlMethod;
+import com.baomidou.mybatisplus.extension.toolkit.SqlHelper;
+import com.example.student.domain.event.DomainEvent;
+import com.example.student.infrastructure.persistence.entity.OutboxEventPO;
+import com.example.student.infrastructure.persistence.mapper.OutboxEventMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.ibatis.logging.Log;
+import org.apache.ibatis.logging.LogFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 领域事件发件箱
+ * <p>
+ * 事件在业务事务内写入t_student_outbox，与学生数据同时提交或回滚；
+ * 之后由{@link OutboxRelay}按ID顺序读取并转发到Kafka。
+ * 
+ * @author liujiandong
+ */
+@Component
+public class OutboxEventStore {
+    
+    /**
+     * JDBC批处理每批提交的语句数
+     */
+    private static final int INSERT_BATCH_SIZE = 500;
+    
+    /**
+     * 失败原因最大长度，与last_error列宽一致
+     */
+    private static final int MAX_ERROR_LENGTH = 500;
+    
+    private static final Log BATCH_LOG = LogFactory.getLog(OutboxEventStore.class);
+    
+    @Value("${student.outbox.enabled:true}")
+    private boolean enabled;
+    
+    @Autowired
+    private OutboxEventMapper outboxEventMapper;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    /**
+     * 将领域事件写入发件箱，须在业务事务内调用
+     * 
+     * @param events 领域事件
+     */
+    public void append(Collection<? extends DomainEvent> events) {
+        if (!enabled || events.isEmpty()) {
+            return;
+        }
+        
+        List<OutboxEventPO> outboxEvents = events.stream()
+            .map(this::toOutboxEvent)
+            .collect(Collectors.toList());
+        if (outboxEvents.size() == 1) {
+            outboxEventMapper.insert(outboxEvents.get(0));
+            return;
+        }
+        String insertStatement = SqlHelper.getSqlStatement(OutboxEventMapper.class, SqlMethod.INSERT_ONE);
+        SqlHelper.executeBatch(OutboxEventPO.class, BATCH_LOG, outboxEvents, INSERT_BATCH_SIZE,
+            (sqlSession, outboxEvent) -> sqlSession.insert(insertStatement, outboxEvent));
+    }
+    
+    /**
+     * 按写入顺序读取一批待发送事件
+     * 
+     * @param limit 最多读取条数
+     * @return 待发送事件
+     */
+    public List<OutboxEventPO> fetchPending(int limit) {
+        LambdaQueryWrapper<OutboxEventPO> queryWrapper = new LambdaQueryWrapper<>();
+        queryWrapper.eq(OutboxEventPO::getStatus, OutboxEventPO.STATUS_PENDING)
+                   .orderByAsc(OutboxEventPO::getId)
+                   .last("LIMIT " + limit);
+        return outboxEventMapper.selectList(queryWrapper);
+    }
+    
+    /**
+     * 批量标记为已发送
+     * 
+     * @param ids 事件记录ID
+     */
+    public void markSent(Collection<Long> ids) {
+        if (!ids.isEmpty()) {
+            outboxEventMapper.markSent(ids, LocalDateTime.now());
+        }
+    }
+    
+    /**
+     * 记录一次发送失败
+     * 
+     * @param id 事件记录ID
+     * @param error 失败原因
+     * @param dead 为true时标记为死信不再重试，否则保持待发送状态，下次继续重试
+     */
+    public void markFailed(Long id, String error, boolean dead) {
+        String message = error == null ? "unknown" : error;
+        outboxEventMapper.markFailed(id, message.length() > MAX_ERROR_LENGTH
+            ? message.substring(0, MAX_ERROR_LENGTH) : message,
+            dead ? OutboxEventPO.STATUS_DEAD : OutboxEventPO.STATUS_PENDING);
+    }
+    
+    /**
+     * 删除一批早于指定时间发送成功的事件
+     * 
+     * @param before 截止时间
+     * @param limit 单次最多删除条数
+     * @return 删除的行数
+     */
+    public int purgeSentBefore(LocalDateTime before, int limit) {
+        return outboxEventMapper.deleteSentBefore(before, limit);
+    }
+    
+    /**
+     * 还原事件消息
+     * 
+     * @param outboxEvent 发件箱记录
+     * @return 事件消息
+     */
+    public StudentEventMessage readMessage(OutboxEventPO outboxEvent) {
+        try {
+            return objectMapper.readValue(outboxEvent.getPayload(), StudentEventMessage.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("发件箱事件内容无法解析: " + outboxEvent.getEventId(), e);
+        }
+    }
+    
+    private OutboxEventPO toOutboxEvent(DomainEvent event) {
+        OutboxEventPO outboxEvent = new OutboxEventPO();
+        outboxEvent.setEventId(event.getEventId());
+        outboxEvent.setAggregateId(event.getAggregateId());
+        outboxEvent.setEventType(event.getEventType());
+        outboxEvent.setOccurredOn(event.getOccurredOn());
+        outboxEvent.setStatus(OutboxEventPO.STATUS_PENDING);
+        outboxEvent.setAttempts(0);
+        try {
+            outboxEvent.setPayload(objectMapper.writeValueAsString(StudentEventMessage.from(event)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("领域事件序列化失败: " + event.getEventId(), e);
+        }
+        return outboxEvent;
+    }
+}
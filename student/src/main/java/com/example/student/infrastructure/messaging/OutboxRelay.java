@@ -0,0 +1,243 @@
+package com.example.student.infrastructure.messaging;
+
+import com.example.student.infrastructure.persistence.entity.OutboxEventPO;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 发件箱转发任务，按ID顺序批量读取待发送事件并发送到Kafka
+ * <p>
+ * 以聚合ID（学号）作为消息键，同一学生的事件进入同一分区。不同学生的事件并发发送，同一学生的事件
+ * 串行发送：前一个事件确认成功后才发送下一个，前一个失败或超时时本批中的后续事件不会发出，下次从失败处重发，
+ * 保证同一学生的事件顺序。确认成功的记录批量标记为已发送。投递语义为至少一次，消费方需按eventId幂等。
+ * <p>
+ * 失败次数达到上限的事件（如内容无法解析）标记为死信，不再重试，需人工处理；同一学生的后续事件随后继续转发。
+ * <p>
+ * 多实例部署时通过Redisson锁保证同一时刻只有一个实例在转发；Redis不可用时退化为各实例各自转发，
+ * 只会产生重复消息，不会丢失。
+ * <p>
+ * 发送结果按事件类型和成功/失败计数到 student.events.relayed 指标。
+ * 
+ * @author liujiandong
+ */
+@Component
+@Slf4j
+public class OutboxRelay {
+    
+    private static final String LOCK_KEY = "student:outbox:relay";
+    
+    static final String HEADER_EVENT_ID = "eventId";
+    
+    static final String HEADER_EVENT_TYPE = "eventType";
+    
+    static final String RELAYED_METRIC = "student.events.relayed";
+    
+    @Value("${student.outbox.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${student.outbox.topic:student-events}")
+    private String topic;
+    
+    @Value("${student.outbox.relay.batch-size:200}")
+    private int batchSize;
+    
+    @Value("${student.outbox.relay.max-batches-per-run:50}")
+    private int maxBatchesPerRun;
+    
+    @Value("${student.outbox.relay.send-timeout-seconds:30}")
+    private long sendTimeoutSeconds;
+    
+    @Value("${student.outbox.relay.max-attempts:10}")
+    private int maxAttempts;
+    
+    @Value("${student.outbox.retention-hours:72}")
+    private long retentionHours;
+    
+    @Autowired
+    private OutboxEventStore outboxEventStore;
+    
+    @Autowired
+    @Qualifier("studentEventKafkaTemplate")
+    private KafkaTemplate<String, Object> kafkaTemplate;
+    
+    @Autowired
+    private ObjectProvider<RedissonClient> redissonClientProvider;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    /**
+     * 定时转发待发送事件，积压时一次运行内连续处理多批
+     */
+    @Scheduled(fixedDelayString = "${student.outbox.relay.poll-interval-ms:500}")
+    public void relay() {
+        if (!enabled) {
+            return;
+        }
+        RLock lock = null;
+        try {
+            RedissonClient redissonClient = redissonClientProvider.getIfAvailable();
+            if (redissonClient != null) {
+                lock = redissonClient.getLock(LOCK_KEY);
+                if (!lock.tryLock()) {
+                    return;
+                }
+            }
+        } catch (Exception e) {
+            log.warn("获取发件箱转发锁失败，本实例直接转发", e);
+            lock = null;
+        }
+        
+        try {
+            for (int i = 0; i < maxBatchesPerRun; i++) {
+                if (!relayBatch()) {
+                    break;
+                }
+            }
+        } catch (Exception e) {
+            log.error("发件箱转发失败", e);
+        } finally {
+            if (lock != null) {
+                try {
+                    lock.unlock();
+                } catch (Exception e) {
+                    log.warn("释放发件箱转发锁失败", e);
+                }
+            }
+        }
+    }
+    
+    /**
+     * 转发一批事件
+     * 
+     * @return 是否应继续转发下一批（本批已满且全部发送成功）
+     */
+    boolean relayBatch() {
+        List<OutboxEventPO> batch = outboxEventStore.fetchPending(batchSize);
+        if (batch.isEmpty()) {
+            return false;
+        }
+        
+        // 同一聚合的事件串成一条链：前一个确认成功后才发送下一个，前一个失败时后续事件不再发出
+        List<CompletableFuture<?>> futures = new ArrayList<>(batch.size());
+        Map<String, CompletableFuture<?>> lastByAggregate = new HashMap<>();
+        for (OutboxEventPO outboxEvent : batch) {
+            CompletableFuture<?> previous = lastByAggregate.get(outboxEvent.getAggregateId());
+            CompletableFuture<?> future = previous == null
+                ? send(outboxEvent)
+                : previous.thenCompose(ignored -> send(outboxEvent));
+            lastByAggregate.put(outboxEvent.getAggregateId(), future);
+            futures.add(future);
+        }
+        
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(sendTimeoutSeconds);
+        List<Long> sentIds = new ArrayList<>(batch.size());
+        Set<String> blockedAggregates = new HashSet<>();
+        for (int i = 0; i < batch.size(); i++) {
+            OutboxEventPO outboxEvent = batch.get(i);
+            String error = await(futures.get(i), deadline);
+            if (blockedAggregates.contains(outboxEvent.getAggregateId())) {
+                // 同一聚合的前序事件未发送成功，本事件未发出，留待下次与前序事件一起重发
+                continue;
+            }
+            if (error == null) {
+                meterRegistry.counter(RELAYED_METRIC, "type", outboxEvent.getEventType(), "outcome", "success").increment();
+                sentIds.add(outboxEvent.getId());
+                continue;
+            }
+            // 超时后取消，链上的后续事件不会再发出
+            futures.get(i).cancel(false);
+            blockedAggregates.add(outboxEvent.getAggregateId());
+            int attempts = outboxEvent.getAttempts() + 1;
+            boolean dead = attempts >= maxAttempts;
+            outboxEventStore.markFailed(outboxEvent.getId(), error, dead);
+            meterRegistry.counter(RELAYED_METRIC, "type", outboxEvent.getEventType(),
+                "outcome", dead ? "dead" : "failure").increment();
+            if (dead) {
+                log.error("发件箱事件重试次数已达上限，标记为死信: eventId={}, eventType={}, aggregateId={}, attempts={}, error={}",
+                    outboxEvent.getEventId(), outboxEvent.getEventType(), outboxEvent.getAggregateId(), attempts, error);
+            } else {
+                log.warn("发件箱事件发送失败: eventId={}, eventType={}, attempts={}, error={}",
+                    outboxEvent.getEventId(), outboxEvent.getEventType(), attempts, error);
+            }
+        }
+        outboxEventStore.markSent(sentIds);
+        
+        if (log.isDebugEnabled()) {
+            log.debug("发件箱转发一批事件: fetched={}, sent={}", batch.size(), sentIds.size());
+        }
+        return blockedAggregates.isEmpty() && batch.size() >= batchSize;
+    }
+    
+    /**
+     * 定期清理已发送的事件
+     */
+    @Scheduled(cron = "${student.outbox.cleanup-cron:0 30 3 * * ?}")
+    public void purgeSent() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime before = LocalDateTime.now().minusHours(retentionHours);
+        int total = 0;
+        int deleted;
+        do {
+            deleted = outboxEventStore.purgeSentBefore(before, 5000);
+            total += deleted;
+        } while (deleted > 0);
+        log.info("清理已发送的发件箱事件: before={}, deleted={}", before, total);
+    }
+    
+    private CompletableFuture<?> send(OutboxEventPO outboxEvent) {
+        try {
+            ProducerRecord<String, Object> record = new ProducerRecord<>(topic, outboxEvent.getAggregateId(),
+                outboxEventStore.readMessage(outboxEvent));
+            record.headers().add(HEADER_EVENT_ID, outboxEvent.getEventId().getBytes(StandardCharsets.UTF_8));
+            record.headers().add(HEADER_EVENT_TYPE, outboxEvent.getEventType().getBytes(StandardCharsets.UTF_8));
+            return kafkaTemplate.send(record).completable();
+        } catch (Exception e) {
+            CompletableFuture<?> failed = new CompletableFuture<>();
+            failed.completeExceptionally(e);
+            return failed;
+        }
+    }
+    
+    /**
+     * 等待发送结果
+     * 
+     * @return 失败原因，成功时返回null
+     */
+    private String await(CompletableFuture<?> future, long deadline) {
+        try {
+            future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "interrupted";
+        } catch (Exception e) {
+            Throwable cause = NestedExceptionUtils.getMostSpecificCause(e);
+            return cause.getClass().getSimpleName() + ": " + cause.getMessage();
+        }
+    }
+}
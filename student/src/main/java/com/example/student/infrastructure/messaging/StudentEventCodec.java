@@ -0,0 +1,572 @@
+package com.example.student.infrastructure.messaging;
+
+import com.example.student.domain.valueobject.StudentStatus;
+import org.apache.kafka.common.errors.SerializationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * 学生事件消息的紧凑二进制编解码
+ * <p>
+ * 不依赖外部Schema注册中心，Schema由本类的版本号固定。消息格式：
+ * <pre>
+ * magic(1) | version(1) | eventType(1, 0表示后跟字符串) | 字段存在位图(varint) | 各字段
+ * </pre>
+ * 字段按固定顺序写入，值为null的字段只占位图中的一位；整数使用varint，日期为纪元日，
+ * 时间为纪元秒加纳秒，事件ID按UUID的16字节写入，已知的事件类型和学生状态写为单字节编号。
+ * <p>
+ * 新增字段时只能追加到末尾并递增{@link #CURRENT_VERSION}，同时保留旧版本的解码路径，
+ * 保证消费方升级后仍能读取Topic中的历史消息。
+ *
+ * @author liujiandong
+ */
+public final class StudentEventCodec {
+    
+    /**
+     * 魔数，同时用于与JSON消息（以'{'开头）区分
+     */
+    static final byte MAGIC = (byte) 0xB5;
+    
+    /**
+     * 当前Schema版本
+     */
+    static final byte CURRENT_VERSION = 1;
+    
+    /**
+     * 已知事件类型，编号为下标加一，只能在末尾追加
+     */
+    private static final String[] EVENT_TYPES = {
+        "StudentCreatedEvent",
+        "StudentUpdatedEvent",
+        "StudentStatusChangedEvent",
+        "StudentClassAssignedEvent",
+        "ParentAddedEvent",
+        "StudentDeletedEvent"
+    };
+    
+    /**
+     * 已知学生状态（{@link StudentStatus}的取值），编号为下标加一，只能在末尾追加
+     */
+    private static final String[] STATUSES = {
+        "ACTIVE",
+        "INACTIVE",
+        "GRADUATED",
+        "WITHDRAWN",
+        "TRANSFERRED"
+    };
+    
+    private static final int EVENT_ID_UUID = 1;
+    private static final int EVENT_ID_TEXT = 1 << 1;
+    private static final int AGGREGATE_ID = 1 << 2;
+    private static final int OCCURRED_ON = 1 << 3;
+    private static final int STUDENT = 1 << 4;
+    private static final int OLD_STATUS = 1 << 5;
+    private static final int NEW_STATUS = 1 << 6;
+    private static final int REASON = 1 << 7;
+    private static final int OLD_CLASS_ID = 1 << 8;
+    private static final int NEW_CLASS_ID = 1 << 9;
+    private static final int PARENT = 1 << 10;
+    
+    private static final int STUDENT_ID = 1;
+    private static final int STUDENT_NO = 1 << 1;
+    private static final int STUDENT_NAME = 1 << 2;
+    private static final int STUDENT_DATE_OF_BIRTH = 1 << 3;
+    private static final int STUDENT_GENDER = 1 << 4;
+    private static final int STUDENT_CLASS_ID = 1 << 5;
+    private static final int STUDENT_STATUS = 1 << 6;
+    private static final int STUDENT_EMAIL = 1 << 7;
+    private static final int STUDENT_PHONE = 1 << 8;
+    private static final int STUDENT_ADDRESS = 1 << 9;
+    private static final int STUDENT_ENROLLMENT_DATE = 1 << 10;
+    private static final int STUDENT_GRADUATION_DATE = 1 << 11;
+    
+    private static final int PARENT_NAME = 1;
+    private static final int PARENT_RELATIONSHIP = 1 << 1;
+    private static final int PARENT_PHONE = 1 << 2;
+    private static final int PARENT_EMAIL = 1 << 3;
+    private static final int PARENT_OCCUPATION = 1 << 4;
+    private static final int PARENT_WORK_PLACE = 1 << 5;
+    private static final int PARENT_PRIMARY = 1 << 6;
+    
+    private StudentEventCodec() {
+    }
+    
+    /**
+     * 编码事件消息
+     *
+     * @param message 事件消息
+     * @return 二进制内容
+     */
+    public static byte[] encode(StudentEventMessage message) {
+        Writer writer = new Writer(256);
+        writer.writeByte(MAGIC);
+        writer.writeByte(CURRENT_VERSION);
+        int eventTypeCode = indexOf(EVENT_TYPES, message.getEventType());
+        writer.writeByte(eventTypeCode);
+        if (eventTypeCode == 0) {
+            writer.writeString(message.getEventType());
+        }
+        
+        UUID eventUuid = parseUuid(message.getEventId());
+        int fields = 0;
+        if (eventUuid != null) {
+            fields |= EVENT_ID_UUID;
+        } else if (message.getEventId() != null) {
+            fields |= EVENT_ID_TEXT;
+        }
+        fields |= presence(message.getAggregateId(), AGGREGATE_ID)
+            | presence(message.getOccurredOn(), OCCURRED_ON)
+            | presence(message.getStudent(), STUDENT)
+            | presence(message.getOldStatus(), OLD_STATUS)
+            | presence(message.getNewStatus(), NEW_STATUS)
+            | presence(message.getReason(), REASON)
+            | presence(message.getOldClassId(), OLD_CLASS_ID)
+            | presence(message.getNewClassId(), NEW_CLASS_ID)
+            | presence(message.getParent(), PARENT);
+        writer.writeVarLong(fields);
+        
+        if (eventUuid != null) {
+            writer.writeLong(eventUuid.getMostSignificantBits());
+            writer.writeLong(eventUuid.getLeastSignificantBits());
+        } else if (message.getEventId() != null) {
+            writer.writeString(message.getEventId());
+        }
+        if (message.getAggregateId() != null) {
+            writer.writeString(message.getAggregateId());
+        }
+        if (message.getOccurredOn() != null) {
+            writer.writeDateTime(message.getOccurredOn());
+        }
+        if (message.getStudent() != null) {
+            writeStudent(writer, message.getStudent());
+        }
+        if (message.getOldStatus() != null) {
+            writer.writeCoded(STATUSES, message.getOldStatus());
+        }
+        if (message.getNewStatus() != null) {
+            writer.writeCoded(STATUSES, message.getNewStatus());
+        }
+        if (message.getReason() != null) {
+            writer.writeString(message.getReason());
+        }
+        if (message.getOldClassId() != null) {
+            writer.writeSignedVarLong(message.getOldClassId());
+        }
+        if (message.getNewClassId() != null) {
+            writer.writeSignedVarLong(message.getNewClassId());
+        }
+        if (message.getParent() != null) {
+            writeParent(writer, message.getParent());
+        }
+        return writer.toByteArray();
+    }
+    
+    /**
+     * 解码事件消息
+     *
+     * @param data 二进制内容
+     * @return 事件消息
+     * @throws SerializationException 内容不是本编码格式或版本高于当前支持的版本
+     */
+    public static StudentEventMessage decode(byte[] data) {
+        if (!isEncoded(data)) {
+            throw new SerializationException("不是学生事件二进制消息");
+        }
+        Reader reader = new Reader(data);
+        reader.readByte();
+        int version = reader.readByte();
+        if (version < 1 || version > CURRENT_VERSION) {
+            throw new SerializationException("不支持的学生事件消息版本: " + version);
+        }
+        
+        try {
+            StudentEventMessage message = new StudentEventMessage();
+            int eventTypeCode = reader.readByte();
+            message.setEventType(eventTypeCode == 0 ? reader.readString() : EVENT_TYPES[eventTypeCode - 1]);
+            
+            long fields = reader.readVarLong();
+            if ((fields & EVENT_ID_UUID) != 0) {
+                message.setEventId(new UUID(reader.readLong(), reader.readLong()).toString());
+            } else if ((fields & EVENT_ID_TEXT) != 0) {
+                message.setEventId(reader.readString());
+            }
+            if ((fields & AGGREGATE_ID) != 0) {
+                message.setAggregateId(reader.readString());
+            }
+            if ((fields & OCCURRED_ON) != 0) {
+                message.setOccurredOn(reader.readDateTime());
+            }
+            if ((fields & STUDENT) != 0) {
+                message.setStudent(readStudent(reader));
+            }
+            if ((fields & OLD_STATUS) != 0) {
+                message.setOldStatus(reader.readCoded(STATUSES));
+            }
+            if ((fields & NEW_STATUS) != 0) {
+                message.setNewStatus(reader.readCoded(STATUSES));
+            }
+            if ((fields & REASON) != 0) {
+                message.setReason(reader.readString());
+            }
+            if ((fields & OLD_CLASS_ID) != 0) {
+                message.setOldClassId(reader.readSignedVarLong());
+            }
+            if ((fields & NEW_CLASS_ID) != 0) {
+                message.setNewClassId(reader.readSignedVarLong());
+            }
+            if ((fields & PARENT) != 0) {
+                message.setParent(readParent(reader));
+            }
+            return message;
+        } catch (IndexOutOfBoundsException e) {
+            throw new SerializationException("学生事件消息内容不完整", e);
+        }
+    }
+    
+    /**
+     * 判断内容是否为本编码格式
+     *
+     * @param data 二进制内容
+     * @return 是否以本格式的魔数开头
+     */
+    public static boolean isEncoded(byte[] data) {
+        return data != null && data.length >= 3 && data[0] == MAGIC;
+    }
+    
+    private static void writeStudent(Writer writer, StudentEventMessage.StudentSnapshot student) {
+        int fields = presence(student.getId(), STUDENT_ID)
+            | presence(student.getStudentId(), STUDENT_NO)
+            | presence(student.getName(), STUDENT_NAME)
+            | presence(student.getDateOfBirth(), STUDENT_DATE_OF_BIRTH)
+            | presence(student.getGender(), STUDENT_GENDER)
+            | presence(student.getClassId(), STUDENT_CLASS_ID)
+            | presence(student.getStatus(), STUDENT_STATUS)
+            | presence(student.getEmail(), STUDENT_EMAIL)
+            | presence(student.getPhone(), STUDENT_PHONE)
+            | presence(student.getAddress(), STUDENT_ADDRESS)
+            | presence(student.getEnrollmentDate(), STUDENT_ENROLLMENT_DATE)
+            | presence(student.getGraduationDate(), STUDENT_GRADUATION_DATE);
+        writer.writeVarLong(fields);
+        if (student.getId() != null) {
+            writer.writeSignedVarLong(student.getId());
+        }
+        if (student.getStudentId() != null) {
+            writer.writeString(student.getStudentId());
+        }
+        if (student.getName() != null) {
+            writer.writeString(student.getName());
+        }
+        if (student.getDateOfBirth() != null) {
+            writer.writeDate(student.getDateOfBirth());
+        }
+        if (student.getGender() != null) {
+            writer.writeSignedVarLong(student.getGender());
+        }
+        if (student.getClassId() != null) {
+            writer.writeSignedVarLong(student.getClassId());
+        }
+        if (student.getStatus() != null) {
+            writer.writeCoded(STATUSES, student.getStatus());
+        }
+        if (student.getEmail() != null) {
+            writer.writeString(student.getEmail());
+        }
+        if (student.getPhone() != null) {
+            writer.writeString(student.getPhone());
+        }
+        if (student.getAddress() != null) {
+            writer.writeString(student.getAddress());
+        }
+        if (student.getEnrollmentDate() != null) {
+            writer.writeDate(student.getEnrollmentDate());
+        }
+        if (student.getGraduationDate() != null) {
+            writer.writeDate(student.getGraduationDate());
+        }
+    }
+    
+    private static StudentEventMessage.StudentSnapshot readStudent(Reader reader) {
+        long fields = reader.readVarLong();
+        StudentEventMessage.StudentSnapshot student = new StudentEventMessage.StudentSnapshot();
+        if ((fields & STUDENT_ID) != 0) {
+            student.setId(reader.readSignedVarLong());
+        }
+        if ((fields & STUDENT_NO) != 0) {
+            student.setStudentId(reader.readString());
+        }
+        if ((fields & STUDENT_NAME) != 0) {
+            student.setName(reader.readString());
+        }
+        if ((fields & STUDENT_DATE_OF_BIRTH) != 0) {
+            student.setDateOfBirth(reader.readDate());
+        }
+        if ((fields & STUDENT_GENDER) != 0) {
+            student.setGender((int) reader.readSignedVarLong());
+        }
+        if ((fields & STUDENT_CLASS_ID) != 0) {
+            student.setClassId(reader.readSignedVarLong());
+        }
+        if ((fields & STUDENT_STATUS) != 0) {
+            student.setStatus(reader.readCoded(STATUSES));
+        }
+        if ((fields & STUDENT_EMAIL) != 0) {
+            student.setEmail(reader.readString());
+        }
+        if ((fields & STUDENT_PHONE) != 0) {
+            student.setPhone(reader.readString());
+        }
+        if ((fields & STUDENT_ADDRESS) != 0) {
+            student.setAddress(reader.readString());
+        }
+        if ((fields & STUDENT_ENROLLMENT_DATE) != 0) {
+            student.setEnrollmentDate(reader.readDate());
+        }
+        if ((fields & STUDENT_GRADUATION_DATE) != 0) {
+            student.setGraduationDate(reader.readDate());
+        }
+        return student;
+    }
+    
+    private static void writeParent(Writer writer, StudentEventMessage.ParentSnapshot parent) {
+        int fields = presence(parent.getName(), PARENT_NAME)
+            | presence(parent.getRelationship(), PARENT_RELATIONSHIP)
+            | presence(parent.getPhone(), PARENT_PHONE)
+            | presence(parent.getEmail(), PARENT_EMAIL)
+            | presence(parent.getOccupation(), PARENT_OCCUPATION)
+            | presence(parent.getWorkPlace(), PARENT_WORK_PLACE)
+            | (parent.isPrimary() ? PARENT_PRIMARY : 0);
+        writer.writeVarLong(fields);
+        if (parent.getName() != null) {
+            writer.writeString(parent.getName());
+        }
+        if (parent.getRelationship() != null) {
+            writer.writeString(parent.getRelationship());
+        }
+        if (parent.getPhone() != null) {
+            writer.writeString(parent.getPhone());
+        }
+        if (parent.getEmail() != null) {
+            writer.writeString(parent.getEmail());
+        }
+        if (parent.getOccupation() != null) {
+            writer.writeString(parent.getOccupation());
+        }
+        if (parent.getWorkPlace() != null) {
+            writer.writeString(parent.getWorkPlace());
+        }
+    }
+    
+    private static StudentEventMessage.ParentSnapshot readParent(Reader reader) {
+        long fields = reader.readVarLong();
+        StudentEventMessage.ParentSnapshot parent = new StudentEventMessage.ParentSnapshot();
+        if ((fields & PARENT_NAME) != 0) {
+            parent.setName(reader.readString());
+        }
+        if ((fields & PARENT_RELATIONSHIP) != 0) {
+            parent.setRelationship(reader.readString());
+        }
+        if ((fields & PARENT_PHONE) != 0) {
+            parent.setPhone(reader.readString());
+        }
+        if ((fields & PARENT_EMAIL) != 0) {
+            parent.setEmail(reader.readString());
+        }
+        if ((fields & PARENT_OCCUPATION) != 0) {
+            parent.setOccupation(reader.readString());
+        }
+        if ((fields & PARENT_WORK_PLACE) != 0) {
+            parent.setWorkPlace(reader.readString());
+        }
+        parent.setPrimary((fields & PARENT_PRIMARY) != 0);
+        return parent;
+    }
+    
+    private static int presence(Object value, int bit) {
+        return value == null ? 0 : bit;
+    }
+    
+    private static int indexOf(String[] values, String value) {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i].equals(value)) {
+                return i + 1;
+            }
+        }
+        return 0;
+    }
+    
+    private static UUID parseUuid(String value) {
+        if (value == null || value.length() != 36) {
+            return null;
+        }
+        try {
+            UUID uuid = UUID.fromString(value);
+            // 只有规范小写形式才能原样还原
+            return uuid.toString().equals(value) ? uuid : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+    
+    /**
+     * 可扩容的输出缓冲
+     */
+    private static final class Writer {
+        
+        private byte[] buffer;
+        
+        private int position;
+        
+        Writer(int initialCapacity) {
+            this.buffer = new byte[initialCapacity];
+        }
+        
+        void writeByte(int value) {
+            ensureCapacity(1);
+            buffer[position++] = (byte) value;
+        }
+        
+        void writeLong(long value) {
+            ensureCapacity(8);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                buffer[position++] = (byte) (value >>> shift);
+            }
+        }
+        
+        void writeVarLong(long value) {
+            ensureCapacity(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[position++] = (byte) value;
+        }
+        
+        void writeSignedVarLong(long value) {
+            writeVarLong((value << 1) ^ (value >> 63));
+        }
+        
+        void writeString(String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(bytes.length);
+            ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, buffer, position, bytes.length);
+            position += bytes.length;
+        }
+        
+        /**
+         * 写入可能属于已知取值的字符串：已知取值写编号，否则写0后跟字符串
+         */
+        void writeCoded(String[] knownValues, String value) {
+            int code = indexOf(knownValues, value);
+            writeVarLong(code);
+            if (code == 0) {
+                writeString(value);
+            }
+        }
+        
+        void writeDate(LocalDate value) {
+            writeSignedVarLong(value.toEpochDay());
+        }
+        
+        void writeDateTime(LocalDateTime value) {
+            writeSignedVarLong(value.toEpochSecond(ZoneOffset.UTC));
+            writeVarLong(value.getNano());
+        }
+        
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, position);
+        }
+        
+        private void ensureCapacity(int required) {
+            if (position + required > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + required));
+            }
+        }
+    }
+    
+    /**
+     * 输入读取，越界时抛出IndexOutOfBoundsException
+     */
+    private static final class Reader {
+        
+        private final byte[] data;
+        
+        private int position;
+        
+        Reader(byte[] data) {
+            this.data = data;
+        }
+        
+        int readByte() {
+            checkAvailable(1);
+            return data[position++] & 0xFF;
+        }
+        
+        long readLong() {
+            checkAvailable(8);
+            long value = 0;
+            for (int i = 0; i < 8; i++) {
+                value = (value << 8) | (data[position++] & 0xFF);
+            }
+            return value;
+        }
+        
+        long readVarLong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new SerializationException("varint格式错误");
+        }
+        
+        long readSignedVarLong() {
+            long value = readVarLong();
+            return (value >>> 1) ^ -(value & 1);
+        }
+        
+        String readString() {
+            long length = readVarLong();
+            if (length < 0 || length > data.length - position) {
+                throw new IndexOutOfBoundsException("字符串长度越界: " + length);
+            }
+            String value = new String(data, position, (int) length, StandardCharsets.UTF_8);
+            position += (int) length;
+            return value;
+        }
+        
+        String readCoded(String[] knownValues) {
+            int code = (int) readVarLong();
+            if (code == 0) {
+                return readString();
+            }
+            if (code > knownValues.length) {
+                throw new SerializationException("未知的编号: " + code);
+            }
+            return knownValues[code - 1];
+        }
+        
+        LocalDate readDate() {
+            return LocalDate.ofEpochDay(readSignedVarLong());
+        }
+        
+        LocalDateTime readDateTime() {
+            long epochSecond = readSignedVarLong();
+            return LocalDateTime.ofEpochSecond(epochSecond, (int) readVarLong(), ZoneOffset.UTC);
+        }
+        
+        private void checkAvailable(int count) {
+            if (position + count > data.length) {
+                throw new IndexOutOfBoundsException("读取越界: position=" + position + ", count=" + count);
+            }
+        }
+    }
+}
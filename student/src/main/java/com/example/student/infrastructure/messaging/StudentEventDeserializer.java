@@ -0,0 +1,38 @@
+package com.example.student.infrastructure.messaging;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+
+import java.io.IOException;
+
+/**
+ * 学生事件消息的Kafka反序列化器
+ * <p>
+ * 按魔数识别二进制编码；切换编码前写入Topic的JSON消息仍按JSON读取，消费方可先于生产方升级。
+ * 
+ * @author liujiandong
+ */
+public class StudentEventDeserializer implements Deserializer<StudentEventMessage> {
+    
+    private final ObjectMapper objectMapper = new ObjectMapper()
+        .registerModule(new JavaTimeModule())
+        .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    
+    @Override
+    public StudentEventMessage deserialize(String topic, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        if (StudentEventCodec.isEncoded(data)) {
+            return StudentEventCodec.decode(data);
+        }
+        try {
+            return objectMapper.readValue(data, StudentEventMessage.class);
+        } catch (IOException e) {
+            throw new SerializationException("学生事件消息无法解析", e);
+        }
+    }
+}
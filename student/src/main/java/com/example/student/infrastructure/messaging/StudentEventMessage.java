@@ -0,0 +1,206 @@
+package com.example.student.infrastructure.messaging;
+
+import com.example.student.domain.entity.Student;
+import com.example.student.domain.event.DomainEvent;
+import com.example.student.domain.event.ParentAddedEvent;
+import com.example.student.domain.event.StudentClassAssignedEvent;
+import com.example.student.domain.event.StudentDomainEvent;
+import com.example.student.domain.event.StudentStatusChangedEvent;
+import com.example.student.domain.valueobject.ContactInfo;
+import com.example.student.domain.valueobject.ParentInfo;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 对外发布的学生领域事件消息
+ * <p>
+ * 领域事件持有学生聚合本身，不适合直接序列化；这里将其展开为扁平的快照，
+ * 事件特有的字段仅在对应类型的事件中有值。
+ * 
+ * @author liujiandong
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentEventMessage {
+    
+    /**
+     * 事件ID
+     */
+    private String eventId;
+    
+    /**
+     * 事件类型，如StudentCreatedEvent
+     */
+    private String eventType;
+    
+    /**
+     * 聚合ID（学号）
+     */
+    private String aggregateId;
+    
+    /**
+     * 事件发生时间
+     */
+    private LocalDateTime occurredOn;
+    
+    /**
+     * 事件发生后的学生快照
+     */
+    private StudentSnapshot student;
+    
+    /**
+     * 原状态（StudentStatusChangedEvent）
+     */
+    private String oldStatus;
+    
+    /**
+     * 新状态（StudentStatusChangedEvent）
+     */
+    private String newStatus;
+    
+    /**
+     * 状态变更原因（StudentStatusChangedEvent）
+     */
+    private String reason;
+    
+    /**
+     * 原班级ID（StudentClassAssignedEvent）
+     */
+    private Long oldClassId;
+    
+    /**
+     * 新班级ID（StudentClassAssignedEvent）
+     */
+    private Long newClassId;
+    
+    /**
+     * 新增的家长（ParentAddedEvent）
+     */
+    private ParentSnapshot parent;
+    
+    /**
+     * 由领域事件构建消息
+     * 
+     * @param event 领域事件
+     * @return 事件消息
+     */
+    public static StudentEventMessage from(DomainEvent event) {
+        StudentEventMessage message = StudentEventMessage.builder()
+            .eventId(event.getEventId())
+            .eventType(event.getEventType())
+            .aggregateId(event.getAggregateId())
+            .occurredOn(event.getOccurredOn())
+            .build();
+        if (event instanceof StudentDomainEvent) {
+            message.setStudent(StudentSnapshot.of(((StudentDomainEvent) event).getStudent()));
+        }
+        if (event instanceof StudentStatusChangedEvent) {
+            StudentStatusChangedEvent statusChanged = (StudentStatusChangedEvent) event;
+            message.setOldStatus(statusChanged.getOldStatus());
+            message.setNewStatus(statusChanged.getNewStatus());
+            message.setReason(statusChanged.getReason());
+        } else if (event instanceof StudentClassAssignedEvent) {
+            StudentClassAssignedEvent classAssigned = (StudentClassAssignedEvent) event;
+            message.setOldClassId(classAssigned.getOldClassId());
+            message.setNewClassId(classAssigned.getNewClassId());
+        } else if (event instanceof ParentAddedEvent) {
+            message.setParent(ParentSnapshot.of(((ParentAddedEvent) event).getParentInfo()));
+        }
+        return message;
+    }
+    
+    /**
+     * 学生快照
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class StudentSnapshot {
+        
+        private Long id;
+        
+        private String studentId;
+        
+        private String name;
+        
+        private LocalDate dateOfBirth;
+        
+        private Integer gender;
+        
+        private Long classId;
+        
+        private String status;
+        
+        private String email;
+        
+        private String phone;
+        
+        private String address;
+        
+        private LocalDate enrollmentDate;
+        
+        private LocalDate graduationDate;
+        
+        static StudentSnapshot of(Student student) {
+            ContactInfo contactInfo = student.getContactInfo();
+            return StudentSnapshot.builder()
+                .id(student.getId())
+                .studentId(student.getStudentId())
+                .name(student.getName())
+                .dateOfBirth(student.getDateOfBirth())
+                .gender(student.getGender())
+                .classId(student.getClassId())
+                .status(student.getStatus())
+                .email(contactInfo == null ? null : contactInfo.getEmail())
+                .phone(contactInfo == null ? null : contactInfo.getPhone())
+                .address(contactInfo == null ? null : contactInfo.getAddress())
+                .enrollmentDate(student.getEnrollmentDate())
+                .graduationDate(student.getGraduationDate())
+                .build();
+        }
+    }
+    
+    /**
+     * 家长快照
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ParentSnapshot {
+        
+        private String name;
+        
+        private String relationship;
+        
+        private String phone;
+        
+        private String email;
+        
+        private String occupation;
+        
+        private String workPlace;
+        
+        private boolean primary;
+        
+        static ParentSnapshot of(ParentInfo parentInfo) {
+            return ParentSnapshot.builder()
+                .name(parentInfo.getName())
+                .relationship(parentInfo.getRelationship())
+                .phone(parentInfo.getPhone())
+                .email(parentInfo.getEmail())
+                .occupation(parentInfo.getOccupation())
+                .workPlace(parentInfo.getWorkPlace())
+                .primary(parentInfo.isPrimary())
+                .build();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.student.infrastructure.messaging;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Serializer;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 学生事件消息的Kafka二进制序列化器
+ * <p>
+ * 同时在消息头中写入内容类型和Schema版本，消费方据此选择反序列化方式。
+ * 
+ * @author liujiandong
+ */
+public class StudentEventSerializer implements Serializer<Object> {
+    
+    /**
+     * 内容类型消息头
+     */
+    public static final String HEADER_CONTENT_TYPE = "contentType";
+    
+    /**
+     * 二进制编码的内容类型
+     */
+    public static final String CONTENT_TYPE = "application/x-student-event;v=" + StudentEventCodec.CURRENT_VERSION;
+    
+    private static final byte[] CONTENT_TYPE_BYTES = CONTENT_TYPE.getBytes(StandardCharsets.UTF_8);
+    
+    @Override
+    public byte[] serialize(String topic, Object data) {
+        if (data == null) {
+            return null;
+        }
+        if (!(data instanceof StudentEventMessage)) {
+            throw new SerializationException("不支持的消息类型: " + data.getClass().getName());
+        }
+        return StudentEventCodec.encode((StudentEventMessage) data);
+    }
+    
+    @Override
+    public byte[] serialize(String topic, Headers headers, Object data) {
+        byte[] bytes = serialize(topic, data);
+        if (bytes != null) {
+            headers.remove(HEADER_CONTENT_TYPE);
+            headers.add(HEADER_CONTENT_TYPE, CONTENT_TYPE_BYTES);
+        }
+        return bytes;
+    }
+}
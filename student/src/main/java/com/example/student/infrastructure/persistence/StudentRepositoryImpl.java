@@ -1,7 +1,9 @@
 package com.example.student.infrastructure.persistence;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.enums.SqlMethod;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.baomidou.mybatisplus.extension.toolkit.SqlHelper;
 import com.example.student.domain.entity.Student;
 import com.example.student.domain.repository.StudentRepository;
 import com.example.student.domain.valueobject.ContactInfo;
@@ -11,11 +13,23 @@ import com.example.student.infrastructure.persistence.entity.StudentPO;
 import com.example.student.infrastructure.persistence.entity.StudentParentPO;
 import com.example.student.infrastructure.persistence.mapper.StudentMapper;
 import com.example.student.infrastructure.persistence.mapper.StudentParentMapper;
+import io.micrometer.core.annotation.Timed;
+import org.apache.ibatis.logging.Log;
+import org.apache.ibatis.logging.LogFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
@@ -24,8 +38,21 @@ import java.util.stream.Collectors;
  * @author liujiandong
  */
 @Repository
+@Timed("student.repository")
 public class StudentRepositoryImpl implements StudentRepository {
     
+    /**
+     * IN查询单次最多携带的参数个数
+     */
+    private static final int IN_CLAUSE_CHUNK_SIZE = 1000;
+    
+    /**
+     * JDBC批处理每批提交的语句数
+     */
+    private static final int INSERT_BATCH_SIZE = 500;
+    
+    private static final Log BATCH_LOG = LogFactory.getLog(StudentRepositoryImpl.class);
+    
     @Autowired
     private StudentMapper studentMapper;
     
@@ -60,6 +87,22 @@ public class StudentRepositoryImpl implements StudentRepository {
         return Optional.of(studentConverter.toDomain(studentPO));
     }
     
+    @Override
+    public List<Student> findByIds(Collection<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        
+        LambdaQueryWrapper<StudentPO> queryWrapper = new LambdaQueryWrapper<>();
+        queryWrapper.in(StudentPO::getId, ids)
+                   .orderByAsc(StudentPO::getId);
+        
+        List<StudentPO> studentPOList = studentMapper.selectList(queryWrapper);
+        return studentPOList.stream()
+            .map(studentConverter::toDomain)
+            .collect(Collectors.toList());
+    }
+    
     @Override
     public Optional<Student> findByStudentId(String studentId) {
         LambdaQueryWrapper<StudentPO> queryWrapper = new LambdaQueryWrapper<>();
@@ -91,6 +134,84 @@ public class StudentRepositoryImpl implements StudentRepository {
             .collect(Collectors.toList());
     }
     
+    @Override
+    public List<Student> findPageAfterId(Long classId, Long afterId, int limit) {
+        LambdaQueryWrapper<StudentPO> queryWrapper = new LambdaQueryWrapper<>();
+        queryWrapper.eq(classId != null, StudentPO::getClassId, classId)
+                   .gt(afterId != null, StudentPO::getId, afterId)
+                   .orderByAsc(StudentPO::getId)
+                   .last("LIMIT " + limit);
+        
+        List<StudentPO> studentPOList = studentMapper.selectList(queryWrapper);
+        return studentPOList.stream()
+            .map(studentConverter::toDomain)
+            .collect(Collectors.toList());
+    }
+    
+    @Override
+    public List<Student> findPageAfterClassIdAndId(Long afterClassId, Long afterId, int limit) {
+        LambdaQueryWrapper<StudentPO> queryWrapper = new LambdaQueryWrapper<>();
+        if (afterId != null) {
+            if (afterClassId == null) {
+                // 仍处于班级为空的区间：继续该区间，或进入有班级的区间
+                queryWrapper.and(w -> w.isNull(StudentPO::getClassId).gt(StudentPO::getId, afterId)
+                                       .or().isNotNull(StudentPO::getClassId));
+            } else {
+                // (class_id, id) > (?, ?)，展开写法以便使用idx_class_id索引范围扫描
+                queryWrapper.and(w -> w.gt(StudentPO::getClassId, afterClassId)
+                                       .or(o -> o.eq(StudentPO::getClassId, afterClassId).gt(StudentPO::getId, afterId)));
+            }
+        }
+        queryWrapper.orderByAsc(StudentPO::getClassId)
+                   .orderByAsc(StudentPO::getId)
+                   .last("LIMIT " + limit);
+        
+        List<StudentPO> studentPOList = studentMapper.selectList(queryWrapper);
+        return studentPOList.stream()
+            .map(studentConverter::toDomain)
+            .collect(Collectors.toList());
+    }
+    
+    @Override
+    public List<Student> lockPageByFilterAfterId(Collection<Long> classIds, Integer enrollmentYear, String status,
+                                                 Long afterId, int limit) {
+        LambdaQueryWrapper<StudentPO> queryWrapper = new LambdaQueryWrapper<>();
+        queryWrapper.in(classIds != null && !classIds.isEmpty(), StudentPO::getClassId, classIds)
+                   .eq(status != null && !status.isEmpty(), StudentPO::getStatus, status)
+                   .gt(afterId != null, StudentPO::getId, afterId);
+        if (enrollmentYear != null) {
+            // 使用范围条件而非YEAR()函数，便于利用索引
+            queryWrapper.ge(StudentPO::getEnrollmentDate, LocalDate.of(enrollmentYear, 1, 1))
+                       .lt(StudentPO::getEnrollmentDate, LocalDate.of(enrollmentYear + 1, 1, 1));
+        }
+        queryWrapper.orderByAsc(StudentPO::getId)
+                   .last("LIMIT " + limit + " FOR UPDATE");
+        
+        List<StudentPO> studentPOList = studentMapper.selectList(queryWrapper);
+        return studentPOList.stream()
+            .map(studentConverter::toDomain)
+            .collect(Collectors.toList());
+    }
+    
+    @Override
+    public int updateStatusByIds(Collection<Long> ids, String status, LocalDate graduationDate) {
+        if (ids == null || ids.isEmpty()) {
+            return 0;
+        }
+        return studentMapper.updateStatusByIds(ids, status, graduationDate);
+    }
+    
+    @Override
+    public void forEachStudent(Long classId, String status, Consumer<Student> consumer) {
+        studentMapper.streamByFilter(classId, status,
+            context -> consumer.accept(studentConverter.toDomain(context.getResultObject())));
+    }
+    
+    @Override
+    public void forEachStudentId(Consumer<String> consumer) {
+        studentMapper.streamAllStudentNos(context -> consumer.accept(context.getResultObject()));
+    }
+    
     @Override
     public List<Student> findByClassId(Long classId) {
         LambdaQueryWrapper<StudentPO> queryWrapper = new LambdaQueryWrapper<>();
@@ -103,9 +224,11 @@ public class StudentRepositoryImpl implements StudentRepository {
     }
     
     @Override
-    public List<Student> findByNameLike(String name) {
+    public List<Student> findByNameLike(String name, int offset, int limit) {
         LambdaQueryWrapper<StudentPO> queryWrapper = new LambdaQueryWrapper<>();
-        queryWrapper.like(StudentPO::getName, name);
+        queryWrapper.like(StudentPO::getName, name)
+                   .orderByAsc(StudentPO::getId)
+                   .last("LIMIT " + offset + ", " + limit);
         
         List<StudentPO> studentPOList = studentMapper.selectList(queryWrapper);
         return studentPOList.stream()
@@ -126,6 +249,43 @@ public class StudentRepositoryImpl implements StudentRepository {
         return studentMapper.selectCount(queryWrapper) > 0;
     }
     
+    @Override
+    public Set<String> findExistingStudentIds(Collection<String> studentIds) {
+        if (studentIds == null || studentIds.isEmpty()) {
+            return Collections.emptySet();
+        }
+        
+        Set<String> existing = new HashSet<>();
+        List<String> distinct = new ArrayList<>(new LinkedHashSet<>(studentIds));
+        for (int from = 0; from < distinct.size(); from += IN_CLAUSE_CHUNK_SIZE) {
+            List<String> chunk = distinct.subList(from, Math.min(from + IN_CLAUSE_CHUNK_SIZE, distinct.size()));
+            existing.addAll(studentMapper.selectExistingStudentNos(chunk));
+        }
+        return existing;
+    }
+    
+    @Override
+    public List<Student> insertAll(List<Student> students) {
+        if (students == null || students.isEmpty()) {
+            return Collections.emptyList();
+        }
+        
+        List<StudentPO> studentPOList = students.stream()
+            .map(studentConverter::toDataObject)
+            .collect(Collectors.toList());
+        
+        // BATCH执行器复用同一条预编译语句，配合rewriteBatchedStatements=true由驱动改写为多值INSERT；
+        // 刷新批次后自增ID回填到各PO
+        String insertStatement = SqlHelper.getSqlStatement(StudentMapper.class, SqlMethod.INSERT_ONE);
+        SqlHelper.executeBatch(StudentPO.class, BATCH_LOG, studentPOList, INSERT_BATCH_SIZE,
+            (sqlSession, studentPO) -> sqlSession.insert(insertStatement, studentPO));
+        
+        for (int i = 0; i < students.size(); i++) {
+            students.get(i).setId(studentPOList.get(i).getId());
+        }
+        return students;
+    }
+    
     @Override
     public void deleteById(Long id) {
         studentMapper.deleteById(id);
@@ -134,15 +294,7 @@ public class StudentRepositoryImpl implements StudentRepository {
     @Override
     public void saveParent(Long studentId, ParentInfo parentInfo) {
         // 转换为PO
-        StudentParentPO parentPO = new StudentParentPO();
-        parentPO.setStudentId(studentId);
-        parentPO.setName(parentInfo.getName());
-        parentPO.setRelationship(parentInfo.getRelationship());
-        parentPO.setPhone(parentInfo.getPhone());
-        parentPO.setEmail(parentInfo.getEmail());
-        parentPO.setOccupation(parentInfo.getOccupation());
-        parentPO.setWorkPlace(parentInfo.getWorkPlace());
-        parentPO.setIsPrimary(parentInfo.isPrimary() ? 1 : 0);
+        StudentParentPO parentPO = toParentPO(studentId, parentInfo);
         
         // 如果是主要监护人，需要先将其他监护人设置为非主要
         if (parentInfo.isPrimary()) {
@@ -161,6 +313,21 @@ public class StudentRepositoryImpl implements StudentRepository {
         studentParentMapper.insert(parentPO);
     }
     
+    @Override
+    public void insertParents(Map<Long, List<ParentInfo>> parentsByStudentId) {
+        if (parentsByStudentId == null || parentsByStudentId.isEmpty()) {
+            return;
+        }
+        
+        List<StudentParentPO> parentPOList = new ArrayList<>();
+        parentsByStudentId.forEach((studentId, parents) ->
+            parents.forEach(parentInfo -> parentPOList.add(toParentPO(studentId, parentInfo))));
+        
+        String insertStatement = SqlHelper.getSqlStatement(StudentParentMapper.class, SqlMethod.INSERT_ONE);
+        SqlHelper.executeBatch(StudentParentPO.class, BATCH_LOG, parentPOList, INSERT_BATCH_SIZE,
+            (sqlSession, parentPO) -> sqlSession.insert(insertStatement, parentPO));
+    }
+    
     @Override
     public List<ParentInfo> findParentsByStudentId(Long studentId) {
         LambdaQueryWrapper<StudentParentPO> queryWrapper = new LambdaQueryWrapper<>();
@@ -169,15 +336,61 @@ public class StudentRepositoryImpl implements StudentRepository {
         List<StudentParentPO> parentPOList = studentParentMapper.selectList(queryWrapper);
         
         return parentPOList.stream()
-            .map(po -> new ParentInfo(
-                po.getName(),
-                po.getRelationship(),
-                po.getPhone(),
-                po.getEmail(),
-                po.getOccupation(),
-                po.getWorkPlace(),
-                po.getIsPrimary() == 1
-            ))
+            .map(this::toParentInfo)
             .collect(Collectors.toList());
     }
+    
+    @Override
+    public Map<Long, List<ParentInfo>> findParentsByStudentIds(Collection<Long> studentIds) {
+        if (studentIds == null || studentIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        
+        // 按块IN查询加载所有学生的家长，避免逐个查询，也避免单条语句参数过多
+        List<StudentParentPO> parentPOList = new ArrayList<>();
+        List<Long> distinct = new ArrayList<>(new LinkedHashSet<>(studentIds));
+        for (int from = 0; from < distinct.size(); from += IN_CLAUSE_CHUNK_SIZE) {
+            List<Long> chunk = distinct.subList(from, Math.min(from + IN_CLAUSE_CHUNK_SIZE, distinct.size()));
+            LambdaQueryWrapper<StudentParentPO> queryWrapper = new LambdaQueryWrapper<>();
+            queryWrapper.in(StudentParentPO::getStudentId, chunk);
+            parentPOList.addAll(studentParentMapper.selectList(queryWrapper));
+        }
+        
+        return parentPOList.stream()
+            .collect(Collectors.groupingBy(
+                StudentParentPO::getStudentId,
+                Collectors.mapping(this::toParentInfo, Collectors.toList())
+            ));
+    }
+    
+    /**
+     * 将家长值对象转换为持久化对象
+     */
+    private StudentParentPO toParentPO(Long studentId, ParentInfo parentInfo) {
+        StudentParentPO parentPO = new StudentParentPO();
+        parentPO.setStudentId(studentId);
+        parentPO.setName(parentInfo.getName());
+        parentPO.setRelationship(parentInfo.getRelationship());
+        parentPO.setPhone(parentInfo.getPhone());
+        parentPO.setEmail(parentInfo.getEmail());
+        parentPO.setOccupation(parentInfo.getOccupation());
+        parentPO.setWorkPlace(parentInfo.getWorkPlace());
+        parentPO.setIsPrimary(parentInfo.isPrimary() ? 1 : 0);
+        return parentPO;
+    }
+    
+    /**
+     * 将家长持久化对象转换为值对象
+     */
+    private ParentInfo toParentInfo(StudentParentPO po) {
+        return new ParentInfo(
+            po.getName(),
+            po.getRelationship(),
+            po.getPhone(),
+            po.getEmail(),
+            po.getOccupation(),
+            po.getWorkPlace(),
+            po.getIsPrimary() == 1
+        );
+    }
 } 
\ No newline at end of file
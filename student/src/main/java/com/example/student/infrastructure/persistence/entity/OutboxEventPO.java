@@ -0,0 +1,88 @@
+package com.example.student.infrastructure.persistence.entity;
+
+import com.baomidou.mybatisplus.annotation.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 领域事件发件箱持久化对象
+ * 
+ * @author liujiandong
+ */
+@Data
+@TableName("t_student_outbox")
+public class OutboxEventPO {
+    
+    /**
+     * 待发送
+     */
+    public static final int STATUS_PENDING = 0;
+    
+    /**
+     * 已发送
+     */
+    public static final int STATUS_SENT = 1;
+    
+    /**
+     * 死信：失败次数达到上限，不再重试
+     */
+    public static final int STATUS_DEAD = 2;
+    
+    /**
+     * 主键ID，决定转发顺序
+     */
+    @TableId(type = IdType.AUTO)
+    private Long id;
+    
+    /**
+     * 事件ID
+     */
+    private String eventId;
+    
+    /**
+     * 聚合ID（学号），作为Kafka消息键
+     */
+    private String aggregateId;
+    
+    /**
+     * 事件类型
+     */
+    private String eventType;
+    
+    /**
+     * 事件内容（JSON）
+     */
+    private String payload;
+    
+    /**
+     * 状态（0-待发送，1-已发送，2-死信）
+     */
+    private Integer status;
+    
+    /**
+     * 发送失败次数
+     */
+    private Integer attempts;
+    
+    /**
+     * 最近一次发送失败原因
+     */
+    private String lastError;
+    
+    /**
+     * 事件发生时间
+     */
+    private LocalDateTime occurredOn;
+    
+    /**
+     * 创建时间
+     */
+    @TableField(fill = FieldFill.INSERT)
+    private LocalDateTime createTime;
+    
+    /**
+     * 发送成功时间
+     */
+    private LocalDateTime sentTime;
+}
@@ -0,0 +1,37 @@
+package com.example.student.infrastructure.persistence.entity;
+
+import lombok.Data;
+
+/**
+ * 班级花名册分组计数行
+ * 
+ * @author liujiandong
+ */
+@Data
+public class RosterCountPO {
+    
+    /**
+     * 班级ID
+     */
+    private Long classId;
+    
+    /**
+     * 状态
+     */
+    private String status;
+    
+    /**
+     * 性别
+     */
+    private Integer gender;
+    
+    /**
+     * 周岁，出生日期为空时为null
+     */
+    private Integer age;
+    
+    /**
+     * 学生数
+     */
+    private Long count;
+}
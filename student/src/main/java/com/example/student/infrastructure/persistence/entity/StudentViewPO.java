@@ -0,0 +1,90 @@
+package com.example.student.infrastructure.persistence.entity;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 学生读模型（t_student_view）持久化对象，只由{@code StudentViewProjector}写入
+ * 
+ * @author liujiandong
+ */
+@Data
+public class StudentViewPO {
+    
+    /**
+     * 学生ID，与t_student.id一致
+     */
+    private Long id;
+    
+    /**
+     * 学号
+     */
+    private String studentNo;
+    
+    /**
+     * 姓名
+     */
+    private String name;
+    
+    /**
+     * 出生日期
+     */
+    private LocalDate dateOfBirth;
+    
+    /**
+     * 性别（0-女，1-男）
+     */
+    private Integer gender;
+    
+    /**
+     * 班级ID
+     */
+    private Long classId;
+    
+    /**
+     * 电子邮箱
+     */
+    private String email;
+    
+    /**
+     * 联系电话
+     */
+    private String phone;
+    
+    /**
+     * 地址
+     */
+    private String address;
+    
+    /**
+     * 状态
+     */
+    private String status;
+    
+    /**
+     * 入学日期
+     */
+    private LocalDate enrollmentDate;
+    
+    /**
+     * 毕业日期
+     */
+    private LocalDate graduationDate;
+    
+    /**
+     * 家长信息列表（JSON）
+     */
+    private String parents;
+    
+    /**
+     * 创建时间，取自t_student
+     */
+    private LocalDateTime createTime;
+    
+    /**
+     * 更新时间，取自t_student
+     */
+    private LocalDateTime updateTime;
+}
@@ -0,0 +1,46 @@
+package com.example.student.infrastructure.persistence.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.example.student.infrastructure.persistence.entity.OutboxEventPO;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * 领域事件发件箱数据访问接口
+ * 
+ * @author liujiandong
+ */
+@Mapper
+public interface OutboxEventMapper extends BaseMapper<OutboxEventPO> {
+    
+    /**
+     * 批量标记为已发送
+     * 
+     * @param ids 事件记录ID列表
+     * @param sentTime 发送成功时间
+     * @return 更新的行数
+     */
+    int markSent(@Param("ids") Collection<Long> ids, @Param("sentTime") LocalDateTime sentTime);
+    
+    /**
+     * 记录一次发送失败
+     * 
+     * @param id 事件记录ID
+     * @param error 失败原因
+     * @param status 失败后的状态（待发送或死信）
+     * @return 更新的行数
+     */
+    int markFailed(@Param("id") Long id, @Param("error") String error, @Param("status") int status);
+    
+    /**
+     * 删除一批发送时间早于指定时间的已发送事件
+     * 
+     * @param before 截止时间
+     * @param limit 单次最多删除条数
+     * @return 删除的行数
+     */
+    int deleteSentBefore(@Param("before") LocalDateTime before, @Param("limit") int limit);
+}
@@ -1,8 +1,16 @@
 package com.example.student.infrastructure.persistence.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.example.student.infrastructure.persistence.entity.RosterCountPO;
 import com.example.student.infrastructure.persistence.entity.StudentPO;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.session.ResultHandler;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 
 /**
  * 学生数据访问接口
@@ -11,4 +19,62 @@ import org.apache.ibatis.annotations.Mapper;
  */
 @Mapper
 public interface StudentMapper extends BaseMapper<StudentPO> {
-} 
\ No newline at end of file
+    
+    /**
+     * 按条件流式查询学生，逐行回调处理，不在内存中保存完整结果集
+     * 
+     * @param classId 班级ID，为null时不过滤
+     * @param status 状态，为空时不过滤
+     * @param handler 逐行结果处理器
+     */
+    void streamByFilter(@Param("classId") Long classId,
+                        @Param("status") String status,
+                        ResultHandler<StudentPO> handler);
+    
+    /**
+     * 流式查询全部学号（包含已逻辑删除的记录），用于构建学号布隆过滤器
+     * 
+     * @param handler 逐行结果处理器
+     */
+    void streamAllStudentNos(ResultHandler<String> handler);
+    
+    /**
+     * 查询已存在的学号（包含已逻辑删除的记录）
+     * 
+     * @param studentNos 学号列表
+     * @return 其中已存在的学号
+     */
+    List<String> selectExistingStudentNos(@Param("studentNos") Collection<String> studentNos);
+    
+    /**
+     * 批量更新学生状态
+     * 
+     * @param ids 学生ID列表
+     * @param status 新状态
+     * @param graduationDate 毕业日期，为null时不修改
+     * @return 更新的行数
+     */
+    int updateStatusByIds(@Param("ids") Collection<Long> ids,
+                          @Param("status") String status,
+                          @Param("graduationDate") LocalDate graduationDate);
+    
+    /**
+     * 按班级、状态、性别、周岁分组统计未删除的学生数，不含未分班的学生
+     * 
+     * @param classIds 班级ID，为空时统计全部班级
+     * @return 分组计数
+     */
+    List<RosterCountPO> selectRosterCounts(@Param("classIds") Collection<Long> classIds);
+    
+    /**
+     * 按(update_time, id)顺序分批读取指定时间之后变更的学生，包括已逻辑删除的学生，仅返回统计所需的列
+     * 
+     * @param since 起始更新时间（不含），与afterId共同组成游标
+     * @param afterId 更新时间等于since时，只返回ID大于该值的学生
+     * @param limit 每批数量
+     * @return 学生PO列表
+     */
+    List<StudentPO> selectChangedSince(@Param("since") LocalDateTime since,
+                                       @Param("afterId") Long afterId,
+                                       @Param("limit") int limit);
+}
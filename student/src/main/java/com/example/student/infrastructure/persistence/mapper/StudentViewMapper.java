@@ -0,0 +1,217 @@
+package com.example.student.infrastructure.persistence.mapper;
+
+import com.example.common.web.ResourceVersion;
+import com.example.student.application.dto.StudentDTO;
+import com.example.student.infrastructure.persistence.entity.StudentPO;
+import com.example.student.infrastructure.persistence.entity.StudentParentPO;
+import com.example.student.infrastructure.persistence.entity.StudentViewPO;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 学生读模型数据访问接口
+ * <p>
+ * 查询直接映射为{@link StudentDTO}，不经过领域对象和转换器。
+ * 
+ * @author liujiandong
+ */
+@Mapper
+public interface StudentViewMapper {
+    
+    /**
+     * 按ID查询
+     * 
+     * @param id 学生ID
+     * @param includeParents 是否返回家长信息
+     * @return 学生DTO，不存在时返回null
+     */
+    StudentDTO selectById(@Param("id") Long id,
+                          @Param("includeParents") boolean includeParents);
+    
+    /**
+     * 按学号查询
+     * 
+     * @param studentNo 学号
+     * @param includeParents 是否返回家长信息
+     * @return 学生DTO，不存在时返回null
+     */
+    StudentDTO selectByStudentNo(@Param("studentNo") String studentNo,
+                                 @Param("includeParents") boolean includeParents);
+    
+    /**
+     * 按ID批量查询，按ID升序
+     * 
+     * @param ids 学生ID列表
+     * @param includeParents 是否返回家长信息
+     * @return 学生DTO列表
+     */
+    List<StudentDTO> selectByIds(@Param("ids") Collection<Long> ids,
+                                 @Param("includeParents") boolean includeParents);
+    
+    /**
+     * 按班级查询，按ID升序
+     * 
+     * @param classId 班级ID
+     * @param includeParents 是否返回家长信息
+     * @return 学生DTO列表
+     */
+    List<StudentDTO> selectByClassId(@Param("classId") Long classId,
+                                     @Param("includeParents") boolean includeParents);
+    
+    /**
+     * 按ID顺序偏移分页
+     * 
+     * @param offset 跳过的行数
+     * @param limit 返回的行数
+     * @param includeParents 是否返回家长信息
+     * @return 学生DTO列表
+     */
+    List<StudentDTO> selectPage(@Param("offset") long offset,
+                                @Param("limit") int limit,
+                                @Param("includeParents") boolean includeParents);
+    
+    /**
+     * 按ID游标分页
+     * 
+     * @param classId 班级ID过滤条件，为null时不过滤
+     * @param afterId 上一页最后一条的ID，为null时从头开始
+     * @param limit 返回的行数
+     * @param includeParents 是否返回家长信息
+     * @return 学生DTO列表
+     */
+    List<StudentDTO> selectPageAfterId(@Param("classId") Long classId,
+                                       @Param("afterId") Long afterId,
+                                       @Param("limit") int limit,
+                                       @Param("includeParents") boolean includeParents);
+    
+    /**
+     * 按(班级ID, ID)游标分页，班级为空的学生排在最前
+     * 
+     * @param afterClassId 上一页最后一条的班级ID
+     * @param afterId 上一页最后一条的ID，为null时从头开始
+     * @param limit 返回的行数
+     * @param includeParents 是否返回家长信息
+     * @return 学生DTO列表
+     */
+    List<StudentDTO> selectPageAfterClassIdAndId(@Param("afterClassId") Long afterClassId,
+                                                 @Param("afterId") Long afterId,
+                                                 @Param("limit") int limit,
+                                                 @Param("includeParents") boolean includeParents);
+    
+    /**
+     * 查询单个学生的版本
+     * 
+     * @param id 学生ID
+     * @return 版本指纹，不存在时返回null
+     */
+    ResourceVersion selectVersionById(@Param("id") Long id);
+    
+    /**
+     * 按学号查询单个学生的版本
+     * 
+     * @param studentNo 学号
+     * @return 版本指纹，不存在时返回null
+     */
+    ResourceVersion selectVersionByStudentNo(@Param("studentNo") String studentNo);
+    
+    /**
+     * 查询班级学生列表的版本
+     * 
+     * @param classId 班级ID
+     * @return 版本指纹
+     */
+    ResourceVersion selectVersionByClassId(@Param("classId") Long classId);
+    
+    /**
+     * 查询偏移分页结果的版本，分页口径与{@link #selectPage}一致
+     * 
+     * @param offset 跳过的行数
+     * @param limit 返回的行数
+     * @return 版本指纹
+     */
+    ResourceVersion selectVersionOfPage(@Param("offset") long offset,
+                                        @Param("limit") int limit);
+    
+    /**
+     * 统计读模型行数
+     * 
+     * @return 行数
+     */
+    long countAll();
+    
+    /**
+     * 读取并锁定源学生行（含已逻辑删除的行），与并发写事务串行化
+     * 
+     * @param ids 学生ID列表
+     * @return 学生持久化对象
+     */
+    List<StudentPO> selectSourceStudentsForUpdate(@Param("ids") Collection<Long> ids);
+    
+    /**
+     * 以加锁读读取源家长行，读取的是最新已提交数据而非事务快照
+     * 
+     * @param studentIds 学生ID列表
+     * @return 家长持久化对象，按ID升序
+     */
+    List<StudentParentPO> selectSourceParentsForShare(@Param("studentIds") Collection<Long> studentIds);
+    
+    /**
+     * 不加锁读取源学生行（含已逻辑删除的行），用于启动校验
+     * 
+     * @param ids 学生ID列表
+     * @return 学生持久化对象
+     */
+    List<StudentPO> selectSourceStudents(@Param("ids") Collection<Long> ids);
+    
+    /**
+     * 不加锁读取源家长行，用于启动校验
+     * 
+     * @param studentIds 学生ID列表
+     * @return 家长持久化对象，按ID升序
+     */
+    List<StudentParentPO> selectSourceParents(@Param("studentIds") Collection<Long> studentIds);
+    
+    /**
+     * 按ID读取读模型原始行，用于与源数据比对
+     * 
+     * @param ids 学生ID列表
+     * @return 读模型行
+     */
+    List<StudentViewPO> selectRowsByIds(@Param("ids") Collection<Long> ids);
+    
+    /**
+     * 按ID顺序读取一批源学生ID（含已逻辑删除的行），用于全量重建和启动校验
+     * 
+     * @param afterId 起始ID（不含）
+     * @param limit 返回的行数
+     * @return 学生ID列表
+     */
+    List<Long> selectSourceIdsAfter(@Param("afterId") long afterId,
+                                    @Param("limit") int limit);
+    
+    /**
+     * 批量写入或覆盖读模型行
+     * 
+     * @param rows 读模型行
+     * @return 影响的行数
+     */
+    int upsertAll(@Param("rows") Collection<StudentViewPO> rows);
+    
+    /**
+     * 按ID批量删除读模型行
+     * 
+     * @param ids 学生ID列表
+     * @return 删除的行数
+     */
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+    
+    /**
+     * 删除源学生已不存在或已删除的读模型行
+     * 
+     * @return 删除的行数
+     */
+    int deleteOrphans();
+}
@@ -0,0 +1,89 @@
+package com.example.student.infrastructure.readmodel;
+
+import com.example.student.application.dto.ParentDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.ibatis.type.BaseTypeHandler;
+import org.apache.ibatis.type.JdbcType;
+
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * 读模型家长列表JSON列与{@code List<ParentDTO>}之间的转换
+ * 
+ * @author liujiandong
+ */
+public class ParentListTypeHandler extends BaseTypeHandler<List<ParentDTO>> {
+    
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+        .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    
+    private static final TypeReference<List<ParentDTO>> PARENT_LIST = new TypeReference<List<ParentDTO>>() {
+    };
+    
+    /**
+     * 序列化家长列表
+     * 
+     * @param parents 家长列表
+     * @return JSON数组
+     */
+    public static String toJson(List<ParentDTO> parents) {
+        try {
+            return OBJECT_MAPPER.writeValueAsString(parents);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("家长信息序列化失败", e);
+        }
+    }
+    
+    /**
+     * 解析家长列表，读模型JSON列读出的文本经过数据库规范化，与{@link #toJson}的输出不一定逐字相同
+     * 
+     * @param json JSON数组
+     * @return 家长列表，json为null时返回null
+     */
+    public static List<ParentDTO> fromJson(String json) {
+        try {
+            return parse(json);
+        } catch (SQLException e) {
+            throw new IllegalStateException(e.getMessage(), e.getCause());
+        }
+    }
+    
+    @Override
+    public void setNonNullParameter(PreparedStatement ps, int i, List<ParentDTO> parameter, JdbcType jdbcType)
+            throws SQLException {
+        ps.setString(i, toJson(parameter));
+    }
+    
+    @Override
+    public List<ParentDTO> getNullableResult(ResultSet rs, String columnName) throws SQLException {
+        return parse(rs.getString(columnName));
+    }
+    
+    @Override
+    public List<ParentDTO> getNullableResult(ResultSet rs, int columnIndex) throws SQLException {
+        return parse(rs.getString(columnIndex));
+    }
+    
+    @Override
+    public List<ParentDTO> getNullableResult(CallableStatement cs, int columnIndex) throws SQLException {
+        return parse(cs.getString(columnIndex));
+    }
+    
+    private static List<ParentDTO> parse(String json) throws SQLException {
+        if (json == null) {
+            return null;
+        }
+        try {
+            return OBJECT_MAPPER.readValue(json, PARENT_LIST);
+        } catch (JsonProcessingException e) {
+            throw new SQLException("读模型家长信息无法解析", e);
+        }
+    }
+}
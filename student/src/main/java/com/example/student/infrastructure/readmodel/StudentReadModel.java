@@ -0,0 +1,168 @@
+package com.example.student.infrastructure.readmodel;
+
+import com.example.common.web.ResourceVersion;
+import com.example.student.application.dto.StudentDTO;
+import com.example.student.infrastructure.persistence.mapper.StudentViewMapper;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 学生读模型查询
+ * <p>
+ * 每个查询都是t_student_view上的一次索引查找，结果直接为{@link StudentDTO}，家长信息已内联；
+ * 调用前应先通过{@link #isAvailable()}确认读模型已就绪。
+ *
+ * @author liujiandong
+ */
+@Component
+@Timed("student.repository")
+public class StudentReadModel {
+    
+    @Autowired
+    private StudentViewMapper studentViewMapper;
+    
+    @Autowired
+    private StudentViewProjector studentViewProjector;
+    
+    /**
+     * 读模型是否可用
+     *
+     * @return 是否可用
+     */
+    public boolean isAvailable() {
+        return studentViewProjector.isReady();
+    }
+    
+    /**
+     * 根据ID查询学生，包含家长信息
+     *
+     * @param id 学生ID
+     * @return 学生DTO
+     */
+    public Optional<StudentDTO> findById(Long id) {
+        return Optional.ofNullable(studentViewMapper.selectById(id, true));
+    }
+    
+    /**
+     * 根据学号查询学生，包含家长信息
+     *
+     * @param studentNo 学号
+     * @return 学生DTO
+     */
+    public Optional<StudentDTO> findByStudentNo(String studentNo) {
+        return Optional.ofNullable(studentViewMapper.selectByStudentNo(studentNo, true));
+    }
+    
+    /**
+     * 根据ID批量查询学生
+     *
+     * @param ids 学生ID集合
+     * @param includeParents 是否返回家长信息
+     * @return 学生DTO列表，不存在的ID不出现在结果中
+     */
+    public List<StudentDTO> findByIds(Collection<Long> ids, boolean includeParents) {
+        if (ids == null || ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return studentViewMapper.selectByIds(ids, includeParents);
+    }
+    
+    /**
+     * 查询班级的全部学生
+     *
+     * @param classId 班级ID
+     * @param includeParents 是否返回家长信息
+     * @return 学生DTO列表
+     */
+    public List<StudentDTO> findByClassId(Long classId, boolean includeParents) {
+        return studentViewMapper.selectByClassId(classId, includeParents);
+    }
+    
+    /**
+     * 偏移分页
+     *
+     * @param page 页码（从1开始）
+     * @param size 每页大小
+     * @param includeParents 是否返回家长信息
+     * @return 学生DTO列表
+     */
+    public List<StudentDTO> findPage(int page, int size, boolean includeParents) {
+        long offset = (long) Math.max(page - 1, 0) * size;
+        return studentViewMapper.selectPage(offset, size, includeParents);
+    }
+    
+    /**
+     * 偏移分页结果的版本，分页口径与{@link #findPage}一致
+     *
+     * @param page 页码（从1开始）
+     * @param size 每页大小
+     * @return 版本指纹
+     */
+    public ResourceVersion findPageVersion(int page, int size) {
+        long offset = (long) Math.max(page - 1, 0) * size;
+        return studentViewMapper.selectVersionOfPage(offset, size);
+    }
+    
+    /**
+     * 单个学生的版本，口径与{@link #findById}一致
+     *
+     * @param id 学生ID
+     * @return 版本指纹
+     */
+    public Optional<ResourceVersion> findVersionById(Long id) {
+        return Optional.ofNullable(studentViewMapper.selectVersionById(id));
+    }
+    
+    /**
+     * 单个学生的版本，口径与{@link #findByStudentNo}一致
+     *
+     * @param studentNo 学号
+     * @return 版本指纹
+     */
+    public Optional<ResourceVersion> findVersionByStudentNo(String studentNo) {
+        return Optional.ofNullable(studentViewMapper.selectVersionByStudentNo(studentNo));
+    }
+    
+    /**
+     * 班级学生列表的版本，口径与{@link #findByClassId}一致
+     *
+     * @param classId 班级ID
+     * @return 版本指纹
+     */
+    public ResourceVersion findVersionByClassId(Long classId) {
+        return studentViewMapper.selectVersionByClassId(classId);
+    }
+    
+    /**
+     * 按ID游标分页
+     *
+     * @param classId 班级ID过滤条件，为null时不过滤
+     * @param afterId 上一页最后一条的ID，为null时从头开始
+     * @param limit 返回的行数
+     * @param includeParents 是否返回家长信息
+     * @return 学生DTO列表
+     */
+    public List<StudentDTO> findPageAfterId(Long classId, Long afterId, int limit, boolean includeParents) {
+        return studentViewMapper.selectPageAfterId(classId, afterId, limit, includeParents);
+    }
+    
+    /**
+     * 按(班级ID, ID)游标分页，班级为空的学生排在最前
+     *
+     * @param afterClassId 上一页最后一条的班级ID
+     * @param afterId 上一页最后一条的ID，为null时从头开始
+     * @param limit 返回的行数
+     * @param includeParents 是否返回家长信息
+     * @return 学生DTO列表
+     */
+    public List<StudentDTO> findPageAfterClassIdAndId(Long afterClassId, Long afterId, int limit,
+                                                      boolean includeParents) {
+        return studentViewMapper.selectPageAfterClassIdAndId(afterClassId, afterId, limit, includeParents);
+    }
+}
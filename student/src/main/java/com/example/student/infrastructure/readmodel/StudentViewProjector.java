@@ -0,0 +1,296 @@
+package com.example.student.infrastructure.readmodel;
+
+import com.example.student.application.dto.ParentDTO;
+import com.example.student.domain.event.StudentDomainEvent;
+import com.example.student.infrastructure.persistence.entity.StudentPO;
+import com.example.student.infrastructure.persistence.entity.StudentParentPO;
+import com.example.student.infrastructure.persistence.entity.StudentViewPO;
+import com.example.student.infrastructure.persistence.mapper.StudentViewMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 学生读模型投影
+ * <p>
+ * 监听学生领域事件，记录当前事务中发生变更的学生ID，在事务提交前按ID批量从源表重新投影到t_student_view：
+ * 读模型与写入在同一事务提交，不会读到未提交或已回滚的变更。投影前对源学生行加锁，
+ * 与修改同一学生的并发事务串行化，保证读模型中保留的是最后提交的状态。
+ * <p>
+ * 启动后在后台逐批比对源表与读模型，重新投影内容不一致的学生并删除多余的行，
+ * 覆盖首次部署、曾关闭投影期间的写入、手工修改数据等情况；行数相同不代表内容一致，因此不以行数判断。
+ * 校验完成前{@link #isReady()}返回false，查询降级为原有的聚合读取路径。
+ *
+ * @author liujiandong
+ */
+@Component
+@Slf4j
+public class StudentViewProjector {
+    
+    /**
+     * 每条投影语句处理的学生数
+     */
+    private static final int CHUNK_SIZE = 500;
+    
+    @Value("${student.read-model.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${student.read-model.rebuild-on-startup:false}")
+    private boolean rebuildOnStartup;
+    
+    @Autowired
+    private StudentViewMapper studentViewMapper;
+    
+    private TransactionTemplate transactionTemplate;
+    
+    private volatile boolean ready;
+    
+    @Autowired
+    public void setTransactionManager(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+    
+    /**
+     * 应用启动完成后在后台校验并修复读模型，不阻塞启动
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!enabled) {
+            log.info("学生读模型未启用，查询使用聚合读取");
+            return;
+        }
+        Thread initializer = new Thread(this::initialize, "student-view-initializer");
+        initializer.setDaemon(true);
+        initializer.start();
+    }
+    
+    /**
+     * 读模型是否可用于查询
+     *
+     * @return 是否可用
+     */
+    public boolean isReady() {
+        return enabled && ready;
+    }
+    
+    /**
+     * 记录学生领域事件涉及的学生，在当前事务提交前统一投影；无事务时立即投影
+     *
+     * @param event 学生领域事件
+     */
+    @EventListener
+    public void onStudentEvent(StudentDomainEvent event) {
+        if (!enabled) {
+            return;
+        }
+        Long id = event.getStudent().getId();
+        if (id == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            refresh(Collections.singleton(id));
+            return;
+        }
+        
+        @SuppressWarnings("unchecked")
+        Set<Long> pendingIds = (Set<Long>) TransactionSynchronizationManager.getResource(this);
+        if (pendingIds == null) {
+            // 按ID排序，加锁顺序与批量写入一致，避免死锁
+            Set<Long> ids = new TreeSet<>();
+            TransactionSynchronizationManager.bindResource(this, ids);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    refresh(ids);
+                }
+                
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(StudentViewProjector.this);
+                }
+            });
+            pendingIds = ids;
+        }
+        pendingIds.add(id);
+    }
+    
+    /**
+     * 分批全量重建读模型
+     */
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+        ready = false;
+        long afterId = 0;
+        int total = 0;
+        List<Long> ids;
+        while (!(ids = studentViewMapper.selectSourceIdsAfter(afterId, CHUNK_SIZE)).isEmpty()) {
+            List<Long> chunk = ids;
+            transactionTemplate.executeWithoutResult(status -> refresh(chunk));
+            afterId = chunk.get(chunk.size() - 1);
+            total += chunk.size();
+        }
+        int orphans = studentViewMapper.deleteOrphans();
+        ready = true;
+        log.info("学生读模型重建完成: students={}, orphans={}, cost={}ms",
+            total, orphans, System.currentTimeMillis() - start);
+    }
+    
+    private void initialize() {
+        try {
+            if (rebuildOnStartup) {
+                log.info("学生读模型按配置强制重建");
+                rebuild();
+                return;
+            }
+            long start = System.currentTimeMillis();
+            int repaired = reconcile();
+            ready = true;
+            log.info("学生读模型已就绪: rows={}, repaired={}, cost={}ms",
+                studentViewMapper.countAll(), repaired, System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.error("学生读模型初始化失败，查询降级为聚合读取", e);
+        }
+    }
+    
+    /**
+     * 逐批比对源表与读模型，只重新投影不一致的学生；比对读不加锁，修复时仍走加锁投影
+     *
+     * @return 修复的行数
+     */
+    private synchronized int reconcile() {
+        long afterId = 0;
+        int repaired = 0;
+        List<Long> ids;
+        while (!(ids = studentViewMapper.selectSourceIdsAfter(afterId, CHUNK_SIZE)).isEmpty()) {
+            List<Long> staleIds = findStale(ids);
+            if (!staleIds.isEmpty()) {
+                transactionTemplate.executeWithoutResult(status -> refresh(staleIds));
+                repaired += staleIds.size();
+            }
+            afterId = ids.get(ids.size() - 1);
+        }
+        return repaired + studentViewMapper.deleteOrphans();
+    }
+    
+    private List<Long> findStale(List<Long> ids) {
+        Map<Long, StudentViewPO> expected = project(studentViewMapper.selectSourceStudents(ids),
+            studentViewMapper::selectSourceParents).stream()
+            .collect(Collectors.toMap(StudentViewPO::getId, row -> row));
+        Map<Long, StudentViewPO> actual = studentViewMapper.selectRowsByIds(ids).stream()
+            .collect(Collectors.toMap(StudentViewPO::getId, row -> row));
+        List<Long> staleIds = new ArrayList<>();
+        for (Long id : ids) {
+            StudentViewPO row = actual.get(id);
+            if (row != null) {
+                // JSON列读出的文本经过数据库规范化，按同样的方式重新序列化后再比较
+                row.setParents(ParentListTypeHandler.toJson(ParentListTypeHandler.fromJson(row.getParents())));
+            }
+            if (!Objects.equals(expected.get(id), row)) {
+                staleIds.add(id);
+            }
+        }
+        return staleIds;
+    }
+    
+    /**
+     * 从源表重新投影指定学生：存在且未删除的写入读模型，其余从读模型中删除
+     *
+     * @param ids 学生ID
+     */
+    private void refresh(Collection<Long> ids) {
+        List<Long> sortedIds = ids.stream().sorted().collect(Collectors.toList());
+        for (int from = 0; from < sortedIds.size(); from += CHUNK_SIZE) {
+            List<Long> chunk = sortedIds.subList(from, Math.min(from + CHUNK_SIZE, sortedIds.size()));
+            
+            List<StudentViewPO> rows = project(studentViewMapper.selectSourceStudentsForUpdate(chunk),
+                studentViewMapper::selectSourceParentsForShare);
+            if (!rows.isEmpty()) {
+                studentViewMapper.upsertAll(rows);
+            }
+            Set<Long> liveIds = rows.stream().map(StudentViewPO::getId).collect(Collectors.toSet());
+            
+            List<Long> removedIds = chunk.stream()
+                .filter(id -> !liveIds.contains(id))
+                .collect(Collectors.toList());
+            if (!removedIds.isEmpty()) {
+                studentViewMapper.deleteByIds(removedIds);
+            }
+        }
+    }
+    
+    /**
+     * 将源学生及其家长投影为读模型行，已逻辑删除的学生不产生行
+     *
+     * @param students 源学生行
+     * @param parentLoader 按学生ID加载家长
+     * @return 读模型行
+     */
+    private static List<StudentViewPO> project(List<StudentPO> students,
+                                               Function<Collection<Long>, List<StudentParentPO>> parentLoader) {
+        List<StudentPO> liveStudents = students.stream()
+            .filter(student -> student.getDeleted() == null || student.getDeleted() == 0)
+            .collect(Collectors.toList());
+        if (liveStudents.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Set<Long> liveIds = liveStudents.stream().map(StudentPO::getId).collect(Collectors.toSet());
+        Map<Long, List<ParentDTO>> parentsByStudentId = parentLoader.apply(liveIds).stream()
+            .collect(Collectors.groupingBy(StudentParentPO::getStudentId,
+                Collectors.mapping(StudentViewProjector::toParentDTO, Collectors.toList())));
+        List<StudentViewPO> rows = new ArrayList<>(liveStudents.size());
+        for (StudentPO student : liveStudents) {
+            rows.add(toViewRow(student, parentsByStudentId.getOrDefault(student.getId(), Collections.emptyList())));
+        }
+        return rows;
+    }
+    
+    private static StudentViewPO toViewRow(StudentPO student, List<ParentDTO> parents) {
+        StudentViewPO row = new StudentViewPO();
+        row.setId(student.getId());
+        row.setStudentNo(student.getStudentNo());
+        row.setName(student.getName());
+        row.setDateOfBirth(student.getDateOfBirth());
+        row.setGender(student.getGender());
+        row.setClassId(student.getClassId());
+        row.setEmail(student.getEmail());
+        row.setPhone(student.getPhone());
+        row.setAddress(student.getAddress());
+        row.setStatus(student.getStatus());
+        row.setEnrollmentDate(student.getEnrollmentDate());
+        row.setGraduationDate(student.getGraduationDate());
+        row.setParents(ParentListTypeHandler.toJson(parents));
+        row.setCreateTime(student.getCreateTime());
+        row.setUpdateTime(student.getUpdateTime());
+        return row;
+    }
+    
+    private static ParentDTO toParentDTO(StudentParentPO parent) {
+        return ParentDTO.builder()
+            .name(parent.getName())
+            .relationship(parent.getRelationship())
+            .phone(parent.getPhone())
+            .email(parent.getEmail())
+            .occupation(parent.getOccupation())
+            .workPlace(parent.getWorkPlace())
+            .isPrimary(parent.getIsPrimary() != null && parent.getIsPrimary() == 1)
+            .build();
+    }
+}
@@ -0,0 +1,235 @@
+package com.example.student.infrastructure.search;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 基于一元/二元组（unigram/bigram）的内存倒排索引，支持任意子串查询
+ * <p>
+ * 中文姓名通常为2~4个字，单字查询使用一元组倒排，多字查询对所有二元组倒排求交集，
+ * 长度不小于3的查询再用原文做一次子串校验，排除二元组不连续的误命中。
+ * 读多写少，使用读写锁保护。
+ * 
+ * @author liujiandong
+ */
+public class NGramIndex {
+    
+    /**
+     * 文档ID -> 归一化后的原文
+     */
+    private final Map<Long, String> texts = new HashMap<>();
+    
+    /**
+     * gram -> 有序文档ID列表；一元组键为字符本身，二元组键为两个字符拼接的int
+     */
+    private final Map<Integer, PostingList> postings = new HashMap<>();
+    
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    
+    /**
+     * 添加或更新文档
+     * 
+     * @param id 文档ID
+     * @param text 文档内容
+     */
+    public void put(long id, String text) {
+        String normalized = normalize(text);
+        lock.writeLock().lock();
+        try {
+            String old = texts.get(id);
+            if (normalized.equals(old)) {
+                return;
+            }
+            if (old != null) {
+                removeGrams(id, old);
+            }
+            if (normalized.isEmpty()) {
+                texts.remove(id);
+                return;
+            }
+            texts.put(id, normalized);
+            for (int gram : grams(normalized)) {
+                postings.computeIfAbsent(gram, k -> new PostingList()).add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * 删除文档
+     * 
+     * @param id 文档ID
+     */
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            String old = texts.remove(id);
+            if (old != null) {
+                removeGrams(id, old);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * 子串查询，结果按文档ID升序
+     * 
+     * @param query 查询串
+     * @param offset 跳过的结果数
+     * @param limit 返回的最大结果数
+     * @param maxResults 可翻页的结果总数上限
+     * @return 命中的文档ID列表
+     */
+    public List<Long> search(String query, int offset, int limit, int maxResults) {
+        String q = normalize(query);
+        int end = Math.min(offset + limit, maxResults);
+        if (q.isEmpty() || offset < 0 || limit <= 0 || offset >= end) {
+            return Collections.emptyList();
+        }
+        
+        lock.readLock().lock();
+        try {
+            List<PostingList> lists = new ArrayList<>();
+            for (int gram : queryGrams(q)) {
+                PostingList list = postings.get(gram);
+                if (list == null || list.isEmpty()) {
+                    return Collections.emptyList();
+                }
+                lists.add(list);
+            }
+            // 从最短的倒排列表开始遍历，其余列表用二分查找校验
+            lists.sort(Comparator.comparingInt(PostingList::size));
+            PostingList driver = lists.get(0);
+            boolean verify = q.length() >= 3;
+            
+            List<Long> result = new ArrayList<>(Math.min(limit, driver.size()));
+            int matched = 0;
+            for (int i = 0; i < driver.size() && matched < end; i++) {
+                long id = driver.get(i);
+                if (!containsAll(lists, id) || (verify && !texts.get(id).contains(q))) {
+                    continue;
+                }
+                if (matched >= offset) {
+                    result.add(id);
+                }
+                matched++;
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * 清空索引
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            texts.clear();
+            postings.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * 文档数量
+     * 
+     * @return 已索引的文档数量
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return texts.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * gram数量
+     * 
+     * @return 倒排表中的gram数量
+     */
+    public int gramCount() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    private void removeGrams(long id, String text) {
+        for (int gram : grams(text)) {
+            PostingList list = postings.get(gram);
+            if (list != null) {
+                list.remove(id);
+                if (list.isEmpty()) {
+                    postings.remove(gram);
+                }
+            }
+        }
+    }
+    
+    private static boolean containsAll(List<PostingList> lists, long id) {
+        for (int i = 1; i < lists.size(); i++) {
+            if (!lists.get(i).contains(id)) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * 文档的全部gram：所有一元组和二元组
+     */
+    private static Set<Integer> grams(String text) {
+        Set<Integer> grams = new LinkedHashSet<>();
+        for (int i = 0; i < text.length(); i++) {
+            grams.add(unigram(text.charAt(i)));
+            if (i + 1 < text.length()) {
+                grams.add(bigram(text.charAt(i), text.charAt(i + 1)));
+            }
+        }
+        return grams;
+    }
+    
+    /**
+     * 查询串的gram：单字使用一元组，多字只使用二元组
+     */
+    private static Set<Integer> queryGrams(String query) {
+        Set<Integer> grams = new LinkedHashSet<>();
+        if (query.length() == 1) {
+            grams.add(unigram(query.charAt(0)));
+            return grams;
+        }
+        for (int i = 0; i + 1 < query.length(); i++) {
+            grams.add(bigram(query.charAt(i), query.charAt(i + 1)));
+        }
+        return grams;
+    }
+    
+    private static int unigram(char c) {
+        return c;
+    }
+    
+    private static int bigram(char first, char second) {
+        return (first << 16) | second;
+    }
+    
+    private static String normalize(String text) {
+        return text == null ? "" : text.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.student.infrastructure.search;
+
+import java.util.Arrays;
+
+/**
+ * 有序的ID倒排列表，基于原始long数组实现以减少装箱开销
+ * <p>
+ * 自增ID通常按递增顺序写入，追加为O(1)；乱序写入和删除通过二分查找定位。非线程安全，由调用方加锁。
+ * 
+ * @author liujiandong
+ */
+final class PostingList {
+    
+    private long[] ids = new long[4];
+    
+    private int size;
+    
+    /**
+     * 添加ID，已存在时忽略
+     */
+    void add(long id) {
+        if (size == 0 || ids[size - 1] < id) {
+            ensureCapacity();
+            ids[size++] = id;
+            return;
+        }
+        int pos = Arrays.binarySearch(ids, 0, size, id);
+        if (pos >= 0) {
+            return;
+        }
+        int insertAt = -pos - 1;
+        ensureCapacity();
+        System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+        ids[insertAt] = id;
+        size++;
+    }
+    
+    /**
+     * 删除ID，不存在时忽略
+     */
+    void remove(long id) {
+        int pos = Arrays.binarySearch(ids, 0, size, id);
+        if (pos < 0) {
+            return;
+        }
+        System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+        size--;
+    }
+    
+    boolean contains(long id) {
+        return Arrays.binarySearch(ids, 0, size, id) >= 0;
+    }
+    
+    long get(int index) {
+        return ids[index];
+    }
+    
+    int size() {
+        return size;
+    }
+    
+    boolean isEmpty() {
+        return size == 0;
+    }
+    
+    private void ensureCapacity() {
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, ids.length + (ids.length >> 1) + 1);
+        }
+    }
+}
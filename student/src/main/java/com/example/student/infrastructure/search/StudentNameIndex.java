@@ -0,0 +1,137 @@
+package com.example.student.infrastructure.search;
+
+import com.example.common.search.IndexRebuilder;
+import com.example.student.domain.entity.Student;
+import com.example.student.domain.event.StudentCreatedEvent;
+import com.example.student.domain.event.StudentDeletedEvent;
+import com.example.student.domain.event.StudentDomainEvent;
+import com.example.student.domain.event.StudentUpdatedEvent;
+import com.example.student.domain.repository.StudentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+/**
+ * 学生姓名N-gram索引
+ * <p>
+ * 应用启动后在后台线程流式加载全部学生姓名，之后根据学生领域事件增量维护。
+ * 索引预热完成前{@link #search}返回null，由调用方降级为SQL查询。
+ * 
+ * @author liujiandong
+ */
+@Component
+@Slf4j
+public class StudentNameIndex {
+    
+    @Value("${student.search.name-index.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${student.search.name-index.max-results:1000}")
+    private int maxResults;
+    
+    @Autowired
+    private StudentRepository studentRepository;
+    
+    private final NGramIndex index = new NGramIndex();
+    
+    private final IndexRebuilder<Student> rebuilder = new IndexRebuilder<>(
+        ids -> studentRepository.findByIds(ids), Student::getId, this::index, index::remove);
+    
+    /**
+     * 应用启动完成后异步构建索引，不阻塞启动
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!enabled) {
+            log.info("学生姓名索引未启用，姓名查询使用SQL");
+            return;
+        }
+        Thread builder = new Thread(this::rebuild, "student-name-index-builder");
+        builder.setDaemon(true);
+        builder.start();
+    }
+    
+    /**
+     * 全量重建索引
+     */
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        try {
+            rebuilder.rebuild(() -> {
+                index.clear();
+                studentRepository.forEachStudent(null, null, this::index);
+            }, false);
+            log.info("学生姓名索引构建完成: students={}, grams={}, cost={}ms",
+                index.size(), index.gramCount(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.error("学生姓名索引构建失败，姓名查询降级为SQL", e);
+        }
+    }
+    
+    /**
+     * 按姓名子串查询学生ID
+     * 
+     * @param name 姓名片段
+     * @param offset 跳过的结果数
+     * @param limit 返回的最大结果数
+     * @return 按ID升序的学生ID列表；索引未就绪时返回null
+     */
+    public List<Long> search(String name, int offset, int limit) {
+        if (!rebuilder.isReady()) {
+            return null;
+        }
+        return index.search(name, offset, limit, maxResults);
+    }
+    
+    /**
+     * 可翻页的结果总数上限，索引未就绪时的SQL降级查询同样遵守
+     * 
+     * @return 结果总数上限
+     */
+    public int getMaxResults() {
+        return maxResults;
+    }
+    
+    /**
+     * 索引是否已就绪
+     * 
+     * @return 是否就绪
+     */
+    public boolean isReady() {
+        return rebuilder.isReady();
+    }
+    
+    /**
+     * 事务提交后根据学生领域事件增量维护索引
+     * 
+     * @param event 学生领域事件
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStudentEvent(StudentDomainEvent event) {
+        if (!enabled) {
+            return;
+        }
+        Student student = event.getStudent();
+        if (student.getId() == null) {
+            return;
+        }
+        rebuilder.changed(student.getId());
+        
+        if (event instanceof StudentDeletedEvent) {
+            index.remove(student.getId());
+        } else if (event instanceof StudentCreatedEvent || event instanceof StudentUpdatedEvent) {
+            index(student);
+        }
+    }
+    
+    private void index(Student student) {
+        index.put(student.getId(), student.getName());
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.student.infrastructure.search;
+
+import com.example.common.search.IndexRebuilder;
+import com.example.common.suggest.Suggestion;
+import com.example.common.suggest.SuggestTrie;
+import com.example.student.domain.entity.Student;
+import com.example.student.domain.event.StudentCreatedEvent;
+import com.example.student.domain.event.StudentDeletedEvent;
+import com.example.student.domain.event.StudentDomainEvent;
+import com.example.student.domain.event.StudentUpdatedEvent;
+import com.example.student.domain.repository.StudentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 学生姓名联想索引（汉字、全拼、拼音首字母前缀）
+ * <p>
+ * 启动后在后台线程流式构建，之后根据学生领域事件增量维护，构建期间的变更由{@link IndexRebuilder}校正。
+ * 
+ * @author liujiandong
+ */
+@Component
+@Slf4j
+public class StudentSuggestIndex {
+    
+    @Value("${student.search.suggest.enabled:true}")
+    private boolean enabled;
+    
+    @Autowired
+    private StudentRepository studentRepository;
+    
+    private final SuggestTrie<Suggestion> trie = new SuggestTrie<>();
+    
+    private final IndexRebuilder<Student> rebuilder = new IndexRebuilder<>(
+        ids -> studentRepository.findByIds(ids), Student::getId, this::index, trie::remove);
+    
+    /**
+     * 应用启动完成后异步构建索引，不阻塞启动
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!enabled) {
+            log.info("学生姓名联想未启用");
+            return;
+        }
+        Thread builder = new Thread(this::rebuild, "student-suggest-index-builder");
+        builder.setDaemon(true);
+        builder.start();
+    }
+    
+    /**
+     * 全量重建索引
+     */
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        try {
+            rebuilder.rebuild(() -> {
+                trie.clear();
+                studentRepository.forEachStudent(null, null, this::index);
+            }, false);
+            log.info("学生姓名联想索引构建完成: students={}, cost={}ms",
+                trie.size(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.error("学生姓名联想索引构建失败", e);
+        }
+    }
+    
+    /**
+     * 前缀联想
+     * 
+     * @param prefix 输入前缀
+     * @param limit 返回条数
+     * @return 联想结果，索引未就绪时返回空列表
+     */
+    public List<Suggestion> suggest(String prefix, int limit) {
+        if (!rebuilder.isReady()) {
+            return Collections.emptyList();
+        }
+        return trie.suggest(prefix, limit);
+    }
+    
+    /**
+     * 事务提交后根据学生领域事件增量维护索引
+     * 
+     * @param event 学生领域事件
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStudentEvent(StudentDomainEvent event) {
+        if (!enabled) {
+            return;
+        }
+        Student student = event.getStudent();
+        if (student.getId() == null) {
+            return;
+        }
+        rebuilder.changed(student.getId());
+        
+        if (event instanceof StudentDeletedEvent) {
+            trie.remove(student.getId());
+        } else if (event instanceof StudentCreatedEvent || event instanceof StudentUpdatedEvent) {
+            index(student);
+        }
+    }
+    
+    private void index(Student student) {
+        trie.put(student.getId(), student.getName(),
+            new Suggestion(student.getId(), student.getName(), student.getStudentId()));
+    }
+}
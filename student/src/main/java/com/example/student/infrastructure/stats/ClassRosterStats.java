@@ -0,0 +1,389 @@
+package com.example.student.infrastructure.stats;
+
+import com.example.student.application.dto.ClassRosterStatsDTO;
+import com.example.student.domain.entity.Student;
+import com.example.student.domain.event.StudentClassAssignedEvent;
+import com.example.student.domain.event.StudentCreatedEvent;
+import com.example.student.domain.event.StudentDeletedEvent;
+import com.example.student.domain.event.StudentDomainEvent;
+import com.example.student.domain.event.StudentStatusChangedEvent;
+import com.example.student.infrastructure.persistence.entity.RosterCountPO;
+import com.example.student.infrastructure.persistence.mapper.StudentMapper;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Period;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * 班级花名册统计计数器
+ * <p>
+ * 每个班级按（状态, 性别, 年龄段）维护学生计数，事务提交后根据学生领域事件增量更新，
+ * 查询时按维度汇总，不再读取学生明细。
+ * <p>
+ * 计数器只接收本实例发布的事件，且学生过生日后年龄段会变化，因此定期用一次分组查询与数据库校准，
+ * 整体替换计数器并记录偏差。校准查询执行期间有变更的班级，在替换后逐轮单独重新统计，直到没有新的变更。
+ * 首次校准完成前，查询直接对请求的班级执行分组统计。
+ *
+ * @author liujiandong
+ */
+@Component
+@Slf4j
+public class ClassRosterStats {
+    
+    private static final String UNKNOWN = "unknown";
+    
+    /**
+     * 出生日期为空时的年龄段下标
+     */
+    private static final int UNKNOWN_AGE_BUCKET = -1;
+    
+    /**
+     * 校准时重新统计变更班级的最大轮数
+     */
+    private static final int MAX_RECOUNT_PASSES = 5;
+    
+    @Value("${student.stats.roster.enabled:true}")
+    private boolean enabled;
+    
+    /**
+     * 年龄段分界（周岁），如6,12,15,18表示 <6、6-11、12-14、15-17、18+
+     */
+    @Value("${student.stats.roster.age-bucket-bounds:6,12,15,18}")
+    private int[] ageBucketBounds;
+    
+    @Autowired
+    private StudentMapper studentMapper;
+    
+    private volatile Map<Long, ClassCounters> countersByClass = new ConcurrentHashMap<>();
+    
+    /**
+     * 校准查询期间发生变更的班级，替换计数器后需要单独重新统计
+     */
+    private final Set<Long> changedDuringReconcile = ConcurrentHashMap.newKeySet();
+    
+    private volatile boolean reconciling;
+    
+    private volatile boolean ready;
+    
+    private volatile LocalDateTime reconciledAt;
+    
+    /**
+     * 应用启动完成后异步构建计数器，不阻塞启动
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!enabled) {
+            log.info("班级花名册计数器未启用，统计直接查询数据库");
+            return;
+        }
+        Thread builder = new Thread(this::reconcile, "class-roster-stats-builder");
+        builder.setDaemon(true);
+        builder.start();
+    }
+    
+    /**
+     * 定期与数据库校准
+     */
+    @Scheduled(fixedDelayString = "${student.stats.roster.reconcile-interval-ms:600000}",
+               initialDelayString = "${student.stats.roster.reconcile-interval-ms:600000}")
+    public void scheduledReconcile() {
+        if (enabled) {
+            reconcile();
+        }
+    }
+    
+    /**
+     * 用数据库分组统计结果替换全部计数器
+     */
+    public synchronized void reconcile() {
+        long start = System.currentTimeMillis();
+        reconciling = true;
+        changedDuringReconcile.clear();
+        try {
+            Map<Long, ClassCounters> fresh = new ConcurrentHashMap<>(load(null));
+            Map<Long, ClassCounters> previous = countersByClass;
+            countersByClass = fresh;
+            
+            // 在分组查询前提交、事件在查询后才应用的变更会被重复计入，逐轮重新统计有变更的班级，
+            // 直到某一轮期间没有新的变更
+            Set<Long> recounted = new HashSet<>();
+            int pass = 0;
+            while (!changedDuringReconcile.isEmpty() && pass++ < MAX_RECOUNT_PASSES) {
+                List<Long> changedClassIds = drainChangedClassIds();
+                recounted.addAll(changedClassIds);
+                Map<Long, ClassCounters> counts = load(changedClassIds);
+                for (Long classId : changedClassIds) {
+                    ClassCounters counters = counts.get(classId);
+                    if (counters == null) {
+                        fresh.remove(classId);
+                    } else {
+                        fresh.put(classId, counters);
+                    }
+                }
+            }
+            if (!changedDuringReconcile.isEmpty()) {
+                log.warn("班级花名册计数器校准期间持续有变更，{}个班级留待下次校准: {}",
+                    changedDuringReconcile.size(), changedDuringReconcile);
+            }
+            
+            long drift = ready ? drift(previous, fresh) : 0;
+            reconciledAt = LocalDateTime.now();
+            ready = true;
+            log.info("班级花名册计数器校准完成: classes={}, drift={}, recounted={}, passes={}, cost={}ms",
+                fresh.size(), drift, recounted.size(), pass, System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.error("班级花名册计数器校准失败", e);
+        } finally {
+            reconciling = false;
+        }
+    }
+    
+    /**
+     * 取出并清空校准期间有变更的班级
+     */
+    private List<Long> drainChangedClassIds() {
+        List<Long> classIds = new ArrayList<>();
+        Iterator<Long> iterator = changedDuringReconcile.iterator();
+        while (iterator.hasNext()) {
+            classIds.add(iterator.next());
+            iterator.remove();
+        }
+        return classIds;
+    }
+    
+    /**
+     * 查询单个班级的统计
+     *
+     * @param classId 班级ID
+     * @return 班级统计，班级没有学生时各项为0
+     */
+    public ClassRosterStatsDTO get(Long classId) {
+        if (!ready) {
+            ClassCounters counters = load(Collections.singletonList(classId)).get(classId);
+            return toDTO(classId, counters != null ? counters : new ClassCounters(), LocalDateTime.now());
+        }
+        ClassCounters counters = countersByClass.get(classId);
+        return toDTO(classId, counters != null ? counters : new ClassCounters(), reconciledAt);
+    }
+    
+    /**
+     * 查询多个班级的统计
+     *
+     * @param classIds 班级ID，为空时返回全部有学生的班级
+     * @return 按班级ID排列的统计
+     */
+    public List<ClassRosterStatsDTO> list(Collection<Long> classIds) {
+        boolean all = classIds == null || classIds.isEmpty();
+        Map<Long, ClassCounters> source = ready ? countersByClass : load(all ? null : classIds);
+        LocalDateTime asOf = ready ? reconciledAt : LocalDateTime.now();
+        
+        Collection<Long> ids = new TreeSet<>(all ? source.keySet() : classIds);
+        List<ClassRosterStatsDTO> result = new ArrayList<>(ids.size());
+        for (Long classId : ids) {
+            ClassCounters counters = source.get(classId);
+            ClassRosterStatsDTO stats = toDTO(classId, counters != null ? counters : new ClassCounters(), asOf);
+            if (!all || stats.getTotal() > 0) {
+                result.add(stats);
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * 事务提交后根据学生领域事件增量更新计数
+     *
+     * @param event 学生领域事件
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStudentEvent(StudentDomainEvent event) {
+        if (!enabled) {
+            return;
+        }
+        Student student = event.getStudent();
+        int ageBucket = ageBucketOf(student.getDateOfBirth());
+        
+        if (event instanceof StudentCreatedEvent) {
+            apply(student.getClassId(), student.getStatus(), student.getGender(), ageBucket, 1);
+        } else if (event instanceof StudentStatusChangedEvent) {
+            StudentStatusChangedEvent statusChanged = (StudentStatusChangedEvent) event;
+            apply(student.getClassId(), statusChanged.getOldStatus(), student.getGender(), ageBucket, -1);
+            apply(student.getClassId(), statusChanged.getNewStatus(), student.getGender(), ageBucket, 1);
+        } else if (event instanceof StudentClassAssignedEvent) {
+            StudentClassAssignedEvent classAssigned = (StudentClassAssignedEvent) event;
+            if (!Objects.equals(classAssigned.getOldClassId(), classAssigned.getNewClassId())) {
+                apply(classAssigned.getOldClassId(), student.getStatus(), student.getGender(), ageBucket, -1);
+                apply(classAssigned.getNewClassId(), student.getStatus(), student.getGender(), ageBucket, 1);
+            }
+        } else if (event instanceof StudentDeletedEvent) {
+            apply(student.getClassId(), student.getStatus(), student.getGender(), ageBucket, -1);
+        }
+    }
+    
+    private void apply(Long classId, String status, Integer gender, int ageBucket, long delta) {
+        if (classId == null) {
+            return;
+        }
+        countersByClass.computeIfAbsent(classId, id -> new ClassCounters())
+            .add(new Cell(status, gender, ageBucket), delta);
+        // 先更新计数再登记，保证登记可见时本次变更已落在计数器上，下一轮重新统计会覆盖它
+        if (reconciling) {
+            changedDuringReconcile.add(classId);
+        }
+    }
+    
+    /**
+     * 执行分组统计并构建计数器
+     *
+     * @param classIds 班级ID，为null时统计全部班级
+     */
+    private Map<Long, ClassCounters> load(Collection<Long> classIds) {
+        Map<Long, ClassCounters> result = new HashMap<>();
+        for (RosterCountPO row : studentMapper.selectRosterCounts(classIds)) {
+            result.computeIfAbsent(row.getClassId(), id -> new ClassCounters())
+                .add(new Cell(row.getStatus(), row.getGender(), ageBucketOf(row.getAge())), row.getCount());
+        }
+        return result;
+    }
+    
+    private int ageBucketOf(LocalDate dateOfBirth) {
+        return dateOfBirth == null
+            ? UNKNOWN_AGE_BUCKET
+            : ageBucketOf(Period.between(dateOfBirth, LocalDate.now()).getYears());
+    }
+    
+    private int ageBucketOf(Integer age) {
+        if (age == null) {
+            return UNKNOWN_AGE_BUCKET;
+        }
+        int bucket = 0;
+        while (bucket < ageBucketBounds.length && age >= ageBucketBounds[bucket]) {
+            bucket++;
+        }
+        return bucket;
+    }
+    
+    private String ageBucketLabel(int bucket) {
+        if (bucket == UNKNOWN_AGE_BUCKET) {
+            return UNKNOWN;
+        }
+        if (bucket == 0) {
+            return "<" + ageBucketBounds[0];
+        }
+        if (bucket == ageBucketBounds.length) {
+            return ageBucketBounds[bucket - 1] + "+";
+        }
+        return ageBucketBounds[bucket - 1] + "-" + (ageBucketBounds[bucket] - 1);
+    }
+    
+    private ClassRosterStatsDTO toDTO(Long classId, ClassCounters counters, LocalDateTime asOf) {
+        Map<Cell, Long> cells = counters.snapshot();
+        
+        Map<String, Long> byAgeBucket = new LinkedHashMap<>();
+        for (int bucket = 0; bucket <= ageBucketBounds.length; bucket++) {
+            byAgeBucket.put(ageBucketLabel(bucket), 0L);
+        }
+        Map<String, Long> byStatus = new TreeMap<>();
+        Map<String, Long> byGender = new TreeMap<>();
+        long total = 0;
+        for (Map.Entry<Cell, Long> entry : cells.entrySet()) {
+            Cell cell = entry.getKey();
+            long count = entry.getValue();
+            total += count;
+            byStatus.merge(cell.getStatus() != null ? cell.getStatus() : UNKNOWN, count, Long::sum);
+            byGender.merge(cell.getGender() != null ? String.valueOf(cell.getGender()) : UNKNOWN, count, Long::sum);
+            byAgeBucket.merge(ageBucketLabel(cell.getAgeBucket()), count, Long::sum);
+        }
+        
+        return ClassRosterStatsDTO.builder()
+            .classId(classId)
+            .total(total)
+            .byStatus(byStatus)
+            .byGender(byGender)
+            .byAgeBucket(byAgeBucket)
+            .reconciledAt(asOf)
+            .build();
+    }
+    
+    /**
+     * 计算校准前后各班级总数的偏差之和
+     */
+    private static long drift(Map<Long, ClassCounters> before, Map<Long, ClassCounters> after) {
+        Set<Long> classIds = new HashSet<>(before.keySet());
+        classIds.addAll(after.keySet());
+        long drift = 0;
+        for (Long classId : classIds) {
+            Map<Cell, Long> oldCells = before.containsKey(classId) ? before.get(classId).snapshot() : Collections.emptyMap();
+            Map<Cell, Long> newCells = after.containsKey(classId) ? after.get(classId).snapshot() : Collections.emptyMap();
+            Set<Cell> cells = new HashSet<>(oldCells.keySet());
+            cells.addAll(newCells.keySet());
+            drift += cells.stream()
+                .mapToLong(cell -> Math.abs(oldCells.getOrDefault(cell, 0L) - newCells.getOrDefault(cell, 0L)))
+                .sum();
+        }
+        return drift;
+    }
+    
+    /**
+     * 计数单元：状态、性别、年龄段的组合
+     */
+    @Getter
+    @EqualsAndHashCode
+    @AllArgsConstructor
+    private static class Cell {
+        
+        private final String status;
+        
+        private final Integer gender;
+        
+        private final int ageBucket;
+    }
+    
+    /**
+     * 单个班级的计数
+     */
+    private static class ClassCounters {
+        
+        private final Map<Cell, Long> counts = new HashMap<>();
+        
+        synchronized void add(Cell cell, long delta) {
+            long count = counts.getOrDefault(cell, 0L) + delta;
+            if (count == 0) {
+                counts.remove(cell);
+            } else {
+                counts.put(cell, count);
+            }
+        }
+        
+        synchronized Map<Cell, Long> snapshot() {
+            return counts.entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+        }
+    }
+}
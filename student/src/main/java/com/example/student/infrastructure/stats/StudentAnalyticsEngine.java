@@ -0,0 +1,667 @@
+package com.example.student.infrastructure.stats;
+
+import com.example.student.application.dto.StudentAnalyticsDTO;
+import com.example.student.application.dto.StudentAnalyticsGroupDTO;
+import com.example.student.application.dto.query.StudentAnalyticsQuery;
+import com.example.student.infrastructure.persistence.entity.StudentPO;
+import com.example.student.infrastructure.persistence.mapper.StudentMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.Collectors;
+
+/**
+ * 全校学生统计引擎
+ * <p>
+ * 在内存中维护t_student的列式快照（见{@link StudentColumnarSnapshot}），多维分组统计在专用的
+ * fork/join线程池中并行扫描快照完成，不再对t_student执行临时分组SQL，与联机业务的查询互不影响。
+ * <p>
+ * 快照按update_time水位增量刷新：每次读取水位之后变更的学生（包括逻辑删除的学生）并覆盖到快照中。
+ * update_time只精确到秒，且提交较晚的事务可能带有较早的更新时间，因此每次从水位往前回退若干秒重新读取，
+ * 重复读取的行覆盖写入不影响结果。物理删除和超出回退窗口的迟到提交无法通过水位发现，
+ * 由定期全量重载兜底。首次加载完成前的查询会等待加载完成。
+ *
+ * @author liujiandong
+ */
+@Component
+@Slf4j
+public class StudentAnalyticsEngine {
+    
+    /**
+     * 每批读取的学生数
+     */
+    private static final int BATCH_SIZE = 5000;
+    
+    /**
+     * 单个扫描任务处理的最大行数，超过则继续拆分
+     */
+    private static final int LEAF_SIZE = 16384;
+    
+    private static final LocalDateTime MIN_WATERMARK = LocalDateTime.of(1970, 1, 1, 0, 0);
+    
+    @Value("${student.analytics.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${student.analytics.full-reload-interval-ms:21600000}")
+    private long fullReloadIntervalMs;
+    
+    /**
+     * 增量刷新时从水位回退的秒数
+     */
+    @Value("${student.analytics.watermark-overlap-seconds:5}")
+    private int watermarkOverlapSeconds;
+    
+    /**
+     * 扫描线程数，0表示使用CPU核数
+     */
+    @Value("${student.analytics.parallelism:0}")
+    private int parallelism;
+    
+    @Autowired
+    private StudentMapper studentMapper;
+    
+    private ForkJoinPool scanPool;
+    
+    /**
+     * 快照构建器，仅在持有本对象锁时访问
+     */
+    private StudentColumnarSnapshot.Builder builder;
+    
+    private volatile StudentColumnarSnapshot snapshot = StudentColumnarSnapshot.EMPTY;
+    
+    private volatile boolean ready;
+    
+    private long lastFullReloadMillis;
+    
+    @PostConstruct
+    public void init() {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        scanPool = new ForkJoinPool(threads, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("student-analytics-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        scanPool.shutdownNow();
+    }
+    
+    /**
+     * 应用启动完成后在后台加载快照，不阻塞启动
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!enabled) {
+            log.info("全校统计快照未启用");
+            return;
+        }
+        Thread loader = new Thread(this::ensureLoaded, "student-analytics-loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+    
+    /**
+     * 定期增量刷新，到期时全量重载
+     */
+    @Scheduled(fixedDelayString = "${student.analytics.refresh-interval-ms:30000}",
+               initialDelayString = "${student.analytics.refresh-interval-ms:30000}")
+    public void scheduledRefresh() {
+        if (!enabled || !ready) {
+            return;
+        }
+        try {
+            if (System.currentTimeMillis() - lastFullReloadMillis >= fullReloadIntervalMs) {
+                reload();
+            } else {
+                refresh();
+            }
+        } catch (Exception e) {
+            log.error("全校统计快照刷新失败，继续使用上一版本快照", e);
+        }
+    }
+    
+    /**
+     * 全量重载快照
+     */
+    public synchronized void reload() {
+        long start = System.currentTimeMillis();
+        StudentColumnarSnapshot.Builder fresh = new StudentColumnarSnapshot.Builder();
+        LocalDateTime watermark = load(fresh, MIN_WATERMARK).watermark;
+        builder = fresh;
+        snapshot = fresh.build(watermark);
+        lastFullReloadMillis = start;
+        ready = true;
+        log.info("全校统计快照全量加载完成: students={}, watermark={}, cost={}ms",
+            snapshot.size(), watermark, System.currentTimeMillis() - start);
+    }
+    
+    /**
+     * 按update_time水位增量刷新快照
+     * <p>
+     * 每次都会重读水位前重叠窗口内的行，这些行以及只修改了非统计字段的行不会改变快照内容，
+     * 此时只推进水位，不复制各列数组。
+     */
+    public synchronized void refresh() {
+        LocalDateTime watermark = snapshot.getWatermark();
+        LocalDateTime since = watermark == null ? MIN_WATERMARK : watermark.minusSeconds(watermarkOverlapSeconds);
+        LoadResult loaded = load(builder, since);
+        if (loaded.watermark == null) {
+            return;
+        }
+        LocalDateTime newWatermark = watermark == null || loaded.watermark.isAfter(watermark)
+            ? loaded.watermark : watermark;
+        if (loaded.changedRows > 0) {
+            snapshot = builder.build(newWatermark);
+            log.debug("全校统计快照增量刷新: students={}, changed={}, watermark={}",
+                snapshot.size(), loaded.changedRows, newWatermark);
+        } else if (!newWatermark.equals(watermark)) {
+            snapshot = snapshot.withWatermark(newWatermark);
+        }
+    }
+    
+    /**
+     * 多维分组统计
+     *
+     * @param query 分组维度和过滤条件
+     * @return 统计结果
+     */
+    public StudentAnalyticsDTO aggregate(StudentAnalyticsQuery query) {
+        StudentColumnarSnapshot current = ensureLoaded();
+        List<Dimension> dimensions = Dimension.parse(query.getGroupBy());
+        long start = System.nanoTime();
+        
+        int[] cardinalities = new int[dimensions.size()];
+        long[] strides = new long[dimensions.size()];
+        long stride = 1;
+        for (int d = dimensions.size() - 1; d >= 0; d--) {
+            cardinalities[d] = dimensions.get(d).cardinality(current);
+            strides[d] = stride;
+            try {
+                stride = Math.multiplyExact(stride, cardinalities[d]);
+            } catch (ArithmeticException e) {
+                throw new IllegalArgumentException("分组维度组合过多: " + query.getGroupBy());
+            }
+        }
+        
+        Scan scan = new Scan(current, new Filter(current, query), dimensions.toArray(new Dimension[0]), strides,
+            StudentColumnarSnapshot.toYmd(LocalDate.now()));
+        LongCountMap counts = scanPool.invoke(new ScanTask(scan, 0, current.size()));
+        
+        List<StudentAnalyticsGroupDTO> groups = new ArrayList<>(counts.size());
+        long total = 0;
+        for (int slot = 0; slot < counts.keys.length; slot++) {
+            long key = counts.keys[slot];
+            if (key == LongCountMap.EMPTY) {
+                continue;
+            }
+            Map<String, Object> groupKey = new LinkedHashMap<>();
+            for (int d = 0; d < dimensions.size(); d++) {
+                int code = (int) (key / strides[d] % cardinalities[d]);
+                groupKey.put(dimensions.get(d).label, dimensions.get(d).decode(current, code));
+            }
+            groups.add(StudentAnalyticsGroupDTO.builder().key(groupKey).count(counts.counts[slot]).build());
+            total += counts.counts[slot];
+        }
+        groups.sort(Comparator.comparingLong(StudentAnalyticsGroupDTO::getCount).reversed());
+        
+        return StudentAnalyticsDTO.builder()
+            .groupBy(dimensions.stream().map(dimension -> dimension.label).collect(Collectors.toList()))
+            .groups(groups)
+            .total(total)
+            .snapshotRows(current.size())
+            .snapshotWatermark(current.getWatermark())
+            .scanMicros((System.nanoTime() - start) / 1000)
+            .build();
+    }
+    
+    private StudentColumnarSnapshot ensureLoaded() {
+        if (!enabled) {
+            throw new IllegalStateException("全校统计快照未启用");
+        }
+        if (!ready) {
+            synchronized (this) {
+                if (!ready) {
+                    reload();
+                }
+            }
+        }
+        return snapshot;
+    }
+    
+    /**
+     * 从since开始按(update_time, id)分批读取变更并写入构建器
+     *
+     * @return 读取到的最大更新时间和实际改变快照内容的行数
+     */
+    private LoadResult load(StudentColumnarSnapshot.Builder target, LocalDateTime since) {
+        LocalDateTime cursorTime = since;
+        long cursorId = 0;
+        LocalDateTime maxTime = null;
+        int changedRows = 0;
+        List<StudentPO> rows;
+        do {
+            rows = studentMapper.selectChangedSince(cursorTime, cursorId, BATCH_SIZE);
+            for (StudentPO row : rows) {
+                if (target.apply(row)) {
+                    changedRows++;
+                }
+            }
+            if (!rows.isEmpty()) {
+                StudentPO last = rows.get(rows.size() - 1);
+                cursorTime = last.getUpdateTime();
+                cursorId = last.getId();
+                maxTime = cursorTime;
+            }
+        } while (rows.size() == BATCH_SIZE);
+        return new LoadResult(maxTime, changedRows);
+    }
+    
+    /**
+     * 一次读取的结果
+     */
+    private static final class LoadResult {
+        
+        /**
+         * 读取到的最大更新时间，没有读到行时为null
+         */
+        private final LocalDateTime watermark;
+        
+        /**
+         * 实际改变快照内容的行数
+         */
+        private final int changedRows;
+        
+        private LoadResult(LocalDateTime watermark, int changedRows) {
+            this.watermark = watermark;
+            this.changedRows = changedRows;
+        }
+    }
+    
+    /**
+     * 分组维度：每行映射为[0, cardinality)内的编码，多个维度按混合进制组成一个long分组键
+     */
+    private enum Dimension {
+        STATUS("status") {
+            @Override
+            int cardinality(StudentColumnarSnapshot snapshot) {
+                return Math.max(snapshot.statusDictionary.length, 1);
+            }
+            
+            @Override
+            int code(StudentColumnarSnapshot snapshot, int row, int todayYmd) {
+                return snapshot.statusCodes[row];
+            }
+            
+            @Override
+            Object decode(StudentColumnarSnapshot snapshot, int code) {
+                String status = snapshot.statusDictionary[code];
+                return status.isEmpty() ? null : status;
+            }
+        },
+        GENDER("gender") {
+            @Override
+            int cardinality(StudentColumnarSnapshot snapshot) {
+                return 256;
+            }
+            
+            @Override
+            int code(StudentColumnarSnapshot snapshot, int row, int todayYmd) {
+                return snapshot.genders[row] + 128;
+            }
+            
+            @Override
+            Object decode(StudentColumnarSnapshot snapshot, int code) {
+                int gender = code - 128;
+                return gender == StudentColumnarSnapshot.NULL_GENDER ? null : gender;
+            }
+        },
+        CLASS_ID("classId") {
+            @Override
+            int cardinality(StudentColumnarSnapshot snapshot) {
+                return snapshot.classDictionary.length + 1;
+            }
+            
+            @Override
+            int code(StudentColumnarSnapshot snapshot, int row, int todayYmd) {
+                return snapshot.classCodes[row] + 1;
+            }
+            
+            @Override
+            Object decode(StudentColumnarSnapshot snapshot, int code) {
+                return code == 0 ? null : snapshot.classDictionary[code - 1];
+            }
+        },
+        ENROLLMENT_YEAR("enrollmentYear") {
+            @Override
+            int cardinality(StudentColumnarSnapshot snapshot) {
+                return YEAR_SPAN + 1;
+            }
+            
+            @Override
+            int code(StudentColumnarSnapshot snapshot, int row, int todayYmd) {
+                int ymd = snapshot.enrollmentDates[row];
+                if (ymd == StudentColumnarSnapshot.NULL_DATE) {
+                    return 0;
+                }
+                return Math.min(Math.max(ymd / 10000 - YEAR_BASE, 0), YEAR_SPAN - 1) + 1;
+            }
+            
+            @Override
+            Object decode(StudentColumnarSnapshot snapshot, int code) {
+                return code == 0 ? null : YEAR_BASE + code - 1;
+            }
+        },
+        AGE("age") {
+            @Override
+            int cardinality(StudentColumnarSnapshot snapshot) {
+                return MAX_AGE + 2;
+            }
+            
+            @Override
+            int code(StudentColumnarSnapshot snapshot, int row, int todayYmd) {
+                int age = StudentColumnarSnapshot.age(snapshot.birthDates[row], todayYmd);
+                return age < 0 ? 0 : Math.min(age, MAX_AGE) + 1;
+            }
+            
+            @Override
+            Object decode(StudentColumnarSnapshot snapshot, int code) {
+                return code == 0 ? null : code - 1;
+            }
+        };
+        
+        private static final int YEAR_BASE = 1900;
+        
+        private static final int YEAR_SPAN = 300;
+        
+        private static final int MAX_AGE = 150;
+        
+        private final String label;
+        
+        Dimension(String label) {
+            this.label = label;
+        }
+        
+        abstract int cardinality(StudentColumnarSnapshot snapshot);
+        
+        abstract int code(StudentColumnarSnapshot snapshot, int row, int todayYmd);
+        
+        abstract Object decode(StudentColumnarSnapshot snapshot, int code);
+        
+        static List<Dimension> parse(List<String> labels) {
+            if (labels == null || labels.isEmpty()) {
+                return Collections.emptyList();
+            }
+            List<Dimension> dimensions = new ArrayList<>(labels.size());
+            for (String label : labels) {
+                Dimension dimension = Arrays.stream(values())
+                    .filter(value -> value.label.equalsIgnoreCase(label.trim()))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("不支持的分组维度: " + label));
+                if (dimensions.contains(dimension)) {
+                    throw new IllegalArgumentException("分组维度重复: " + label);
+                }
+                dimensions.add(dimension);
+            }
+            return dimensions;
+        }
+    }
+    
+    /**
+     * 预先编码的过滤条件，扫描时只做数组下标和整数比较
+     */
+    private static final class Filter {
+        
+        /**
+         * 按状态编码是否满足条件，null表示不过滤
+         */
+        private final boolean[] statusAllowed;
+        
+        /**
+         * 按班级编码是否满足条件，null表示不过滤
+         */
+        private final boolean[] classAllowed;
+        
+        private final boolean filterGender;
+        
+        private final byte gender;
+        
+        private final boolean filterYear;
+        
+        private final int yearFrom;
+        
+        private final int yearTo;
+        
+        private final boolean filterAge;
+        
+        private final int minAge;
+        
+        private final int maxAge;
+        
+        private Filter(StudentColumnarSnapshot snapshot, StudentAnalyticsQuery query) {
+            if (query.getStatuses() == null || query.getStatuses().isEmpty()) {
+                statusAllowed = null;
+            } else {
+                statusAllowed = new boolean[snapshot.statusDictionary.length];
+                for (String status : query.getStatuses()) {
+                    int code = snapshot.statusCode(status);
+                    if (code >= 0) {
+                        statusAllowed[code] = true;
+                    }
+                }
+            }
+            if (query.getClassIds() == null || query.getClassIds().isEmpty()) {
+                classAllowed = null;
+            } else {
+                classAllowed = new boolean[snapshot.classDictionary.length];
+                for (Long classId : query.getClassIds()) {
+                    int code = classId == null ? -1 : snapshot.classCode(classId);
+                    if (code >= 0) {
+                        classAllowed[code] = true;
+                    }
+                }
+            }
+            filterGender = query.getGender() != null;
+            gender = filterGender ? query.getGender().byteValue() : 0;
+            filterYear = query.getEnrollmentYearFrom() != null || query.getEnrollmentYearTo() != null;
+            yearFrom = query.getEnrollmentYearFrom() == null ? Integer.MIN_VALUE : query.getEnrollmentYearFrom();
+            yearTo = query.getEnrollmentYearTo() == null ? Integer.MAX_VALUE : query.getEnrollmentYearTo();
+            filterAge = query.getMinAge() != null || query.getMaxAge() != null;
+            minAge = query.getMinAge() == null ? 0 : query.getMinAge();
+            maxAge = query.getMaxAge() == null ? Integer.MAX_VALUE : query.getMaxAge();
+        }
+        
+        private boolean matches(StudentColumnarSnapshot snapshot, int row, int todayYmd) {
+            if (statusAllowed != null && !statusAllowed[snapshot.statusCodes[row]]) {
+                return false;
+            }
+            if (classAllowed != null) {
+                int classCode = snapshot.classCodes[row];
+                if (classCode == StudentColumnarSnapshot.NULL_CLASS || !classAllowed[classCode]) {
+                    return false;
+                }
+            }
+            if (filterGender && snapshot.genders[row] != gender) {
+                return false;
+            }
+            if (filterYear) {
+                int ymd = snapshot.enrollmentDates[row];
+                int year = ymd / 10000;
+                if (ymd == StudentColumnarSnapshot.NULL_DATE || year < yearFrom || year > yearTo) {
+                    return false;
+                }
+            }
+            if (filterAge) {
+                int age = StudentColumnarSnapshot.age(snapshot.birthDates[row], todayYmd);
+                return age >= 0 && age >= minAge && age <= maxAge;
+            }
+            return true;
+        }
+    }
+    
+    /**
+     * 一次扫描的只读上下文，由所有扫描任务共享
+     */
+    private static final class Scan {
+        
+        private final StudentColumnarSnapshot snapshot;
+        
+        private final Filter filter;
+        
+        private final Dimension[] dimensions;
+        
+        private final long[] strides;
+        
+        private final int todayYmd;
+        
+        private Scan(StudentColumnarSnapshot snapshot, Filter filter, Dimension[] dimensions, long[] strides,
+                     int todayYmd) {
+            this.snapshot = snapshot;
+            this.filter = filter;
+            this.dimensions = dimensions;
+            this.strides = strides;
+            this.todayYmd = todayYmd;
+        }
+    }
+    
+    /**
+     * 按行区间二分拆分的扫描任务，叶子任务在本地计数表中累加，返回时逐级合并
+     */
+    private static final class ScanTask extends RecursiveTask<LongCountMap> {
+        
+        private final Scan scan;
+        
+        private final int from;
+        
+        private final int to;
+        
+        private ScanTask(Scan scan, int from, int to) {
+            this.scan = scan;
+            this.from = from;
+            this.to = to;
+        }
+        
+        @Override
+        protected LongCountMap compute() {
+            if (to - from > LEAF_SIZE) {
+                int middle = (from + to) >>> 1;
+                ScanTask left = new ScanTask(scan, from, middle);
+                left.fork();
+                LongCountMap right = new ScanTask(scan, middle, to).compute();
+                return left.join().mergeFrom(right);
+            }
+            
+            StudentColumnarSnapshot snapshot = scan.snapshot;
+            Dimension[] dimensions = scan.dimensions;
+            long[] strides = scan.strides;
+            int todayYmd = scan.todayYmd;
+            LongCountMap counts = new LongCountMap();
+            for (int row = from; row < to; row++) {
+                if (!scan.filter.matches(snapshot, row, todayYmd)) {
+                    continue;
+                }
+                long key = 0;
+                for (int d = 0; d < dimensions.length; d++) {
+                    key += dimensions[d].code(snapshot, row, todayYmd) * strides[d];
+                }
+                counts.increment(key);
+            }
+            return counts;
+        }
+    }
+    
+    /**
+     * 非负long键到计数的开放寻址哈希表，避免扫描时装箱
+     */
+    private static final class LongCountMap {
+        
+        private static final long EMPTY = -1L;
+        
+        private long[] keys = newKeys(16);
+        
+        private long[] counts = new long[16];
+        
+        private int size;
+        
+        private int size() {
+            return size;
+        }
+        
+        private void increment(long key) {
+            add(key, 1);
+        }
+        
+        private void add(long key, long delta) {
+            int mask = keys.length - 1;
+            int slot = hash(key) & mask;
+            while (keys[slot] != EMPTY && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            if (keys[slot] == EMPTY) {
+                keys[slot] = key;
+                if (++size * 2 > keys.length) {
+                    counts[slot] = delta;
+                    resize();
+                    return;
+                }
+            }
+            counts[slot] += delta;
+        }
+        
+        private LongCountMap mergeFrom(LongCountMap other) {
+            if (other.size > size) {
+                return other.mergeFrom(this);
+            }
+            for (int slot = 0; slot < other.keys.length; slot++) {
+                if (other.keys[slot] != EMPTY) {
+                    add(other.keys[slot], other.counts[slot]);
+                }
+            }
+            return this;
+        }
+        
+        private void resize() {
+            long[] oldKeys = keys;
+            long[] oldCounts = counts;
+            keys = newKeys(oldKeys.length * 2);
+            counts = new long[oldKeys.length * 2];
+            size = 0;
+            for (int slot = 0; slot < oldKeys.length; slot++) {
+                if (oldKeys[slot] != EMPTY) {
+                    add(oldKeys[slot], oldCounts[slot]);
+                }
+            }
+        }
+        
+        private static long[] newKeys(int capacity) {
+            long[] keys = new long[capacity];
+            Arrays.fill(keys, EMPTY);
+            return keys;
+        }
+        
+        private static int hash(long key) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32));
+        }
+    }
+}
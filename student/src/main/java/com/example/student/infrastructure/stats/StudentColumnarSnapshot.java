@@ -0,0 +1,296 @@
+package com.example.student.infrastructure.stats;
+
+import com.example.student.infrastructure.persistence.entity.StudentPO;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 学生列式快照
+ * <p>
+ * 每个统计维度一列原始类型数组，同一下标为同一个学生：状态和班级ID字典编码为小整数，
+ * 日期编码为yyyyMMdd整数（0表示未填写），周岁和入学年份可以直接由整数运算得到，扫描时不创建对象。
+ * 快照创建后不再修改，可被多个线程并发扫描；变更通过{@link Builder}累积后生成新的快照。
+ *
+ * @author liujiandong
+ */
+public final class StudentColumnarSnapshot {
+    
+    /**
+     * 未填写的性别
+     */
+    static final byte NULL_GENDER = -1;
+    
+    /**
+     * 未分班的班级编码
+     */
+    static final int NULL_CLASS = -1;
+    
+    /**
+     * 未填写的日期
+     */
+    static final int NULL_DATE = 0;
+    
+    static final StudentColumnarSnapshot EMPTY = new Builder().build(null);
+    
+    final int size;
+    
+    final long[] ids;
+    
+    final byte[] statusCodes;
+    
+    final byte[] genders;
+    
+    final int[] classCodes;
+    
+    final int[] birthDates;
+    
+    final int[] enrollmentDates;
+    
+    /**
+     * 状态字典，下标为状态编码
+     */
+    final String[] statusDictionary;
+    
+    /**
+     * 班级ID字典，下标为班级编码
+     */
+    final long[] classDictionary;
+    
+    /**
+     * 已同步到的最大更新时间
+     */
+    final LocalDateTime watermark;
+    
+    private StudentColumnarSnapshot(Builder builder, LocalDateTime watermark) {
+        this.size = builder.size;
+        this.ids = Arrays.copyOf(builder.ids, size);
+        this.statusCodes = Arrays.copyOf(builder.statusCodes, size);
+        this.genders = Arrays.copyOf(builder.genders, size);
+        this.classCodes = Arrays.copyOf(builder.classCodes, size);
+        this.birthDates = Arrays.copyOf(builder.birthDates, size);
+        this.enrollmentDates = Arrays.copyOf(builder.enrollmentDates, size);
+        this.statusDictionary = Arrays.copyOf(builder.statusDictionary, builder.statusCount);
+        this.classDictionary = Arrays.copyOf(builder.classDictionary, builder.classCount);
+        this.watermark = watermark;
+    }
+    
+    private StudentColumnarSnapshot(StudentColumnarSnapshot source, LocalDateTime watermark) {
+        this.size = source.size;
+        this.ids = source.ids;
+        this.statusCodes = source.statusCodes;
+        this.genders = source.genders;
+        this.classCodes = source.classCodes;
+        this.birthDates = source.birthDates;
+        this.enrollmentDates = source.enrollmentDates;
+        this.statusDictionary = source.statusDictionary;
+        this.classDictionary = source.classDictionary;
+        this.watermark = watermark;
+    }
+    
+    /**
+     * 内容不变、只推进水位的快照，与当前快照共享各列数组
+     *
+     * @param watermark 新水位
+     * @return 新快照
+     */
+    StudentColumnarSnapshot withWatermark(LocalDateTime watermark) {
+        return new StudentColumnarSnapshot(this, watermark);
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    public LocalDateTime getWatermark() {
+        return watermark;
+    }
+    
+    /**
+     * 状态编码，状态不在字典中时返回-1
+     */
+    int statusCode(String status) {
+        for (int i = 0; i < statusDictionary.length; i++) {
+            if (statusDictionary[i].equals(status)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+    
+    /**
+     * 班级编码，班级不在字典中时返回-1
+     */
+    int classCode(long classId) {
+        for (int i = 0; i < classDictionary.length; i++) {
+            if (classDictionary[i] == classId) {
+                return i;
+            }
+        }
+        return -1;
+    }
+    
+    static int toYmd(LocalDate date) {
+        return date == null ? NULL_DATE : date.getYear() * 10000 + date.getMonthValue() * 100 + date.getDayOfMonth();
+    }
+    
+    /**
+     * 周岁，出生日期未填写时返回-1
+     */
+    static int age(int birthYmd, int todayYmd) {
+        return birthYmd == NULL_DATE ? -1 : (todayYmd - birthYmd) / 10000;
+    }
+    
+    /**
+     * 列式快照构建器
+     * <p>
+     * 由单个线程持有，按学生ID原地覆盖或移除行（移除时用最后一行填补空位），
+     * 字典只增不减，{@link #build(LocalDateTime)}时复制出不可变快照。
+     */
+    public static final class Builder {
+        
+        private static final int INITIAL_CAPACITY = 1024;
+        
+        private int size;
+        
+        private long[] ids = new long[INITIAL_CAPACITY];
+        
+        private byte[] statusCodes = new byte[INITIAL_CAPACITY];
+        
+        private byte[] genders = new byte[INITIAL_CAPACITY];
+        
+        private int[] classCodes = new int[INITIAL_CAPACITY];
+        
+        private int[] birthDates = new int[INITIAL_CAPACITY];
+        
+        private int[] enrollmentDates = new int[INITIAL_CAPACITY];
+        
+        private final Map<Long, Integer> rowById = new HashMap<>();
+        
+        private String[] statusDictionary = new String[8];
+        
+        private int statusCount;
+        
+        private final Map<String, Byte> statusCodeByName = new HashMap<>();
+        
+        private long[] classDictionary = new long[64];
+        
+        private int classCount;
+        
+        private final Map<Long, Integer> classCodeById = new HashMap<>();
+        
+        public int size() {
+            return size;
+        }
+        
+        /**
+         * 写入学生的最新状态，已删除的学生从快照中移除
+         *
+         * @param student 学生PO
+         * @return 快照内容是否发生变化（统计维度都未变化的更新返回false）
+         */
+        public boolean apply(StudentPO student) {
+            if (student.getDeleted() != null && student.getDeleted() != 0) {
+                return remove(student.getId());
+            }
+            byte status = encodeStatus(student.getStatus());
+            byte gender = student.getGender() == null ? NULL_GENDER : student.getGender().byteValue();
+            int classCode = student.getClassId() == null ? NULL_CLASS : encodeClass(student.getClassId());
+            int birthDate = toYmd(student.getDateOfBirth());
+            int enrollmentDate = toYmd(student.getEnrollmentDate());
+            
+            Integer row = rowById.get(student.getId());
+            if (row == null) {
+                ensureCapacity(size + 1);
+                row = size++;
+                rowById.put(student.getId(), row);
+                ids[row] = student.getId();
+            } else if (statusCodes[row] == status && genders[row] == gender && classCodes[row] == classCode
+                    && birthDates[row] == birthDate && enrollmentDates[row] == enrollmentDate) {
+                return false;
+            }
+            statusCodes[row] = status;
+            genders[row] = gender;
+            classCodes[row] = classCode;
+            birthDates[row] = birthDate;
+            enrollmentDates[row] = enrollmentDate;
+            return true;
+        }
+        
+        /**
+         * 移除学生
+         *
+         * @param id 学生ID
+         * @return 学生是否在快照中
+         */
+        public boolean remove(Long id) {
+            Integer row = rowById.remove(id);
+            if (row == null) {
+                return false;
+            }
+            int last = --size;
+            if (row != last) {
+                ids[row] = ids[last];
+                statusCodes[row] = statusCodes[last];
+                genders[row] = genders[last];
+                classCodes[row] = classCodes[last];
+                birthDates[row] = birthDates[last];
+                enrollmentDates[row] = enrollmentDates[last];
+                rowById.put(ids[row], row);
+            }
+            return true;
+        }
+        
+        public StudentColumnarSnapshot build(LocalDateTime watermark) {
+            return new StudentColumnarSnapshot(this, watermark);
+        }
+        
+        private byte encodeStatus(String status) {
+            String name = status == null ? "" : status;
+            Byte code = statusCodeByName.get(name);
+            if (code != null) {
+                return code;
+            }
+            if (statusCount == Byte.MAX_VALUE) {
+                throw new IllegalStateException("学生状态取值过多，无法字典编码: " + name);
+            }
+            if (statusCount == statusDictionary.length) {
+                statusDictionary = Arrays.copyOf(statusDictionary, statusCount * 2);
+            }
+            statusDictionary[statusCount] = name;
+            code = (byte) statusCount++;
+            statusCodeByName.put(name, code);
+            return code;
+        }
+        
+        private int encodeClass(Long classId) {
+            Integer code = classCodeById.get(classId);
+            if (code != null) {
+                return code;
+            }
+            if (classCount == classDictionary.length) {
+                classDictionary = Arrays.copyOf(classDictionary, classCount * 2);
+            }
+            classDictionary[classCount] = classId;
+            code = classCount++;
+            classCodeById.put(classId, code);
+            return code;
+        }
+        
+        private void ensureCapacity(int capacity) {
+            if (capacity <= ids.length) {
+                return;
+            }
+            int newCapacity = Math.max(capacity, ids.length + (ids.length >> 1));
+            ids = Arrays.copyOf(ids, newCapacity);
+            statusCodes = Arrays.copyOf(statusCodes, newCapacity);
+            genders = Arrays.copyOf(genders, newCapacity);
+            classCodes = Arrays.copyOf(classCodes, newCapacity);
+            birthDates = Arrays.copyOf(birthDates, newCapacity);
+            enrollmentDates = Arrays.copyOf(enrollmentDates, newCapacity);
+        }
+    }
+}
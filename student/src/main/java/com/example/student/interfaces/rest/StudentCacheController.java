@@ -0,0 +1,34 @@
+package com.example.student.interfaces.rest;
+
+import com.example.student.common.Result;
+import com.example.student.infrastructure.cache.StudentCache;
+import com.example.student.infrastructure.cache.TwoLevelCacheStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * 学生缓存监控控制器
+ * 
+ * @author liujiandong
+ */
+@RestController
+@RequestMapping("/api/students/cache")
+public class StudentCacheController {
+    
+    @Autowired
+    private StudentCache studentCache;
+    
+    /**
+     * 获取缓存命中、未命中、淘汰统计
+     * 
+     * @return 各缓存区域的统计信息
+     */
+    @GetMapping("/stats")
+    public Result<List<TwoLevelCacheStats>> stats() {
+        return Result.success(studentCache.stats());
+    }
+}
@@ -1,19 +1,36 @@
 package com.example.student.interfaces.rest;
 
+import com.example.common.suggest.Suggestion;
+import com.example.common.web.ResourceVersion;
+import com.example.student.application.dto.BatchCreateResultDTO;
+import com.example.student.application.dto.BulkUpdateStatusResultDTO;
+import com.example.student.application.dto.ClassRosterStatsDTO;
+import com.example.student.application.dto.CursorPageDTO;
 import com.example.student.application.dto.ParentDTO;
+import com.example.student.application.dto.StudentAnalyticsDTO;
 import com.example.student.application.dto.StudentDTO;
 import com.example.student.application.dto.command.AddParentRequest;
+import com.example.student.application.dto.command.BulkUpdateStatusRequest;
 import com.example.student.application.dto.command.CreateStudentRequest;
 import com.example.student.application.dto.command.UpdateStudentRequest;
 import com.example.student.application.dto.command.UpdateStudentStatusRequest;
+import com.example.student.application.dto.query.StudentAnalyticsQuery;
 import com.example.student.application.service.StudentApplicationService;
+import com.example.student.application.service.StudentBatchService;
+import com.example.student.application.service.StudentExportService;
 import com.example.student.common.Result;
-import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.validation.Valid;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * 学生管理控制器
@@ -22,12 +39,17 @@ import java.util.List;
  */
 @RestController
 @RequestMapping("/api/students")
-@Slf4j
 public class StudentController {
     
     @Autowired
     private StudentApplicationService studentService;
     
+    @Autowired
+    private StudentExportService exportService;
+    
+    @Autowired
+    private StudentBatchService batchService;
+    
     /**
      * 创建学生
      * 
@@ -36,11 +58,21 @@ public class StudentController {
      */
     @PostMapping
     public Result<StudentDTO> createStudent(@Valid @RequestBody CreateStudentRequest request) {
-        log.info("创建学生: {}", request);
         StudentDTO student = studentService.createStudent(request);
         return Result.success(student);
     }
     
+    /**
+     * 批量创建学生，逐行返回创建结果
+     * 
+     * @param requests 创建学生请求列表
+     * @return 批量创建结果
+     */
+    @PostMapping("/batch")
+    public Result<BatchCreateResultDTO> createStudents(@RequestBody List<CreateStudentRequest> requests) {
+        return Result.success(batchService.createStudents(requests));
+    }
+    
     /**
      * 更新学生
      * 
@@ -50,79 +82,208 @@ public class StudentController {
      */
     @PutMapping("/{id}")
     public Result<StudentDTO> updateStudent(@PathVariable Long id, @Valid @RequestBody UpdateStudentRequest request) {
-        log.info("更新学生: id={}, request={}", id, request);
         StudentDTO student = studentService.updateStudent(id, request);
         return Result.success(student);
     }
     
     /**
-     * 获取学生
+     * 获取学生，支持If-None-Match/If-Modified-Since条件请求，未修改时返回304且不加载学生
      * 
      * @param id 学生ID
-     * @return 学生DTO
+     * @param webRequest 当前请求
+     * @return 学生DTO，未修改时返回null
      */
     @GetMapping("/{id}")
-    public Result<StudentDTO> getStudent(@PathVariable Long id) {
-        log.info("获取学生: id={}", id);
+    public Result<StudentDTO> getStudent(@PathVariable Long id, WebRequest webRequest) {
+        if (notModified(studentService.getStudentVersion(id), webRequest, "student:" + id)) {
+            return null;
+        }
         StudentDTO student = studentService.getStudentById(id);
         return Result.success(student);
     }
     
     /**
-     * 根据学号获取学生
+     * 根据学号获取学生，支持条件请求
      * 
      * @param studentId 学号
-     * @return 学生DTO
+     * @param webRequest 当前请求
+     * @return 学生DTO，未修改时返回null
      */
     @GetMapping("/by-student-id/{studentId}")
-    public Result<StudentDTO> getStudentByStudentId(@PathVariable String studentId) {
-        log.info("根据学号获取学生: studentId={}", studentId);
+    public Result<StudentDTO> getStudentByStudentId(@PathVariable String studentId, WebRequest webRequest) {
+        if (notModified(studentService.getStudentVersionByStudentId(studentId), webRequest, "student-no:" + studentId)) {
+            return null;
+        }
         StudentDTO student = studentService.getStudentByStudentId(studentId);
         return Result.success(student);
     }
     
     /**
-     * 分页获取所有学生
+     * 分页获取所有学生，支持If-None-Match条件请求
      * 
      * @param page 页码
      * @param size 每页大小
-     * @return 学生DTO列表
+     * @param include 附加加载的关联数据（如 parents）
+     * @param webRequest 当前请求
+     * @return 学生DTO列表，未修改时返回null
      */
     @GetMapping
     public Result<List<StudentDTO>> getAllStudents(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
-        log.info("分页获取所有学生: page={}, size={}", page, size);
-        List<StudentDTO> students = studentService.getAllStudents(page, size);
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String include,
+            WebRequest webRequest) {
+        boolean includeParents = StudentDTO.includesParents(include);
+        String scope = "students:page=" + page + ",size=" + size + ",parents=" + includeParents;
+        if (notModified(studentService.getAllStudentsVersion(page, size), webRequest, scope)) {
+            return null;
+        }
+        List<StudentDTO> students = studentService.getAllStudents(page, size, includeParents);
         return Result.success(students);
     }
     
     /**
-     * 根据班级ID获取学生
+     * 游标分页获取学生（请求中带有cursor参数时生效，第一页传空值）
+     * 
+     * @param cursor 上一页返回的游标
+     * @param size 每页大小
+     * @param sort 排序方式（id 或 classId）
+     * @param classId 班级ID过滤条件，仅在按ID排序时生效
+     * @param include 附加加载的关联数据（如 parents）
+     * @return 游标分页结果
+     */
+    @GetMapping(params = "cursor")
+    public Result<CursorPageDTO<StudentDTO>> scrollStudents(
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "id") String sort,
+            @RequestParam(required = false) Long classId,
+            @RequestParam(required = false) String include) {
+        CursorPageDTO<StudentDTO> page = studentService.scrollStudents(cursor, size, sort, classId, StudentDTO.includesParents(include));
+        return Result.success(page);
+    }
+    
+    /**
+     * 流式导出学生（NDJSON或CSV），逐行写出响应，内存占用与数据量无关
+     * 
+     * @param format 导出格式（ndjson 或 csv）
+     * @param classId 班级ID过滤条件
+     * @param status 状态过滤条件
+     * @return 流式响应
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportStudents(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) Long classId,
+            @RequestParam(required = false) String status) {
+        exportService.validateFilter(status);
+        
+        StreamingResponseBody body;
+        MediaType mediaType;
+        String fileName;
+        if ("csv".equalsIgnoreCase(format)) {
+            body = out -> exportService.exportCsv(out, classId, status);
+            mediaType = new MediaType("text", "csv", StandardCharsets.UTF_8);
+            fileName = "students.csv";
+        } else if ("ndjson".equalsIgnoreCase(format)) {
+            body = out -> exportService.exportNdjson(out, classId, status);
+            mediaType = MediaType.parseMediaType("application/x-ndjson");
+            fileName = "students.ndjson";
+        } else {
+            throw new IllegalArgumentException("不支持的导出格式: " + format);
+        }
+        
+        return ResponseEntity.ok()
+            .contentType(mediaType)
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + fileName)
+            .body(body);
+    }
+    
+    /**
+     * 根据班级ID获取学生，支持If-None-Match条件请求
      * 
      * @param classId 班级ID
-     * @return 学生DTO列表
+     * @param include 附加加载的关联数据（如 parents）
+     * @param webRequest 当前请求
+     * @return 学生DTO列表，未修改时返回null
      */
     @GetMapping("/by-class/{classId}")
-    public Result<List<StudentDTO>> getStudentsByClassId(@PathVariable Long classId) {
-        log.info("根据班级ID获取学生: classId={}", classId);
-        List<StudentDTO> students = studentService.getStudentsByClassId(classId);
+    public Result<List<StudentDTO>> getStudentsByClassId(@PathVariable Long classId,
+                                                         @RequestParam(required = false) String include,
+                                                         WebRequest webRequest) {
+        boolean includeParents = StudentDTO.includesParents(include);
+        String scope = "students:class=" + classId + ",parents=" + includeParents;
+        if (notModified(studentService.getStudentsByClassIdVersion(classId), webRequest, scope)) {
+            return null;
+        }
+        List<StudentDTO> students = studentService.getStudentsByClassId(classId, includeParents);
         return Result.success(students);
     }
     
+    /**
+     * 获取班级花名册统计，由增量维护的计数器提供，不读取学生明细
+     * 
+     * @param classId 班级ID
+     * @return 班级统计
+     */
+    @GetMapping("/stats/classes/{classId}")
+    public Result<ClassRosterStatsDTO> getClassRosterStats(@PathVariable Long classId) {
+        return Result.success(studentService.getClassRosterStats(classId));
+    }
+    
+    /**
+     * 批量获取班级花名册统计
+     * 
+     * @param classIds 班级ID列表，为空时返回全部有学生的班级
+     * @return 班级统计列表
+     */
+    @GetMapping("/stats/classes")
+    public Result<List<ClassRosterStatsDTO>> listClassRosterStats(@RequestParam(required = false) List<Long> classIds) {
+        return Result.success(studentService.listClassRosterStats(classIds));
+    }
+    
+    /**
+     * 全校学生多维分组统计，如 ?groupBy=status,gender&amp;enrollmentYearFrom=2020
+     * 
+     * @param query 分组维度（status、gender、classId、enrollmentYear、age）和过滤条件
+     * @return 统计结果
+     */
+    @GetMapping("/stats/analytics")
+    public Result<StudentAnalyticsDTO> analyzeStudents(StudentAnalyticsQuery query) {
+        return Result.success(studentService.analyzeStudents(query));
+    }
+    
     /**
      * 根据姓名模糊查询学生
      * 
      * @param name 姓名
+     * @param page 页码（从0开始）
+     * @param size 每页大小
+     * @param include 附加加载的关联数据（如 parents）
      * @return 学生DTO列表
      */
     @GetMapping("/search")
-    public Result<List<StudentDTO>> getStudentsByName(@RequestParam String name) {
-        log.info("根据姓名模糊查询学生: name={}", name);
-        List<StudentDTO> students = studentService.getStudentsByName(name);
+    public Result<List<StudentDTO>> getStudentsByName(@RequestParam String name,
+                                                      @RequestParam(defaultValue = "0") int page,
+                                                      @RequestParam(defaultValue = "20") int size,
+                                                      @RequestParam(required = false) String include) {
+        List<StudentDTO> students = studentService.getStudentsByName(name, page, size, StudentDTO.includesParents(include));
         return Result.success(students);
     }
     
+    /**
+     * 姓名输入联想（汉字、全拼、拼音首字母前缀）
+     * 
+     * @param q 输入前缀
+     * @param limit 返回条数
+     * @return 联想结果
+     */
+    @GetMapping("/suggest")
+    public Result<List<Suggestion>> suggest(@RequestParam String q,
+                                            @RequestParam(defaultValue = "10") int limit) {
+        return Result.success(studentService.suggest(q, limit));
+    }
+    
     /**
      * 更新学生状态
      * 
@@ -132,11 +293,21 @@ public class StudentController {
      */
     @PatchMapping("/{id}/status")
     public Result<Void> updateStudentStatus(@PathVariable Long id, @Valid @RequestBody UpdateStudentStatusRequest request) {
-        log.info("更新学生状态: id={}, request={}", id, request);
         studentService.updateStudentStatus(id, request);
         return Result.success();
     }
     
+    /**
+     * 按条件批量变更学生状态（如整届毕业、整班休学）
+     * 
+     * @param request 批量变更状态请求
+     * @return 变更结果
+     */
+    @PatchMapping("/status")
+    public Result<BulkUpdateStatusResultDTO> bulkUpdateStatus(@Valid @RequestBody BulkUpdateStatusRequest request) {
+        return Result.success(batchService.updateStatus(request));
+    }
+    
     /**
      * 为学生指定班级
      * 
@@ -146,7 +317,6 @@ public class StudentController {
      */
     @PutMapping("/{id}/class/{classId}")
     public Result<Void> assignClassToStudent(@PathVariable Long id, @PathVariable Long classId) {
-        log.info("为学生指定班级: id={}, classId={}", id, classId);
         studentService.assignClassToStudent(id, classId);
         return Result.success();
     }
@@ -160,7 +330,6 @@ public class StudentController {
      */
     @PostMapping("/{id}/parents")
     public Result<ParentDTO> addParent(@PathVariable Long id, @Valid @RequestBody AddParentRequest request) {
-        log.info("添加家长信息: id={}, request={}", id, request);
         ParentDTO parent = studentService.addParent(id, request);
         return Result.success(parent);
     }
@@ -173,8 +342,21 @@ public class StudentController {
      */
     @DeleteMapping("/{id}")
     public Result<Void> deleteStudent(@PathVariable Long id) {
-        log.info("删除学生: id={}", id);
         studentService.deleteStudent(id);
         return Result.success();
     }
+    
+    /**
+     * 校验条件请求，读模型未就绪时不做判断，总是返回完整响应
+     * <p>
+     * 列表的版本指纹不提供Last-Modified：成员移出列表时最大修改时间不变，只能依靠ETag判断。
+     * 
+     * @param version 版本指纹
+     * @param webRequest 当前请求
+     * @param scope 资源范围
+     * @return 是否未修改
+     */
+    private boolean notModified(Optional<ResourceVersion> version, WebRequest webRequest, String scope) {
+        return version.map(v -> v.checkNotModified(webRequest, scope)).orElse(false);
+    }
 } 
\ No newline at end of file
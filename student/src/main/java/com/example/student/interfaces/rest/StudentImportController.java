@@ -0,0 +1,69 @@
+package com.example.student.interfaces.rest;
+
+import com.example.student.application.dto.ImportJobDTO;
+import com.example.student.application.dto.ImportRowErrorDTO;
+import com.example.student.application.service.StudentImportService;
+import com.example.student.common.Result;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.List;
+
+/**
+ * 学生名单导入控制器
+ * 
+ * @author liujiandong
+ */
+@RestController
+@RequestMapping("/api/students/import")
+@Slf4j
+public class StudentImportController {
+    
+    @Autowired
+    private StudentImportService importService;
+    
+    /**
+     * 上传名单文件并创建导入任务，任务在后台执行
+     * 
+     * @param file xlsx、xls或csv文件，第一行为表头
+     * @return 任务状态
+     */
+    @PostMapping
+    public Result<ImportJobDTO> submit(@RequestParam("file") MultipartFile file) {
+        log.info("提交学生导入: fileName={}, size={}", file.getOriginalFilename(), file.getSize());
+        return Result.success(importService.submit(file));
+    }
+    
+    /**
+     * 查询导入任务进度，包括处理速度和部分失败行
+     * 
+     * @param jobId 任务ID
+     * @return 任务状态
+     */
+    @GetMapping("/{jobId}")
+    public Result<ImportJobDTO> getJob(@PathVariable String jobId) {
+        return Result.success(importService.getJob(jobId));
+    }
+    
+    /**
+     * 分页查询导入失败行明细
+     * 
+     * @param jobId 任务ID
+     * @param offset 起始位置
+     * @param limit 条数
+     * @return 失败行明细
+     */
+    @GetMapping("/{jobId}/errors")
+    public Result<List<ImportRowErrorDTO>> getErrors(@PathVariable String jobId,
+                                                     @RequestParam(defaultValue = "0") int offset,
+                                                     @RequestParam(defaultValue = "100") int limit) {
+        return Result.success(importService.getErrors(jobId, offset, limit));
+    }
+}
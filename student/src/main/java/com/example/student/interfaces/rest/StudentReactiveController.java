@@ -0,0 +1,72 @@
+package com.example.student.interfaces.rest;
+
+import com.example.student.application.dto.StudentDTO;
+import com.example.student.application.service.StudentReactiveQueryService;
+import com.example.student.common.Result;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * 学生非阻塞只读查询控制器
+ * <p>
+ * 与{@link StudentController}中的同名查询返回相同的数据。请求线程在订阅后即释放，
+ * 查询在有界的查询调度器上执行；列表接口查询完成后以NDJSON格式写出学生，每行一个StudentDTO。
+ * 查询队列已满时返回503。
+ *
+ * @author liujiandong
+ */
+@RestController
+@RequestMapping("/api/reactive/students")
+public class StudentReactiveController {
+    
+    @Autowired
+    private StudentReactiveQueryService queryService;
+    
+    /**
+     * 获取学生
+     *
+     * @param id 学生ID
+     * @return 学生DTO
+     */
+    @GetMapping("/{id}")
+    public Mono<Result<StudentDTO>> getStudent(@PathVariable Long id) {
+        return queryService.getStudentById(id).map(Result::success);
+    }
+    
+    /**
+     * 根据班级ID获取学生
+     *
+     * @param classId 班级ID
+     * @param include 附加加载的关联数据（如 parents）
+     * @return 学生DTO流
+     */
+    @GetMapping(value = "/by-class/{classId}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<StudentDTO> getStudentsByClassId(@PathVariable Long classId,
+                                                 @RequestParam(required = false) String include) {
+        return queryService.getStudentsByClassId(classId, StudentDTO.includesParents(include));
+    }
+    
+    /**
+     * 根据姓名模糊查询学生
+     *
+     * @param name 姓名
+     * @param page 页码（从0开始）
+     * @param size 每页大小
+     * @param include 附加加载的关联数据（如 parents）
+     * @return 学生DTO流
+     */
+    @GetMapping(value = "/search", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<StudentDTO> getStudentsByName(@RequestParam String name,
+                                              @RequestParam(defaultValue = "0") int page,
+                                              @RequestParam(defaultValue = "20") int size,
+                                              @RequestParam(required = false) String include) {
+        return queryService.getStudentsByName(name, page, size, StudentDTO.includesParents(include));
+    }
+}
@@ -18,7 +18,8 @@ CREATE TABLE IF NOT EXISTS `t_student` (
     PRIMARY KEY (`id`),
     UNIQUE KEY `uk_student_no` (`student_no`),
     INDEX `idx_class_id` (`class_id`),
-    INDEX `idx_name` (`name`)
+    INDEX `idx_name` (`name`),
+    INDEX `idx_update_time_id` (`update_time`, `id`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='学生表';
 
 -- 创建学生家长表
@@ -40,6 +41,49 @@ CREATE TABLE IF NOT EXISTS `t_student_parent` (
     CONSTRAINT `fk_student_parent` FOREIGN KEY (`student_id`) REFERENCES `t_student` (`id`) ON DELETE CASCADE ON UPDATE CASCADE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='学生家长表';
 
+-- 创建学生领域事件发件箱表（与业务数据同一事务写入，由后台任务批量转发到Kafka）
+CREATE TABLE IF NOT EXISTS `t_student_outbox` (
+    `id` BIGINT NOT NULL AUTO_INCREMENT COMMENT '主键ID',
+    `event_id` VARCHAR(64) NOT NULL COMMENT '事件ID',
+    `aggregate_id` VARCHAR(64) NOT NULL COMMENT '聚合ID（学号），作为Kafka消息键',
+    `event_type` VARCHAR(100) NOT NULL COMMENT '事件类型',
+    `payload` TEXT NOT NULL COMMENT '事件内容（JSON）',
+    `status` TINYINT NOT NULL DEFAULT 0 COMMENT '状态（0-待发送，1-已发送，2-死信）',
+    `attempts` INT NOT NULL DEFAULT 0 COMMENT '发送失败次数',
+    `last_error` VARCHAR(500) COMMENT '最近一次发送失败原因',
+    `occurred_on` DATETIME(3) NOT NULL COMMENT '事件发生时间',
+    `create_time` DATETIME DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+    `sent_time` DATETIME COMMENT '发送成功时间',
+    PRIMARY KEY (`id`),
+    UNIQUE KEY `uk_event_id` (`event_id`),
+    INDEX `idx_status_id` (`status`, `id`),
+    INDEX `idx_sent_time` (`sent_time`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='学生领域事件发件箱表';
+
+-- 创建学生读模型表（CQRS读侧，按学生领域事件在写事务内增量刷新，家长信息以JSON内联）
+CREATE TABLE IF NOT EXISTS `t_student_view` (
+    `id` BIGINT NOT NULL COMMENT '学生ID，与t_student.id一致',
+    `student_no` VARCHAR(20) NOT NULL COMMENT '学号',
+    `name` VARCHAR(50) NOT NULL COMMENT '姓名',
+    `date_of_birth` DATE COMMENT '出生日期',
+    `gender` TINYINT COMMENT '性别（0-女，1-男）',
+    `class_id` BIGINT COMMENT '班级ID',
+    `email` VARCHAR(100) COMMENT '电子邮箱',
+    `phone` VARCHAR(20) COMMENT '联系电话',
+    `address` VARCHAR(255) COMMENT '地址',
+    `status` VARCHAR(20) NOT NULL COMMENT '状态',
+    `enrollment_date` DATE COMMENT '入学日期',
+    `graduation_date` DATE COMMENT '毕业日期',
+    `parents` JSON COMMENT '家长信息列表（ParentDTO数组）',
+    `create_time` DATETIME COMMENT '创建时间',
+    `update_time` DATETIME COMMENT '更新时间',
+    `version` BIGINT NOT NULL DEFAULT 0 COMMENT '投影版本（最近一次投影的微秒时间戳），用于ETag',
+    PRIMARY KEY (`id`),
+    UNIQUE KEY `uk_student_no` (`student_no`),
+    INDEX `idx_class_id_id` (`class_id`, `id`),
+    INDEX `idx_class_id_version` (`class_id`, `version`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='学生读模型表';
+
 -- 插入测试数据
 INSERT INTO `t_student` (`student_no`, `name`, `date_of_birth`, `gender`, `class_id`, `email`, `phone`, `address`, `status`, `enrollment_date`)
 VALUES
@@ -0,0 +1,155 @@
+package com.example.student.application.service;
+
+import com.example.student.application.dto.BatchCreateResultDTO;
+import com.example.student.application.dto.command.CreateStudentRequest;
+import com.example.student.domain.entity.Student;
+import com.example.student.domain.repository.StudentRepository;
+import com.example.student.infrastructure.messaging.DomainEventPublisher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.validation.Validation;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class StudentBatchServiceTest {
+
+    private StudentRepository studentRepository;
+
+    private StudentBatchService service;
+
+    /**
+     * 模拟数据库中已有的学号
+     */
+    private Set<String> stored;
+
+    /**
+     * 已提交但对本事务的一致性读不可见的学号
+     */
+    private Set<String> committedElsewhere;
+
+    private List<List<String>> insertCalls;
+
+    @BeforeEach
+    void setUp() {
+        stored = new HashSet<>();
+        committedElsewhere = new HashSet<>();
+        insertCalls = new ArrayList<>();
+        AtomicLong ids = new AtomicLong();
+
+        studentRepository = mock(StudentRepository.class);
+        when(studentRepository.findExistingStudentIds(anyCollection())).thenAnswer(invocation -> {
+            Set<String> existing = new HashSet<>(invocation.<Collection<String>>getArgument(0));
+            existing.retainAll(stored);
+            return existing;
+        });
+        when(studentRepository.insertAll(any())).thenAnswer(invocation -> {
+            List<Student> students = invocation.getArgument(0);
+            List<String> studentNos = students.stream().map(Student::getStudentId).collect(Collectors.toList());
+            insertCalls.add(studentNos);
+            if (studentNos.stream().anyMatch(no -> stored.contains(no) || committedElsewhere.contains(no))) {
+                throw new DuplicateKeyException("Duplicate entry for key 'uk_student_no'");
+            }
+            students.forEach(student -> student.setId(ids.incrementAndGet()));
+            return students;
+        });
+
+        service = new StudentBatchService();
+        ReflectionTestUtils.setField(service, "maxBatchSize", 5000);
+        ReflectionTestUtils.setField(service, "studentRepository", studentRepository);
+        ReflectionTestUtils.setField(service, "eventPublisher", mock(DomainEventPublisher.class));
+        ReflectionTestUtils.setField(service, "validator",
+            Validation.buildDefaultValidatorFactory().getValidator());
+        service.setTransactionManager(mock(PlatformTransactionManager.class));
+    }
+
+    @Test
+    void existingStudentNoFailsOnlyItsRow() {
+        stored.add("S002");
+
+        BatchCreateResultDTO result = service.createStudents(requests("S001", "S002", "S003"));
+
+        assertThat(result.getSucceeded()).isEqualTo(2);
+        assertThat(result.getFailed()).isEqualTo(1);
+        assertThat(result.getItems().get(1).isSuccess()).isFalse();
+        assertThat(result.getItems().get(1).getError()).isEqualTo("学号已存在: S002");
+        assertThat(result.getItems().get(0).getId()).isNotNull();
+        assertThat(result.getItems().get(2).getId()).isNotNull();
+        assertThat(insertCalls).containsExactly(Arrays.asList("S001", "S003"));
+    }
+
+    @Test
+    void studentNoInsertedConcurrentlyIsRemovedAndBatchRetried() {
+        // 首次查询后另一实例写入了S005
+        when(studentRepository.findExistingStudentIds(anyCollection()))
+            .thenReturn(Collections.emptySet())
+            .thenReturn(Collections.singleton("S005"));
+        stored.add("S005");
+
+        BatchCreateResultDTO result = service.createStudents(requests("S004", "S005", "S006"));
+
+        assertThat(result.getSucceeded()).isEqualTo(2);
+        assertThat(result.getItems().get(1).isSuccess()).isFalse();
+        assertThat(result.getItems().get(1).getError()).isEqualTo("学号已存在: S005");
+        assertThat(result.getItems().get(0).getId()).isNotNull();
+        assertThat(result.getItems().get(2).getId()).isNotNull();
+        assertThat(insertCalls).containsExactly(
+            Arrays.asList("S004", "S005", "S006"),
+            Arrays.asList("S004", "S006"));
+    }
+
+    @Test
+    void clashInvisibleToRecheckFallsBackToRowByRowInsert() {
+        committedElsewhere.add("S002");
+
+        BatchCreateResultDTO result = service.createStudents(requests("S001", "S002", "S003"));
+
+        assertThat(result.getSucceeded()).isEqualTo(2);
+        assertThat(result.getFailed()).isEqualTo(1);
+        assertThat(result.getItems().get(1).getError()).isEqualTo("学号已存在: S002");
+        assertThat(result.getItems().get(0).getId()).isNotNull();
+        assertThat(result.getItems().get(2).getId()).isNotNull();
+        assertThat(insertCalls).containsExactly(
+            Arrays.asList("S001", "S002", "S003"),
+            Collections.singletonList("S001"),
+            Collections.singletonList("S002"),
+            Collections.singletonList("S003"));
+    }
+
+    @Test
+    void duplicateWithinBatchIsReportedPerRow() {
+        BatchCreateResultDTO result = service.createStudents(requests("S001", "S001"));
+
+        assertThat(result.getSucceeded()).isEqualTo(1);
+        assertThat(result.getItems().get(1).getError()).isEqualTo("学号在本批次中重复: S001");
+        assertThat(insertCalls).containsExactly(Collections.singletonList("S001"));
+    }
+
+    private static List<CreateStudentRequest> requests(String... studentNos) {
+        return Arrays.stream(studentNos)
+            .map(no -> CreateStudentRequest.builder()
+                .studentId(no)
+                .name("学生" + no)
+                .dateOfBirth(LocalDate.of(2010, 1, 1))
+                .gender(1)
+                .build())
+            .collect(Collectors.toList());
+    }
+}
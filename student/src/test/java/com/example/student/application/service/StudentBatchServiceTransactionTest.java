@@ -0,0 +1,185 @@
+package com.example.student.application.service;
+
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.extension.spring.MybatisSqlSessionFactoryBean;
+import com.example.student.application.dto.BatchCreateResultDTO;
+import com.example.student.application.dto.command.CreateStudentRequest;
+import com.example.student.domain.repository.StudentRepository;
+import com.example.student.infrastructure.messaging.DomainEventPublisher;
+import com.example.student.infrastructure.persistence.StudentRepositoryImpl;
+import com.example.student.infrastructure.persistence.converter.StudentConverter;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mybatis.spring.annotation.MapperScan;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.spy;
+
+/**
+ * 在内嵌H2数据库的真实事务中验证批量创建：学号冲突只回滚到保存点，其余行随外层事务提交
+ */
+@SpringJUnitConfig(StudentBatchServiceTransactionTest.Config.class)
+class StudentBatchServiceTransactionTest {
+
+    @Configuration
+    @EnableTransactionManagement
+    @MapperScan("com.example.student.infrastructure.persistence.mapper")
+    @Import({StudentBatchService.class, StudentConverter.class})
+    static class Config {
+
+        @Bean
+        DataSource dataSource() {
+            return new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .setName("student_batch;MODE=MySQL")
+                .addScript("db/schema-h2.sql")
+                .build();
+        }
+
+        @Bean
+        PlatformTransactionManager transactionManager(DataSource dataSource) {
+            return new DataSourceTransactionManager(dataSource);
+        }
+
+        @Bean
+        SqlSessionFactory sqlSessionFactory(DataSource dataSource) throws Exception {
+            MybatisConfiguration configuration = new MybatisConfiguration();
+            configuration.setMapUnderscoreToCamelCase(true);
+            MybatisSqlSessionFactoryBean factory = new MybatisSqlSessionFactoryBean();
+            factory.setDataSource(dataSource);
+            factory.setConfiguration(configuration);
+            factory.setMapperLocations(
+                new ClassPathResource("mapper/StudentMapper.xml"),
+                new ClassPathResource("mapper/StudentParentMapper.xml"));
+            return factory.getObject();
+        }
+
+        /**
+         * 真实仓储的spy，用于在首次学号查询之后模拟其他实例提交冲突学号
+         */
+        @Bean
+        StudentRepository studentRepository() {
+            return spy(new StudentRepositoryImpl());
+        }
+
+        @Bean
+        DomainEventPublisher eventPublisher() {
+            return mock(DomainEventPublisher.class);
+        }
+
+        @Bean
+        LocalValidatorFactoryBean validator() {
+            return new LocalValidatorFactoryBean();
+        }
+    }
+
+    @Autowired
+    private StudentBatchService service;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        reset(studentRepository);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update("DELETE FROM t_student");
+    }
+
+    @Test
+    void existingStudentNoInMiddleOfBatchIsReportedAndOtherRowsCommit() {
+        insertStudent("S002");
+
+        BatchCreateResultDTO result = service.createStudents(requests("S001", "S002", "S003"));
+
+        assertThat(result.getSucceeded()).isEqualTo(2);
+        assertThat(result.getItems().get(1).isSuccess()).isFalse();
+        assertThat(result.getItems().get(1).getError()).isEqualTo("学号已存在: S002");
+        assertThat(result.getItems().get(0).getId()).isNotNull();
+        assertThat(result.getItems().get(2).getId()).isNotNull();
+        assertThat(committedStudentNos()).containsExactly("S001", "S002", "S003");
+    }
+
+    @Test
+    void studentNoCommittedConcurrentlyRollsBackOnlyToSavepoint() {
+        // 首次学号查询返回后，另一个连接提交了S002，批量插入在第二行撞上唯一索引
+        doAnswer(invocation -> {
+            Object existing = invocation.callRealMethod();
+            insertStudent("S002");
+            return existing;
+        }).doCallRealMethod().when(studentRepository).findExistingStudentIds(anyCollection());
+
+        BatchCreateResultDTO result = service.createStudents(requests("S001", "S002", "S003"));
+
+        assertThat(result.getSucceeded()).isEqualTo(2);
+        assertThat(result.getFailed()).isEqualTo(1);
+        assertThat(result.getItems().get(1).isSuccess()).isFalse();
+        assertThat(result.getItems().get(1).getError()).isEqualTo("学号已存在: S002");
+        assertThat(result.getItems().get(0).getId()).isNotNull();
+        assertThat(result.getItems().get(2).getId()).isNotNull();
+        // 冲突前已写入的S001随保存点回滚，剔除S002后整批重试成功
+        assertThat(committedStudentNos()).containsExactly("S001", "S002", "S003");
+    }
+
+    /**
+     * 通过独立连接自动提交写入一名学生，不参与被测方法的事务
+     */
+    private void insertStudent(String studentNo) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                 "INSERT INTO t_student (student_no, name) VALUES (?, ?)")) {
+            statement.setString(1, studentNo);
+            statement.setString(2, "已有学生" + studentNo);
+            statement.executeUpdate();
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private List<String> committedStudentNos() {
+        return jdbcTemplate.queryForList("SELECT student_no FROM t_student ORDER BY student_no", String.class);
+    }
+
+    private static List<CreateStudentRequest> requests(String... studentNos) {
+        return Arrays.stream(studentNos)
+            .map(no -> CreateStudentRequest.builder()
+                .studentId(no)
+                .name("学生" + no)
+                .dateOfBirth(LocalDate.of(2010, 1, 1))
+                .gender(1)
+                .build())
+            .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,214 @@
+package com.example.student.application.service;
+
+import com.example.student.application.dto.ImportJobDTO;
+import com.example.student.application.dto.ImportRowErrorDTO;
+import com.example.student.domain.entity.Student;
+import com.example.student.domain.repository.StudentRepository;
+import com.example.student.infrastructure.messaging.DomainEventPublisher;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.validation.Validation;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class StudentImportServiceTest {
+
+    private static final String HEADER = "学号,姓名,出生日期,性别\n";
+
+    private StudentImportService service;
+
+    private StudentRepository studentRepository;
+
+    /**
+     * 模拟数据库中已提交且可见的学号
+     */
+    private Set<String> stored;
+
+    /**
+     * 由其他实例写入、首次查重时尚不可见的学号，插入冲突后变为可见
+     */
+    private Set<String> committedElsewhere;
+
+    /**
+     * 插入成功的学号
+     */
+    private List<String> inserted;
+
+    @BeforeEach
+    void setUp() {
+        stored = ConcurrentHashMap.newKeySet();
+        committedElsewhere = ConcurrentHashMap.newKeySet();
+        inserted = new ArrayList<>();
+        AtomicLong ids = new AtomicLong();
+
+        studentRepository = mock(StudentRepository.class);
+        when(studentRepository.findExistingStudentIds(anyCollection())).thenAnswer(invocation -> {
+            Set<String> existing = new HashSet<>(invocation.<Collection<String>>getArgument(0));
+            existing.retainAll(stored);
+            return existing;
+        });
+        when(studentRepository.insertAll(any())).thenAnswer(invocation -> {
+            List<Student> students = invocation.getArgument(0);
+            List<String> studentNos = students.stream().map(Student::getStudentId).collect(Collectors.toList());
+            if (studentNos.stream().anyMatch(no -> stored.contains(no) || committedElsewhere.contains(no))) {
+                stored.addAll(committedElsewhere);
+                throw new DuplicateKeyException("Duplicate entry for key 'uk_student_no'");
+            }
+            students.forEach(student -> student.setId(ids.incrementAndGet()));
+            inserted.addAll(studentNos);
+            return students;
+        });
+
+        service = new StudentImportService();
+        ReflectionTestUtils.setField(service, "maxConcurrentJobs", 1);
+        ReflectionTestUtils.setField(service, "maxQueuedJobs", 1);
+        ReflectionTestUtils.setField(service, "validatorThreads", 1);
+        ReflectionTestUtils.setField(service, "queueCapacity", 10);
+        ReflectionTestUtils.setField(service, "chunkSize", 500);
+        ReflectionTestUtils.setField(service, "maxRetainedJobs", 100);
+        ReflectionTestUtils.setField(service, "maxRetainedErrors", 100);
+        ReflectionTestUtils.setField(service, "errorPreview", 20);
+        ReflectionTestUtils.setField(service, "studentRepository", studentRepository);
+        ReflectionTestUtils.setField(service, "eventPublisher", mock(DomainEventPublisher.class));
+        ReflectionTestUtils.setField(service, "validator",
+            Validation.buildDefaultValidatorFactory().getValidator());
+        ReflectionTestUtils.setField(service, "transactionManager", mock(PlatformTransactionManager.class));
+        service.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void invalidRowsAreReportedAndValidRowsInserted() throws InterruptedException {
+        ImportJobDTO job = awaitFinished(service.submit(csv(HEADER
+            + "S001,张三,2010-01-01,男\n"
+            + "S002,,2010-01-02,女\n"
+            + "S003,王五,2010/1/3,x\n"
+            + "S004,赵六,20100104,female\n")));
+
+        assertThat(job.getStatus()).isEqualTo("COMPLETED");
+        assertThat(job.getParsedRows()).isEqualTo(4);
+        assertThat(job.getSucceededRows()).isEqualTo(2);
+        assertThat(job.getFailedRows()).isEqualTo(2);
+        assertThat(inserted).containsExactly("S001", "S004");
+        assertThat(errorsByRow(job))
+            .containsEntry(3, "姓名不能为空")
+            .containsEntry(4, "性别格式不正确: x; 性别不能为空");
+    }
+
+    @Test
+    void duplicateWithinFileKeepsFirstRow() throws InterruptedException {
+        ImportJobDTO job = awaitFinished(service.submit(csv(HEADER
+            + "S001,张三,2010-01-01,男\n"
+            + "S002,李四,2010-01-02,女\n"
+            + "S001,王五,2010-01-03,男\n")));
+
+        assertThat(job.getSucceededRows()).isEqualTo(2);
+        assertThat(job.getFailedRows()).isEqualTo(1);
+        assertThat(inserted).containsExactly("S001", "S002");
+        assertThat(errorsByRow(job)).containsEntry(4, "学号在文件中重复，已在第2行出现");
+    }
+
+    @Test
+    void existingStudentNoFailsOnlyItsRow() throws InterruptedException {
+        stored.add("S002");
+
+        ImportJobDTO job = awaitFinished(service.submit(csv(HEADER
+            + "S001,张三,2010-01-01,男\n"
+            + "S002,李四,2010-01-02,女\n"
+            + "S003,王五,2010-01-03,男\n")));
+
+        assertThat(job.getSucceededRows()).isEqualTo(2);
+        assertThat(inserted).containsExactly("S001", "S003");
+        assertThat(errorsByRow(job)).isEqualTo(Collections.singletonMap(3, "学号已存在: S002"));
+    }
+
+    @Test
+    void studentNoInsertedConcurrentlyIsRemovedAndChunkRetried() throws InterruptedException {
+        committedElsewhere.add("S002");
+
+        ImportJobDTO job = awaitFinished(service.submit(csv(HEADER
+            + "S001,张三,2010-01-01,男\n"
+            + "S002,李四,2010-01-02,女\n"
+            + "S003,王五,2010-01-03,男\n")));
+
+        assertThat(job.getStatus()).isEqualTo("COMPLETED");
+        assertThat(job.getSucceededRows()).isEqualTo(2);
+        assertThat(job.getFailedRows()).isEqualTo(1);
+        assertThat(inserted).containsExactly("S001", "S003");
+        assertThat(errorsByRow(job)).isEqualTo(Collections.singletonMap(3, "学号已存在: S002"));
+    }
+
+    @Test
+    void submitIsRejectedWhenJobQueueIsFull() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch writing = new CountDownLatch(1);
+        when(studentRepository.findExistingStudentIds(anyCollection())).thenAnswer(invocation -> {
+            writing.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return new HashSet<>();
+        });
+        String content = HEADER + "S001,张三,2010-01-01,男\n";
+
+        ImportJobDTO running = service.submit(csv(content));
+        assertThat(writing.await(10, TimeUnit.SECONDS)).isTrue();
+        ImportJobDTO queued = service.submit(csv(content));
+        assertThat(queued.getStatus()).isEqualTo("PENDING");
+
+        assertThatThrownBy(() -> service.submit(csv(content)))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("导入任务过多，请稍后重试");
+
+        release.countDown();
+        assertThat(awaitFinished(running).getStatus()).isEqualTo("COMPLETED");
+        assertThat(awaitFinished(queued).getStatus()).isEqualTo("COMPLETED");
+    }
+
+    private ImportJobDTO awaitFinished(ImportJobDTO submitted) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (System.currentTimeMillis() < deadline) {
+            ImportJobDTO job = service.getJob(submitted.getJobId());
+            if ("COMPLETED".equals(job.getStatus()) || "FAILED".equals(job.getStatus())) {
+                return job;
+            }
+            Thread.sleep(20);
+        }
+        throw new AssertionError("导入任务未在10秒内结束: " + submitted.getJobId());
+    }
+
+    private Map<Integer, String> errorsByRow(ImportJobDTO job) {
+        return service.getErrors(job.getJobId(), 0, 100).stream()
+            .collect(Collectors.toMap(ImportRowErrorDTO::getRowNumber, ImportRowErrorDTO::getMessage));
+    }
+
+    private static MockMultipartFile csv(String content) {
+        return new MockMultipartFile("file", "students.csv", "text/csv", content.getBytes(StandardCharsets.UTF_8));
+    }
+}
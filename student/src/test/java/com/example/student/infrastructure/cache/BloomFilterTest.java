@@ -0,0 +1,35 @@
+package com.example.student.infrastructure.cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BloomFilterTest {
+
+    @Test
+    void addedValuesAreAlwaysReported() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("S" + (20240000 + i));
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(filter.mightContain("S" + (20240000 + i))).isTrue();
+        }
+    }
+
+    @Test
+    void falsePositiveRateStaysNearTarget() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("S" + (20240000 + i));
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("T" + i)) {
+                falsePositives++;
+            }
+        }
+        // 目标误判率1%，留出一倍余量
+        assertThat(falsePositives).isLessThan(2_000);
+    }
+}
@@ -0,0 +1,188 @@
+package com.example.student.infrastructure.messaging;
+
+import com.example.student.infrastructure.persistence.entity.OutboxEventPO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OutboxRelayTest {
+
+    private static final String TOPIC = "student-events-test";
+
+    private static final String FAILURE_TOPIC = "student-events-failure-test";
+
+    private static EmbeddedKafkaBroker broker;
+
+    private OutboxEventStore store;
+
+    private OutboxRelay relay;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private DefaultKafkaProducerFactory<String, Object> producerFactory;
+
+    @BeforeAll
+    static void startBroker() {
+        broker = new EmbeddedKafkaBroker(1, true, 3, TOPIC, FAILURE_TOPIC);
+        broker.afterPropertiesSet();
+    }
+
+    @AfterAll
+    static void stopBroker() {
+        broker.destroy();
+    }
+
+    @BeforeEach
+    void setUp() {
+        Map<String, Object> config = new HashMap<>();
+        config.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString());
+        config.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        config.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StudentEventSerializer.class);
+        producerFactory = new DefaultKafkaProducerFactory<>(config);
+
+        store = mock(OutboxEventStore.class);
+        when(store.readMessage(any())).thenAnswer(invocation -> {
+            OutboxEventPO outboxEvent = invocation.getArgument(0);
+            return StudentEventMessage.builder()
+                .eventId(outboxEvent.getEventId())
+                .eventType(outboxEvent.getEventType())
+                .aggregateId(outboxEvent.getAggregateId())
+                .build();
+        });
+
+        relay = new OutboxRelay();
+        ReflectionTestUtils.setField(relay, "enabled", true);
+        ReflectionTestUtils.setField(relay, "topic", TOPIC);
+        ReflectionTestUtils.setField(relay, "batchSize", 10);
+        ReflectionTestUtils.setField(relay, "maxBatchesPerRun", 5);
+        ReflectionTestUtils.setField(relay, "sendTimeoutSeconds", 30L);
+        ReflectionTestUtils.setField(relay, "maxAttempts", 3);
+        ReflectionTestUtils.setField(relay, "outboxEventStore", store);
+        ReflectionTestUtils.setField(relay, "kafkaTemplate", new KafkaTemplate<>(producerFactory));
+        ReflectionTestUtils.setField(relay, "redissonClientProvider", mock(ObjectProvider.class));
+        meterRegistry = new SimpleMeterRegistry();
+        ReflectionTestUtils.setField(relay, "meterRegistry", meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        producerFactory.destroy();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void relaysPendingEventsKeyedByAggregateIdAndMarksThemSent() {
+        List<OutboxEventPO> pending = Arrays.asList(
+            outboxEvent(1L, "2023001", "StudentCreatedEvent"),
+            outboxEvent(2L, "2023002", "StudentCreatedEvent"),
+            outboxEvent(3L, "2023001", "StudentStatusChangedEvent"));
+        when(store.fetchPending(anyInt())).thenReturn(pending, new ArrayList<>());
+
+        relay.relay();
+
+        verify(store).markSent(Arrays.asList(1L, 2L, 3L));
+        assertThat(meterRegistry.counter(OutboxRelay.RELAYED_METRIC, "type", "StudentCreatedEvent", "outcome", "success").count())
+            .isEqualTo(2);
+
+        Map<String, Object> consumerProps = KafkaTestUtils.consumerProps("outbox-test", "false", broker);
+        consumerProps.put("auto.offset.reset", "earliest");
+        try (Consumer<String, StudentEventMessage> consumer = new DefaultKafkaConsumerFactory<>(consumerProps,
+                new StringDeserializer(), new StudentEventDeserializer()).createConsumer()) {
+            broker.consumeFromAnEmbeddedTopic(consumer, TOPIC);
+            ConsumerRecords<String, StudentEventMessage> records = KafkaTestUtils.getRecords(consumer, 10_000L, 3);
+            assertThat(records.count()).isEqualTo(3);
+
+            Map<String, Integer> partitionByKey = new HashMap<>();
+            for (ConsumerRecord<String, StudentEventMessage> record : records) {
+                Integer previous = partitionByKey.putIfAbsent(record.key(), record.partition());
+                // 同一学生的事件必须进入同一分区，才能保证顺序
+                assertThat(previous == null || previous == record.partition()).isTrue();
+                assertThat(record.value().getAggregateId()).isEqualTo(record.key());
+                assertThat(record.headers().lastHeader(OutboxRelay.HEADER_EVENT_TYPE)).isNotNull();
+            }
+            assertThat(partitionByKey).containsOnlyKeys("2023001", "2023002");
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void holdsBackLaterEventsOfAFailedAggregateAndParksExhaustedOnes() {
+        ReflectionTestUtils.setField(relay, "topic", FAILURE_TOPIC);
+        OutboxEventPO undecodable = outboxEvent(1L, "2023001", "StudentCreatedEvent");
+        undecodable.setAttempts(2);
+        OutboxEventPO retryable = outboxEvent(3L, "2023003", "StudentCreatedEvent");
+        doAnswer(invocation -> {
+            OutboxEventPO outboxEvent = invocation.getArgument(0);
+            if (outboxEvent.getId() == 1L || outboxEvent.getId() == 3L) {
+                throw new IllegalStateException("bad payload");
+            }
+            return StudentEventMessage.builder()
+                .eventId(outboxEvent.getEventId())
+                .eventType(outboxEvent.getEventType())
+                .aggregateId(outboxEvent.getAggregateId())
+                .build();
+        }).when(store).readMessage(any());
+        when(store.fetchPending(anyInt())).thenReturn(Arrays.asList(
+            undecodable,
+            outboxEvent(2L, "2023002", "StudentCreatedEvent"),
+            retryable,
+            outboxEvent(4L, "2023001", "StudentUpdatedEvent")), new ArrayList<>());
+
+        relay.relay();
+
+        // 事件4与失败的事件1属于同一学生，不能先于事件1发出
+        verify(store).markSent(Arrays.asList(2L));
+        verify(store).markFailed(eq(1L), anyString(), eq(true));
+        verify(store).markFailed(eq(3L), anyString(), eq(false));
+        verify(store, never()).readMessage(argThat(outboxEvent -> outboxEvent.getId() == 4L));
+        assertThat(meterRegistry.counter(OutboxRelay.RELAYED_METRIC, "type", "StudentCreatedEvent", "outcome", "dead").count())
+            .isEqualTo(1);
+    }
+
+    private static OutboxEventPO outboxEvent(Long id, String aggregateId, String eventType) {
+        OutboxEventPO outboxEvent = new OutboxEventPO();
+        outboxEvent.setId(id);
+        outboxEvent.setEventId("event-" + id);
+        outboxEvent.setAggregateId(aggregateId);
+        outboxEvent.setEventType(eventType);
+        outboxEvent.setStatus(OutboxEventPO.STATUS_PENDING);
+        outboxEvent.setAttempts(0);
+        outboxEvent.setOccurredOn(LocalDateTime.now());
+        return outboxEvent;
+    }
+}
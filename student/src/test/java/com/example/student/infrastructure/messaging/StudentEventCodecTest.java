@@ -0,0 +1,87 @@
+package com.example.student.infrastructure.messaging;
+
+import com.example.student.domain.entity.Student;
+import com.example.student.domain.event.ParentAddedEvent;
+import com.example.student.domain.event.StudentClassAssignedEvent;
+import com.example.student.domain.event.StudentCreatedEvent;
+import com.example.student.domain.event.StudentStatusChangedEvent;
+import com.example.student.domain.valueobject.ContactInfo;
+import com.example.student.domain.valueobject.ParentInfo;
+import org.apache.kafka.common.errors.SerializationException;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StudentEventCodecTest {
+
+    static Student sampleStudent() {
+        Student student = Student.create("2024010203", "欧阳明华", LocalDate.of(2008, 3, 14), 1,
+            new ContactInfo("ouyang.minghua@example.com", "13800138000", "北京市海淀区中关村大街27号"));
+        student.setId(1024L);
+        student.setClassId(301L);
+        return student;
+    }
+
+    static List<StudentEventMessage> sampleMessages() {
+        Student student = sampleStudent();
+        return Arrays.asList(
+            StudentEventMessage.from(new StudentCreatedEvent(student)),
+            StudentEventMessage.from(new StudentStatusChangedEvent(student, "ACTIVE", "INACTIVE", "病假")),
+            StudentEventMessage.from(new StudentClassAssignedEvent(student, 301L, 302L)),
+            StudentEventMessage.from(new ParentAddedEvent(student,
+                new ParentInfo("欧阳建国", "父亲", "13900139000", null, "工程师", "某研究所", true))));
+    }
+
+    @Test
+    void roundTripPreservesEveryEventType() {
+        for (StudentEventMessage message : sampleMessages()) {
+            assertThat(StudentEventCodec.decode(StudentEventCodec.encode(message))).isEqualTo(message);
+        }
+    }
+
+    @Test
+    void unknownEventTypesAndStatusesAreWrittenAsText() {
+        StudentEventMessage message = StudentEventMessage.builder()
+            .eventId("not-a-uuid")
+            .eventType("StudentArchivedEvent")
+            .aggregateId("2024010203")
+            .newStatus("SUSPENDED")
+            .build();
+
+        assertThat(StudentEventCodec.decode(StudentEventCodec.encode(message))).isEqualTo(message);
+    }
+
+    @Test
+    void binaryIsMuchSmallerThanJson() {
+        JsonSerializer<Object> json = new JsonSerializer<>();
+        for (StudentEventMessage message : sampleMessages()) {
+            assertThat(StudentEventCodec.encode(message).length * 2)
+                .isLessThan(json.serialize("student-events", message).length);
+        }
+    }
+
+    @Test
+    void deserializerReadsLegacyJsonMessages() {
+        StudentEventMessage message = sampleMessages().get(1);
+        byte[] json = new JsonSerializer<>().serialize("student-events", message);
+
+        assertThat(new StudentEventDeserializer().deserialize("student-events", json)).isEqualTo(message);
+    }
+
+    @Test
+    void newerVersionsAndTruncatedMessagesAreRejected() {
+        byte[] encoded = StudentEventCodec.encode(sampleMessages().get(0));
+        byte[] newer = encoded.clone();
+        newer[1] = (byte) (StudentEventCodec.CURRENT_VERSION + 1);
+
+        assertThatThrownBy(() -> StudentEventCodec.decode(newer)).isInstanceOf(SerializationException.class);
+        assertThatThrownBy(() -> StudentEventCodec.decode(Arrays.copyOf(encoded, encoded.length - 5)))
+            .isInstanceOf(SerializationException.class);
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.student.infrastructure.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NGramIndexTest {
+
+    private NGramIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new NGramIndex();
+        index.put(1L, "张三");
+        index.put(2L, "张三丰");
+        index.put(3L, "李三张");
+        index.put(4L, "欧阳张三");
+        index.put(5L, "王五");
+    }
+
+    @Test
+    void singleCharacterQueryUsesUnigrams() {
+        assertThat(index.search("张", 0, 10, 100)).containsExactly(1L, 2L, 3L, 4L);
+    }
+
+    @Test
+    void multiCharacterQueryMatchesContiguousSubstringOnly() {
+        assertThat(index.search("张三", 0, 10, 100)).containsExactly(1L, 2L, 4L);
+        // “三张”与“张三”二元组不同，不应误命中
+        assertThat(index.search("三张", 0, 10, 100)).containsExactly(3L);
+        assertThat(index.search("阳张三", 0, 10, 100)).containsExactly(4L);
+    }
+
+    @Test
+    void pagingAndResultCap() {
+        assertThat(index.search("张", 1, 2, 100)).containsExactly(2L, 3L);
+        assertThat(index.search("张", 0, 10, 3)).containsExactly(1L, 2L, 3L);
+        assertThat(index.search("张", 3, 10, 3)).isEmpty();
+    }
+
+    @Test
+    void updateAndRemoveKeepPostingsConsistent() {
+        index.put(2L, "赵六");
+        assertThat(index.search("张三", 0, 10, 100)).containsExactly(1L, 4L);
+        assertThat(index.search("赵六", 0, 10, 100)).containsExactly(2L);
+
+        index.remove(1L);
+        assertThat(index.search("张三", 0, 10, 100)).containsExactly(4L);
+        assertThat(index.size()).isEqualTo(4);
+    }
+
+    @Test
+    void unknownGramReturnsEmpty() {
+        assertThat(index.search("孙", 0, 10, 100)).isEmpty();
+        assertThat(index.search("  ", 0, 10, 100)).isEmpty();
+    }
+}
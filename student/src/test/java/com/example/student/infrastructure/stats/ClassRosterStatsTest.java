@@ -0,0 +1,200 @@
+package com.example.student.infrastructure.stats;
+
+import com.example.student.application.dto.ClassRosterStatsDTO;
+import com.example.student.domain.entity.Student;
+import com.example.student.domain.event.StudentClassAssignedEvent;
+import com.example.student.domain.event.StudentCreatedEvent;
+import com.example.student.domain.event.StudentDeletedEvent;
+import com.example.student.domain.event.StudentStatusChangedEvent;
+import com.example.student.domain.valueobject.ContactInfo;
+import com.example.student.infrastructure.persistence.entity.RosterCountPO;
+import com.example.student.infrastructure.persistence.mapper.StudentMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ClassRosterStatsTest {
+
+    /**
+     * 模拟student表：学号到已提交的学生
+     */
+    private final Map<String, Student> table = new HashMap<>();
+
+    /**
+     * 每次分组查询返回后依次执行的动作，用于模拟查询之后才到达的事务提交回调
+     */
+    private final Deque<Runnable> afterLoad = new ArrayDeque<>();
+
+    private ClassRosterStats stats;
+
+    @BeforeEach
+    void setUp() {
+        StudentMapper mapper = mock(StudentMapper.class);
+        when(mapper.selectRosterCounts(any())).thenAnswer(invocation -> {
+            List<RosterCountPO> rows = groupBy(invocation.getArgument(0));
+            Runnable action = afterLoad.poll();
+            if (action != null) {
+                action.run();
+            }
+            return rows;
+        });
+
+        stats = new ClassRosterStats();
+        ReflectionTestUtils.setField(stats, "enabled", true);
+        ReflectionTestUtils.setField(stats, "ageBucketBounds", new int[]{6, 12, 15, 18});
+        ReflectionTestUtils.setField(stats, "studentMapper", mapper);
+        stats.reconcile();
+    }
+
+    @Test
+    void createdStudentIsCounted() {
+        Student student = commit(student("S001", 1L, 1, 13));
+        stats.onStudentEvent(new StudentCreatedEvent(student));
+
+        ClassRosterStatsDTO result = stats.get(1L);
+        assertThat(result.getTotal()).isEqualTo(1);
+        assertThat(result.getByStatus()).containsEntry("ACTIVE", 1L);
+        assertThat(result.getByGender()).containsEntry("1", 1L);
+        assertThat(result.getByAgeBucket()).containsEntry("12-14", 1L).containsEntry("15-17", 0L);
+    }
+
+    @Test
+    void statusChangeMovesCountBetweenStatuses() {
+        Student student = commit(student("S001", 1L, 0, 10));
+        stats.onStudentEvent(new StudentCreatedEvent(student));
+
+        student.setStatus("INACTIVE");
+        stats.onStudentEvent(new StudentStatusChangedEvent(student, "ACTIVE", "INACTIVE", "休学"));
+
+        ClassRosterStatsDTO result = stats.get(1L);
+        assertThat(result.getTotal()).isEqualTo(1);
+        assertThat(result.getByStatus()).containsEntry("INACTIVE", 1L).doesNotContainKey("ACTIVE");
+        assertThat(result.getByGender()).containsEntry("0", 1L);
+        assertThat(result.getByAgeBucket()).containsEntry("6-11", 1L);
+    }
+
+    @Test
+    void classMoveMovesCountBetweenClasses() {
+        Student student = commit(student("S001", 1L, 1, 13));
+        stats.onStudentEvent(new StudentCreatedEvent(student));
+
+        student.setClassId(2L);
+        stats.onStudentEvent(new StudentClassAssignedEvent(student, 1L, 2L));
+
+        assertThat(stats.get(1L).getTotal()).isZero();
+        assertThat(stats.get(2L).getTotal()).isEqualTo(1);
+        assertThat(stats.list(null)).extracting(ClassRosterStatsDTO::getClassId).containsExactly(2L);
+    }
+
+    @Test
+    void deletedStudentIsRemoved() {
+        Student first = commit(student("S001", 1L, 1, 13));
+        Student second = commit(student("S002", 1L, 0, 16));
+        stats.onStudentEvent(new StudentCreatedEvent(first));
+        stats.onStudentEvent(new StudentCreatedEvent(second));
+
+        table.remove("S001");
+        stats.onStudentEvent(new StudentDeletedEvent(first));
+
+        ClassRosterStatsDTO result = stats.get(1L);
+        assertThat(result.getTotal()).isEqualTo(1);
+        assertThat(result.getByAgeBucket()).containsEntry("12-14", 0L).containsEntry("15-17", 1L);
+    }
+
+    @Test
+    void incrementalCountsMatchFullRecount() {
+        Student first = commit(student("S001", 1L, 1, 13));
+        Student second = commit(student("S002", 1L, 0, 7));
+        stats.onStudentEvent(new StudentCreatedEvent(first));
+        stats.onStudentEvent(new StudentCreatedEvent(second));
+        first.setClassId(3L);
+        stats.onStudentEvent(new StudentClassAssignedEvent(first, 1L, 3L));
+        second.setStatus("GRADUATED");
+        stats.onStudentEvent(new StudentStatusChangedEvent(second, "ACTIVE", "GRADUATED", null));
+
+        List<ClassRosterStatsDTO> incremental = withoutTimestamp(stats.list(null));
+        stats.reconcile();
+
+        assertThat(withoutTimestamp(stats.list(null))).isEqualTo(incremental);
+    }
+
+    @Test
+    void eventAppliedAfterReconcileQueryIsNotDoubleCounted() {
+        Student student = commit(student("S001", 1L, 1, 13));
+        afterLoad.add(() -> stats.onStudentEvent(new StudentCreatedEvent(student)));
+
+        stats.reconcile();
+
+        assertThat(stats.get(1L).getTotal()).isEqualTo(1);
+    }
+
+    @Test
+    void eventsArrivingDuringRecountAreRecountedAgain() {
+        // 两个事务都在校准查询之前提交，提交回调分别在校准查询和第一轮重新统计期间才到达
+        Student first = commit(student("S001", 1L, 1, 13));
+        Student second = commit(student("S002", 2L, 0, 13));
+        afterLoad.add(() -> stats.onStudentEvent(new StudentCreatedEvent(first)));
+        afterLoad.add(() -> stats.onStudentEvent(new StudentCreatedEvent(second)));
+
+        stats.reconcile();
+
+        assertThat(afterLoad).isEmpty();
+        assertThat(stats.get(1L).getTotal()).isEqualTo(1);
+        assertThat(stats.get(2L).getTotal()).isEqualTo(1);
+    }
+
+    private Student commit(Student student) {
+        table.put(student.getStudentId(), student);
+        return student;
+    }
+
+    private static Student student(String studentNo, Long classId, int gender, int age) {
+        Student student = Student.create(studentNo, "学生" + studentNo, LocalDate.now().minusYears(age).minusDays(1),
+            gender, new ContactInfo(null, null, null));
+        student.setClassId(classId);
+        return student;
+    }
+
+    private List<RosterCountPO> groupBy(Collection<Long> classIds) {
+        Map<List<Object>, RosterCountPO> groups = new HashMap<>();
+        for (Student student : table.values()) {
+            if (student.getClassId() == null || (classIds != null && !classIds.contains(student.getClassId()))) {
+                continue;
+            }
+            int age = Period.between(student.getDateOfBirth(), LocalDate.now()).getYears();
+            List<Object> key = Arrays.asList(student.getClassId(), student.getStatus(), student.getGender(), age);
+            RosterCountPO row = groups.computeIfAbsent(key, k -> {
+                RosterCountPO group = new RosterCountPO();
+                group.setClassId(student.getClassId());
+                group.setStatus(student.getStatus());
+                group.setGender(student.getGender());
+                group.setAge(age);
+                group.setCount(0L);
+                return group;
+            });
+            row.setCount(row.getCount() + 1);
+        }
+        return new ArrayList<>(groups.values());
+    }
+
+    private static List<ClassRosterStatsDTO> withoutTimestamp(List<ClassRosterStatsDTO> list) {
+        list.forEach(dto -> dto.setReconciledAt(null));
+        return list;
+    }
+}
@@ -0,0 +1,233 @@
+package com.example.student.infrastructure.stats;
+
+import com.example.student.application.dto.StudentAnalyticsDTO;
+import com.example.student.application.dto.StudentAnalyticsGroupDTO;
+import com.example.student.application.dto.query.StudentAnalyticsQuery;
+import com.example.student.infrastructure.persistence.entity.StudentPO;
+import com.example.student.infrastructure.persistence.mapper.StudentMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Period;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class StudentAnalyticsEngineTest {
+
+    private static final String[] STATUSES = {"ACTIVE", "INACTIVE", "GRADUATED", "WITHDRAWN", "TRANSFERRED"};
+
+    private static final LocalDateTime BASE_TIME = LocalDateTime.of(2024, 9, 1, 8, 0);
+
+    private final Random random = new Random(42);
+
+    private final Map<Long, StudentPO> table = new HashMap<>();
+
+    private StudentAnalyticsEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        StudentMapper mapper = mock(StudentMapper.class);
+        when(mapper.selectChangedSince(any(), anyLong(), anyInt())).thenAnswer(invocation -> {
+            LocalDateTime since = invocation.getArgument(0);
+            long afterId = invocation.getArgument(1);
+            int limit = invocation.getArgument(2);
+            return table.values().stream()
+                .filter(row -> row.getUpdateTime().isAfter(since)
+                    || row.getUpdateTime().isEqual(since) && row.getId() > afterId)
+                .sorted(Comparator.comparing(StudentPO::getUpdateTime).thenComparing(StudentPO::getId))
+                .limit(limit)
+                .collect(Collectors.toList());
+        });
+
+        engine = new StudentAnalyticsEngine();
+        ReflectionTestUtils.setField(engine, "studentMapper", mapper);
+        ReflectionTestUtils.setField(engine, "enabled", true);
+        ReflectionTestUtils.setField(engine, "watermarkOverlapSeconds", 5);
+        ReflectionTestUtils.setField(engine, "fullReloadIntervalMs", Long.MAX_VALUE);
+        engine.init();
+
+        for (long id = 1; id <= 60_000; id++) {
+            table.put(id, randomStudent(id, BASE_TIME.plusSeconds(id / 100)));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        engine.shutdown();
+    }
+
+    @Test
+    void aggregatesSameAsNaiveGroupBy() {
+        engine.reload();
+
+        StudentAnalyticsQuery query = query("status", "gender", "enrollmentYear");
+        assertThat(counts(engine.aggregate(query))).isEqualTo(naiveCounts(query));
+
+        StudentAnalyticsQuery filtered = query("classId", "age");
+        filtered.setStatuses(Arrays.asList("ACTIVE", "INACTIVE"));
+        filtered.setGender(1);
+        filtered.setMinAge(10);
+        filtered.setMaxAge(15);
+        StudentAnalyticsDTO result = engine.aggregate(filtered);
+        assertThat(counts(result)).isEqualTo(naiveCounts(filtered));
+        assertThat(result.getTotal()).isEqualTo(naiveCounts(filtered).values().stream().mapToLong(Long::longValue).sum());
+    }
+
+    @Test
+    void refreshAppliesChangesAfterWatermark() {
+        engine.reload();
+        LocalDateTime later = BASE_TIME.plusDays(1);
+        for (long id = 1; id <= 500; id++) {
+            StudentPO row = table.get(id);
+            row.setStatus("GRADUATED");
+            row.setClassId(999L);
+            row.setUpdateTime(later);
+        }
+        for (long id = 501; id <= 700; id++) {
+            table.get(id).setDeleted(1);
+            table.get(id).setUpdateTime(later);
+        }
+        for (long id = 60_001; id <= 60_300; id++) {
+            table.put(id, randomStudent(id, later.plusSeconds(1)));
+        }
+
+        engine.refresh();
+
+        StudentAnalyticsQuery query = query("classId", "status");
+        StudentAnalyticsDTO result = engine.aggregate(query);
+        assertThat(counts(result)).isEqualTo(naiveCounts(query));
+        assertThat(result.getSnapshotRows()).isEqualTo(60_100);
+        assertThat(result.getSnapshotWatermark()).isEqualTo(later.plusSeconds(1));
+    }
+
+    @Test
+    void refreshWithoutDimensionChangesDoesNotCopyColumns() {
+        engine.reload();
+        StudentColumnarSnapshot before = snapshot();
+
+        // 重叠窗口内的行被重读，另有只修改了非统计字段的行
+        engine.refresh();
+        assertThat(snapshot()).isSameAs(before);
+
+        LocalDateTime later = BASE_TIME.plusDays(1);
+        table.get(1L).setName("改名");
+        table.get(1L).setUpdateTime(later);
+        engine.refresh();
+
+        StudentColumnarSnapshot after = snapshot();
+        assertThat(after.getWatermark()).isEqualTo(later);
+        assertThat(after.ids).isSameAs(before.ids);
+        assertThat(after.statusCodes).isSameAs(before.statusCodes);
+
+        table.get(2L).setStatus("GRADUATED".equals(table.get(2L).getStatus()) ? "ACTIVE" : "GRADUATED");
+        table.get(2L).setUpdateTime(later.plusSeconds(1));
+        engine.refresh();
+
+        assertThat(snapshot().ids).isNotSameAs(before.ids);
+        StudentAnalyticsQuery query = query("status");
+        assertThat(counts(engine.aggregate(query))).isEqualTo(naiveCounts(query));
+    }
+
+    @Test
+    void totalOnlyWithoutGroupBy() {
+        engine.reload();
+
+        StudentAnalyticsDTO result = engine.aggregate(new StudentAnalyticsQuery());
+
+        assertThat(result.getGroups()).hasSize(1);
+        assertThat(result.getTotal()).isEqualTo(60_000);
+    }
+
+    @Test
+    void rejectsUnknownDimension() {
+        engine.reload();
+
+        assertThatThrownBy(() -> engine.aggregate(query("grade")))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private StudentPO randomStudent(long id, LocalDateTime updateTime) {
+        StudentPO student = new StudentPO();
+        student.setId(id);
+        student.setStatus(STATUSES[random.nextInt(STATUSES.length)]);
+        student.setGender(random.nextInt(10) == 0 ? null : random.nextInt(2));
+        student.setClassId(random.nextInt(20) == 0 ? null : 100L + random.nextInt(60));
+        student.setDateOfBirth(random.nextInt(20) == 0 ? null : LocalDate.of(2005, 1, 1).plusDays(random.nextInt(4000)));
+        student.setEnrollmentDate(random.nextInt(20) == 0 ? null : LocalDate.of(2015 + random.nextInt(10), 9, 1));
+        student.setUpdateTime(updateTime);
+        student.setDeleted(0);
+        return student;
+    }
+
+    private static StudentAnalyticsQuery query(String... groupBy) {
+        StudentAnalyticsQuery query = new StudentAnalyticsQuery();
+        query.setGroupBy(Arrays.asList(groupBy));
+        return query;
+    }
+
+    private static Map<List<Object>, Long> counts(StudentAnalyticsDTO result) {
+        return result.getGroups().stream()
+            .collect(Collectors.toMap(group -> new ArrayList<>(group.getKey().values()), StudentAnalyticsGroupDTO::getCount));
+    }
+
+    private Map<List<Object>, Long> naiveCounts(StudentAnalyticsQuery query) {
+        LocalDate today = LocalDate.now();
+        return table.values().stream()
+            .filter(row -> row.getDeleted() == 0)
+            .filter(row -> query.getStatuses() == null || query.getStatuses().contains(row.getStatus()))
+            .filter(row -> query.getGender() == null || query.getGender().equals(row.getGender()))
+            .filter(row -> query.getMinAge() == null || row.getDateOfBirth() != null
+                && age(row, today) >= query.getMinAge() && age(row, today) <= query.getMaxAge())
+            .collect(Collectors.groupingBy(row -> {
+                Map<String, Object> key = new LinkedHashMap<>();
+                for (String dimension : query.getGroupBy()) {
+                    key.put(dimension, value(row, dimension, today));
+                }
+                return new ArrayList<>(key.values());
+            }, Collectors.counting()));
+    }
+
+    private static Object value(StudentPO row, String dimension, LocalDate today) {
+        switch (dimension) {
+            case "status":
+                return row.getStatus();
+            case "gender":
+                return row.getGender();
+            case "classId":
+                return row.getClassId();
+            case "enrollmentYear":
+                return row.getEnrollmentDate() == null ? null : row.getEnrollmentDate().getYear();
+            case "age":
+                return row.getDateOfBirth() == null ? null : age(row, today);
+            default:
+                throw new IllegalArgumentException(dimension);
+        }
+    }
+
+    private static Integer age(StudentPO row, LocalDate today) {
+        return Period.between(row.getDateOfBirth(), today).getYears();
+    }
+
+    private StudentColumnarSnapshot snapshot() {
+        return (StudentColumnarSnapshot) ReflectionTestUtils.getField(engine, "snapshot");
+    }
+}
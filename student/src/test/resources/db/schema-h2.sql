@@ -0,0 +1,20 @@
+-- 测试用学生表（H2 MySQL兼容模式），列与db/init.sql中的t_student保持一致
+CREATE TABLE IF NOT EXISTS t_student (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    student_no VARCHAR(20) NOT NULL,
+    name VARCHAR(50) NOT NULL,
+    date_of_birth DATE,
+    gender TINYINT,
+    class_id BIGINT,
+    email VARCHAR(100),
+    phone VARCHAR(20),
+    address VARCHAR(255),
+    status VARCHAR(20) NOT NULL DEFAULT 'ACTIVE',
+    enrollment_date DATE,
+    graduation_date DATE,
+    create_time DATETIME DEFAULT CURRENT_TIMESTAMP,
+    update_time DATETIME DEFAULT CURRENT_TIMESTAMP,
+    deleted TINYINT DEFAULT 0,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_student_no UNIQUE (student_no)
+);
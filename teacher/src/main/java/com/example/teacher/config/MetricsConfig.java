@@ -0,0 +1,13 @@
+package com.example.teacher.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+/**
+ * 导入通用监控指标配置
+ */
+@Configuration
+@Import(com.example.common.config.MetricsConfig.class)
+public class MetricsConfig {
+    // 服务层通过@Timed注解计时，Mapper耗时由通用的MyBatis指标拦截器统计
+}
@@ -0,0 +1,27 @@
+package com.example.teacher.config;
+
+import com.example.teacher.search.TeacherIndexInvalidation;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * 注册教师索引失效广播的订阅容器
+ */
+@Configuration
+public class RedisConfig {
+
+    /**
+     * 订阅教师索引失效频道
+     */
+    @Bean
+    public RedisMessageListenerContainer teacherIndexListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                       TeacherIndexInvalidation listener) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(listener, new ChannelTopic(TeacherIndexInvalidation.CHANNEL));
+        return container;
+    }
+}
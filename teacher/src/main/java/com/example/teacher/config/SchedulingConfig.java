@@ -0,0 +1,12 @@
+package com.example.teacher.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * 启用定时任务（查询索引定时重建）
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,12 @@
+package com.example.teacher.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+/**
+ * 导入通用虚拟线程配置（virtual-threads.enabled=true时生效）
+ */
+@Configuration
+@Import(com.example.common.config.VirtualThreadConfig.class)
+public class VirtualThreadConfig {
+}
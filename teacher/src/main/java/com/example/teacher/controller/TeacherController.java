@@ -2,10 +2,13 @@ package com.example.teacher.controller;
 
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.example.common.response.Result;
+import com.example.common.suggest.Suggestion;
+import com.example.common.web.ResourceVersion;
 import com.example.teacher.entity.Teacher;
 import com.example.teacher.service.TeacherService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -56,13 +59,17 @@ public class TeacherController {
     }
 
     /**
-     * 根据ID查询教师
+     * 根据ID查询教师，支持If-None-Match条件请求，未修改时返回304且不加载教师
      *
      * @param id 教师ID
-     * @return 教师信息
+     * @param webRequest 当前请求
+     * @return 教师信息，未修改时返回null
      */
     @GetMapping("/{id}")
-    public Result<Teacher> getById(@PathVariable Long id) {
+    public Result<Teacher> getById(@PathVariable Long id, WebRequest webRequest) {
+        if (notModified(teacherService.getTeacherVersion(id), webRequest, "teacher:" + id)) {
+            return null;
+        }
         Teacher teacher = teacherService.getById(id);
         return Result.success(teacher);
     }
@@ -86,24 +93,45 @@ public class TeacherController {
     }
 
     /**
-     * 查询教师列表
+     * 教师姓名输入联想
      *
-     * @return 教师列表
+     * @param q     输入前缀（汉字、全拼或拼音首字母）
+     * @param limit 返回条数
+     * @return 联想结果
+     */
+    @GetMapping("/suggest")
+    public Result<List<Suggestion>> suggest(@RequestParam String q,
+                                            @RequestParam(defaultValue = "10") int limit) {
+        return Result.success(teacherService.suggest(q, limit));
+    }
+
+    /**
+     * 查询教师列表，支持If-None-Match条件请求
+     *
+     * @param webRequest 当前请求
+     * @return 教师列表，未修改时返回null
      */
     @GetMapping("/list")
-    public Result<List<Teacher>> list() {
+    public Result<List<Teacher>> list(WebRequest webRequest) {
+        if (notModified(teacherService.getTeacherListVersion(null), webRequest, "teachers")) {
+            return null;
+        }
         List<Teacher> list = teacherService.list();
         return Result.success(list);
     }
 
     /**
-     * 根据部门ID查询教师列表
+     * 根据部门ID查询教师列表，支持If-None-Match条件请求
      *
      * @param departmentId 部门ID
-     * @return 教师列表
+     * @param webRequest 当前请求
+     * @return 教师列表，未修改时返回null
      */
     @GetMapping("/department/{departmentId}")
-    public Result<List<Teacher>> getByDepartment(@PathVariable Long departmentId) {
+    public Result<List<Teacher>> getByDepartment(@PathVariable Long departmentId, WebRequest webRequest) {
+        if (notModified(teacherService.getTeacherListVersion(departmentId), webRequest, "teachers:department=" + departmentId)) {
+            return null;
+        }
         List<Teacher> list = teacherService.getTeachersByDepartment(departmentId);
         return Result.success(list);
     }
@@ -119,4 +147,44 @@ public class TeacherController {
         List<Teacher> list = teacherService.getTeachersBySpecialization(specialization);
         return Result.success(list);
     }
+
+    /**
+     * 按专业标签组合查询教师，如 ?tags=数据库,大数据&amp;match=all&amp;departmentId=1
+     *
+     * @param tags 专业标签，多个以逗号分隔
+     * @param match 匹配方式：all 包含全部标签，any 包含任一标签
+     * @param departmentId 院系ID
+     * @param page 当前页码
+     * @param size 每页大小
+     * @return 分页结果
+     */
+    @GetMapping("/by-tags")
+    public Result<Page<Teacher>> getByTags(@RequestParam List<String> tags,
+                                           @RequestParam(defaultValue = "all") String match,
+                                           @RequestParam(required = false) Long departmentId,
+                                           @RequestParam(defaultValue = "1") long page,
+                                           @RequestParam(defaultValue = "10") long size) {
+        boolean matchAll;
+        if ("all".equalsIgnoreCase(match)) {
+            matchAll = true;
+        } else if ("any".equalsIgnoreCase(match)) {
+            matchAll = false;
+        } else {
+            throw new IllegalArgumentException("不支持的匹配方式: " + match);
+        }
+        Page<Teacher> result = teacherService.getTeachersByTags(tags, matchAll, departmentId, new Page<>(page, size));
+        return Result.success(result);
+    }
+
+    /**
+     * 校验条件请求，版本指纹在加载数据之前查询
+     *
+     * @param version 版本指纹，为null时不做判断
+     * @param webRequest 当前请求
+     * @param scope 资源范围
+     * @return 是否未修改
+     */
+    private boolean notModified(ResourceVersion version, WebRequest webRequest, String scope) {
+        return version != null && version.checkNotModified(webRequest, scope);
+    }
 } 
\ No newline at end of file
@@ -116,4 +116,10 @@ public class Teacher implements Serializable {
      */
     @TableLogic
     private Integer deleted;
+
+    /**
+     * 版本号，由数据库在每次按ID修改时加1，忽略客户端传入的值
+     */
+    @TableField(insertStrategy = FieldStrategy.NEVER, update = "%s+1", updateStrategy = FieldStrategy.IGNORED)
+    private Long version;
 } 
\ No newline at end of file
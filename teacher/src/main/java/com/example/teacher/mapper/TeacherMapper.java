@@ -1,8 +1,10 @@
 package com.example.teacher.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.example.common.web.ResourceVersion;
 import com.example.teacher.entity.Teacher;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
 
 /**
  * 教师Mapper接口
@@ -10,4 +12,20 @@ import org.apache.ibatis.annotations.Mapper;
  */
 @Mapper
 public interface TeacherMapper extends BaseMapper<Teacher> {
+
+    /**
+     * 查询单个教师的版本
+     *
+     * @param id 教师ID
+     * @return 版本指纹，不存在时返回null
+     */
+    ResourceVersion selectVersionById(@Param("id") Long id);
+
+    /**
+     * 查询教师列表的版本
+     *
+     * @param departmentId 部门ID，为null时不过滤
+     * @return 版本指纹
+     */
+    ResourceVersion selectListVersion(@Param("departmentId") Long departmentId);
 } 
\ No newline at end of file
@@ -0,0 +1,340 @@
+package com.example.teacher.search;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * 压缩的文档号位图（Roaring思路）
+ * <p>
+ * 文档号按高16位分块，每块按基数选择存储方式：不超过4096个时用有序char数组（每个成员2字节），
+ * 超过时用定长的65536位位图（8KB）。稀疏的标签只占成员数两倍的字节，稠密的标签不超过普通位图。
+ * {@link #and}和{@link #or}返回新的位图，不修改参与运算的位图。非线程安全，由调用方加锁。
+ */
+final class CompressedBitmap {
+
+    private static final CompressedBitmap EMPTY = new CompressedBitmap();
+
+    /**
+     * 数组块的最大基数，超过后转为位图块；4096个char与位图块同为8KB
+     */
+    private static final int ARRAY_MAX = 4096;
+
+    /**
+     * 各块的高16位，升序
+     */
+    private char[] keys = new char[0];
+
+    private Container[] containers = new Container[0];
+
+    private int size;
+
+    static CompressedBitmap empty() {
+        return EMPTY;
+    }
+
+    /**
+     * 添加文档号
+     */
+    void add(int doc) {
+        char key = high(doc);
+        int pos = Arrays.binarySearch(keys, 0, size, key);
+        if (pos >= 0) {
+            containers[pos] = containers[pos].add(low(doc));
+            return;
+        }
+        Container container = new Container(new char[4], 0);
+        insert(-pos - 1, key, container.add(low(doc)));
+    }
+
+    /**
+     * 删除文档号，块为空时一并删除
+     */
+    void remove(int doc) {
+        int pos = Arrays.binarySearch(keys, 0, size, high(doc));
+        if (pos < 0) {
+            return;
+        }
+        Container container = containers[pos].remove(low(doc));
+        if (container.cardinality == 0) {
+            System.arraycopy(keys, pos + 1, keys, pos, size - pos - 1);
+            System.arraycopy(containers, pos + 1, containers, pos, size - pos - 1);
+            containers[--size] = null;
+        } else {
+            containers[pos] = container;
+        }
+    }
+
+    boolean contains(int doc) {
+        int pos = Arrays.binarySearch(keys, 0, size, high(doc));
+        return pos >= 0 && containers[pos].contains(low(doc));
+    }
+
+    int cardinality() {
+        int cardinality = 0;
+        for (int i = 0; i < size; i++) {
+            cardinality += containers[i].cardinality;
+        }
+        return cardinality;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * 交集，只处理两侧都存在的块
+     */
+    CompressedBitmap and(CompressedBitmap other) {
+        CompressedBitmap result = new CompressedBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < size && j < other.size) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                Container container = containers[i].and(other.containers[j]);
+                if (container.cardinality > 0) {
+                    result.insert(result.size, keys[i], container);
+                }
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 并集
+     */
+    CompressedBitmap or(CompressedBitmap other) {
+        CompressedBitmap result = new CompressedBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < size || j < other.size) {
+            if (j >= other.size || (i < size && keys[i] < other.keys[j])) {
+                result.insert(result.size, keys[i], containers[i].copy());
+                i++;
+            } else if (i >= size || keys[i] > other.keys[j]) {
+                result.insert(result.size, other.keys[j], other.containers[j].copy());
+                j++;
+            } else {
+                result.insert(result.size, keys[i], containers[i].or(other.containers[j]));
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 转为普通位图，便于与其他过滤条件求交集
+     */
+    BitSet toBitSet() {
+        BitSet bits = new BitSet();
+        for (int i = 0; i < size; i++) {
+            containers[i].copyTo(bits, keys[i] << 16);
+        }
+        return bits;
+    }
+
+    private void insert(int pos, char key, Container container) {
+        if (size == keys.length) {
+            int capacity = keys.length + (keys.length >> 1) + 1;
+            keys = Arrays.copyOf(keys, capacity);
+            containers = Arrays.copyOf(containers, capacity);
+        }
+        System.arraycopy(keys, pos, keys, pos + 1, size - pos);
+        System.arraycopy(containers, pos, containers, pos + 1, size - pos);
+        keys[pos] = key;
+        containers[pos] = container;
+        size++;
+    }
+
+    private static char high(int doc) {
+        return (char) (doc >>> 16);
+    }
+
+    private static char low(int doc) {
+        return (char) doc;
+    }
+
+    /**
+     * 一个块内的低16位集合：array不为null时为数组块，否则为位图块
+     */
+    private static final class Container {
+
+        private char[] array;
+
+        private long[] words;
+
+        private int cardinality;
+
+        Container(char[] array, int cardinality) {
+            this.array = array;
+            this.cardinality = cardinality;
+        }
+
+        Container(long[] words, int cardinality) {
+            this.words = words;
+            this.cardinality = cardinality;
+        }
+
+        Container add(char value) {
+            if (words != null) {
+                long mask = 1L << value;
+                if ((words[value >>> 6] & mask) == 0) {
+                    words[value >>> 6] |= mask;
+                    cardinality++;
+                }
+                return this;
+            }
+            int pos = Arrays.binarySearch(array, 0, cardinality, value);
+            if (pos >= 0) {
+                return this;
+            }
+            if (cardinality == ARRAY_MAX) {
+                return toBitmap().add(value);
+            }
+            if (cardinality == array.length) {
+                array = Arrays.copyOf(array, Math.min(ARRAY_MAX, array.length + (array.length >> 1) + 1));
+            }
+            int insertAt = -pos - 1;
+            System.arraycopy(array, insertAt, array, insertAt + 1, cardinality - insertAt);
+            array[insertAt] = value;
+            cardinality++;
+            return this;
+        }
+
+        Container remove(char value) {
+            if (words != null) {
+                long mask = 1L << value;
+                if ((words[value >>> 6] & mask) != 0) {
+                    words[value >>> 6] &= ~mask;
+                    cardinality--;
+                }
+                return cardinality <= ARRAY_MAX ? toArray() : this;
+            }
+            int pos = Arrays.binarySearch(array, 0, cardinality, value);
+            if (pos >= 0) {
+                System.arraycopy(array, pos + 1, array, pos, cardinality - pos - 1);
+                cardinality--;
+            }
+            return this;
+        }
+
+        boolean contains(char value) {
+            if (words != null) {
+                return (words[value >>> 6] & (1L << value)) != 0;
+            }
+            return Arrays.binarySearch(array, 0, cardinality, value) >= 0;
+        }
+
+        Container and(Container other) {
+            if (words != null && other.words != null) {
+                long[] result = new long[1024];
+                int count = 0;
+                for (int i = 0; i < result.length; i++) {
+                    result[i] = words[i] & other.words[i];
+                    count += Long.bitCount(result[i]);
+                }
+                Container container = new Container(result, count);
+                return count <= ARRAY_MAX ? container.toArray() : container;
+            }
+            // 至少一侧是数组块：遍历较小的数组，在另一侧查找
+            Container small = array != null && (other.array == null || cardinality <= other.cardinality) ? this : other;
+            Container large = small == this ? other : this;
+            char[] result = new char[small.cardinality];
+            int count = 0;
+            for (int i = 0; i < small.cardinality; i++) {
+                if (large.contains(small.array[i])) {
+                    result[count++] = small.array[i];
+                }
+            }
+            return new Container(result, count);
+        }
+
+        Container or(Container other) {
+            if (array != null && other.array != null && cardinality + other.cardinality <= ARRAY_MAX) {
+                char[] result = new char[cardinality + other.cardinality];
+                int i = 0;
+                int j = 0;
+                int k = 0;
+                while (i < cardinality || j < other.cardinality) {
+                    if (j >= other.cardinality || (i < cardinality && array[i] < other.array[j])) {
+                        result[k++] = array[i++];
+                    } else if (i >= cardinality || array[i] > other.array[j]) {
+                        result[k++] = other.array[j++];
+                    } else {
+                        result[k++] = array[i++];
+                        j++;
+                    }
+                }
+                return new Container(result, k);
+            }
+            long[] result = new long[1024];
+            orInto(result);
+            other.orInto(result);
+            int count = 0;
+            for (long word : result) {
+                count += Long.bitCount(word);
+            }
+            Container container = new Container(result, count);
+            return count <= ARRAY_MAX ? container.toArray() : container;
+        }
+
+        Container copy() {
+            return words != null
+                ? new Container(words.clone(), cardinality)
+                : new Container(Arrays.copyOf(array, cardinality), cardinality);
+        }
+
+        void copyTo(BitSet bits, int base) {
+            if (words == null) {
+                for (int i = 0; i < cardinality; i++) {
+                    bits.set(base | array[i]);
+                }
+                return;
+            }
+            for (int i = 0; i < words.length; i++) {
+                long word = words[i];
+                while (word != 0) {
+                    bits.set(base | (i << 6) | Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+        }
+
+        private void orInto(long[] target) {
+            if (words != null) {
+                for (int i = 0; i < target.length; i++) {
+                    target[i] |= words[i];
+                }
+                return;
+            }
+            for (int i = 0; i < cardinality; i++) {
+                target[array[i] >>> 6] |= 1L << array[i];
+            }
+        }
+
+        private Container toBitmap() {
+            long[] result = new long[1024];
+            orInto(result);
+            return new Container(result, cardinality);
+        }
+
+        private Container toArray() {
+            char[] result = new char[cardinality];
+            int k = 0;
+            for (int i = 0; i < words.length; i++) {
+                long word = words[i];
+                while (word != 0) {
+                    result[k++] = (char) ((i << 6) | Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+            return new Container(result, cardinality);
+        }
+    }
+}
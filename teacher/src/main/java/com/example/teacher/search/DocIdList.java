@@ -0,0 +1,69 @@
+package com.example.teacher.search;
+
+import java.util.Arrays;
+
+/**
+ * 有序的文档号倒排列表，基于原始int数组实现以减少装箱开销
+ * <p>
+ * 二元组的倒排通常很稀疏，用有序数组比按文档总数分配的位图省内存。非线程安全，由调用方加锁。
+ */
+final class DocIdList {
+
+    private int[] docs = new int[4];
+
+    private int size;
+
+    /**
+     * 添加文档号，已存在时忽略
+     */
+    void add(int doc) {
+        if (size == 0 || docs[size - 1] < doc) {
+            ensureCapacity();
+            docs[size++] = doc;
+            return;
+        }
+        int pos = Arrays.binarySearch(docs, 0, size, doc);
+        if (pos >= 0) {
+            return;
+        }
+        int insertAt = -pos - 1;
+        ensureCapacity();
+        System.arraycopy(docs, insertAt, docs, insertAt + 1, size - insertAt);
+        docs[insertAt] = doc;
+        size++;
+    }
+
+    /**
+     * 删除文档号，不存在时忽略
+     */
+    void remove(int doc) {
+        int pos = Arrays.binarySearch(docs, 0, size, doc);
+        if (pos < 0) {
+            return;
+        }
+        System.arraycopy(docs, pos + 1, docs, pos, size - pos - 1);
+        size--;
+    }
+
+    boolean contains(int doc) {
+        return Arrays.binarySearch(docs, 0, size, doc) >= 0;
+    }
+
+    int get(int index) {
+        return docs[index];
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    private void ensureCapacity() {
+        if (size == docs.length) {
+            docs = Arrays.copyOf(docs, docs.length + (docs.length >> 1) + 1);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.teacher.search;
+
+import com.example.teacher.entity.Teacher;
+import com.example.teacher.mapper.TeacherMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 教师索引跨节点同步
+ * <p>
+ * 1. 本节点修改教师后广播教师ID；
+ * 2. 接收广播后从数据库重新加载该教师，更新本节点的查询索引和联想索引（本节点发出的广播同样处理一次，结果不变）。
+ */
+@Component
+@Slf4j
+public class TeacherIndexInvalidation implements MessageListener {
+
+    /**
+     * 跨节点失效广播频道
+     */
+    public static final String CHANNEL = "teacher:index:invalidate";
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @Autowired
+    private TeacherMapper teacherMapper;
+
+    @Autowired
+    private TeacherSearchIndex teacherSearchIndex;
+
+    @Autowired
+    private TeacherSuggestIndex teacherSuggestIndex;
+
+    /**
+     * 向其他节点广播教师变更
+     *
+     * @param id 教师ID
+     */
+    public void broadcast(Long id) {
+        try {
+            redisTemplate.convertAndSend(CHANNEL, String.valueOf(id));
+        } catch (Exception e) {
+            // 其他节点的索引由定时重建修正
+            log.warn("广播教师索引失效消息失败: id={}", id, e);
+        }
+    }
+
+    /**
+     * 处理教师变更广播
+     *
+     * @param message Redis消息
+     * @param pattern 订阅模式
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            Long id = Long.valueOf(new String(message.getBody(), StandardCharsets.UTF_8));
+            Teacher teacher = teacherMapper.selectById(id);
+            if (teacher == null) {
+                teacherSearchIndex.remove(id);
+                teacherSuggestIndex.remove(id);
+            } else {
+                teacherSearchIndex.put(teacher);
+                teacherSuggestIndex.put(teacher);
+            }
+        } catch (Exception e) {
+            log.warn("处理教师索引失效广播失败", e);
+        }
+    }
+}
@@ -0,0 +1,519 @@
+package com.example.teacher.search;
+
+import com.example.teacher.entity.Teacher;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.util.StringUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * 教师分页查询的内存倒排索引
+ * <p>
+ * 每个教师分配一个稠密的文档号。工号、姓名、专业领域按字段建立一元组/二元组倒排，匹配规则与SQL的 LIKE '%x%' 一致：
+ * 单字查询用一元组，多字查询对二元组倒排求交集，长度不小于3时再用原文校验；性别、职称、学历、院系的每个取值对应一个文档号位图。
+ * 专业领域另按分隔符拆分为标签，标签字典中的每个标签对应一个压缩位图，多标签查询通过位图交集/并集完成。
+ * 命中结果按创建时间降序（为空的排在最后）、ID降序排列，只对前offset+limit条做堆排序。读多写少，使用读写锁保护。
+ */
+public class TeacherInvertedIndex {
+
+    /**
+     * 命中结果的排列顺序，与SQL的 ORDER BY create_time DESC 一致，创建时间相同时按ID降序保证翻页稳定
+     */
+    static final Comparator<Teacher> ORDER = Comparator
+        .comparing(Teacher::getCreateTime, Comparator.nullsFirst(Comparator.<LocalDateTime>naturalOrder()))
+        .reversed()
+        .thenComparing(Teacher::getId, Comparator.reverseOrder());
+
+    /**
+     * 参与子串匹配的字段，下标即倒排键中的字段编号
+     */
+    private static final List<Function<Teacher, String>> TEXT_FIELDS = Arrays.asList(
+        Teacher::getTeacherNo, Teacher::getName, Teacher::getSpecialization);
+
+    private static final int TEACHER_NO = 0;
+
+    private static final int NAME = 1;
+
+    private static final int SPECIALIZATION = 2;
+
+    /**
+     * 专业领域中标签的分隔符
+     */
+    private static final Pattern TAG_SEPARATOR = Pattern.compile("[,，、;；]");
+
+    /**
+     * 教师ID -> 文档号
+     */
+    private final Map<Long, Integer> docsById = new HashMap<>();
+
+    /**
+     * 文档号 -> 教师，空闲的文档号为null
+     */
+    private final List<Teacher> teachers = new ArrayList<>();
+
+    /**
+     * 已使用的文档号，删除后空出的文档号优先复用
+     */
+    private final BitSet live = new BitSet();
+
+    /**
+     * (字段编号, gram) -> 有序文档号列表；一元组gram为字符本身，二元组gram为两个字符拼接的int
+     */
+    private final Map<Long, DocIdList> postings = new HashMap<>();
+
+    private final Map<Integer, BitSet> genders = new HashMap<>();
+
+    private final Map<Integer, BitSet> titles = new HashMap<>();
+
+    private final Map<Integer, BitSet> educations = new HashMap<>();
+
+    private final Map<Long, BitSet> departments = new HashMap<>();
+
+    /**
+     * 专业标签字典：标签 -> 标签编号
+     */
+    private final Map<String, Integer> tagIds = new HashMap<>();
+
+    /**
+     * 标签编号 -> 拥有该标签的文档号
+     */
+    private final List<CompressedBitmap> tagDocs = new ArrayList<>();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * 添加或更新教师
+     *
+     * @param teacher 教师信息，需包含全部参与查询和返回的字段
+     */
+    public void put(Teacher teacher) {
+        lock.writeLock().lock();
+        try {
+            Integer doc = docsById.get(teacher.getId());
+            if (doc != null) {
+                unindex(doc);
+            } else {
+                doc = live.nextClearBit(0);
+            }
+            index(doc, teacher);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 删除教师
+     *
+     * @param id 教师ID
+     */
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            Integer doc = docsById.get(id);
+            if (doc != null) {
+                unindex(doc);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 按条件查询，条件口径与教师分页查询的SQL一致：工号、姓名、专业领域为子串匹配，其余为精确匹配，为空的条件不参与过滤
+     *
+     * @param criteria 查询条件，可以为null
+     * @param offset   跳过的结果数
+     * @param limit    返回的最大结果数，小于0时不限制
+     * @return 命中总数和当前页教师；返回的是索引中保存的对象，调用方不应修改
+     */
+    public Hits search(Teacher criteria, long offset, long limit) {
+        lock.readLock().lock();
+        try {
+            BitSet matched = (BitSet) live.clone();
+            if (criteria != null) {
+                filter(matched, genders, criteria.getGender());
+                filter(matched, titles, criteria.getTitle());
+                filter(matched, educations, criteria.getEducation());
+                filter(matched, departments, criteria.getDepartmentId());
+                match(matched, TEACHER_NO, criteria.getTeacherNo());
+                match(matched, NAME, criteria.getName());
+                match(matched, SPECIALIZATION, criteria.getSpecialization());
+            }
+            int total = matched.cardinality();
+            return new Hits(total, top(matched, total, offset, limit));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 按专业标签查询，标签按字典精确匹配而不是子串匹配
+     *
+     * @param tags         标签列表
+     * @param matchAll     为true时要求包含全部标签，否则包含任一标签即可
+     * @param departmentId 院系ID，为null时不过滤
+     * @param offset       跳过的结果数
+     * @param limit        返回的最大结果数，小于0时不限制
+     * @return 命中总数和当前页教师；返回的是索引中保存的对象，调用方不应修改
+     */
+    public Hits searchByTags(Collection<String> tags, boolean matchAll, Long departmentId, long offset, long limit) {
+        lock.readLock().lock();
+        try {
+            List<CompressedBitmap> bitmaps = new ArrayList<>();
+            for (String tag : tags) {
+                Integer tagId = tagIds.get(normalize(tag));
+                bitmaps.add(tagId == null ? CompressedBitmap.empty() : tagDocs.get(tagId));
+            }
+            CompressedBitmap result = null;
+            if (matchAll) {
+                // 从最小的位图开始求交集，中间结果尽早变小
+                bitmaps.sort(Comparator.comparingInt(CompressedBitmap::cardinality));
+                for (CompressedBitmap bitmap : bitmaps) {
+                    result = result == null ? bitmap : result.and(bitmap);
+                    if (result.isEmpty()) {
+                        break;
+                    }
+                }
+            } else {
+                for (CompressedBitmap bitmap : bitmaps) {
+                    result = result == null ? bitmap : result.or(bitmap);
+                }
+            }
+            BitSet matched = result == null ? new BitSet() : result.toBitSet();
+            filter(matched, departments, departmentId);
+            int total = matched.cardinality();
+            return new Hits(total, top(matched, total, offset, limit));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 标签数量
+     *
+     * @return 至少有一个教师使用的标签数量
+     */
+    public int tagCount() {
+        lock.readLock().lock();
+        try {
+            return (int) tagDocs.stream().filter(bitmap -> !bitmap.isEmpty()).count();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 将专业领域拆分为标签，去除空白、统一小写并去重
+     *
+     * @param specialization 专业领域，如“人工智能,机器学习”
+     * @return 标签列表
+     */
+    public static List<String> parseTags(String specialization) {
+        if (specialization == null) {
+            return Collections.emptyList();
+        }
+        Set<String> tags = new LinkedHashSet<>();
+        for (String tag : TAG_SEPARATOR.split(specialization)) {
+            String normalized = normalize(tag);
+            if (!normalized.isEmpty()) {
+                tags.add(normalized);
+            }
+        }
+        return new ArrayList<>(tags);
+    }
+
+    /**
+     * 将专业领域整理为存储格式：按与{@link #parseTags}相同的分隔符拆分，去除空白和重复标签后以英文逗号连接
+     * <p>
+     * 保留原有大小写；专业领域列的排序规则不区分大小写，整理后FIND_IN_SET查询与标签索引的匹配结果一致。
+     *
+     * @param specialization 专业领域，如“人工智能， 机器学习、”
+     * @return 整理后的专业领域，如“人工智能,机器学习”；为null时返回null
+     */
+    public static String canonicalSpecialization(String specialization) {
+        if (specialization == null) {
+            return null;
+        }
+        Map<String, String> tags = new LinkedHashMap<>();
+        for (String tag : TAG_SEPARATOR.split(specialization)) {
+            String trimmed = tag.trim();
+            if (!trimmed.isEmpty()) {
+                tags.putIfAbsent(normalize(trimmed), trimmed);
+            }
+        }
+        return String.join(",", tags.values());
+    }
+
+    /**
+     * 清空索引
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            docsById.clear();
+            teachers.clear();
+            live.clear();
+            postings.clear();
+            genders.clear();
+            titles.clear();
+            educations.clear();
+            departments.clear();
+            tagIds.clear();
+            tagDocs.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 教师数量
+     *
+     * @return 已索引的教师数量
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docsById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 查询结果
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static final class Hits {
+
+        /**
+         * 命中总数
+         */
+        private final long total;
+
+        /**
+         * 当前页教师
+         */
+        private final List<Teacher> teachers;
+    }
+
+    private void index(int doc, Teacher teacher) {
+        while (teachers.size() <= doc) {
+            teachers.add(null);
+        }
+        teachers.set(doc, teacher);
+        live.set(doc);
+        docsById.put(teacher.getId(), doc);
+        for (int field = 0; field < TEXT_FIELDS.size(); field++) {
+            for (int gram : grams(text(teacher, field))) {
+                postings.computeIfAbsent(key(field, gram), k -> new DocIdList()).add(doc);
+            }
+        }
+        setFacet(genders, teacher.getGender(), doc);
+        setFacet(titles, teacher.getTitle(), doc);
+        setFacet(educations, teacher.getEducation(), doc);
+        setFacet(departments, teacher.getDepartmentId(), doc);
+        for (String tag : parseTags(teacher.getSpecialization())) {
+            Integer tagId = tagIds.get(tag);
+            if (tagId == null) {
+                tagId = tagDocs.size();
+                tagIds.put(tag, tagId);
+                tagDocs.add(new CompressedBitmap());
+            }
+            tagDocs.get(tagId).add(doc);
+        }
+    }
+
+    private void unindex(int doc) {
+        Teacher teacher = teachers.get(doc);
+        for (int field = 0; field < TEXT_FIELDS.size(); field++) {
+            for (int gram : grams(text(teacher, field))) {
+                long key = key(field, gram);
+                DocIdList list = postings.get(key);
+                if (list != null) {
+                    list.remove(doc);
+                    if (list.isEmpty()) {
+                        postings.remove(key);
+                    }
+                }
+            }
+        }
+        clearFacet(genders, teacher.getGender(), doc);
+        clearFacet(titles, teacher.getTitle(), doc);
+        clearFacet(educations, teacher.getEducation(), doc);
+        clearFacet(departments, teacher.getDepartmentId(), doc);
+        for (String tag : parseTags(teacher.getSpecialization())) {
+            Integer tagId = tagIds.get(tag);
+            if (tagId != null) {
+                tagDocs.get(tagId).remove(doc);
+            }
+        }
+        docsById.remove(teacher.getId());
+        teachers.set(doc, null);
+        live.clear(doc);
+    }
+
+    private static <K> void setFacet(Map<K, BitSet> facet, K value, int doc) {
+        if (value != null) {
+            facet.computeIfAbsent(value, k -> new BitSet()).set(doc);
+        }
+    }
+
+    private static <K> void clearFacet(Map<K, BitSet> facet, K value, int doc) {
+        BitSet bits = value == null ? null : facet.get(value);
+        if (bits != null) {
+            bits.clear(doc);
+            if (bits.isEmpty()) {
+                facet.remove(value);
+            }
+        }
+    }
+
+    private static <K> void filter(BitSet matched, Map<K, BitSet> facet, K value) {
+        if (value == null) {
+            return;
+        }
+        BitSet bits = facet.get(value);
+        if (bits == null) {
+            matched.clear();
+        } else {
+            matched.and(bits);
+        }
+    }
+
+    /**
+     * 子串过滤：已过滤出的文档较少时直接逐个校验原文，否则遍历最短的倒排列表
+     */
+    private void match(BitSet matched, int field, String query) {
+        if (!StringUtils.hasText(query) || matched.isEmpty()) {
+            return;
+        }
+        String q = normalize(query);
+        List<DocIdList> lists = new ArrayList<>();
+        for (int gram : queryGrams(q)) {
+            DocIdList list = postings.get(key(field, gram));
+            if (list == null) {
+                matched.clear();
+                return;
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(DocIdList::size));
+        DocIdList driver = lists.get(0);
+
+        if (matched.cardinality() <= driver.size()) {
+            for (int doc = matched.nextSetBit(0); doc >= 0; doc = matched.nextSetBit(doc + 1)) {
+                if (!text(teachers.get(doc), field).contains(q)) {
+                    matched.clear(doc);
+                }
+            }
+            return;
+        }
+        boolean verify = q.length() >= 3;
+        BitSet hits = new BitSet();
+        for (int i = 0; i < driver.size(); i++) {
+            int doc = driver.get(i);
+            if (matched.get(doc) && containsAll(lists, doc)
+                && (!verify || text(teachers.get(doc), field).contains(q))) {
+                hits.set(doc);
+            }
+        }
+        matched.and(hits);
+    }
+
+    /**
+     * 用大小为offset+limit的堆选出排在最前的命中结果，再截取当前页
+     */
+    private List<Teacher> top(BitSet matched, int total, long offset, long limit) {
+        long end = limit < 0 ? total : Math.min(total, offset + limit);
+        if (offset >= end) {
+            return Collections.emptyList();
+        }
+        int k = (int) end;
+        PriorityQueue<Teacher> heap = new PriorityQueue<>(k, ORDER.reversed());
+        for (int doc = matched.nextSetBit(0); doc >= 0; doc = matched.nextSetBit(doc + 1)) {
+            Teacher teacher = teachers.get(doc);
+            if (heap.size() < k) {
+                heap.add(teacher);
+            } else if (ORDER.compare(teacher, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(teacher);
+            }
+        }
+        List<Teacher> sorted = new ArrayList<>(heap);
+        sorted.sort(ORDER);
+        return new ArrayList<>(sorted.subList((int) offset, k));
+    }
+
+    private static boolean containsAll(List<DocIdList> lists, int doc) {
+        for (int i = 1; i < lists.size(); i++) {
+            if (!lists.get(i).contains(doc)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String text(Teacher teacher, int field) {
+        return normalize(TEXT_FIELDS.get(field).apply(teacher));
+    }
+
+    private static long key(int field, int gram) {
+        return ((long) field << 32) | (gram & 0xFFFFFFFFL);
+    }
+
+    /**
+     * 文本的全部gram：所有一元组和二元组
+     */
+    private static Set<Integer> grams(String text) {
+        Set<Integer> grams = new LinkedHashSet<>();
+        for (int i = 0; i < text.length(); i++) {
+            grams.add((int) text.charAt(i));
+            if (i + 1 < text.length()) {
+                grams.add(bigram(text.charAt(i), text.charAt(i + 1)));
+            }
+        }
+        return grams;
+    }
+
+    /**
+     * 查询串的gram：单字使用一元组，多字只使用二元组
+     */
+    private static Set<Integer> queryGrams(String query) {
+        Set<Integer> grams = new LinkedHashSet<>();
+        if (query.length() == 1) {
+            grams.add((int) query.charAt(0));
+            return grams;
+        }
+        for (int i = 0; i + 1 < query.length(); i++) {
+            grams.add(bigram(query.charAt(i), query.charAt(i + 1)));
+        }
+        return grams;
+    }
+
+    private static int bigram(char first, char second) {
+        return (first << 16) | second;
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.trim().toLowerCase(Locale.ROOT);
+    }
+}
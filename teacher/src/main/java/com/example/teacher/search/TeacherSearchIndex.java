@@ -0,0 +1,154 @@
+package com.example.teacher.search;
+
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.example.common.search.IndexRebuilder;
+import com.example.teacher.entity.Teacher;
+import com.example.teacher.mapper.TeacherMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 教师查询索引（分页条件查询、专业标签查询）
+ * <p>
+ * 应用启动后在后台线程全量加载教师，之后由{@link com.example.teacher.service.TeacherService}在新增、修改、删除时同步维护，
+ * 其他节点的修改通过{@link TeacherIndexInvalidation}广播后按ID重新加载；绕过服务直接修改数据库的变更由定时全量重建兜底。
+ * 重建在新索引上完成后整体替换，期间查询仍使用旧索引。
+ * 索引就绪后查询完全在内存中完成，不访问数据库；就绪前{@link #search}、{@link #searchByTags}返回null，由调用方降级为SQL查询。
+ */
+@Component
+@Slf4j
+public class TeacherSearchIndex {
+
+    @Value("${teacher.search.index.enabled:true}")
+    private boolean enabled;
+
+    @Autowired
+    private TeacherMapper teacherMapper;
+
+    private volatile TeacherInvertedIndex index = new TeacherInvertedIndex();
+
+    /**
+     * 重建时整体替换index，校正和删除需按调用时的index执行
+     */
+    private final IndexRebuilder<Teacher> rebuilder = new IndexRebuilder<>(
+        ids -> teacherMapper.selectList(Wrappers.<Teacher>lambdaQuery().in(Teacher::getId, ids)),
+        Teacher::getId, teacher -> index.put(teacher), id -> index.remove(id));
+
+    /**
+     * 应用启动完成后异步构建索引，不阻塞启动
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!enabled) {
+            log.info("教师查询索引未启用，分页查询使用SQL");
+            return;
+        }
+        Thread builder = new Thread(this::rebuild, "teacher-search-index-builder");
+        builder.setDaemon(true);
+        builder.start();
+    }
+
+    /**
+     * 定时全量重建，修正未经过本服务写入的变更
+     */
+    @Scheduled(fixedDelayString = "${teacher.search.index.rebuild-interval-ms:600000}",
+        initialDelayString = "${teacher.search.index.rebuild-interval-ms:600000}")
+    public void scheduledRebuild() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    /**
+     * 全量重建索引
+     * <p>
+     * 在新索引上加载后替换当前索引，再校正构建期间发生的变更；替换前的写入由{@link IndexRebuilder}记录，
+     * 替换后的写入直接进入新索引，两者都不会丢失。
+     */
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        try {
+            rebuilder.rebuild(() -> {
+                TeacherInvertedIndex rebuilt = new TeacherInvertedIndex();
+                for (Teacher teacher : teacherMapper.selectList(null)) {
+                    rebuilt.put(teacher);
+                }
+                index = rebuilt;
+            }, true);
+            log.info("教师查询索引构建完成: teachers={}, tags={}, cost={}ms",
+                index.size(), index.tagCount(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.error(rebuilder.isReady() ? "教师查询索引重建失败，继续使用原索引" : "教师查询索引构建失败，分页查询降级为SQL", e);
+        }
+    }
+
+    /**
+     * 分页查询
+     *
+     * @param criteria 查询条件
+     * @param page     分页参数，查询结果写入其中
+     * @return 分页结果；索引未就绪时返回null
+     */
+    public Page<Teacher> search(Teacher criteria, Page<Teacher> page) {
+        if (!rebuilder.isReady()) {
+            return null;
+        }
+        TeacherInvertedIndex.Hits hits = index.search(criteria, page.offset(), page.getSize());
+        page.setTotal(hits.getTotal());
+        page.setRecords(hits.getTeachers());
+        return page;
+    }
+
+    /**
+     * 按专业标签分页查询
+     *
+     * @param tags         标签列表
+     * @param matchAll     为true时要求包含全部标签，否则包含任一标签即可
+     * @param departmentId 院系ID，为null时不过滤
+     * @param page         分页参数，每页大小小于0时不分页，查询结果写入其中
+     * @return 分页结果；索引未就绪时返回null
+     */
+    public Page<Teacher> searchByTags(List<String> tags, boolean matchAll, Long departmentId, Page<Teacher> page) {
+        if (!rebuilder.isReady()) {
+            return null;
+        }
+        TeacherInvertedIndex.Hits hits = index.searchByTags(tags, matchAll, departmentId, page.offset(), page.getSize());
+        page.setTotal(hits.getTotal());
+        page.setRecords(hits.getTeachers());
+        return page;
+    }
+
+    /**
+     * 新增或修改教师后更新索引
+     *
+     * @param teacher 数据库中的最新教师信息
+     */
+    public void put(Teacher teacher) {
+        if (!enabled || teacher == null || teacher.getId() == null) {
+            return;
+        }
+        rebuilder.changed(teacher.getId());
+        index.put(teacher);
+    }
+
+    /**
+     * 删除教师后更新索引
+     *
+     * @param id 教师ID
+     */
+    public void remove(Long id) {
+        if (!enabled || id == null) {
+            return;
+        }
+        rebuilder.changed(id);
+        index.remove(id);
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.teacher.search;
+
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import com.example.common.search.IndexRebuilder;
+import com.example.common.suggest.Suggestion;
+import com.example.common.suggest.SuggestTrie;
+import com.example.teacher.entity.Teacher;
+import com.example.teacher.mapper.TeacherMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 教师姓名联想索引（汉字、全拼、拼音首字母前缀）
+ * <p>
+ * 应用启动后在后台线程全量加载，之后由{@link com.example.teacher.service.TeacherService}在新增、修改、删除时同步维护。
+ */
+@Component
+@Slf4j
+public class TeacherSuggestIndex {
+
+    @Value("${teacher.search.suggest.enabled:true}")
+    private boolean enabled;
+
+    @Autowired
+    private TeacherMapper teacherMapper;
+
+    private final SuggestTrie<Suggestion> trie = new SuggestTrie<>();
+
+    private final IndexRebuilder<Teacher> rebuilder = new IndexRebuilder<>(
+        ids -> teacherMapper.selectList(Wrappers.<Teacher>lambdaQuery()
+            .select(Teacher::getId, Teacher::getName, Teacher::getTeacherNo)
+            .in(Teacher::getId, ids)),
+        Teacher::getId, this::index, trie::remove);
+
+    /**
+     * 应用启动完成后异步构建索引，不阻塞启动
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!enabled) {
+            log.info("教师姓名联想未启用");
+            return;
+        }
+        Thread builder = new Thread(this::rebuild, "teacher-suggest-index-builder");
+        builder.setDaemon(true);
+        builder.start();
+    }
+
+    /**
+     * 全量重建索引
+     */
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        try {
+            rebuilder.rebuild(() -> {
+                List<Teacher> teachers = teacherMapper.selectList(Wrappers.<Teacher>lambdaQuery()
+                    .select(Teacher::getId, Teacher::getName, Teacher::getTeacherNo));
+                trie.clear();
+                for (Teacher teacher : teachers) {
+                    index(teacher);
+                }
+            }, false);
+            log.info("教师姓名联想索引构建完成: teachers={}, cost={}ms", trie.size(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.error("教师姓名联想索引构建失败", e);
+        }
+    }
+
+    /**
+     * 前缀联想
+     *
+     * @param prefix 输入前缀
+     * @param limit  返回条数
+     * @return 联想结果，索引未就绪时返回空列表
+     */
+    public List<Suggestion> suggest(String prefix, int limit) {
+        if (!rebuilder.isReady()) {
+            return Collections.emptyList();
+        }
+        return trie.suggest(prefix, limit);
+    }
+
+    /**
+     * 新增或修改教师后更新索引
+     *
+     * @param teacher 教师信息（需包含ID、姓名、工号）
+     */
+    public void put(Teacher teacher) {
+        if (!enabled || teacher == null || teacher.getId() == null) {
+            return;
+        }
+        rebuilder.changed(teacher.getId());
+        index(teacher);
+    }
+
+    /**
+     * 删除教师后更新索引
+     *
+     * @param id 教师ID
+     */
+    public void remove(Long id) {
+        if (!enabled || id == null) {
+            return;
+        }
+        rebuilder.changed(id);
+        trie.remove(id);
+    }
+
+    private void index(Teacher teacher) {
+        trie.put(teacher.getId(), teacher.getName(),
+            new Suggestion(teacher.getId(), teacher.getName(), teacher.getTeacherNo()));
+    }
+}
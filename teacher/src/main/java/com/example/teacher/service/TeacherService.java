@@ -2,6 +2,8 @@ package com.example.teacher.service;
 
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.IService;
+import com.example.common.suggest.Suggestion;
+import com.example.common.web.ResourceVersion;
 import com.example.teacher.entity.Teacher;
 
 import java.util.List;
@@ -29,10 +31,46 @@ public interface TeacherService extends IService<Teacher> {
     List<Teacher> getTeachersByDepartment(Long departmentId);
     
     /**
-     * 根据专业领域查询教师列表
+     * 根据专业领域查询教师列表，按标签精确匹配，多个标签（逗号分隔）时要求全部包含
      *
      * @param specialization    专业领域
      * @return                  教师列表
      */
     List<Teacher> getTeachersBySpecialization(String specialization);
+    
+    /**
+     * 按专业标签组合分页查询教师
+     *
+     * @param tags          标签列表
+     * @param matchAll      为true时要求包含全部标签，否则包含任一标签即可
+     * @param departmentId  院系ID，为null时不过滤
+     * @param page          分页参数
+     * @return              分页结果
+     */
+    Page<Teacher> getTeachersByTags(List<String> tags, boolean matchAll, Long departmentId, Page<Teacher> page);
+    
+    /**
+     * 查询教师的版本指纹，用于条件GET
+     *
+     * @param id    教师ID
+     * @return      版本指纹，教师不存在时返回null
+     */
+    ResourceVersion getTeacherVersion(Long id);
+    
+    /**
+     * 查询教师列表的版本指纹，用于条件GET
+     *
+     * @param departmentId  部门ID，为null时为全部教师
+     * @return              版本指纹
+     */
+    ResourceVersion getTeacherListVersion(Long departmentId);
+    
+    /**
+     * 教师姓名输入联想
+     *
+     * @param prefix    输入前缀（汉字、全拼或拼音首字母）
+     * @param limit     返回条数
+     * @return          联想结果
+     */
+    List<Suggestion> suggest(String prefix, int limit);
 } 
\ No newline at end of file
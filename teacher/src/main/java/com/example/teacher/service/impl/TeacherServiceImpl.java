@@ -4,22 +4,108 @@ import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.toolkit.Wrappers;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.example.common.suggest.Suggestion;
+import com.example.common.web.ResourceVersion;
 import com.example.teacher.entity.Teacher;
 import com.example.teacher.mapper.TeacherMapper;
+import com.example.teacher.search.TeacherIndexInvalidation;
+import com.example.teacher.search.TeacherInvertedIndex;
+import com.example.teacher.search.TeacherSearchIndex;
+import com.example.teacher.search.TeacherSuggestIndex;
 import com.example.teacher.service.TeacherService;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
+import java.io.Serializable;
+import java.util.Collections;
 import java.util.List;
 
 /**
  * 教师服务实现类
  */
 @Service
+@Timed("teacher.service")
 public class TeacherServiceImpl extends ServiceImpl<TeacherMapper, Teacher> implements TeacherService {
 
+    /**
+     * 输入联想最大返回条数
+     */
+    private static final int MAX_SUGGEST_LIMIT = 20;
+
+    @Autowired
+    private TeacherSuggestIndex teacherSuggestIndex;
+
+    @Autowired
+    private TeacherSearchIndex teacherSearchIndex;
+
+    @Autowired
+    private TeacherIndexInvalidation teacherIndexInvalidation;
+
+    /**
+     * 新增教师，并同步联想索引和查询索引，广播到其他节点
+     *
+     * @param teacher 教师信息
+     * @return 是否成功
+     */
+    @Override
+    public boolean save(Teacher teacher) {
+        // 专业领域按标签分隔符整理后存储，索引未就绪时的FIND_IN_SET查询与标签索引结果一致
+        teacher.setSpecialization(TeacherInvertedIndex.canonicalSpecialization(teacher.getSpecialization()));
+        boolean saved = super.save(teacher);
+        if (saved) {
+            teacherSuggestIndex.put(teacher);
+            // 查询索引需要数据库默认值（版本号、逻辑删除标志）
+            teacherSearchIndex.put(getById(teacher.getId()));
+            teacherIndexInvalidation.broadcast(teacher.getId());
+        }
+        return saved;
+    }
+
+    /**
+     * 修改教师，并同步联想索引和查询索引，广播到其他节点
+     *
+     * @param teacher 教师信息（未传的字段不修改）
+     * @return 是否成功
+     */
+    @Override
+    public boolean updateById(Teacher teacher) {
+        teacher.setSpecialization(TeacherInvertedIndex.canonicalSpecialization(teacher.getSpecialization()));
+        boolean updated = super.updateById(teacher);
+        if (updated) {
+            // 部分字段更新时以数据库中的最新数据为准
+            Teacher latest = getById(teacher.getId());
+            teacherSuggestIndex.put(latest);
+            teacherSearchIndex.put(latest);
+            teacherIndexInvalidation.broadcast(teacher.getId());
+        }
+        return updated;
+    }
+
+    /**
+     * 删除教师（逻辑删除），并同步联想索引和查询索引，广播到其他节点
+     *
+     * @param id 教师ID
+     * @return 是否成功
+     */
+    @Override
+    public boolean removeById(Serializable id) {
+        // 先转换ID，避免删除后才因类型不符失败
+        Long teacherId = Long.valueOf(id.toString());
+        boolean removed = super.removeById(id);
+        if (removed) {
+            teacherSuggestIndex.remove(teacherId);
+            teacherSearchIndex.remove(teacherId);
+            teacherIndexInvalidation.broadcast(teacherId);
+        }
+        return removed;
+    }
+
     /**
      * 分页查询教师列表
+     * <p>
+     * 优先由内存查询索引完成，不访问数据库；索引就绪前降级为SQL查询。
      *
      * @param page    分页参数
      * @param teacher 查询条件
@@ -27,6 +113,11 @@ public class TeacherServiceImpl extends ServiceImpl<TeacherMapper, Teacher> impl
      */
     @Override
     public Page<Teacher> pageTeacher(Page<Teacher> page, Teacher teacher) {
+        Page<Teacher> indexed = teacherSearchIndex.search(teacher, page);
+        if (indexed != null) {
+            return indexed;
+        }
+
         LambdaQueryWrapper<Teacher> queryWrapper = Wrappers.lambdaQuery();
         
         // 设置查询条件
@@ -88,14 +179,104 @@ public class TeacherServiceImpl extends ServiceImpl<TeacherMapper, Teacher> impl
 
     /**
      * 根据专业领域查询教师列表
+     * <p>
+     * 按标签精确匹配，避免子串误命中（如“数据”命中“数据库”）；多个标签时要求全部包含。
      *
      * @param specialization 专业领域
      * @return 教师列表
      */
     @Override
     public List<Teacher> getTeachersBySpecialization(String specialization) {
+        List<String> tags = TeacherInvertedIndex.parseTags(specialization);
+        if (tags.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Page<Teacher> indexed = teacherSearchIndex.searchByTags(tags, true, null, new Page<>(1, -1));
+        if (indexed != null) {
+            return indexed.getRecords();
+        }
+        return this.list(tagQuery(tags, true, null));
+    }
+
+    /**
+     * 按专业标签组合分页查询教师
+     * <p>
+     * 由查询索引的标签位图求交集/并集完成；索引就绪前降级为FIND_IN_SET查询。
+     *
+     * @param tags         标签列表
+     * @param matchAll     为true时要求包含全部标签，否则包含任一标签即可
+     * @param departmentId 院系ID，为null时不过滤
+     * @param page         分页参数
+     * @return 分页结果
+     */
+    @Override
+    public Page<Teacher> getTeachersByTags(List<String> tags, boolean matchAll, Long departmentId, Page<Teacher> page) {
+        List<String> normalized = TeacherInvertedIndex.parseTags(tags == null ? null : String.join(",", tags));
+        if (normalized.isEmpty()) {
+            throw new IllegalArgumentException("至少需要指定一个专业标签");
+        }
+        Page<Teacher> indexed = teacherSearchIndex.searchByTags(normalized, matchAll, departmentId, page);
+        if (indexed != null) {
+            return indexed;
+        }
+        LambdaQueryWrapper<Teacher> queryWrapper = tagQuery(normalized, matchAll, departmentId);
+        queryWrapper.orderByDesc(Teacher::getCreateTime);
+        return this.page(page, queryWrapper);
+    }
+
+    /**
+     * 查询教师的版本指纹
+     *
+     * @param id 教师ID
+     * @return 版本指纹，教师不存在时返回null
+     */
+    @Override
+    public ResourceVersion getTeacherVersion(Long id) {
+        return baseMapper.selectVersionById(id);
+    }
+
+    /**
+     * 查询教师列表的版本指纹
+     *
+     * @param departmentId 部门ID，为null时为全部教师
+     * @return 版本指纹
+     */
+    @Override
+    public ResourceVersion getTeacherListVersion(Long departmentId) {
+        return baseMapper.selectListVersion(departmentId);
+    }
+
+    /**
+     * 教师姓名输入联想
+     *
+     * @param prefix 输入前缀（汉字、全拼或拼音首字母）
+     * @param limit  返回条数
+     * @return 联想结果
+     */
+    @Override
+    public List<Suggestion> suggest(String prefix, int limit) {
+        return teacherSuggestIndex.suggest(prefix, Math.max(1, Math.min(limit, MAX_SUGGEST_LIMIT)));
+    }
+
+    /**
+     * 专业标签查询条件：专业领域写入时已整理为英文逗号分隔（已有数据由db/init.sql整理），用FIND_IN_SET按标签精确匹配
+     *
+     * @param tags         标签列表
+     * @param matchAll     是否要求包含全部标签
+     * @param departmentId 院系ID，为null时不过滤
+     * @return 查询条件
+     */
+    private LambdaQueryWrapper<Teacher> tagQuery(List<String> tags, boolean matchAll, Long departmentId) {
         LambdaQueryWrapper<Teacher> queryWrapper = Wrappers.lambdaQuery();
-        queryWrapper.like(Teacher::getSpecialization, specialization);
-        return this.list(queryWrapper);
+        queryWrapper.and(tagConditions -> {
+            for (int i = 0; i < tags.size(); i++) {
+                if (i > 0 && !matchAll) {
+                    tagConditions.or();
+                }
+                tagConditions.apply("FIND_IN_SET({0}, specialization) > 0", tags.get(i));
+            }
+        });
+        queryWrapper.eq(departmentId != null, Teacher::getDepartmentId, departmentId);
+        return queryWrapper;
     }
-} 
\ No newline at end of file
+}
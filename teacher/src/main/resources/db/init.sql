@@ -19,10 +19,40 @@ CREATE TABLE IF NOT EXISTS `teacher` (
   `create_by` varchar(50) DEFAULT NULL COMMENT '创建者',
   `update_by` varchar(50) DEFAULT NULL COMMENT '更新者',
   `deleted` tinyint DEFAULT '0' COMMENT '逻辑删除标志（0:未删除 1:已删除）',
+  `version` bigint NOT NULL DEFAULT '0' COMMENT '版本号（每次修改加1），用于ETag',
   PRIMARY KEY (`id`),
-  UNIQUE KEY `idx_teacher_no` (`teacher_no`)
+  UNIQUE KEY `idx_teacher_no` (`teacher_no`),
+  KEY `idx_department_id` (`department_id`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci COMMENT='教师表';
 
+-- 升级已有的教师表：CREATE TABLE IF NOT EXISTS不会修改已存在的表，缺少的列和索引在此补齐（可重复执行）
+SET @ddl = (SELECT IF(COUNT(*) = 0,
+    'ALTER TABLE `teacher` ADD COLUMN `version` bigint NOT NULL DEFAULT ''0'' COMMENT ''版本号（每次修改加1），用于ETag''',
+    'DO 0')
+    FROM information_schema.COLUMNS
+    WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'teacher' AND COLUMN_NAME = 'version');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @ddl = (SELECT IF(COUNT(*) = 0,
+    'ALTER TABLE `teacher` ADD KEY `idx_department_id` (`department_id`)',
+    'DO 0')
+    FROM information_schema.STATISTICS
+    WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'teacher' AND INDEX_NAME = 'idx_department_id');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- 整理已有教师的专业领域：中文逗号、顿号、分号统一为英文逗号并去掉分隔符两侧的空白和空标签，
+-- 与应用写入时的整理规则一致，使索引未就绪时的FIND_IN_SET查询不遗漏旧数据；版本号加1使已缓存的ETag失效（可重复执行）
+UPDATE `teacher`
+SET `specialization` = TRIM(BOTH ',' FROM REGEXP_REPLACE(
+        REGEXP_REPLACE(TRIM(`specialization`), '[[:space:]]*[,，、;；][[:space:]]*', ','),
+        ',{2,}', ',')),
+    `version` = `version` + 1
+WHERE `specialization` REGEXP '[，、;；]|[[:space:]],|,[[:space:]]|,,|^[[:space:],]|[[:space:],]$';
+
 -- 创建院系表
 CREATE TABLE IF NOT EXISTS `department` (
   `id` bigint NOT NULL COMMENT '主键ID',
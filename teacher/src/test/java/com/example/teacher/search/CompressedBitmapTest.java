@@ -0,0 +1,54 @@
+package com.example.teacher.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompressedBitmapTest {
+
+    @Test
+    void andOrMatchBitSetAcrossArrayAndBitmapContainers() {
+        CompressedBitmap dense = new CompressedBitmap();
+        CompressedBitmap sparse = new CompressedBitmap();
+        BitSet expectedDense = new BitSet();
+        BitSet expectedSparse = new BitSet();
+        // 第一块超过4096个成员转为位图块，第二块保持数组块
+        for (int doc = 0; doc < 10000; doc += 2) {
+            dense.add(doc);
+            expectedDense.set(doc);
+        }
+        for (int doc = 0; doc < 140000; doc += 7) {
+            sparse.add(doc);
+            expectedSparse.set(doc);
+        }
+
+        BitSet and = (BitSet) expectedDense.clone();
+        and.and(expectedSparse);
+        BitSet or = (BitSet) expectedDense.clone();
+        or.or(expectedSparse);
+        assertThat(dense.and(sparse).toBitSet()).isEqualTo(and);
+        assertThat(sparse.and(dense).toBitSet()).isEqualTo(and);
+        assertThat(dense.or(sparse).toBitSet()).isEqualTo(or);
+        assertThat(dense.cardinality()).isEqualTo(5000);
+    }
+
+    @Test
+    void removeShrinksContainersAndDropsEmptyOnes() {
+        CompressedBitmap bitmap = new CompressedBitmap();
+        for (int doc = 0; doc < 5000; doc++) {
+            bitmap.add(doc);
+        }
+        bitmap.add(70000);
+        for (int doc = 0; doc < 4990; doc++) {
+            bitmap.remove(doc);
+        }
+        bitmap.remove(70000);
+
+        assertThat(bitmap.cardinality()).isEqualTo(10);
+        assertThat(bitmap.contains(4995)).isTrue();
+        assertThat(bitmap.contains(70000)).isFalse();
+        assertThat(bitmap.toBitSet().nextSetBit(0)).isEqualTo(4990);
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.teacher.search;
+
+import com.example.teacher.entity.Teacher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TeacherInvertedIndexTest {
+
+    private TeacherInvertedIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new TeacherInvertedIndex();
+        index.put(teacher(1L, "T001", "张教授", "人工智能,机器学习", 1, 3, 1L, 1));
+        index.put(teacher(2L, "T002", "李副教授", "计算机网络,云计算", 0, 2, 1L, 2));
+        index.put(teacher(3L, "T003", "王讲师", "数据库,大数据", 1, 1, 1L, 3));
+        index.put(teacher(4L, "T004", "赵教授", "数学分析,微积分", 1, 3, 2L, 4));
+        index.put(teacher(5L, "T005", "刘讲师", "英语语言文学,翻译理论", 0, 1, 3L, 5));
+    }
+
+    @Test
+    void matchesSubstringsAndFacetsLikeTheSqlQuery() {
+        assertThat(ids(index.search(criteria(null, "教授", null, null, null), 0, 10))).containsExactly(4L, 2L, 1L);
+        assertThat(ids(index.search(criteria(null, "教授", null, 1, 1L), 0, 10))).containsExactly(1L);
+        assertThat(ids(index.search(criteria("t00", null, "数据", null, null), 0, 10))).containsExactly(3L);
+        // “据数”的二元组不在任何专业领域中
+        assertThat(index.search(criteria(null, null, "据数", null, null), 0, 10).getTotal()).isZero();
+        assertThat(index.search(criteria(null, null, null, null, 9L), 0, 10).getTotal()).isZero();
+    }
+
+    @Test
+    void pagesByCreateTimeDescending() {
+        TeacherInvertedIndex.Hits hits = index.search(null, 1, 2);
+
+        assertThat(hits.getTotal()).isEqualTo(5);
+        assertThat(ids(hits)).containsExactly(4L, 3L);
+        assertThat(ids(index.search(null, 4, 2))).containsExactly(1L);
+        assertThat(index.search(null, 5, 2).getTeachers()).isEmpty();
+    }
+
+    @Test
+    void updateAndRemoveKeepPostingsAndFacetsConsistent() {
+        index.put(teacher(1L, "T001", "张讲师", "数据挖掘", 1, 1, 2L, 1));
+        assertThat(ids(index.search(criteria(null, "教授", null, null, null), 0, 10))).containsExactly(4L, 2L);
+        assertThat(ids(index.search(criteria(null, null, "数据", null, 2L), 0, 10))).containsExactly(1L);
+
+        index.remove(3L);
+        assertThat(ids(index.search(criteria(null, "讲师", null, null, null), 0, 10))).containsExactly(5L, 1L);
+
+        // 删除后空出的文档号被复用
+        index.put(teacher(6L, "T006", "孙讲师", "数据库", 0, 1, 1L, 6));
+        assertThat(ids(index.search(criteria(null, null, "数据库", null, null), 0, 10))).containsExactly(6L);
+        assertThat(index.size()).isEqualTo(5);
+    }
+
+    @Test
+    void tagQueriesMatchWholeTagsOnly() {
+        index.put(teacher(6L, "T006", "孙讲师", "数据库，分布式系统", 0, 1, 2L, 6));
+
+        assertThat(ids(index.searchByTags(Arrays.asList("数据库", "大数据"), true, null, 0, -1))).containsExactly(3L);
+        assertThat(ids(index.searchByTags(Arrays.asList("数据库", "云计算"), false, null, 0, -1))).containsExactly(6L, 3L, 2L);
+        assertThat(ids(index.searchByTags(Arrays.asList("数据库", "云计算"), false, 1L, 0, -1))).containsExactly(3L, 2L);
+        // “数据”不是任何教师的完整标签
+        assertThat(index.searchByTags(Collections.singletonList("数据"), false, null, 0, -1).getTotal()).isZero();
+
+        index.remove(3L);
+        assertThat(index.searchByTags(Arrays.asList("数据库", "大数据"), true, null, 0, -1).getTotal()).isZero();
+    }
+
+    @Test
+    void canonicalSpecializationUsesTheSameSeparatorsAsTags() {
+        assertThat(TeacherInvertedIndex.canonicalSpecialization(" 数据库， 大数据、Java；java;;")).isEqualTo("数据库,大数据,Java");
+        assertThat(TeacherInvertedIndex.canonicalSpecialization("")).isEmpty();
+        assertThat(TeacherInvertedIndex.canonicalSpecialization(null)).isNull();
+    }
+
+    private static Teacher teacher(Long id, String teacherNo, String name, String specialization,
+                                   int gender, int title, Long departmentId, int createdDay) {
+        Teacher teacher = new Teacher();
+        teacher.setId(id);
+        teacher.setTeacherNo(teacherNo);
+        teacher.setName(name);
+        teacher.setSpecialization(specialization);
+        teacher.setGender(gender);
+        teacher.setTitle(title);
+        teacher.setDepartmentId(departmentId);
+        teacher.setCreateTime(LocalDateTime.of(2024, 1, createdDay, 0, 0));
+        return teacher;
+    }
+
+    private static Teacher criteria(String teacherNo, String name, String specialization,
+                                    Integer gender, Long departmentId) {
+        Teacher criteria = new Teacher();
+        criteria.setTeacherNo(teacherNo);
+        criteria.setName(name);
+        criteria.setSpecialization(specialization);
+        criteria.setGender(gender);
+        criteria.setDepartmentId(departmentId);
+        return criteria;
+    }
+
+    private static Long[] ids(TeacherInvertedIndex.Hits hits) {
+        return hits.getTeachers().stream().map(Teacher::getId).toArray(Long[]::new);
+    }
+}